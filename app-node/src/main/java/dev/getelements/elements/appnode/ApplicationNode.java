@@ -9,6 +9,7 @@ import dev.getelements.elements.appnode.guice.UnixFSStorageDriverModule;
 import dev.getelements.elements.appnode.guice.WorkerInstanceModule;
 import dev.getelements.elements.config.DefaultConfigurationSupplier;
 import dev.getelements.elements.config.FacebookBuiltinPermissionsSupplier;
+import dev.getelements.elements.dao.mongo.MongoScoreWriteBehind;
 import dev.getelements.elements.dao.mongo.guice.MongoDaoModule;
 import dev.getelements.elements.dao.mongo.guice.MongoGridFSLargeObjectBucketModule;
 import dev.getelements.elements.guice.ConfigurationModule;
@@ -149,6 +150,7 @@ public class ApplicationNode {
                 instance = null;
                 watchdogService.stop();
                 watchdogService = null;
+                injector.getInstance(MongoScoreWriteBehind.class).stop();
             }
 
         }
@@ -4,8 +4,8 @@ import dev.getelements.elements.config.ModuleDefaults;
 
 import java.util.Properties;
 
-import static dev.getelements.elements.remote.jeromq.JeroMQNode.JEROMQ_NODE_MAX_CONNECTIONS;
-import static dev.getelements.elements.remote.jeromq.JeroMQNode.JEROMQ_NODE_MIN_CONNECTIONS;
+import static dev.getelements.elements.remote.jeromq.JeroMQNode.*;
+import static dev.getelements.elements.remote.jeromq.JeroMQNodeDispatchMode.VIRTUAL_THREADS;
 import static dev.getelements.elements.rt.Constants.*;
 import static dev.getelements.elements.rt.HandlerContext.HANDLER_TIMEOUT_MSEC;
 import static dev.getelements.elements.rt.git.FileSystemScriptStorageGitLoaderProvider.ELEMENT_STORAGE_DIRECTORY;
@@ -21,9 +21,13 @@ import static dev.getelements.elements.rt.remote.StaticInstanceDiscoveryService.
 import static dev.getelements.elements.rt.remote.guice.InstanceDiscoveryServiceModule.DiscoveryType.STATIC;
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQInstanceConnectionService.JEROMQ_CLUSTER_BIND_ADDRESS;
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQInstanceConnectionService.JEROMQ_CONNECTION_SERVICE_REFRESH_INTERVAL_SECONDS;
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQInstanceConnectionService.JEROMQ_ROUTER_DRAIN_BUDGET;
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQSecurityProvider.JEROMQ_ALLOW_PLAIN_TRAFFIC;
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQSecurityProvider.JEROMQ_SERVER_SECURITY_CHAIN_PEM_FILE;
-import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionJournal.UNIXFS_TRANSACTION_BUFFER_SIZE;
+import static dev.getelements.elements.rt.transact.unix.UnixFSIndexCache.UNIXFS_INDEX_CACHE_MAX_SIZE;
+import static dev.getelements.elements.rt.transact.unix.UnixFSJournalMode.PER_TRANSACTION;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentLog.*;
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionJournal.*;
 import static dev.getelements.elements.rt.transact.unix.UnixFSUtils.UNIXFS_STORAGE_ROOT_DIRECTORY;
 import static java.lang.Runtime.getRuntime;
 
@@ -36,15 +40,28 @@ public class ApplicationNodeModuleDefaults implements ModuleDefaults {
         properties.setProperty(HANDLER_TIMEOUT_MSEC, "180000");
         properties.setProperty(JEROMQ_CLUSTER_BIND_ADDRESS, "tcp://*:28883");
         properties.setProperty(JEROMQ_CONNECTION_SERVICE_REFRESH_INTERVAL_SECONDS, "10");
+        properties.setProperty(JEROMQ_ROUTER_DRAIN_BUDGET, "64");
         properties.setProperty(INSTANCE_DISCOVERY_SERVICE, STATIC.toString());
         properties.setProperty(STATIC_HOST_INFO, "tcp://localhost:28883");
         properties.setProperty(JEROMQ_NODE_MIN_CONNECTIONS, "10");
         properties.setProperty(JEROMQ_NODE_MAX_CONNECTIONS, "100");
+        properties.setProperty(JEROMQ_NODE_DISPATCH_MODE, VIRTUAL_THREADS.toString());
+        properties.setProperty(JEROMQ_NODE_DISPATCH_MAX_CONCURRENCY, String.valueOf(DEFAULT_DISPATCH_MAX_CONCURRENCY));
+        properties.setProperty(JEROMQ_NODE_DISPATCH_MAX_QUEUED, String.valueOf(DEFAULT_DISPATCH_MAX_QUEUED));
         properties.setProperty(JEROMQ_ALLOW_PLAIN_TRAFFIC, "true");
         properties.setProperty(JEROMQ_SERVER_SECURITY_CHAIN_PEM_FILE, "");
         properties.setProperty(REMOTE_INVOKER_MIN_CONNECTIONS, "10");
         properties.setProperty(REMOTE_INVOKER_MAX_CONNECTIONS, "100");
         properties.setProperty(UNIXFS_TRANSACTION_BUFFER_SIZE, "32768");
+        properties.setProperty(UNIXFS_TRANSACTION_ID_BLOCK_SIZE, "1024");
+        properties.setProperty(UNIXFS_INDEX_CACHE_MAX_SIZE, "1000000");
+        properties.setProperty(UNIXFS_REPLAY_THREADS, Integer.toString(getRuntime().availableProcessors()));
+        properties.setProperty(UNIXFS_TRANSACTION_JOURNAL_MODE, PER_TRANSACTION.toString());
+        properties.setProperty(UNIXFS_GROUP_COMMIT_MAX_BATCH_SIZE, "64");
+        properties.setProperty(UNIXFS_GROUP_COMMIT_LINGER_USEC, "100");
+        properties.setProperty(UNIXFS_SEGMENT_SIZE, Integer.toString(64 * 1024 * 1024));
+        properties.setProperty(UNIXFS_SEGMENT_COMPACTION_THRESHOLD, "0.5");
+        properties.setProperty(UNIXFS_SEGMENT_COMPACTION_INTERVAL_MSEC, "10000");
         properties.setProperty(INSTANCE_ID_FILE, "script-storage/instance-id.txt");
         properties.setProperty(UNIXFS_STORAGE_ROOT_DIRECTORY, "script-storage/storage.unixfs");
         properties.setProperty(IPV6, "true");
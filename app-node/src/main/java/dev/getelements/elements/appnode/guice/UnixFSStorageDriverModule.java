@@ -4,12 +4,12 @@ import com.google.inject.AbstractModule;
 import dev.getelements.elements.rt.transact.JournalTransactionalResourceServicePersistenceModule;
 import dev.getelements.elements.rt.transact.unix.UnixFSTransactionalPersistenceContextModule;
 
-import static dev.getelements.elements.rt.transact.unix.UnixFSChecksumAlgorithm.ADLER_32;
+import static dev.getelements.elements.rt.transact.unix.UnixFSChecksumAlgorithm.CRC_32C;
 
 public class UnixFSStorageDriverModule extends AbstractModule {
     @Override
     protected void configure() {
         install(new JournalTransactionalResourceServicePersistenceModule());
-        install(new UnixFSTransactionalPersistenceContextModule().withChecksumAlgorithm(ADLER_32));
+        install(new UnixFSTransactionalPersistenceContextModule().withChecksumAlgorithm(CRC_32C));
     }
 }
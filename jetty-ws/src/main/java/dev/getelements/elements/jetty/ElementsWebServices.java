@@ -1,9 +1,11 @@
 package dev.getelements.elements.jetty;
 
+import dev.getelements.elements.dao.mongo.MongoScoreWriteBehind;
 import dev.getelements.elements.sdk.deployment.ElementContainerService;
 import dev.getelements.elements.sdk.deployment.ElementRuntimeService;
 import dev.getelements.elements.rt.remote.Instance;
 import dev.getelements.elements.sdk.model.exception.InternalException;
+import dev.getelements.elements.service.auth.SessionValidationCache;
 import jakarta.inject.Inject;
 import org.eclipse.jetty.server.Server;
 import org.slf4j.Logger;
@@ -23,6 +25,10 @@ public class ElementsWebServices implements Runnable {
 
     private ElementContainerService elementContainerService;
 
+    private SessionValidationCache sessionValidationCache;
+
+    private MongoScoreWriteBehind mongoScoreWriteBehind;
+
     public void start() {
 
         getInstance().start();
@@ -66,6 +72,18 @@ public class ElementsWebServices implements Runnable {
             logger.error("Caught exception shutting down server.", ex);
         }
 
+        try {
+            getSessionValidationCache().stop();
+        } catch (Exception ex) {
+            logger.error("Caught exception stopping SessionValidationCache.", ex);
+        }
+
+        try {
+            getMongoScoreWriteBehind().stop();
+        } catch (Exception ex) {
+            logger.error("Caught exception stopping MongoScoreWriteBehind.", ex);
+        }
+
         try {
             getInstance().close();
         } catch (Exception ex) {
@@ -110,4 +128,22 @@ public class ElementsWebServices implements Runnable {
         this.elementContainerService = elementContainerService;
     }
 
+    public SessionValidationCache getSessionValidationCache() {
+        return sessionValidationCache;
+    }
+
+    @Inject
+    public void setSessionValidationCache(SessionValidationCache sessionValidationCache) {
+        this.sessionValidationCache = sessionValidationCache;
+    }
+
+    public MongoScoreWriteBehind getMongoScoreWriteBehind() {
+        return mongoScoreWriteBehind;
+    }
+
+    @Inject
+    public void setMongoScoreWriteBehind(MongoScoreWriteBehind mongoScoreWriteBehind) {
+        this.mongoScoreWriteBehind = mongoScoreWriteBehind;
+    }
+
 }
@@ -5,6 +5,7 @@ import com.mongodb.MongoWriteException;
 import dev.getelements.elements.sdk.model.Constants;
 import dev.getelements.elements.sdk.model.exception.DuplicateException;
 import dev.getelements.elements.sdk.model.exception.InternalException;
+import dev.getelements.elements.sdk.model.exception.InvalidParameterException;
 import dev.getelements.elements.sdk.model.exception.NotFoundException;
 import dev.getelements.elements.sdk.model.Pagination;
 import dev.getelements.elements.sdk.model.Tabulation;
@@ -15,13 +16,21 @@ import dev.morphia.aggregation.stages.Count;
 import dev.morphia.mapping.codec.reader.DocumentReader;
 import dev.morphia.query.FindOptions;
 import dev.morphia.query.Query;
+import dev.morphia.query.Sort;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
 import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
 import org.bson.types.ObjectId;
 import dev.getelements.elements.sdk.model.util.MapperRegistry;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -36,7 +45,13 @@ import static dev.morphia.aggregation.stages.Limit.limit;
 import static dev.morphia.aggregation.stages.Projection.project;
 import static dev.morphia.aggregation.stages.Skip.skip;
 import static dev.morphia.aggregation.stages.Unwind.unwind;
+import static dev.morphia.query.filters.Filters.and;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gt;
+import static dev.morphia.query.filters.Filters.lt;
+import static dev.morphia.query.filters.Filters.or;
 import static dev.morphia.query.Sort.ascending;
+import static dev.morphia.query.Sort.descending;
 import static java.lang.Math.min;
 import static java.util.stream.Collectors.toList;
 
@@ -50,6 +65,14 @@ public class MongoDBUtils {
 
     public static final String COLLSCAN = "COLLSCAN";
 
+    private static final String CURSOR_AFTER = "a";
+
+    private static final String CURSOR_OFFSET = "o";
+
+    private static final String CURSOR_TOTAL = "t";
+
+    private static final String CURSOR_VALUE = "v";
+
     private Datastore datastore;
 
     private Datastore mainDatastore;
@@ -262,6 +285,170 @@ public class MongoDBUtils {
 
     }
 
+    /**
+     * Transforms the given {@link Query} to the resulting {@link Pagination}, starting after the supplied cursor rather
+     * than at an offset. Results are always ordered by id, and each page is found by seeking past the last id of the
+     * page before it, so the cost of a page does not grow with its depth provided the query's other filters are
+     * served by an index ending in the id.
+     *
+     * The total is counted only for the first page, and carried in the cursor to later pages, which report it as an
+     * approximation.
+     *
+     * @param query the query
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param count the count
+     * @param function the function to transform the values
+     * @param <ModelT> the desired model type
+     * @param <MongoModelT> the mongoDB model type
+     * @return a {@link Pagination} instance for the given ModelT
+     */
+    public <ModelT, MongoModelT> Pagination<ModelT> paginationFromCursor(
+            final Query<MongoModelT> query, final String cursor, final int count,
+            final Function<MongoModelT,  ModelT> function) {
+        return paginationFromCursor(query, cursor, count, null, function);
+    }
+
+    /**
+     * As {@link #paginationFromCursor(Query, String, int, Function)}, but ordered by the supplied field in descending
+     * order and then by id. Each page seeks past both the value and the id of the last result of the page before it,
+     * so the query's other filters should be served by an index ending in the field, descending, and then the id.
+     *
+     * @param query the query
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param count the count
+     * @param descendingField the field by which to order the results, or null to order only by id
+     * @param function the function to transform the values
+     * @param <ModelT> the desired model type
+     * @param <MongoModelT> the mongoDB model type
+     * @return a {@link Pagination} instance for the given ModelT
+     */
+    public <ModelT, MongoModelT> Pagination<ModelT> paginationFromCursor(
+            final Query<MongoModelT> query, final String cursor, final int count,
+            final String descendingField,
+            final Function<MongoModelT,  ModelT> function) {
+
+        final Pagination<ModelT> pagination = new Pagination<>();
+
+        final int offset;
+
+        if (cursor == null || cursor.isBlank()) {
+            offset = 0;
+            pagination.setTotal((int) query.count());
+        } else {
+
+            final var decoded = decodeCursor(cursor);
+            final var after = decoded.get(CURSOR_AFTER);
+
+            offset = decoded.getInt32(CURSOR_OFFSET).getValue();
+            pagination.setTotal(decoded.getInt32(CURSOR_TOTAL).getValue());
+            pagination.setApproximation(true);
+
+            if (descendingField == null) {
+                query.filter(gt("_id", after));
+            } else if (decoded.containsKey(CURSOR_VALUE)) {
+                final var value = decoded.get(CURSOR_VALUE);
+                query.filter(or(
+                        lt(descendingField, value),
+                        and(eq(descendingField, value), gt("_id", after))
+                ));
+            } else {
+                throw new InvalidParameterException("Invalid cursor: " + cursor);
+            }
+
+        }
+
+        pagination.setOffset(offset);
+
+        final int limit = min(getQueryMaxResults(), count);
+
+        // Reads one more than is returned, to learn whether there is a following page without counting.
+
+        final var options = new FindOptions()
+                .sort(descendingField == null
+                        ? new Sort[]{ascending("_id")}
+                        : new Sort[]{descending(descendingField), ascending("_id")})
+                .limit(limit + 1);
+
+        final List<MongoModelT> mongoModelTList;
+
+        try (final var iterator = query.iterator(options)) {
+            mongoModelTList = iterator.toList();
+        }
+
+        if (limit > 0 && mongoModelTList.size() > limit) {
+
+            final var last = encode(mongoModelTList.get(limit - 1));
+
+            final var next = new BsonDocument()
+                    .append(CURSOR_AFTER, last.get("_id"))
+                    .append(CURSOR_OFFSET, new BsonInt32(offset + limit))
+                    .append(CURSOR_TOTAL, new BsonInt32(pagination.getTotal()));
+
+            if (descendingField != null) {
+                next.append(CURSOR_VALUE, last.get(descendingField));
+            }
+
+            pagination.setNextCursor(encodeCursor(next));
+
+        }
+
+        pagination.setObjects(mongoModelTList
+                .stream()
+                .limit(limit)
+                .map(function)
+                .collect(toList()));
+
+        return pagination;
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private <MongoModelT> BsonDocument encode(final MongoModelT mongoModelT) {
+
+        // Encodes with the same codecs used to write the entity, so the id in the cursor compares exactly with the id
+        // stored in the database, whatever its type.
+
+        final var document = new BsonDocument();
+        final var codec = getDatastore().getCodecRegistry().get((Class<MongoModelT>) mongoModelT.getClass());
+        codec.encode(new BsonDocumentWriter(document), mongoModelT, EncoderContext.builder().build());
+
+        return document;
+
+    }
+
+    private static String encodeCursor(final BsonDocument document) {
+
+        final var buffer = new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer().asNIO();
+        final var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    }
+
+    private static BsonDocument decodeCursor(final String cursor) {
+
+        final BsonDocument document;
+
+        // A cursor which can't be read for any reason was not one we issued, so it is reported as a bad parameter.
+
+        try {
+            final var bytes = Base64.getUrlDecoder().decode(cursor);
+            document = new RawBsonDocument(bytes).decode(new BsonDocumentCodec());
+        } catch (RuntimeException ex) {
+            throw new InvalidParameterException("Invalid cursor: " + cursor, ex);
+        }
+
+        if (!document.containsKey(CURSOR_AFTER)
+                || !document.isInt32(CURSOR_OFFSET)
+                || !document.isInt32(CURSOR_TOTAL)) {
+            throw new InvalidParameterException("Invalid cursor: " + cursor);
+        }
+
+        return document;
+
+    }
+
     /**
      * Transforms the given {@link Query} to the resulting {@link Pagination}.
      *
@@ -45,8 +45,20 @@ public class MongoFriendDao implements FriendDao {
 
     @Override
     public Pagination<Friend> getFriendsForUser(final User user, final int offset, final int count) {
+        final MongoUser mongoUser = getMongoUserDao().getMongoUser(user.getId());
+        final Query<MongoFriendship> query = findFriendships(mongoUser);
+        return getMongoDBUtils().paginationFromQuery(query, offset, count, f -> transform(mongoUser, f), new FindOptions());
+    }
 
+    @Override
+    public Pagination<Friend> getFriendsForUser(final User user, final String cursor, final int count) {
         final MongoUser mongoUser = getMongoUserDao().getMongoUser(user.getId());
+        final Query<MongoFriendship> query = findFriendships(mongoUser);
+        return getMongoDBUtils().paginationFromCursor(query, cursor, count, f -> transform(mongoUser, f));
+    }
+
+    private Query<MongoFriendship> findFriendships(final MongoUser mongoUser) {
+
         final Query<MongoFriendship> query = getDatastore().find(MongoFriendship.class);
 
         query.filter(Filters.and(
@@ -60,7 +72,7 @@ public class MongoFriendDao implements FriendDao {
                 )
         ));
 
-        return getMongoDBUtils().paginationFromQuery(query, offset, count, f -> transform(mongoUser, f), new FindOptions());
+        return query;
 
     }
 
@@ -91,18 +103,7 @@ public class MongoFriendDao implements FriendDao {
 
     public List<MongoFriendship> getAllMongoFriendshipsForUser(final MongoUser mongoUser) {
 
-        final Query<MongoFriendship> query = getDatastore().find(MongoFriendship.class);
-
-        query.filter(Filters.and(
-                Filters.or(
-                        Filters.eq("_id.lesser", mongoUser.getObjectId()),
-                        Filters.eq("_id.greater", mongoUser.getObjectId())
-                        ),
-                Filters.or(
-                        Filters.eq("lesserAccepted", true),
-                        Filters.eq("greaterAccepted", true)
-                )
-        ));
+        final Query<MongoFriendship> query = findFriendships(mongoUser);
 
         try (var iterator = query.iterator()) {
             return iterator.toList();
@@ -110,6 +111,28 @@ public class MongoFriendDao implements FriendDao {
 
     }
 
+    /**
+     * Gets the ids of all users who are friends with the supplied {@link MongoUser}, reading only the id of each
+     * friendship.
+     *
+     * @param mongoUser the {@link MongoUser}
+     * @return the ids of the friends
+     */
+    public List<ObjectId> getAllFriendUserIdsForUser(final MongoUser mongoUser) {
+
+        final Query<MongoFriendship> query = findFriendships(mongoUser);
+        final var options = new FindOptions().projection().include("_id");
+
+        try (var iterator = query.iterator(options)) {
+            return iterator
+                    .toList()
+                    .stream()
+                    .map(friendship -> friendship.getObjectId().getOpposite(mongoUser.getObjectId()))
+                    .toList();
+        }
+
+    }
+
     @Override
     public void deleteFriendForUser(final User user, final String friendId) {
 
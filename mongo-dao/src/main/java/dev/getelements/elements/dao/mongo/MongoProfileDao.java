@@ -149,6 +149,26 @@ public class MongoProfileDao implements ProfileDao {
             final int count,
             final String applicationNameOrId, final String userId,
             final Long lowerBoundTimestamp, final Long upperBoundTimestamp) {
+        return findActiveProfiles(applicationNameOrId, userId, lowerBoundTimestamp, upperBoundTimestamp)
+                .map(q -> getMongoDBUtils().paginationFromQuery(q, offset, count, this::transform, new FindOptions()))
+                .orElseGet(Pagination::new);
+    }
+
+    @Override
+    public Pagination<Profile> getActiveProfiles(
+            final String cursor,
+            final int count,
+            final String applicationNameOrId, final String userId,
+            final Long lowerBoundTimestamp, final Long upperBoundTimestamp) {
+        return findActiveProfiles(applicationNameOrId, userId, lowerBoundTimestamp, upperBoundTimestamp)
+                .map(q -> getMongoDBUtils().paginationFromCursor(q, cursor, count, this::transform))
+                .orElseGet(Pagination::new);
+    }
+
+    private Optional<Query<MongoProfile>> findActiveProfiles(
+            final String applicationNameOrId, final String userId,
+            final Long lowerBoundTimestamp, final Long upperBoundTimestamp) {
+
         final Query<MongoProfile> query = getDatastore().find(MongoProfile.class);
 
         query.filter(
@@ -197,7 +217,7 @@ public class MongoProfileDao implements ProfileDao {
                     .findMongoApplicationOptional(applicationNameOrId)
                     .orElse(null);
 
-            if (mongoApplication == null) return new Pagination<>();
+            if (mongoApplication == null) return Optional.empty();
 
             query.filter(
                     eq("application", mongoApplication)
@@ -207,11 +227,11 @@ public class MongoProfileDao implements ProfileDao {
 
         if (userId != null) {
             final Optional<MongoUser> mongoUser = getMongoUserDao().findMongoUser(userId);
-            if (mongoUser.isEmpty()) return new Pagination<>();
+            if (mongoUser.isEmpty()) return Optional.empty();
             query.filter(eq("user", mongoUser.get()));
         }
 
-        return getMongoDBUtils().paginationFromQuery(query, offset, count, this::transform, new FindOptions());
+        return Optional.of(query);
 
     }
 
@@ -318,6 +338,47 @@ public class MongoProfileDao implements ProfileDao {
         return getActiveMongoProfilesForUser(mongoUser);
     }
 
+    /**
+     * Gets the ids of the active profiles of all the supplied users in a single query, which the index on the user,
+     * active flag, and id answers without reading the profiles themselves.
+     *
+     * @param mongoUserObjectIds the ids of the users
+     * @return the ids of the active profiles
+     */
+    public List<ObjectId> getActiveMongoProfileIdsForUsers(final Collection<ObjectId> mongoUserObjectIds) {
+
+        if (mongoUserObjectIds.isEmpty()) {
+            return List.of();
+        }
+
+        final var mongoUsers = mongoUserObjectIds
+                .stream()
+                .map(mongoUserObjectId -> {
+                    final var mongoUser = new MongoUser();
+                    mongoUser.setObjectId(mongoUserObjectId);
+                    return mongoUser;
+                })
+                .toList();
+
+        final Query<MongoProfile> query = getDatastore().find(MongoProfile.class);
+
+        query.filter(and(
+                in("user", mongoUsers),
+                eq("active", true)
+        ));
+
+        final var options = new FindOptions().projection().include("_id");
+
+        try (var iterator = query.iterator(options)) {
+            return iterator
+                    .toList()
+                    .stream()
+                    .map(MongoProfile::getObjectId)
+                    .toList();
+        }
+
+    }
+
     @Override
     public Profile updateActiveProfile(final Profile profile, final Map<String, Object> metadata) {
 
@@ -22,7 +22,10 @@ import org.bson.types.ObjectId;
 import dev.getelements.elements.sdk.model.util.MapperRegistry;
 
 import jakarta.inject.Inject;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -42,8 +45,10 @@ import static dev.morphia.aggregation.stages.Unwind.unwind;
 import static dev.morphia.query.Sort.descending;
 import static dev.morphia.query.filters.Filters.*;
 import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 
 public class MongoRankDao implements RankDao {
 
@@ -59,13 +64,49 @@ public class MongoRankDao implements RankDao {
 
     private MongoDBUtils mongoDBUtils;
 
+    private MongoRankIndex mongoRankIndex;
+
     private MapperRegistry dozerMapperRegistry;
 
     @Override
     public Pagination<Rank> getRanksForGlobal(final String leaderboardNameOrId,
                                               final int offset, final int count,
                                               final long leaderboardEpoch) {
-        return getRanks(leaderboardNameOrId, offset, count, leaderboardEpoch, identity());
+
+        final var mongoLeaderboard = getMongoLeaderboardDao().getMongoLeaderboard(leaderboardNameOrId);
+        final var calculatedEpoch = calculateEpoch(mongoLeaderboard, leaderboardEpoch);
+
+        return getMongoRankIndex()
+                .getIndex(mongoLeaderboard, calculatedEpoch)
+                .map(index -> getRanksFromIndex(index, mongoLeaderboard, calculatedEpoch, max(0, offset), count))
+                .orElseGet(() -> getRanks(leaderboardNameOrId, offset, count, leaderboardEpoch, identity()));
+
+    }
+
+    @Override
+    public Pagination<Rank> getRanksForGlobal(final String leaderboardNameOrId,
+                                              final String cursor, final int count,
+                                              final long leaderboardEpoch) {
+
+        // Seeks through the scores themselves rather than the rank index, as the index may be built or dropped between
+        // pages, so a cursor must not depend on it.
+
+        final var mongoLeaderboard = getMongoLeaderboardDao().getMongoLeaderboard(leaderboardNameOrId);
+        final var calculatedEpoch = calculateEpoch(mongoLeaderboard, leaderboardEpoch);
+
+        final var query = getDatastore()
+                .find(MongoScore.class)
+                .filter(eq("leaderboard", mongoLeaderboard))
+                .filter(eq("leaderboardEpoch", calculatedEpoch));
+
+        final Pagination<MongoScore> pagination = getMongoDBUtils().paginationFromCursor(
+                query, cursor, count,
+                "pointValue",
+                identity()
+        );
+
+        return pagination.transform(new Counter(pagination.getOffset()));
+
     }
 
     @Override
@@ -80,15 +121,31 @@ public class MongoRankDao implements RankDao {
         }
 
         final MongoProfile mongoProfile = optionalMongoProfile.get();
+        final var mongoLeaderboard = getMongoLeaderboardDao().getMongoLeaderboard(leaderboardNameOrId);
+        final var calculatedEpoch = calculateEpoch(mongoLeaderboard, leaderboardEpoch);
+        final var optionalIndex = getMongoRankIndex().getIndex(mongoLeaderboard, calculatedEpoch);
+
+        if (optionalIndex.isEmpty()) {
+            return getRanksRelative(
+                    leaderboardNameOrId,
+                    mongoProfile,
+                    offset, count,
+                    leaderboardEpoch,
+                    identity(),
+                    identity()
+            );
+        }
+
+        final var index = optionalIndex.get();
+        final var pointValue = index.getScore(mongoProfile.getObjectId());
+
+        final long rank = pointValue.isPresent()
+                ? index.countAtLeast(pointValue.getAsDouble())
+                : 0;
+
+        final long adjustedOffset = max(0, (offset + rank) - (count / 2));
+        return getRanksFromIndex(index, mongoLeaderboard, calculatedEpoch, adjustedOffset, count);
 
-        return getRanksRelative(
-                leaderboardNameOrId,
-                mongoProfile,
-                offset, count,
-                leaderboardEpoch,
-                identity(),
-                identity()
-        );
     }
 
     @Override
@@ -104,21 +161,17 @@ public class MongoRankDao implements RankDao {
         }
 
         final MongoProfile mongoProfile = optionalMongoProfile.get();
+        final var mongoLeaderboard = getMongoLeaderboardDao().getMongoLeaderboard(leaderboardNameOrId);
+        final var calculatedEpoch = calculateEpoch(mongoLeaderboard, leaderboardEpoch);
 
-        final List<MongoProfile> profiles = getMongoFriendDao()
-            .getAllMongoFriendshipsForUser(mongoProfile.getUser())
-            .stream()
-            .map(friendship -> friendship.getObjectId().getOpposite(mongoProfile.getUser().getObjectId()))
-            .flatMap(userId -> getMongoProfileDao().getActiveMongoProfilesForUser(userId))
-            .collect(toList());
-
-        profiles.add(mongoProfile);
+        final var mongoScoreIds = getFriendMongoScoreIds(mongoProfile, mongoLeaderboard, calculatedEpoch);
+        mongoScoreIds.add(new MongoScoreId(mongoProfile, mongoLeaderboard, calculatedEpoch));
 
         return getRanks(
-                leaderboardNameOrId,
+                mongoLeaderboard,
                 offset, count,
-                leaderboardEpoch,
-                query -> query.filter(in("profile", profiles))
+                calculatedEpoch,
+                query -> query.filter(in("_id", mongoScoreIds))
         );
 
     }
@@ -136,27 +189,48 @@ public class MongoRankDao implements RankDao {
         }
 
         final MongoProfile mongoProfile = optionalMongoProfile.get();
+        final var mongoLeaderboard = getMongoLeaderboardDao().getMongoLeaderboard(leaderboardNameOrId);
+        final var calculatedEpoch = calculateEpoch(mongoLeaderboard, leaderboardEpoch);
 
-        final var profiles = getMongoFriendDao()
-            .getAllMongoFriendshipsForUser(mongoProfile.getUser())
-            .stream()
-            .map(friendship -> friendship.getObjectId().getOpposite(mongoProfile.getUser().getObjectId()))
-            .flatMap(userId -> getMongoProfileDao().getActiveMongoProfilesForUser(userId))
-            .collect(toList());
-
-        profiles.add(mongoProfile);
+        final var friendMongoScoreIds = getFriendMongoScoreIds(mongoProfile, mongoLeaderboard, calculatedEpoch);
+        final var mongoScoreIds = new ArrayList<>(friendMongoScoreIds);
+        mongoScoreIds.add(new MongoScoreId(mongoProfile, mongoLeaderboard, calculatedEpoch));
 
         return getRanksRelative(
-                leaderboardNameOrId,
+                mongoLeaderboard,
                 mongoProfile,
                 offset, count,
-                leaderboardEpoch,
-                q -> q.filter(in("profile", profiles)),
-                q -> q.filter(ne("profile", mongoProfile))
+                calculatedEpoch,
+                q -> q.filter(in("_id", mongoScoreIds)),
+                q -> q.filter(in("_id", friendMongoScoreIds))
         );
 
     }
 
+    /**
+     * Finds the ids of the scores of all active profiles belonging to friends of the supplied profile's user. This
+     * takes one query for the friendships and one for the profiles, however many friends there are, and as the score
+     * ids are derived from the profile ids the scores may then be fetched by id.
+     *
+     * @param mongoProfile the {@link MongoProfile}
+     * @param mongoLeaderboard the {@link MongoLeaderboard}
+     * @param calculatedEpoch the epoch, as stored with each {@link MongoScore}
+     * @return a mutable {@link List} of the score ids, which may not all exist
+     */
+    public List<MongoScoreId> getFriendMongoScoreIds(final MongoProfile mongoProfile,
+                                                     final MongoLeaderboard mongoLeaderboard,
+                                                     final long calculatedEpoch) {
+
+        final var friendUserIds = getMongoFriendDao().getAllFriendUserIdsForUser(mongoProfile.getUser());
+
+        return getMongoProfileDao()
+                .getActiveMongoProfileIdsForUsers(friendUserIds)
+                .stream()
+                .map(profileId -> new MongoScoreId(profileId, mongoLeaderboard.getObjectId(), calculatedEpoch))
+                .collect(toList());
+
+    }
+
     @Override
     public Pagination<Rank> getRanksForMutualFollowers(final String leaderboardNameOrId,
                                                        final String  profileId,
@@ -332,13 +406,21 @@ public class MongoRankDao implements RankDao {
             final int offset, final int count,
             final long leaderboardEpoch,
             final Function<Query<MongoScore>, Query<MongoScore>> queryTransformer) {
-
         final var mongoLeaderboard = getMongoLeaderboardDao().getMongoLeaderboard(leaderboardNameOrId);
+        final var calculatedEpoch = calculateEpoch(mongoLeaderboard, leaderboardEpoch);
+        return getRanks(mongoLeaderboard, offset, count, calculatedEpoch, queryTransformer);
+    }
+
+    private Pagination<Rank> getRanks(
+            final MongoLeaderboard mongoLeaderboard,
+            final int offset, final int count,
+            final long calculatedEpoch,
+            final Function<Query<MongoScore>, Query<MongoScore>> queryTransformer) {
 
         final var query = queryTransformer
                 .apply(getDatastore().find(MongoScore.class))
                 .filter(eq("leaderboard", mongoLeaderboard))
-                .filter(eq("leaderboardEpoch", calculateEpoch(mongoLeaderboard, leaderboardEpoch)));
+                .filter(eq("leaderboardEpoch", calculatedEpoch));
 
         final long adjustedOffset = max(0, offset);
 
@@ -351,6 +433,59 @@ public class MongoRankDao implements RankDao {
 
     }
 
+    /**
+     * Gets a page of the global ranks from the {@link RankIndex}, rather than by skipping and counting scores in the
+     * database, fetching only the scores on the page.
+     *
+     * @param index the {@link RankIndex} for the leaderboard and epoch
+     * @param mongoLeaderboard the {@link MongoLeaderboard}
+     * @param calculatedEpoch the epoch, as stored with each {@link MongoScore}
+     * @param offset the zero-based position of the first rank
+     * @param count the maximum number of ranks
+     * @return the {@link Pagination} of {@link Rank}s
+     */
+    public Pagination<Rank> getRanksFromIndex(
+            final RankIndex<ObjectId> index,
+            final MongoLeaderboard mongoLeaderboard,
+            final long calculatedEpoch,
+            final long offset, final int count) {
+
+        final var page = index.getPage(offset, min(getMongoDBUtils().getQueryMaxResults(), count));
+
+        final var mongoScoreIds = page
+                .stream()
+                .map(entry -> new MongoScoreId(entry.key(), mongoLeaderboard.getObjectId(), calculatedEpoch))
+                .collect(toList());
+
+        final Map<ObjectId, MongoScore> mongoScores;
+
+        try (var iterator = getDatastore().find(MongoScore.class).filter(in("_id", mongoScoreIds)).iterator()) {
+            mongoScores = iterator
+                    .toList()
+                    .stream()
+                    .collect(toMap(mongoScore -> mongoScore.getObjectId().getProfileId(), identity()));
+        }
+
+        // A score may have been removed since it was indexed, in which case it is left out of the page.
+
+        final var counter = new Counter(offset);
+
+        final var ranks = page
+                .stream()
+                .map(entry -> mongoScores.get(entry.key()))
+                .filter(Objects::nonNull)
+                .map(counter)
+                .collect(toList());
+
+        final var pagination = new Pagination<Rank>();
+        pagination.setOffset((int) offset);
+        pagination.setTotal(index.size());
+        pagination.setObjects(ranks);
+
+        return pagination;
+
+    }
+
     public Pagination<Rank> getRanksRelative(
             final String leaderboardNameOrId,
             final MongoProfile mongoProfile,
@@ -358,9 +493,26 @@ public class MongoRankDao implements RankDao {
             final long leaderboardEpoch,
             final Function<Query<MongoScore>, Query<MongoScore>> queryTransformer,
             final Function<Query<MongoScore>, Query<MongoScore>> countQueryTransformer) {
-
         final var mongoLeaderboard = getMongoLeaderboardDao().getMongoLeaderboard(leaderboardNameOrId);
-        final var leaderboardEpochLookupValue = calculateEpoch(mongoLeaderboard, leaderboardEpoch);
+        final var calculatedEpoch = calculateEpoch(mongoLeaderboard, leaderboardEpoch);
+        return getRanksRelative(
+                mongoLeaderboard,
+                mongoProfile,
+                offset, count,
+                calculatedEpoch,
+                queryTransformer,
+                countQueryTransformer
+        );
+    }
+
+    private Pagination<Rank> getRanksRelative(
+            final MongoLeaderboard mongoLeaderboard,
+            final MongoProfile mongoProfile,
+            final int offset, final int count,
+            final long leaderboardEpochLookupValue,
+            final Function<Query<MongoScore>, Query<MongoScore>> queryTransformer,
+            final Function<Query<MongoScore>, Query<MongoScore>> countQueryTransformer) {
+
         final var mongoScoreId = new MongoScoreId(mongoProfile, mongoLeaderboard, leaderboardEpochLookupValue);
 
         final var mongoScore = getDatastore()
@@ -459,6 +611,15 @@ public class MongoRankDao implements RankDao {
         this.mongoFriendDao = mongoFriendDao;
     }
 
+    public MongoRankIndex getMongoRankIndex() {
+        return mongoRankIndex;
+    }
+
+    @Inject
+    public void setMongoRankIndex(MongoRankIndex mongoRankIndex) {
+        this.mongoRankIndex = mongoRankIndex;
+    }
+
     public MongoFollowerDao getMongoFollowerDao() {
         return mongoFollowerDao;
     }
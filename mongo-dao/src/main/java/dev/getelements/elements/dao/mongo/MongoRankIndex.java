@@ -0,0 +1,346 @@
+package dev.getelements.elements.dao.mongo;
+
+import dev.getelements.elements.dao.mongo.model.MongoLeaderboard;
+import dev.getelements.elements.dao.mongo.model.MongoScoreId;
+import dev.getelements.elements.dao.mongo.model.score.MongoScore;
+import dev.getelements.elements.sdk.ElementRegistry;
+import dev.getelements.elements.sdk.Event;
+import dev.getelements.elements.sdk.annotation.ElementDefaultAttribute;
+import dev.getelements.elements.sdk.dao.ScoreDao;
+import dev.getelements.elements.sdk.model.leaderboard.Score;
+import dev.morphia.Datastore;
+import dev.morphia.query.FindOptions;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static dev.getelements.elements.dao.mongo.provider.MongoDatastoreProvider.MAIN;
+import static dev.getelements.elements.sdk.ElementRegistry.ROOT;
+import static dev.morphia.query.filters.Filters.eq;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Keeps a {@link RankIndex} of the scores for each leaderboard and epoch, so that ranks and pages of the global
+ * leaderboard may be found without counting or skipping over scores in the database. Each index is read from the
+ * database the first time it is needed, and then kept current as {@link ScoreDao#SCORE_CREATED_OR_UPDATED} events are
+ * published by this process.
+ *
+ * Scores written by other processes, or removed from the database, are not seen by the index until it is read again,
+ * which happens on first use after it is {@link #RANK_INDEX_MAX_AGE_SECONDS} old. Indexes which are not used within
+ * that time are discarded. Leaderboards with more than {@link #RANK_INDEX_MAX_ENTRIES} scores are not indexed, as the
+ * index is held entirely in memory, and must be served by the database instead.
+ *
+ * Must remain a singleton, as the indexes are instance state. Transactions share the instance of the enclosing
+ * injector, so reads within a transaction do not see its uncommitted scores.
+ */
+@Singleton
+public class MongoRankIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoRankIndex.class);
+
+    @ElementDefaultAttribute(
+            value = "300",
+            description = "The age in seconds after which an in-memory leaderboard rank index is read again from the " +
+                          "database, picking up scores written by other instances."
+    )
+    public static final String RANK_INDEX_MAX_AGE_SECONDS = "dev.getelements.elements.mongo.rank.index.max.age.seconds";
+
+    @ElementDefaultAttribute(
+            value = "1000000",
+            description = "The largest number of scores held in an in-memory leaderboard rank index. Larger " +
+                          "leaderboards are ranked by the database. Set to zero to disable the index."
+    )
+    public static final String RANK_INDEX_MAX_ENTRIES = "dev.getelements.elements.mongo.rank.index.max.entries";
+
+    private final ConcurrentMap<IndexKey, Holder> holders = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    private volatile long lastSwept = currentTimeMillis();
+
+    private Datastore datastore;
+
+    private ElementRegistry elementRegistry;
+
+    private long maxAgeSeconds;
+
+    private int maxEntries;
+
+    /**
+     * Gets the {@link RankIndex} of the scores in the supplied leaderboard and epoch, keyed by the id of the profile,
+     * reading it from the database if necessary.
+     *
+     * @param mongoLeaderboard the {@link MongoLeaderboard}
+     * @param leaderboardEpoch the epoch, as stored with each {@link MongoScore}
+     * @return the {@link RankIndex}, or empty if the leaderboard is too large to be indexed
+     */
+    public Optional<RankIndex<ObjectId>> getIndex(final MongoLeaderboard mongoLeaderboard,
+                                                  final long leaderboardEpoch) {
+
+        if (getMaxEntries() <= 0) {
+            return Optional.empty();
+        }
+
+        subscribe();
+        sweep();
+
+        final var key = new IndexKey(mongoLeaderboard.getObjectId(), leaderboardEpoch);
+        final var holder = holders.computeIfAbsent(key, k -> new Holder());
+
+        return holder.get(mongoLeaderboard, leaderboardEpoch);
+
+    }
+
+    private void subscribe() {
+
+        // Subscribes on first use rather than on injection, so that the registry is fully constructed by the time it
+        // is used. The subscription lasts as long as the registry.
+
+        if (subscribed.compareAndSet(false, true)) {
+            getElementRegistry().onEvent(this::onEvent);
+        }
+
+    }
+
+    private void sweep() {
+
+        final var now = currentTimeMillis();
+        final var maxAgeMillis = SECONDS.toMillis(getMaxAgeSeconds());
+
+        if (now - lastSwept < maxAgeMillis) {
+            return;
+        }
+
+        lastSwept = now;
+        holders.values().removeIf(holder -> now - holder.lastRead > maxAgeMillis);
+
+    }
+
+    private void onEvent(final Event event) {
+
+        // The variant which carries the transaction is published before the transaction commits, so only the variant
+        // with the score alone, published once the score is committed, is applied.
+
+        if (!ScoreDao.SCORE_CREATED_OR_UPDATED.equals(event.getEventName())) return;
+
+        final var arguments = event.getEventArguments();
+        if (arguments.size() != 1 || !(arguments.get(0) instanceof Score score) || score.getId() == null) return;
+
+        final MongoScoreId mongoScoreId;
+
+        try {
+            mongoScoreId = new MongoScoreId(score.getId());
+        } catch (IllegalArgumentException ex) {
+            logger.warn("Ignoring score with invalid id {}", score.getId(), ex);
+            return;
+        }
+
+        final var key = new IndexKey(mongoScoreId.getLeaderboardId(), mongoScoreId.getLeaderboardEpoch());
+        final var holder = holders.get(key);
+
+        if (holder != null) {
+            holder.put(mongoScoreId.getProfileId(), score.getPointValue());
+        }
+
+    }
+
+    public Datastore getDatastore() {
+        return datastore;
+    }
+
+    @Inject
+    public void setDatastore(@Named(MAIN) Datastore datastore) {
+        this.datastore = datastore;
+    }
+
+    public ElementRegistry getElementRegistry() {
+        return elementRegistry;
+    }
+
+    @Inject
+    public void setElementRegistry(@Named(ROOT) ElementRegistry elementRegistry) {
+        this.elementRegistry = elementRegistry;
+    }
+
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    @Inject
+    public void setMaxAgeSeconds(@Named(RANK_INDEX_MAX_AGE_SECONDS) long maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Inject
+    public void setMaxEntries(@Named(RANK_INDEX_MAX_ENTRIES) int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    private record IndexKey(ObjectId leaderboardId, long leaderboardEpoch) {}
+
+    /**
+     * Holds the current {@link RankIndex} for a single leaderboard and epoch, and coordinates reading it from the
+     * database. Reading is guarded separately from the state, so that events are never held up by a slow read.
+     */
+    private class Holder {
+
+        private final Lock buildLock = new ReentrantLock();
+
+        private volatile RankIndex<ObjectId> index;
+
+        private volatile boolean tooLarge;
+
+        private volatile long builtAt;
+
+        private volatile long lastRead = currentTimeMillis();
+
+        private List<RankIndex.Entry<ObjectId>> pending;
+
+        public Optional<RankIndex<ObjectId>> get(final MongoLeaderboard mongoLeaderboard, final long leaderboardEpoch) {
+
+            lastRead = currentTimeMillis();
+
+            if (builtAt == 0) {
+
+                buildLock.lock();
+
+                try {
+                    if (builtAt == 0) build(mongoLeaderboard, leaderboardEpoch);
+                } finally {
+                    buildLock.unlock();
+                }
+
+            } else if (isStale() && buildLock.tryLock()) {
+
+                // One caller reads the index again, while the rest carry on with the one they have rather than wait.
+
+                try {
+                    if (isStale()) rebuild(mongoLeaderboard, leaderboardEpoch);
+                } finally {
+                    buildLock.unlock();
+                }
+
+            }
+
+            return tooLarge ? Optional.empty() : Optional.ofNullable(index);
+
+        }
+
+        private boolean isStale() {
+            return currentTimeMillis() - builtAt > SECONDS.toMillis(getMaxAgeSeconds());
+        }
+
+        private void rebuild(final MongoLeaderboard mongoLeaderboard, final long leaderboardEpoch) {
+            try {
+                build(mongoLeaderboard, leaderboardEpoch);
+            } catch (RuntimeException ex) {
+                // Keeps the index it has, and tries again once it is next found to be stale.
+                builtAt = currentTimeMillis();
+                logger.error("Unable to read rank index for {} epoch {}",
+                    mongoLeaderboard.getObjectId(),
+                    leaderboardEpoch,
+                    ex);
+            }
+        }
+
+        private void build(final MongoLeaderboard mongoLeaderboard, final long leaderboardEpoch) {
+
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+
+            final var built = new RankIndex<ObjectId>();
+
+            final var query = getDatastore()
+                    .find(MongoScore.class)
+                    .filter(eq("leaderboard", mongoLeaderboard))
+                    .filter(eq("leaderboardEpoch", leaderboardEpoch));
+
+            final var options = new FindOptions()
+                    .projection()
+                    .include("pointValue");
+
+            // Counted first, as counting is much cheaper than reading every score only to find there are too many.
+
+            var oversize = false;
+
+            try {
+
+                oversize = query.count() > getMaxEntries();
+
+                if (!oversize) {
+                    try (var iterator = query.iterator(options)) {
+                        while (iterator.hasNext() && !oversize) {
+                            final var mongoScore = iterator.next();
+                            built.put(mongoScore.getObjectId().getProfileId(), mongoScore.getPointValue());
+                            oversize = built.size() > getMaxEntries();
+                        }
+                    }
+                }
+
+            } catch (RuntimeException ex) {
+
+                synchronized (this) {
+                    pending = null;
+                }
+
+                throw ex;
+
+            }
+
+            // Scores published while reading are applied on top, as the read may have missed them.
+
+            synchronized (this) {
+
+                pending.forEach(entry -> built.put(entry.key(), entry.score()));
+                pending = null;
+
+                tooLarge = oversize;
+                index = oversize ? null : built;
+                builtAt = currentTimeMillis();
+
+            }
+
+            logger.debug("Read rank index for {} epoch {} with {} scores{}",
+                mongoLeaderboard.getObjectId(),
+                leaderboardEpoch,
+                built.size(),
+                oversize ? ", which exceeds the limit." : ".");
+
+        }
+
+        public void put(final ObjectId profileId, final double pointValue) {
+
+            final RankIndex<ObjectId> current;
+
+            synchronized (this) {
+                if (pending != null) pending.add(new RankIndex.Entry<>(profileId, pointValue));
+                current = index;
+            }
+
+            if (current != null) {
+                current.put(profileId, pointValue);
+            }
+
+        }
+
+    }
+
+}
@@ -9,10 +9,12 @@ import dev.getelements.elements.sdk.model.exception.InternalException;
 import dev.getelements.elements.sdk.model.exception.LeaderboardNotFoundException;
 import dev.getelements.elements.sdk.model.ValidationGroups;
 import dev.getelements.elements.sdk.model.leaderboard.Score;
+import dev.getelements.elements.sdk.model.profile.Profile;
 import dev.getelements.elements.sdk.model.util.ValidationHelper;
 import dev.morphia.Datastore;
 import dev.morphia.ModifyOptions;
 import dev.morphia.query.filters.Filters;
+import dev.morphia.transactions.MorphiaSession;
 import dev.getelements.elements.sdk.model.util.MapperRegistry;
 
 import jakarta.inject.Inject;
@@ -40,6 +42,8 @@ public class MongoScoreDao implements ScoreDao {
 
     private Consumer<Event> eventPublisher;
 
+    private MongoScoreWriteBehind scoreWriteBehind;
+
     @Override
     public Score createOrUpdateScore(final String leaderboardNameOrId, final Score score) {
 
@@ -56,6 +60,31 @@ public class MongoScoreDao implements ScoreDao {
 
         final var mongoScoreId = new MongoScoreId(mongoProfile, mongoLeaderboard, leaderboardEpoch);
 
+        if (isWriteBehind()) {
+
+            final var buffered = getScoreWriteBehind().submit(
+                    mongoProfile,
+                    mongoLeaderboard,
+                    leaderboardEpoch,
+                    score.getPointValue());
+
+            // The stored score isn't known until the submission is written, so the caller gets back what it submitted,
+            // flagged as pending, rather than a value which may differ from what is eventually stored.
+
+            if (buffered) {
+                final var bufferedScore = new Score();
+                bufferedScore.setId(mongoScoreId.toHexString());
+                bufferedScore.setProfile(getBeanMapper().map(mongoProfile, Profile.class));
+                bufferedScore.setPointValue(score.getPointValue());
+                bufferedScore.setPending(true);
+                bufferedScore.setScoreUnits(mongoLeaderboard.getScoreUnits());
+                bufferedScore.setLeaderboardEpoch(leaderboardEpoch);
+                bufferedScore.setCreationTimestamp(currentTimeMillis());
+                return bufferedScore;
+            }
+
+        }
+
         final var query = getDatastore().find(MongoScore.class);
         query.filter(Filters.eq("_id", mongoScoreId));
 
@@ -122,6 +151,11 @@ public class MongoScoreDao implements ScoreDao {
 
     }
 
+    private boolean isWriteBehind() {
+        // Writes within a transaction must stay within it, so they are never written behind.
+        return getScoreWriteBehind().isEnabled() && !(getDatastore() instanceof MorphiaSession);
+    }
+
     public Datastore getDatastore() {
         return datastore;
     }
@@ -176,6 +210,15 @@ public class MongoScoreDao implements ScoreDao {
         this.mongoDBUtils = mongoDBUtils;
     }
 
+    public MongoScoreWriteBehind getScoreWriteBehind() {
+        return scoreWriteBehind;
+    }
+
+    @Inject
+    public void setScoreWriteBehind(MongoScoreWriteBehind scoreWriteBehind) {
+        this.scoreWriteBehind = scoreWriteBehind;
+    }
+
     public Consumer<Event> getEventPublisher() {
         return eventPublisher;
     }
@@ -0,0 +1,446 @@
+package dev.getelements.elements.dao.mongo;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import dev.getelements.elements.dao.mongo.model.MongoLeaderboard;
+import dev.getelements.elements.dao.mongo.model.MongoProfile;
+import dev.getelements.elements.dao.mongo.model.MongoScoreId;
+import dev.getelements.elements.dao.mongo.model.score.MongoScore;
+import dev.getelements.elements.sdk.Event;
+import dev.getelements.elements.sdk.annotation.ElementDefaultAttribute;
+import dev.getelements.elements.sdk.model.leaderboard.Leaderboard.ScoreStrategyType;
+import dev.getelements.elements.sdk.model.leaderboard.Score;
+import dev.getelements.elements.sdk.model.util.MapperRegistry;
+import dev.morphia.Datastore;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonDouble;
+import org.bson.codecs.EncoderContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import static dev.getelements.elements.dao.mongo.provider.MongoDatastoreProvider.MAIN;
+import static dev.getelements.elements.sdk.dao.ScoreDao.SCORE_CREATED_OR_UPDATED;
+import static dev.morphia.query.filters.Filters.in;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Buffers score submissions in memory and writes them to the database in batches, trading durability for throughput
+ * when scores arrive faster than they can be written one at a time. Submissions for the same profile, leaderboard and
+ * epoch are merged as they arrive, according to the leaderboard's {@link ScoreStrategyType}, so a burst of submissions
+ * from one player becomes a single write. Every {@link #SCORE_WRITE_BEHIND_FLUSH_INTERVAL_MSEC} milliseconds the merged
+ * submissions are written as unordered bulk upserts, read back, and published as one
+ * {@link dev.getelements.elements.sdk.dao.ScoreDao#SCORE_CREATED_OR_UPDATED} event for each score.
+ *
+ * The background thread is started by the first submission and must be stopped with {@link #stop()}, which writes
+ * anything still buffered. Submissions which fail to write for any reason other than a conflicting concurrent insert,
+ * or which are still buffered when the process exits without stopping, are lost. Once
+ * {@link #SCORE_WRITE_BEHIND_MAX_PENDING} scores are waiting, or once stopped, further submissions are refused so that
+ * the caller may write them directly.
+ *
+ * Must remain a singleton, as the buffer is instance state. Transactions share the instance of the enclosing injector
+ * but must not submit to it, as the writes would escape the transaction.
+ */
+@Singleton
+public class MongoScoreWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoScoreWriteBehind.class);
+
+    @ElementDefaultAttribute(
+            value = "false",
+            description = "Set to true to buffer score submissions in memory and write them in batches. Buffered " +
+                          "scores are lost if the process stops before they are written, and are returned to the " +
+                          "caller flagged as pending with the submitted value rather than the stored score."
+    )
+    public static final String SCORE_WRITE_BEHIND_ENABLED = "dev.getelements.elements.mongo.score.write.behind.enabled";
+
+    @ElementDefaultAttribute(
+            value = "250",
+            description = "The interval in milliseconds at which buffered score submissions are written."
+    )
+    public static final String SCORE_WRITE_BEHIND_FLUSH_INTERVAL_MSEC =
+            "dev.getelements.elements.mongo.score.write.behind.flush.interval.msec";
+
+    @ElementDefaultAttribute(
+            value = "100000",
+            description = "The largest number of buffered scores waiting to be written. Once reached, scores are " +
+                          "written directly until the buffer drains."
+    )
+    public static final String SCORE_WRITE_BEHIND_MAX_PENDING =
+            "dev.getelements.elements.mongo.score.write.behind.max.pending";
+
+    /**
+     * The largest number of scores written in a single bulk write.
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final ConcurrentMap<MongoScoreId, Pending> pending = new ConcurrentHashMap<>();
+
+    private final Object flushLock = new Object();
+
+    private volatile ScheduledExecutorService flusher;
+
+    private volatile boolean stopped;
+
+    private Datastore datastore;
+
+    private MapperRegistry mapperRegistry;
+
+    private Consumer<Event> eventPublisher;
+
+    private boolean enabled;
+
+    private long flushIntervalMillis;
+
+    private int maxPending;
+
+    /**
+     * Buffers a score submission, merging it with any other submission for the same score which has yet to be written.
+     *
+     * @param mongoProfile the {@link MongoProfile} submitting the score
+     * @param mongoLeaderboard the {@link MongoLeaderboard}
+     * @param leaderboardEpoch the epoch to which the score belongs
+     * @param pointValue the submitted value
+     * @return true if buffered, or false if the buffer is full or stopped and the score must be written directly
+     */
+    public boolean submit(final MongoProfile mongoProfile,
+                         final MongoLeaderboard mongoLeaderboard,
+                         final long leaderboardEpoch,
+                         final double pointValue) {
+
+        final var mongoScoreId = new MongoScoreId(mongoProfile, mongoLeaderboard, leaderboardEpoch);
+
+        if (stopped || pending.size() >= getMaxPending() && !pending.containsKey(mongoScoreId)) {
+            return false;
+        }
+
+        start();
+
+        final var strategy = mongoLeaderboard.getScoreStrategyType();
+
+        pending.merge(
+                mongoScoreId,
+                new Pending(mongoScoreId, mongoProfile, mongoLeaderboard, strategy, pointValue),
+                Pending::merge
+        );
+
+        // Stopped while this was being buffered, so the final flush may already have run.
+
+        if (stopped) {
+            flushSafely();
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Writes all buffered submissions immediately.
+     */
+    public void flush() {
+
+        // Serialized so that two flushes never write the same score concurrently, as they would otherwise race to
+        // insert it.
+
+        synchronized (flushLock) {
+
+            final var drained = new ArrayList<Pending>();
+
+            for (var key : pending.keySet()) {
+
+                final var removed = pending.remove(key);
+                if (removed != null) drained.add(removed);
+
+                if (drained.size() == BATCH_SIZE) {
+                    write(drained);
+                    drained.clear();
+                }
+
+            }
+
+            if (!drained.isEmpty()) {
+                write(drained);
+            }
+
+        }
+
+    }
+
+    /**
+     * Starts the background thread which writes buffered submissions. This is called by the first submission, and has
+     * no effect if the thread is already running or this instance was stopped.
+     */
+    public void start() {
+
+        if (flusher != null || stopped) {
+            return;
+        }
+
+        synchronized (flushLock) {
+
+            if (flusher != null || stopped) {
+                return;
+            }
+
+            final var executor = newSingleThreadScheduledExecutor(r -> {
+                final var thread = new Thread(r);
+                thread.setDaemon(true);
+                thread.setName(MongoScoreWriteBehind.class.getSimpleName() + " flusher");
+                return thread;
+            });
+
+            final var interval = getFlushIntervalMillis();
+            executor.scheduleWithFixedDelay(this::flushSafely, interval, interval, MILLISECONDS);
+
+            flusher = executor;
+
+        }
+
+    }
+
+    /**
+     * Stops the background thread and writes all buffered submissions. Later submissions are refused, so that they are
+     * written directly.
+     */
+    public void stop() {
+
+        final ScheduledExecutorService flusher;
+
+        synchronized (flushLock) {
+            flusher = this.flusher;
+            this.flusher = null;
+            stopped = true;
+        }
+
+        if (flusher != null) {
+
+            flusher.shutdown();
+
+            try {
+                if (!flusher.awaitTermination(getFlushIntervalMillis() * 2, MILLISECONDS)) {
+                    flusher.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                flusher.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+
+        }
+
+        flushSafely();
+
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            logger.error("Failed to write buffered scores.", ex);
+        }
+    }
+
+    private void write(final List<Pending> batch) {
+
+        final var collection = getDatastore().getCollection(MongoScore.class);
+        final var now = new Timestamp(currentTimeMillis());
+
+        final var models = batch
+                .stream()
+                .map(p -> toWriteModel(p, now))
+                .toList();
+
+        try {
+            collection.bulkWrite(models, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException ex) {
+
+            // Concurrent upserts of a score which doesn't yet exist may both attempt the insert, in which case the
+            // loser fails with a duplicate key. By the time it is retried the score exists, so it becomes an update.
+
+            final var retry = new ArrayList<WriteModel<MongoScore>>();
+
+            for (var error : ex.getWriteErrors()) {
+                if (error.getCode() == DUPLICATE_KEY) {
+                    retry.add(models.get(error.getIndex()));
+                } else {
+                    logger.error("Lost buffered score {}: {}", batch.get(error.getIndex()).mongoScoreId(), error);
+                }
+            }
+
+            if (!retry.isEmpty()) {
+                try {
+                    collection.bulkWrite(retry, new BulkWriteOptions().ordered(false));
+                } catch (MongoBulkWriteException retryException) {
+                    logger.error("Lost {} buffered scores on retry.",
+                        retryException.getWriteErrors().size(),
+                        retryException);
+                }
+            }
+
+        }
+
+        publish(batch);
+
+    }
+
+    private void publish(final List<Pending> batch) {
+
+        final var ids = batch.stream().map(Pending::mongoScoreId).toList();
+        final var query = getDatastore().find(MongoScore.class).filter(in("_id", ids));
+
+        try (var iterator = query.iterator()) {
+            for (var mongoScore : iterator.toList()) {
+
+                final var score = getMapperRegistry().map(mongoScore, Score.class);
+
+                getEventPublisher().accept(Event.builder()
+                        .argument(score)
+                        .named(SCORE_CREATED_OR_UPDATED)
+                        .build());
+
+            }
+        }
+
+    }
+
+    private BsonDocument encode(final MongoScore mongoScore) {
+
+        // Encodes with the same codecs as the rest of the application, so that the id and the references are stored
+        // exactly as they would be when written through a query.
+
+        final var document = new BsonDocument();
+        final var codec = getDatastore().getCodecRegistry().get(MongoScore.class);
+        codec.encode(new BsonDocumentWriter(document), mongoScore, EncoderContext.builder().build());
+
+        return document;
+
+    }
+
+    private WriteModel<MongoScore> toWriteModel(final Pending pending, final Timestamp now) {
+
+        final var mongoScore = new MongoScore();
+        mongoScore.setObjectId(pending.mongoScoreId());
+        mongoScore.setProfile(pending.mongoProfile());
+        mongoScore.setLeaderboard(pending.mongoLeaderboard());
+        mongoScore.setLeaderboardEpoch(pending.mongoScoreId().getLeaderboardEpoch());
+        mongoScore.setCreationTimestamp(now);
+
+        final var encoded = encode(mongoScore);
+
+        final var set = new BsonDocument()
+                .append("profile", encoded.get("profile"))
+                .append("leaderboard", encoded.get("leaderboard"))
+                .append("leaderboardEpoch", encoded.get("leaderboardEpoch"))
+                .append("creationTimestamp", encoded.get("creationTimestamp"));
+
+        final var operator = switch (pending.strategy()) {
+            case ACCUMULATE -> "$inc";
+            case OVERWRITE_IF_GREATER -> "$max";
+        };
+
+        final var update = new BsonDocument()
+                .append("$set", set)
+                .append(operator, new BsonDocument("pointValue", new BsonDouble(pending.pointValue())));
+
+        return new UpdateOneModel<>(
+                new BsonDocument("_id", encoded.get("_id")),
+                update,
+                new UpdateOptions().upsert(true)
+        );
+
+    }
+
+    public Datastore getDatastore() {
+        return datastore;
+    }
+
+    @Inject
+    public void setDatastore(@Named(MAIN) Datastore datastore) {
+        this.datastore = datastore;
+    }
+
+    public MapperRegistry getMapperRegistry() {
+        return mapperRegistry;
+    }
+
+    @Inject
+    public void setMapperRegistry(MapperRegistry mapperRegistry) {
+        this.mapperRegistry = mapperRegistry;
+    }
+
+    public Consumer<Event> getEventPublisher() {
+        return eventPublisher;
+    }
+
+    @Inject
+    public void setEventPublisher(Consumer<Event> eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Inject
+    public void setEnabled(@Named(SCORE_WRITE_BEHIND_ENABLED) boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    @Inject
+    public void setFlushIntervalMillis(@Named(SCORE_WRITE_BEHIND_FLUSH_INTERVAL_MSEC) long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    @Inject
+    public void setMaxPending(@Named(SCORE_WRITE_BEHIND_MAX_PENDING) int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * The merged submissions for a single score which have yet to be written.
+     */
+    private record Pending(
+            MongoScoreId mongoScoreId,
+            MongoProfile mongoProfile,
+            MongoLeaderboard mongoLeaderboard,
+            ScoreStrategyType strategy,
+            double pointValue) {
+
+        Pending merge(final Pending other) {
+
+            final var merged = switch (strategy) {
+                case ACCUMULATE -> pointValue + other.pointValue;
+                case OVERWRITE_IF_GREATER -> Math.max(pointValue, other.pointValue);
+            };
+
+            return new Pending(mongoScoreId, mongoProfile, mongoLeaderboard, strategy, merged);
+
+        }
+    }
+
+}
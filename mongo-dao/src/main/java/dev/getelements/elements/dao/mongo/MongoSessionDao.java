@@ -31,6 +31,7 @@ import jakarta.inject.Named;
 import jakarta.inject.Provider;
 import java.security.MessageDigest;
 import java.sql.Timestamp;
+import java.util.*;
 import java.util.function.Consumer;
 
 import static com.mongodb.client.model.ReturnDocument.AFTER;
@@ -145,6 +146,98 @@ public class MongoSessionDao implements SessionDao {
 
     }
 
+    @Override
+    public void refresh(final Collection<String> sessionSecrets, final long expiry) {
+
+        final var md = getMessageDigestProvider().get();
+        final var mongoUsers = new HashMap<ObjectId, Optional<MongoUser>>();
+        final var sessionIds = new ArrayList<String>();
+
+        for (final var sessionSecret : sessionSecrets) {
+
+            final MongoSessionSecret mongoSessionSecret;
+            final ObjectId mongoUserId;
+
+            try {
+                mongoSessionSecret = new MongoSessionSecret(sessionSecret);
+                mongoUserId = mongoSessionSecret.getContextAsObjectId();
+            } catch (IllegalArgumentException ex) {
+                logger.debug("Skipping bad session secret.", ex);
+                continue;
+            }
+
+            mongoUsers
+                .computeIfAbsent(mongoUserId, getMongoUserDao()::findMongoUser)
+                .map(mongoUser -> mongoSessionSecret.getSecretDigestEncoded(md, mongoUser.getPasswordHash()))
+                .ifPresent(sessionIds::add);
+
+        }
+
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+
+        final var now = new Timestamp(currentTimeMillis());
+        final var updatedExpiry = new Timestamp(expiry);
+
+        getDatastore().find(MongoSession.class)
+            .filter(and(
+                gte("expiry", now),
+                in("_id", sessionIds)
+            ))
+            .update(set("expiry", updatedExpiry))
+            .execute(new UpdateOptions().upsert(false).multi(true));
+
+        // Reads back the sessions which were refreshed so that the last login and events are the same as if each had
+        // been refreshed individually.
+
+        final List<MongoSession> mongoSessions;
+
+        try (var iterator = getDatastore().find(MongoSession.class)
+                .filter(and(
+                    eq("expiry", updatedExpiry),
+                    in("_id", sessionIds)
+                ))
+                .iterator()) {
+            mongoSessions = iterator.toList();
+        }
+
+        final var profileIds = mongoSessions
+            .stream()
+            .map(MongoSession::getProfile)
+            .filter(Objects::nonNull)
+            .map(MongoProfile::getObjectId)
+            .distinct()
+            .toList();
+
+        if (!profileIds.isEmpty()) {
+            updateProfilesLastLogin(profileIds, now);
+        }
+
+        for (final var mongoSession : mongoSessions) {
+            getEventPublisher().accept(Event.builder()
+                    .argument(getMapper().map(mongoSession, Session.class))
+                    .named(SESSION_UPDATED)
+                    .build());
+        }
+
+    }
+
+    @Override
+    public void updateLastLogin(final Collection<String> profileIds, final long timestamp) {
+
+        final var objectIds = profileIds
+            .stream()
+            .filter(ObjectId::isValid)
+            .map(ObjectId::new)
+            .toList();
+
+        if (!objectIds.isEmpty()) {
+            updateProfilesLastLogin(objectIds, new Timestamp(timestamp));
+        }
+
+    }
+
     @Override
     public SessionCreation create(final Session session) {
 
@@ -204,6 +297,17 @@ public class MongoSessionDao implements SessionDao {
         }
     }
 
+    private void updateProfilesLastLogin(final List<ObjectId> profileIds, final Timestamp timestamp) {
+        try {
+            getDatastore().find(MongoProfile.class)
+                 .filter(in("_id", profileIds))
+                 .update(set("lastLogin", timestamp))
+                 .execute(new UpdateOptions().upsert(false).multi(true));
+        } catch (MongoCommandException ex) {
+            logger.error("Failed to save lastLogin to profiles: {}", ex.toString());
+        }
+    }
+
     @Override
     public void blacklist(final String sessionSecret) {
 
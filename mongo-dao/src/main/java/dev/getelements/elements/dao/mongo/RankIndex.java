@@ -0,0 +1,340 @@
+package dev.getelements.elements.dao.mongo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * An in-memory order-statistic index of scores, ordered from highest to lowest, which answers the questions asked of a
+ * leaderboard in logarithmic time regardless of its size. Where a database must count every score above a player's
+ * to find their rank, or skip over every score before a page, this index keeps the size of each subtree in a balanced
+ * tree (a treap) and descends directly to the answer.
+ *
+ * Each key holds at most one score. Scores which tie are ordered by key so that pages are stable from one request to
+ * the next. All operations are safe to call from multiple threads. Reads may proceed concurrently, while writes are
+ * exclusive.
+ *
+ * @param <KeyT> the type of key, such as the id of the profile which owns the score
+ */
+public class RankIndex<KeyT extends Comparable<KeyT>> {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<KeyT, Node<KeyT>> nodes = new HashMap<>();
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Node<KeyT> root;
+
+    /**
+     * Sets the score for the supplied key, replacing any score previously held.
+     *
+     * @param key the key
+     * @param score the score
+     */
+    public void put(final KeyT key, final double score) {
+
+        lock.writeLock().lock();
+
+        try {
+
+            final var existing = nodes.get(key);
+
+            if (existing != null) {
+                if (Double.compare(existing.score, score) == 0) return;
+                root = delete(root, existing);
+            }
+
+            final var node = new Node<>(key, score, random.nextInt());
+            nodes.put(key, node);
+            root = insert(root, node);
+
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+    }
+
+    /**
+     * Removes the score held by the supplied key, if any.
+     *
+     * @param key the key
+     */
+    public void remove(final KeyT key) {
+
+        lock.writeLock().lock();
+
+        try {
+            final var existing = nodes.remove(key);
+            if (existing != null) root = delete(root, existing);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+    }
+
+    /**
+     * Gets the score held by the supplied key.
+     *
+     * @param key the key
+     * @return the score, or empty if the key holds no score
+     */
+    public OptionalDouble getScore(final KeyT key) {
+
+        lock.readLock().lock();
+
+        try {
+            final var node = nodes.get(key);
+            return node == null ? OptionalDouble.empty() : OptionalDouble.of(node.score);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    /**
+     * Counts the scores which are greater than or equal to the supplied score.
+     *
+     * @param score the score
+     * @return the count
+     */
+    public long countAtLeast(final double score) {
+
+        lock.readLock().lock();
+
+        try {
+
+            var count = 0L;
+            var node = root;
+
+            while (node != null) {
+                if (Double.compare(node.score, score) >= 0) {
+                    count += size(node.left) + 1;
+                    node = node.right;
+                } else {
+                    node = node.left;
+                }
+            }
+
+            return count;
+
+        } finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    /**
+     * Gets the zero-based position of the supplied key, counting from the highest score.
+     *
+     * @param key the key
+     * @return the position, or -1 if the key holds no score
+     */
+    public long indexOf(final KeyT key) {
+
+        lock.readLock().lock();
+
+        try {
+
+            final var target = nodes.get(key);
+            if (target == null) return -1;
+
+            var index = 0L;
+            var node = root;
+
+            while (node != target) {
+                if (compare(target, node) < 0) {
+                    node = node.left;
+                } else {
+                    index += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+
+            return index + size(target.left);
+
+        } finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    /**
+     * Gets a page of entries, ordered from the highest score to the lowest.
+     *
+     * @param offset the zero-based position of the first entry
+     * @param count the maximum number of entries
+     * @return the entries, which may number fewer than requested at the end of the index
+     */
+    public List<Entry<KeyT>> getPage(final long offset, final int count) {
+
+        lock.readLock().lock();
+
+        try {
+
+            final var from = max(0, offset);
+            final var to = min(size(root), from + max(0, count));
+            final var page = new ArrayList<Entry<KeyT>>((int) max(0, to - from));
+
+            collect(root, from, to, 0, page);
+            return page;
+
+        } finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    /**
+     * Gets the number of scores in the index.
+     *
+     * @return the size
+     */
+    public int size() {
+
+        lock.readLock().lock();
+
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    private static <KeyT extends Comparable<KeyT>> int size(final Node<KeyT> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <KeyT extends Comparable<KeyT>> int compare(final Node<KeyT> a, final Node<KeyT> b) {
+        final var byScore = Double.compare(b.score, a.score);
+        return byScore == 0 ? a.key.compareTo(b.key) : byScore;
+    }
+
+    private static <KeyT extends Comparable<KeyT>> void collect(
+            final Node<KeyT> node,
+            final long from, final long to,
+            final long base,
+            final List<Entry<KeyT>> page) {
+
+        // Visits the nodes in order, skipping any subtree which lies wholly outside of the range, so a page costs the
+        // depth of the tree plus the size of the page rather than its offset.
+
+        if (node == null || base >= to || base + node.size <= from) return;
+
+        final var index = base + size(node.left);
+
+        collect(node.left, from, to, base, page);
+        if (index >= from && index < to) page.add(new Entry<>(node.key, node.score));
+        collect(node.right, from, to, index + 1, page);
+
+    }
+
+    private static <KeyT extends Comparable<KeyT>> Node<KeyT> insert(final Node<KeyT> root, final Node<KeyT> node) {
+
+        if (root == null) {
+            return node;
+        } else if (node.priority > root.priority) {
+            split(root, node);
+            return node.update();
+        } else if (compare(node, root) < 0) {
+            root.left = insert(root.left, node);
+        } else {
+            root.right = insert(root.right, node);
+        }
+
+        return root.update();
+
+    }
+
+    private static <KeyT extends Comparable<KeyT>> void split(final Node<KeyT> root, final Node<KeyT> pivot) {
+
+        // Splits the tree rooted at root into the nodes ordered before and after the pivot, which become its children.
+
+        if (root == null) {
+            pivot.left = pivot.right = null;
+        } else if (compare(root, pivot) < 0) {
+            split(root.right, pivot);
+            root.right = pivot.left;
+            pivot.left = root.update();
+        } else {
+            split(root.left, pivot);
+            root.left = pivot.right;
+            pivot.right = root.update();
+        }
+
+    }
+
+    private static <KeyT extends Comparable<KeyT>> Node<KeyT> delete(final Node<KeyT> root, final Node<KeyT> node) {
+
+        if (root == node) {
+            return merge(root.left, root.right);
+        } else if (compare(node, root) < 0) {
+            root.left = delete(root.left, node);
+        } else {
+            root.right = delete(root.right, node);
+        }
+
+        return root.update();
+
+    }
+
+    private static <KeyT extends Comparable<KeyT>> Node<KeyT> merge(final Node<KeyT> left, final Node<KeyT> right) {
+        if (left == null) {
+            return right;
+        } else if (right == null) {
+            return left;
+        } else if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        } else {
+            right.left = merge(left, right.left);
+            return right.update();
+        }
+    }
+
+    private static class Node<KeyT extends Comparable<KeyT>> {
+
+        private final KeyT key;
+
+        private final double score;
+
+        private final int priority;
+
+        private int size = 1;
+
+        private Node<KeyT> left;
+
+        private Node<KeyT> right;
+
+        public Node(final KeyT key, final double score, final int priority) {
+            this.key = key;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        public Node<KeyT> update() {
+            size = size(left) + size(right) + 1;
+            return this;
+        }
+
+    }
+
+    /**
+     * A single score in the index.
+     *
+     * @param key the key
+     * @param score the score
+     * @param <KeyT> the type of key
+     */
+    public record Entry<KeyT>(KeyT key, double score) {}
+
+}
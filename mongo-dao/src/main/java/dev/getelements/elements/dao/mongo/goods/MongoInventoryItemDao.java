@@ -139,6 +139,19 @@ public class MongoInventoryItemDao implements InventoryItemDao {
 
     }
 
+    @Override
+    public Pagination<InventoryItem> getInventoryItems(final String cursor, final int count, final User user) {
+
+        final var query = getDatastore()
+            .find(MongoInventoryItem.class)
+            .filter(eq("user", getDozerMapper().map(user, MongoUser.class)));
+
+        return getMongoDBUtils().paginationFromCursor(
+                query, cursor, count,
+                mongoItem -> getDozerMapper().map(mongoItem, InventoryItem.class));
+
+    }
+
     @Override
     public Pagination<InventoryItem> getInventoryItems(final int offset, final int count) {
 
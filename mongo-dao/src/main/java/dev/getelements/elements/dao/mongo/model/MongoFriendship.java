@@ -3,8 +3,8 @@ package dev.getelements.elements.dao.mongo.model;
 import dev.morphia.annotations.*;
 
 @Indexes({
-    @Index(fields = @Field("_id.lesser")),
-    @Index(fields = @Field("_id.greater")),
+    @Index(fields = {@Field("_id.lesser"), @Field("_id")}),
+    @Index(fields = {@Field("_id.greater"), @Field("_id")}),
     @Index(fields = @Field("lesserAccepted")),
     @Index(fields = @Field("greaterAccepted"))
 })
@@ -22,7 +22,9 @@ import java.util.Objects;
             @Field("displayName")
         }
     ),
-    @Index(fields = @Field(value = "displayName", type = IndexType.TEXT))
+    @Index(fields = @Field(value = "displayName", type = IndexType.TEXT)),
+    @Index(fields = {@Field("application"), @Field("active"), @Field("_id")}),
+    @Index(fields = {@Field("user"), @Field("active"), @Field("_id")})
 })
 public class MongoProfile {
 
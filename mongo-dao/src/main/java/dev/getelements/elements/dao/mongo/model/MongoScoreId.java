@@ -54,7 +54,7 @@ public class MongoScoreId implements HexableId {
         leaderboardId = new ObjectId(leaderboardIdBytes);
 
         ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
-        buffer.put(bytes);
+        buffer.put(leaderboardEpochBytes);
         buffer.flip();
         leaderboardEpoch = buffer.getLong();
     }
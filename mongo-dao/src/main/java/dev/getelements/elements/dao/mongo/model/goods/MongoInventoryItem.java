@@ -7,6 +7,9 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity(value = "inventory_items", useDiscriminator = false)
+@Indexes({
+    @Index(fields = {@Field("user"), @Field("_id")})
+})
 public class MongoInventoryItem {
 
     @Id
@@ -9,6 +9,9 @@ import java.util.Date;
 import java.util.Objects;
 
 @Entity(value = "receipt", useDiscriminator = false)
+@Indexes({
+    @Index(fields = {@Field("user"), @Field("_id")})
+})
 public class MongoReceipt {
 
     @Id
@@ -18,7 +18,13 @@ import java.sql.Timestamp;
         @Index(fields = @Field("profile")),
         @Index(fields = @Field("leaderboard")),
         @Index(fields = @Field(value = "pointValue", type = IndexType.DESC)),
-        @Index(fields = @Field(value = "leaderboardEpoch", type = IndexType.DESC))
+        @Index(fields = @Field(value = "leaderboardEpoch", type = IndexType.DESC)),
+        @Index(fields = {
+                @Field("leaderboard"),
+                @Field("leaderboardEpoch"),
+                @Field(value = "pointValue", type = IndexType.DESC),
+                @Field("_id")
+        })
 })
 public class MongoScore {
 
@@ -86,6 +86,20 @@ public class MongoReceiptDao implements ReceiptDao {
                 mongoReceipt -> getDozerMapper().map(mongoReceipt, Receipt.class), new FindOptions());
     }
 
+    @Override
+    public Pagination<Receipt> getReceipts(User user, String cursor, int count) {
+
+        final var query = getDatastore().find(MongoReceipt.class);
+
+        if(user != null) {
+            query.filter(eq("user", getDozerMapper().map(user, MongoUser.class)));
+        }
+
+        return getMongoDBUtils().paginationFromCursor(
+                query, cursor, count,
+                mongoReceipt -> getDozerMapper().map(mongoReceipt, Receipt.class));
+    }
+
     @Override
     public Receipt getReceipt(String id) {
         
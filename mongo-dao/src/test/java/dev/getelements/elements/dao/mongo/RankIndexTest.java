@@ -0,0 +1,122 @@
+package dev.getelements.elements.dao.mongo;
+
+import org.testng.annotations.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+public class RankIndexTest {
+
+    @Test
+    public void testOrderAndTies() {
+
+        final var index = new RankIndex<String>();
+        index.put("c", 10);
+        index.put("a", 30);
+        index.put("b", 10);
+        index.put("d", 20);
+
+        assertEquals(index.size(), 4);
+        assertEquals(index.getPage(0, 10), List.of(
+            new RankIndex.Entry<>("a", 30.0),
+            new RankIndex.Entry<>("d", 20.0),
+            new RankIndex.Entry<>("b", 10.0),
+            new RankIndex.Entry<>("c", 10.0)));
+
+        assertEquals(index.indexOf("a"), 0);
+        assertEquals(index.indexOf("c"), 3);
+        assertEquals(index.indexOf("missing"), -1);
+
+        assertEquals(index.countAtLeast(10), 4);
+        assertEquals(index.countAtLeast(15), 2);
+        assertEquals(index.countAtLeast(31), 0);
+
+    }
+
+    @Test
+    public void testReplaceAndRemove() {
+
+        final var index = new RankIndex<String>();
+        index.put("a", 10);
+        index.put("b", 20);
+
+        index.put("a", 30);
+        assertEquals(index.size(), 2);
+        assertEquals(index.getScore("a").getAsDouble(), 30.0);
+        assertEquals(index.indexOf("a"), 0);
+
+        index.remove("a");
+        index.remove("missing");
+        assertEquals(index.size(), 1);
+        assertTrue(index.getScore("a").isEmpty());
+        assertEquals(index.getPage(0, 10), List.of(new RankIndex.Entry<>("b", 20.0)));
+
+    }
+
+    @Test
+    public void testPageBounds() {
+
+        final var index = new RankIndex<Integer>();
+        for (int i = 0; i < 10; ++i) index.put(i, i);
+
+        assertEquals(index.getPage(8, 5).size(), 2);
+        assertEquals(index.getPage(10, 5).size(), 0);
+        assertEquals(index.getPage(-1, 2).get(0).key(), (Integer) 9);
+        assertEquals(index.getPage(0, 0).size(), 0);
+
+    }
+
+    @Test
+    public void testMatchesSortedScores() {
+
+        final var random = new Random(42);
+        final var index = new RankIndex<Integer>();
+        final var expected = new HashMap<Integer, Double>();
+
+        for (int i = 0; i < 20000; ++i) {
+
+            final var key = random.nextInt(2000);
+
+            if (random.nextInt(10) == 0) {
+                index.remove(key);
+                expected.remove(key);
+            } else {
+                // A narrow range of scores, so that ties are common.
+                final double score = random.nextInt(500);
+                index.put(key, score);
+                expected.put(key, score);
+            }
+
+        }
+
+        final var sorted = expected
+            .entrySet()
+            .stream()
+            .sorted(Comparator
+                .comparing(Map.Entry<Integer, Double>::getValue, Comparator.reverseOrder())
+                .thenComparing(Map.Entry::getKey))
+            .map(e -> new RankIndex.Entry<>(e.getKey(), e.getValue()))
+            .toList();
+
+        assertEquals(index.size(), sorted.size());
+        assertEquals(index.getPage(0, sorted.size()), sorted);
+        assertEquals(index.getPage(100, 50), sorted.subList(100, 150));
+
+        for (int i = 0; i < sorted.size(); i += 37) {
+
+            final var entry = sorted.get(i);
+            final var atLeast = sorted.stream().filter(e -> e.score() >= entry.score()).count();
+
+            assertEquals(index.indexOf(entry.key()), i);
+            assertEquals(index.countAtLeast(entry.score()), atLeast);
+
+        }
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package dev.getelements.elements.dao.mongo.guice;
 
 import com.google.inject.TypeLiteral;
+import dev.getelements.elements.dao.mongo.MongoScoreWriteBehind;
 import dev.getelements.elements.dao.mongo.provider.MongoAtomicReferenceDataStoreProvider;
 import dev.getelements.elements.dao.mongo.provider.MorphiaConfigProvider;
 import dev.getelements.elements.sdk.dao.ElementEntityRegistrar;
@@ -29,6 +30,8 @@ public class MongoDaoElementModule extends SharedElementModule {
         install(new MongoDaoModule());
         install(new MongoGridFSLargeObjectBucketModule());
         expose(ElementEntityRegistrar.class);
+        // Expose to the outer scope so that it may be stopped along with the server.
+        expose(MongoScoreWriteBehind.class);
         // Expose to the outer scope so MongoSdkModule.DatastoreFromRef can inject it.
         expose(new TypeLiteral<AtomicReference<Datastore>>(){});
     }
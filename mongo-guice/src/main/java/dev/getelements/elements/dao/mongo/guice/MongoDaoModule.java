@@ -85,6 +85,8 @@ public class MongoDaoModule extends PrivateModule {
         bindEventPublisher();
         bindElementRegistries();
         bindElementEntityRegistrar();
+        bindRankIndex();
+        bindScoreWriteBehind();
 
         bind(ObjectMapper.class).asEagerSingleton();
 
@@ -268,6 +270,15 @@ public class MongoDaoModule extends PrivateModule {
         expose(ElementEntityRegistrar.class);
     }
 
+    protected void bindRankIndex() {
+        bind(MongoRankIndex.class).in(Singleton.class);
+    }
+
+    protected void bindScoreWriteBehind() {
+        bind(MongoScoreWriteBehind.class).in(Singleton.class);
+        expose(MongoScoreWriteBehind.class);
+    }
+
     protected Key<Datastore> getMainDatastoreKey() {
         return Key.get(Datastore.class, named(MongoDatastoreProvider.MAIN));
     }
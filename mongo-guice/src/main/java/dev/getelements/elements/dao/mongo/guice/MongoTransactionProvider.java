@@ -2,6 +2,8 @@ package dev.getelements.elements.dao.mongo.guice;
 
 import com.google.inject.*;
 import com.mongodb.client.MongoDatabase;
+import dev.getelements.elements.dao.mongo.MongoRankIndex;
+import dev.getelements.elements.dao.mongo.MongoScoreWriteBehind;
 import dev.getelements.elements.dao.mongo.provider.MongoDatastoreProvider;
 import dev.getelements.elements.guice.ConfigurationModule;
 import dev.getelements.elements.sdk.ElementRegistry;
@@ -35,6 +37,10 @@ public class MongoTransactionProvider implements Provider<Transaction> {
 
     private Provider<ElementRegistry> rootElementRegistryProvider;
 
+    private Provider<MongoRankIndex> mongoRankIndexProvider;
+
+    private Provider<MongoScoreWriteBehind> mongoScoreWriteBehindProvider;
+
     @Override
     public Transaction get() {
 
@@ -98,6 +104,18 @@ public class MongoTransactionProvider implements Provider<Transaction> {
                         // Not needed in a transaction-scoped injector.
                     }
 
+                    @Override
+                    protected void bindRankIndex() {
+                        // Shares the process-wide index rather than reading a new one for each transaction.
+                        bind(MongoRankIndex.class).toProvider(getMongoRankIndexProvider());
+                    }
+
+                    @Override
+                    protected void bindScoreWriteBehind() {
+                        // Shares the process-wide buffer rather than starting one for each transaction.
+                        bind(MongoScoreWriteBehind.class).toProvider(getMongoScoreWriteBehindProvider());
+                    }
+
                 }
         );
 
@@ -159,4 +177,22 @@ public class MongoTransactionProvider implements Provider<Transaction> {
         this.rootElementRegistryProvider = rootElementRegistryProvider;
     }
 
+    public Provider<MongoRankIndex> getMongoRankIndexProvider() {
+        return mongoRankIndexProvider;
+    }
+
+    @Inject
+    public void setMongoRankIndexProvider(Provider<MongoRankIndex> mongoRankIndexProvider) {
+        this.mongoRankIndexProvider = mongoRankIndexProvider;
+    }
+
+    public Provider<MongoScoreWriteBehind> getMongoScoreWriteBehindProvider() {
+        return mongoScoreWriteBehindProvider;
+    }
+
+    @Inject
+    public void setMongoScoreWriteBehindProvider(Provider<MongoScoreWriteBehind> mongoScoreWriteBehindProvider) {
+        this.mongoScoreWriteBehindProvider = mongoScoreWriteBehindProvider;
+    }
+
 }
@@ -0,0 +1,85 @@
+package dev.getelements.elements.dao.mongo.test;
+
+import dev.getelements.elements.sdk.model.Pagination;
+import dev.getelements.elements.sdk.model.exception.InvalidParameterException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.testng.Assert.*;
+
+/**
+ * Checks the invariants shared by every listing which may be fetched by cursor.
+ */
+public class CursorPaginationAssertions {
+
+    /**
+     * An empty BSON document, which decodes cleanly but carries none of the fields of a cursor.
+     */
+    public static final String EMPTY_CURSOR = "BQAAAAA";
+
+    private CursorPaginationAssertions() {}
+
+    /**
+     * Fetches every page by cursor, checking the offset, total and size of each page along the way.
+     *
+     * @param fetch fetches the page after the supplied cursor
+     * @param pageSize the count requested for each page
+     * @param expectedTotal the number of results expected in all
+     * @param <T> the paginated type
+     * @return all results, in the order they were returned
+     */
+    public static <T> List<T> walk(final Function<String, Pagination<T>> fetch,
+                                   final int pageSize,
+                                   final int expectedTotal) {
+
+        final var objects = new ArrayList<T>();
+
+        String cursor = null;
+        int pages = 0;
+
+        do {
+
+            final var page = fetch.apply(cursor);
+
+            assertEquals(page.getOffset(), objects.size(), "Mismatched offset.");
+            assertEquals(page.getTotal(), expectedTotal, "Mismatched total.");
+            assertEquals(page.isApproximation(), cursor != null, "Only later pages should approximate the total.");
+            assertTrue(page.getObjects().size() <= pageSize, "Page exceeds the requested count.");
+
+            if (page.getNextCursor() != null) {
+                assertEquals(page.getObjects().size(), pageSize, "Only the last page may be short.");
+            }
+
+            objects.addAll(page.getObjects());
+            cursor = page.getNextCursor();
+
+            assertTrue(++pages <= expectedTotal + 1, "Cursor never reached the last page.");
+
+        } while (cursor != null);
+
+        assertEquals(objects.size(), expectedTotal, "Mismatched number of results.");
+        return objects;
+
+    }
+
+    /**
+     * Checks that cursors which were never issued, or were altered, are rejected.
+     *
+     * @param fetch fetches the page after the supplied cursor
+     * @param validCursor a cursor issued for the same listing
+     */
+    public static void assertRejectsInvalidCursors(final Function<String, Pagination<?>> fetch,
+                                                   final String validCursor) {
+
+        assertNotNull(validCursor, "Expected a cursor for the following page.");
+
+        expectThrows(InvalidParameterException.class, () -> fetch.apply("not-a-cursor"));
+        expectThrows(InvalidParameterException.class, () -> fetch.apply("!!!"));
+        expectThrows(InvalidParameterException.class, () -> fetch.apply(EMPTY_CURSOR));
+        expectThrows(InvalidParameterException.class, () -> fetch.apply(validCursor.substring(0, validCursor.length() / 2)));
+
+    }
+
+}
@@ -0,0 +1,114 @@
+package dev.getelements.elements.dao.mongo.test;
+
+import dev.getelements.elements.dao.mongo.model.MongoFriendship;
+import dev.getelements.elements.dao.mongo.model.MongoFriendshipId;
+import dev.getelements.elements.sdk.dao.FriendDao;
+import dev.getelements.elements.sdk.model.friend.Friend;
+import dev.getelements.elements.sdk.model.user.User;
+import dev.morphia.Datastore;
+import org.bson.types.ObjectId;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import jakarta.inject.Inject;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toSet;
+import static org.testng.Assert.assertEquals;
+
+@Guice(modules = IntegrationTestModule.class)
+public class MongoFriendDaoTest {
+
+    private static final int FRIEND_COUNT = 7;
+
+    private static final int PAGE_SIZE = 3;
+
+    private FriendDao friendDao;
+
+    private UserTestFactory userTestFactory;
+
+    private Datastore datastore;
+
+    private User testUser;
+
+    @BeforeClass
+    public void setupFriends() {
+
+        // Written directly, as friendships are only ever created by other processes.
+
+        testUser = getUserTestFactory().createTestUser();
+
+        final var userObjectId = new ObjectId(testUser.getId());
+
+        IntStream.range(0, FRIEND_COUNT)
+            .mapToObj(i -> getUserTestFactory().createTestUser())
+            .forEach(friend -> {
+                final var mongoFriendship = new MongoFriendship();
+                mongoFriendship.setObjectId(new MongoFriendshipId(userObjectId, new ObjectId(friend.getId())));
+                mongoFriendship.setLesserAccepted(true);
+                mongoFriendship.setGreaterAccepted(true);
+                getDatastore().save(mongoFriendship);
+            });
+
+    }
+
+    @Test
+    public void testGetFriendsByCursor() {
+
+        final var expected = getFriendDao().getFriendsForUser(testUser, 0, FRIEND_COUNT)
+            .getObjects()
+            .stream()
+            .map(Friend::getId)
+            .collect(toSet());
+
+        final var actual = CursorPaginationAssertions.walk(
+                cursor -> getFriendDao().getFriendsForUser(testUser, cursor, PAGE_SIZE),
+                PAGE_SIZE,
+                FRIEND_COUNT
+        );
+
+        assertEquals(actual.stream().map(Friend::getId).collect(toSet()), expected);
+
+    }
+
+    @Test
+    public void testGetFriendsByInvalidCursor() {
+
+        final var next = getFriendDao().getFriendsForUser(testUser, null, PAGE_SIZE).getNextCursor();
+
+        CursorPaginationAssertions.assertRejectsInvalidCursors(
+                cursor -> getFriendDao().getFriendsForUser(testUser, cursor, PAGE_SIZE),
+                next
+        );
+
+    }
+
+    public FriendDao getFriendDao() {
+        return friendDao;
+    }
+
+    @Inject
+    public void setFriendDao(FriendDao friendDao) {
+        this.friendDao = friendDao;
+    }
+
+    public UserTestFactory getUserTestFactory() {
+        return userTestFactory;
+    }
+
+    @Inject
+    public void setUserTestFactory(UserTestFactory userTestFactory) {
+        this.userTestFactory = userTestFactory;
+    }
+
+    public Datastore getDatastore() {
+        return datastore;
+    }
+
+    @Inject
+    public void setDatastore(Datastore datastore) {
+        this.datastore = datastore;
+    }
+
+}
@@ -0,0 +1,151 @@
+package dev.getelements.elements.dao.mongo.test;
+
+import com.google.inject.Guice;
+import dev.getelements.elements.dao.mongo.MongoRankDao;
+import dev.getelements.elements.dao.mongo.model.MongoFriendship;
+import dev.getelements.elements.dao.mongo.model.MongoFriendshipId;
+import dev.getelements.elements.dao.mongo.model.MongoProfile;
+import dev.getelements.elements.sdk.dao.ApplicationDao;
+import dev.getelements.elements.sdk.dao.LeaderboardDao;
+import dev.getelements.elements.sdk.dao.RankDao;
+import dev.getelements.elements.sdk.dao.ScoreDao;
+import dev.getelements.elements.sdk.model.Pagination;
+import dev.getelements.elements.sdk.model.application.Application;
+import dev.getelements.elements.sdk.model.leaderboard.Leaderboard;
+import dev.getelements.elements.sdk.model.leaderboard.Rank;
+import dev.getelements.elements.sdk.model.leaderboard.Score;
+import dev.getelements.elements.sdk.model.profile.Profile;
+import dev.morphia.Datastore;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static dev.getelements.elements.sdk.model.leaderboard.Leaderboard.ScoreStrategyType.OVERWRITE_IF_GREATER;
+import static dev.getelements.elements.sdk.model.leaderboard.Leaderboard.TimeStrategyType.ALL_TIME;
+import static dev.morphia.query.filters.Filters.in;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Compares ranking a player against their friends by looking up the profiles of each friend in turn, as was done
+ * before, against resolving all of the friends' scores up front with {@link MongoRankDao#getFriendMongoScoreIds}.
+ * Requires Docker, as it runs against the same MongoDB instance as the integration tests. Run {@link #main(String[])}
+ * from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MongoFriendRankBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10", "100", "1000", "5000"})
+    private int friends;
+
+    private MongoRankDao mongoRankDao;
+
+    private Profile profile;
+
+    private String leaderboardName;
+
+    @Setup
+    public void setup() {
+
+        final var injector = Guice.createInjector(new IntegrationTestModule());
+
+        final var datastore = injector.getInstance(Datastore.class);
+        final var scoreDao = injector.getInstance(ScoreDao.class);
+        final var userTestFactory = injector.getInstance(UserTestFactory.class);
+        final var profileTestFactory = injector.getInstance(ProfileTestFactory.class);
+
+        mongoRankDao = (MongoRankDao) injector.getInstance(RankDao.class);
+        leaderboardName = "friend_rank_benchmark_" + friends;
+
+        final var application = new Application();
+        application.setName("friend_rank_benchmark");
+        application.setDescription("A mock application.");
+
+        final var created = injector.getInstance(ApplicationDao.class).createOrUpdateInactiveApplication(application);
+
+        final var leaderboard = new Leaderboard();
+        leaderboard.setName(leaderboardName);
+        leaderboard.setTitle("Friend Rank Benchmark");
+        leaderboard.setScoreUnits("Points");
+        leaderboard.setScoreStrategyType(OVERWRITE_IF_GREATER);
+        leaderboard.setTimeStrategyType(ALL_TIME);
+        injector.getInstance(LeaderboardDao.class).createLeaderboard(leaderboard);
+
+        profile = profileTestFactory.makeMockProfile(userTestFactory.createTestUser(), created);
+
+        final var userObjectId = new ObjectId(profile.getUser().getId());
+        final var random = ThreadLocalRandom.current();
+        final var friendships = new ArrayList<MongoFriendship>(friends);
+
+        for (int i = 0; i <= friends; ++i) {
+
+            final var scored = i == 0 ? profile : profileTestFactory.makeMockProfile(
+                    userTestFactory.createTestUser(),
+                    created
+            );
+
+            final var score = new Score();
+            score.setProfile(scored);
+            score.setPointValue(random.nextInt(friends * 10));
+            scoreDao.createOrUpdateScore(leaderboardName, score);
+
+            if (i > 0) {
+                final var mongoFriendship = new MongoFriendship();
+                final var friendObjectId = new ObjectId(scored.getUser().getId());
+                mongoFriendship.setObjectId(new MongoFriendshipId(userObjectId, friendObjectId));
+                mongoFriendship.setLesserAccepted(true);
+                mongoFriendship.setGreaterAccepted(true);
+                friendships.add(mongoFriendship);
+            }
+
+        }
+
+        datastore.save(friendships);
+
+    }
+
+    @Benchmark
+    public Pagination<Rank> rankByProfileLookups() {
+
+        final var mongoProfile = mongoRankDao.getMongoProfileDao().getActiveMongoProfile(profile.getId());
+
+        final List<MongoProfile> profiles = mongoRankDao
+                .getMongoFriendDao()
+                .getAllMongoFriendshipsForUser(mongoProfile.getUser())
+                .stream()
+                .map(friendship -> friendship.getObjectId().getOpposite(mongoProfile.getUser().getObjectId()))
+                .flatMap(userId -> mongoRankDao.getMongoProfileDao().getActiveMongoProfilesForUser(userId))
+                .collect(toList());
+
+        profiles.add(mongoProfile);
+
+        return mongoRankDao.getRanks(leaderboardName, 0, PAGE_SIZE, 0, q -> q.filter(in("profile", profiles)));
+
+    }
+
+    @Benchmark
+    public Pagination<Rank> rankByScoreIds() {
+        return mongoRankDao.getRanksForFriends(leaderboardName, profile.getId(), 0, PAGE_SIZE, 0);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MongoFriendRankBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -28,12 +28,17 @@ import static dev.getelements.elements.sdk.ElementRegistry.ROOT;
 import static dev.getelements.elements.sdk.dao.InventoryItemDao.INVENTORY_ITEM_CREATED;
 import static dev.getelements.elements.sdk.dao.InventoryItemDao.INVENTORY_ITEM_UPDATED;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static java.util.stream.Stream.of;
 import static org.testng.Assert.*;
 
 @Guice(modules = IntegrationTestModule.class)
 public class MongoInventoryItemDaoTest {
 
+    private static final int CURSOR_ITEM_COUNT = 7;
+
+    private static final int CURSOR_PAGE_SIZE = 3;
+
     private UserDao userDao;
 
     private ItemDao itemDao;
@@ -243,6 +248,39 @@ public class MongoInventoryItemDaoTest {
         getInventoryItemDao().getInventoryItemByItemNameOrId(user, testItemB.getName(), priority);
     }
 
+    @Test
+    public void testGetInventoryItemsByCursor() {
+
+        final var user = getUserTestFactory().createTestUser();
+
+        final var expected = IntStream.range(0, CURSOR_ITEM_COUNT)
+            .mapToObj(priority -> {
+                final var inventoryItem = new InventoryItem();
+                inventoryItem.setUser(user);
+                inventoryItem.setItem(testItemA);
+                inventoryItem.setPriority(priority);
+                inventoryItem.setQuantity(1);
+                return getInventoryItemDao().createInventoryItem(inventoryItem).getId();
+            })
+            .collect(toSet());
+
+        final var actual = CursorPaginationAssertions.walk(
+                cursor -> getInventoryItemDao().getInventoryItems(cursor, CURSOR_PAGE_SIZE, user),
+                CURSOR_PAGE_SIZE,
+                CURSOR_ITEM_COUNT
+        );
+
+        assertEquals(actual.stream().map(InventoryItem::getId).collect(toSet()), expected);
+        actual.forEach(ii -> assertEquals(ii.getUser(), user));
+
+        final var next = getInventoryItemDao().getInventoryItems(null, CURSOR_PAGE_SIZE, user).getNextCursor();
+        CursorPaginationAssertions.assertRejectsInvalidCursors(
+                cursor -> getInventoryItemDao().getInventoryItems(cursor, CURSOR_PAGE_SIZE, user),
+                next
+        );
+
+    }
+
     public UserDao getUserDao() {
         return userDao;
     }
@@ -0,0 +1,112 @@
+package dev.getelements.elements.dao.mongo.test;
+
+import dev.getelements.elements.sdk.dao.ProfileDao;
+import dev.getelements.elements.sdk.model.application.Application;
+import dev.getelements.elements.sdk.model.profile.Profile;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import jakarta.inject.Inject;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toSet;
+import static org.testng.Assert.assertEquals;
+
+@Guice(modules = IntegrationTestModule.class)
+public class MongoProfileDaoTest {
+
+    private static final int PROFILE_COUNT = 7;
+
+    private static final int PAGE_SIZE = 3;
+
+    private ProfileDao profileDao;
+
+    private UserTestFactory userTestFactory;
+
+    private ProfileTestFactory profileTestFactory;
+
+    private ApplicationTestFactory applicationTestFactory;
+
+    private Application application;
+
+    private Set<String> profileIds;
+
+    @BeforeClass
+    public void setupProfiles() {
+
+        application = getApplicationTestFactory().createMockApplication(MongoProfileDaoTest.class);
+
+        profileIds = IntStream.range(0, PROFILE_COUNT)
+            .mapToObj(i -> getProfileTestFactory().makeMockProfile(getUserTestFactory().createTestUser(), application))
+            .map(Profile::getId)
+            .collect(toSet());
+
+    }
+
+    @Test
+    public void testGetActiveProfilesByCursor() {
+
+        final var actual = CursorPaginationAssertions.walk(
+                cursor -> getProfileDao().getActiveProfiles(cursor, PAGE_SIZE, application.getId(), null, null, null),
+                PAGE_SIZE,
+                PROFILE_COUNT
+        );
+
+        assertEquals(actual.stream().map(Profile::getId).collect(toSet()), profileIds);
+        actual.forEach(profile -> assertEquals(profile.getApplication().getId(), application.getId()));
+
+    }
+
+    @Test
+    public void testGetActiveProfilesByInvalidCursor() {
+
+        final var next = getProfileDao()
+            .getActiveProfiles(null, PAGE_SIZE, application.getId(), null, null, null)
+            .getNextCursor();
+
+        CursorPaginationAssertions.assertRejectsInvalidCursors(
+                cursor -> getProfileDao().getActiveProfiles(cursor, PAGE_SIZE, application.getId(), null, null, null),
+                next
+        );
+
+    }
+
+    public ProfileDao getProfileDao() {
+        return profileDao;
+    }
+
+    @Inject
+    public void setProfileDao(ProfileDao profileDao) {
+        this.profileDao = profileDao;
+    }
+
+    public UserTestFactory getUserTestFactory() {
+        return userTestFactory;
+    }
+
+    @Inject
+    public void setUserTestFactory(UserTestFactory userTestFactory) {
+        this.userTestFactory = userTestFactory;
+    }
+
+    public ProfileTestFactory getProfileTestFactory() {
+        return profileTestFactory;
+    }
+
+    @Inject
+    public void setProfileTestFactory(ProfileTestFactory profileTestFactory) {
+        this.profileTestFactory = profileTestFactory;
+    }
+
+    public ApplicationTestFactory getApplicationTestFactory() {
+        return applicationTestFactory;
+    }
+
+    @Inject
+    public void setApplicationTestFactory(ApplicationTestFactory applicationTestFactory) {
+        this.applicationTestFactory = applicationTestFactory;
+    }
+
+}
@@ -1,7 +1,10 @@
 package dev.getelements.elements.dao.mongo.test;
 
+import dev.getelements.elements.dao.mongo.model.MongoFriendship;
+import dev.getelements.elements.dao.mongo.model.MongoFriendshipId;
 import dev.getelements.elements.sdk.dao.*;
 import dev.getelements.elements.sdk.model.application.Application;
+import dev.getelements.elements.sdk.model.exception.InvalidParameterException;
 import dev.getelements.elements.sdk.model.leaderboard.Leaderboard;
 import dev.getelements.elements.sdk.model.leaderboard.Rank;
 import dev.getelements.elements.sdk.model.leaderboard.RankRow;
@@ -9,16 +12,26 @@ import dev.getelements.elements.sdk.model.leaderboard.Score;
 import dev.getelements.elements.sdk.model.profile.Profile;
 import dev.getelements.elements.sdk.model.user.User;
 import dev.getelements.elements.sdk.model.util.PaginationWalker;
+import dev.morphia.Datastore;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.types.ObjectId;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Guice;
 import org.testng.annotations.Test;
 
 import jakarta.inject.Inject;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import static dev.getelements.elements.sdk.model.leaderboard.Leaderboard.ScoreStrategyType.OVERWRITE_IF_GREATER;
@@ -38,8 +51,12 @@ public class MongoRankDaoIntegrationTest {
 
     private static final int TEST_MUTUAL_FOLLOWER_COUNT = TEST_BATCH_SIZE / 2;
 
+    private static final int TEST_FRIEND_COUNT = 50;
+
     private static final String LEADERBOARD_NAME = "follower_integration_test";
 
+    private static final int CURSOR_PAGE_SIZE = 100;
+
     private RankDao rankDao;
 
     private ScoreDao scoreDao;
@@ -56,6 +73,8 @@ public class MongoRankDaoIntegrationTest {
 
     private ProfileTestFactory profileTestFactory;
 
+    private Datastore datastore;
+
     private Application application;
 
     private List<User> allUsers;
@@ -66,6 +85,10 @@ public class MongoRankDaoIntegrationTest {
 
     private Map<String, List<Profile>> mutualFollowers;
 
+    private Profile profileWithFriends;
+
+    private Set<String> friendProfileIds;
+
     @BeforeClass
     public void setupUsers() {
         this.allUsers = IntStream.range(0, TEST_USER_COUNT)
@@ -118,6 +141,29 @@ public class MongoRankDaoIntegrationTest {
 
     }
 
+    @BeforeClass(dependsOnMethods = "setupAllProfiles")
+    public void setupFriends() {
+
+        // Written directly, as friendships are only ever created by other processes.
+
+        final var profiles = List.copyOf(allProfiles.values());
+        final var friends = profiles.subList(1, TEST_FRIEND_COUNT + 1);
+
+        profileWithFriends = profiles.get(0);
+        friendProfileIds = friends.stream().map(Profile::getId).collect(toUnmodifiableSet());
+
+        final var userObjectId = new ObjectId(profileWithFriends.getUser().getId());
+
+        for (var friend : friends) {
+            final var mongoFriendship = new MongoFriendship();
+            mongoFriendship.setObjectId(new MongoFriendshipId(userObjectId, new ObjectId(friend.getUser().getId())));
+            mongoFriendship.setLesserAccepted(true);
+            mongoFriendship.setGreaterAccepted(true);
+            getDatastore().save(mongoFriendship);
+        }
+
+    }
+
     @BeforeClass
     public void createLeaderboard() {
         final var leaderboard = new Leaderboard();
@@ -211,6 +257,163 @@ public class MongoRankDaoIntegrationTest {
 
     }
 
+    @Test
+    public void testGetRanksForGlobal() {
+
+        final var ranks = new PaginationWalker().toList(((offset, count) -> getRankDao()
+                .getRanksForGlobal(LEADERBOARD_NAME, offset, count, 0)));
+
+        assertEquals(ranks.size(), TEST_USER_COUNT);
+
+        for (int i = 0; i < ranks.size(); ++i) {
+
+            assertEquals(ranks.get(i).getPosition(), i + 1, "Mismatched position.");
+
+            if (i > 0) {
+                final var previous = ranks.get(i - 1).getScore().getPointValue();
+                assertTrue(previous >= ranks.get(i).getScore().getPointValue(), "Mismatched score.");
+            }
+
+        }
+
+    }
+
+    @Test
+    public void testGetRanksForGlobalByCursor() {
+
+        final var ranks = CursorPaginationAssertions.walk(
+                cursor -> getRankDao().getRanksForGlobal(LEADERBOARD_NAME, cursor, CURSOR_PAGE_SIZE, 0),
+                CURSOR_PAGE_SIZE,
+                TEST_USER_COUNT
+        );
+
+        final var profileIds = new HashSet<String>();
+
+        for (int i = 0; i < ranks.size(); ++i) {
+
+            assertEquals(ranks.get(i).getPosition(), i + 1, "Mismatched position.");
+            assertTrue(profileIds.add(ranks.get(i).getScore().getProfile().getId()), "Duplicate profile.");
+
+            if (i > 0) {
+                final var previous = ranks.get(i - 1).getScore().getPointValue();
+                assertTrue(previous >= ranks.get(i).getScore().getPointValue(), "Mismatched score.");
+            }
+
+        }
+
+    }
+
+    @Test
+    public void testGetRanksForGlobalByInvalidCursor() {
+
+        final var next = getRankDao()
+                .getRanksForGlobal(LEADERBOARD_NAME, null, CURSOR_PAGE_SIZE, 0)
+                .getNextCursor();
+
+        CursorPaginationAssertions.assertRejectsInvalidCursors(
+                cursor -> getRankDao().getRanksForGlobal(LEADERBOARD_NAME, cursor, CURSOR_PAGE_SIZE, 0),
+                next
+        );
+
+        // Well formed, but without the score to resume from, as issued for listings sorted by id alone.
+
+        final var document = new BsonDocument()
+                .append("a", new BsonObjectId(new ObjectId()))
+                .append("o", new BsonInt32(CURSOR_PAGE_SIZE))
+                .append("t", new BsonInt32(TEST_USER_COUNT));
+
+        final var buffer = new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer().asNIO();
+        final var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        final var idOnly = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        expectThrows(InvalidParameterException.class, () -> getRankDao()
+                .getRanksForGlobal(LEADERBOARD_NAME, idOnly, CURSOR_PAGE_SIZE, 0));
+
+    }
+
+    @Test(dependsOnMethods = "testGetRanksForGlobal")
+    public void testGetRanksForGlobalRelative() {
+
+        final var profile = allProfiles.values().iterator().next();
+
+        final var ranks = getRankDao().getRanksForGlobalRelative(LEADERBOARD_NAME, profile.getId(), 0, 20, 0);
+
+        final var rank = ranks
+                .getObjects()
+                .stream()
+                .filter(r -> r.getScore().getProfile().getId().equals(profile.getId()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Results do not contain the profile."));
+
+        final var expected = getRankDao()
+                .getRanksForGlobal(LEADERBOARD_NAME, (int) rank.getPosition() - 1, 1, 0)
+                .getObjects()
+                .get(0);
+
+        assertEquals(expected.getScore().getProfile().getId(), profile.getId());
+
+    }
+
+    @Test(dependsOnMethods = "testGetRanksForGlobalRelative")
+    public void testGetRanksForGlobalReflectsUpdates() {
+
+        final var profile = allProfiles.values().iterator().next();
+
+        final var score = new Score();
+        score.setProfile(profile);
+        score.setPointValue((TEST_USER_COUNT + 1) * 10);
+        getScoreDao().createOrUpdateScore(LEADERBOARD_NAME, score);
+
+        final var top = getRankDao().getRanksForGlobal(LEADERBOARD_NAME, 0, 1, 0).getObjects().get(0);
+        assertEquals(top.getScore().getProfile().getId(), profile.getId());
+        assertEquals(top.getPosition(), 1);
+
+    }
+
+    @Test
+    public void testGetRanksForFriends() {
+
+        final var ranks = new PaginationWalker().toList(((offset, count) -> getRankDao()
+                .getRanksForFriends(LEADERBOARD_NAME, profileWithFriends.getId(), offset, count, 0)));
+
+        final var actual = ranks.stream()
+                .map(r -> r.getScore().getProfile().getId())
+                .collect(toSet());
+
+        assertTrue(actual.remove(profileWithFriends.getId()), "Results do not contain the profile.");
+        assertEquals(actual, friendProfileIds, "Expected that the result contains exactly the friends.");
+
+        for (int i = 0; i < ranks.size(); ++i) {
+
+            assertEquals(ranks.get(i).getPosition(), i + 1, "Mismatched position.");
+
+            if (i > 0) {
+                final var previous = ranks.get(i - 1).getScore().getPointValue();
+                assertTrue(previous >= ranks.get(i).getScore().getPointValue(), "Mismatched score.");
+            }
+
+        }
+
+    }
+
+    @Test
+    public void testGetRanksForFriendsRelative() {
+
+        final var ranks = getRankDao()
+                .getRanksForFriendsRelative(LEADERBOARD_NAME, profileWithFriends.getId(), 0, 20, 0)
+                .getObjects();
+
+        final var actual = ranks.stream()
+                .map(r -> r.getScore().getProfile().getId())
+                .collect(toSet());
+
+        assertTrue(actual.remove(profileWithFriends.getId()), "Results do not contain the profile.");
+        assertTrue(friendProfileIds.containsAll(actual), "Expected that the result contains only friends.");
+
+    }
+
     private void checkMutualPostConditions(final List<Rank> ranks, final String profileId) {
 
         final var expected = mutualFollowers.get(profileId)
@@ -295,6 +498,15 @@ public class MongoRankDaoIntegrationTest {
         this.userTestFactory = userTestFactory;
     }
 
+    public Datastore getDatastore() {
+        return datastore;
+    }
+
+    @Inject
+    public void setDatastore(Datastore datastore) {
+        this.datastore = datastore;
+    }
+
     public ProfileTestFactory getProfileTestFactory() {
         return profileTestFactory;
     }
@@ -0,0 +1,161 @@
+package dev.getelements.elements.dao.mongo.test;
+
+import com.google.inject.Guice;
+import dev.getelements.elements.dao.mongo.MongoRankDao;
+import dev.getelements.elements.dao.mongo.RankIndex;
+import dev.getelements.elements.dao.mongo.model.MongoLeaderboard;
+import dev.getelements.elements.dao.mongo.model.MongoScoreId;
+import dev.getelements.elements.dao.mongo.model.score.MongoScore;
+import dev.getelements.elements.sdk.dao.LeaderboardDao;
+import dev.getelements.elements.sdk.dao.RankDao;
+import dev.getelements.elements.sdk.model.Pagination;
+import dev.getelements.elements.sdk.model.leaderboard.Leaderboard;
+import dev.getelements.elements.sdk.model.leaderboard.Rank;
+import dev.morphia.Datastore;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static dev.getelements.elements.sdk.model.leaderboard.Leaderboard.ScoreStrategyType.OVERWRITE_IF_GREATER;
+import static dev.getelements.elements.sdk.model.leaderboard.Leaderboard.TimeStrategyType.ALL_TIME;
+import static dev.morphia.query.filters.Filters.eq;
+import static dev.morphia.query.filters.Filters.gte;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.function.Function.identity;
+
+/**
+ * Compares finding a rank, and a page of ranks deep into a leaderboard, using the in-memory {@link RankIndex} against
+ * the count and skip queries the database would otherwise run. Requires Docker, as it runs against the same MongoDB
+ * instance as the integration tests. Run {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MongoRankIndexBenchmark {
+
+    private static final String LEADERBOARD_NAME = "rank_index_benchmark";
+
+    private static final int BATCH_SIZE = 10000;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000"})
+    private int scores;
+
+    private Datastore datastore;
+
+    private MongoRankDao mongoRankDao;
+
+    private MongoLeaderboard mongoLeaderboard;
+
+    private RankIndex<ObjectId> index;
+
+    private ObjectId[] profileIds;
+
+    private double[] pointValues;
+
+    @Setup
+    public void setup() {
+
+        final var injector = Guice.createInjector(new IntegrationTestModule());
+
+        datastore = injector.getInstance(Datastore.class);
+        mongoRankDao = (MongoRankDao) injector.getInstance(RankDao.class);
+
+        final var leaderboard = new Leaderboard();
+        leaderboard.setName(LEADERBOARD_NAME);
+        leaderboard.setTitle("Rank Index Benchmark");
+        leaderboard.setScoreUnits("Points");
+        leaderboard.setScoreStrategyType(OVERWRITE_IF_GREATER);
+        leaderboard.setTimeStrategyType(ALL_TIME);
+        injector.getInstance(LeaderboardDao.class).createLeaderboard(leaderboard);
+
+        mongoLeaderboard = mongoRankDao.getMongoLeaderboardDao().getMongoLeaderboard(LEADERBOARD_NAME);
+
+        // Written directly rather than through the ScoreDao, as only the scores themselves are read by either path and
+        // creating a profile for each would dominate the setup time.
+
+        profileIds = new ObjectId[scores];
+        pointValues = new double[scores];
+
+        final var random = ThreadLocalRandom.current();
+        final var now = new Timestamp(currentTimeMillis());
+        final var batch = new ArrayList<MongoScore>(BATCH_SIZE);
+
+        for (int i = 0; i < scores; ++i) {
+
+            profileIds[i] = new ObjectId();
+            pointValues[i] = random.nextInt(scores);
+
+            final var mongoScore = new MongoScore();
+            mongoScore.setObjectId(new MongoScoreId(profileIds[i], mongoLeaderboard.getObjectId()));
+            mongoScore.setLeaderboard(mongoLeaderboard);
+            mongoScore.setLeaderboardEpoch(MongoScoreId.ALL_TIME_LEADERBOARD_EPOCH);
+            mongoScore.setPointValue(pointValues[i]);
+            mongoScore.setCreationTimestamp(now);
+            batch.add(mongoScore);
+
+            if (batch.size() == BATCH_SIZE) {
+                datastore.save(batch);
+                batch.clear();
+            }
+
+        }
+
+        if (!batch.isEmpty()) {
+            datastore.save(batch);
+        }
+
+        index = mongoRankDao
+            .getMongoRankIndex()
+            .getIndex(mongoLeaderboard, MongoScoreId.ALL_TIME_LEADERBOARD_EPOCH)
+            .orElseThrow();
+
+    }
+
+    @Benchmark
+    public long rankByCount() {
+        final var i = ThreadLocalRandom.current().nextInt(scores);
+        return datastore.find(MongoScore.class)
+            .filter(eq("leaderboard", mongoLeaderboard))
+            .filter(eq("leaderboardEpoch", MongoScoreId.ALL_TIME_LEADERBOARD_EPOCH))
+            .filter(gte("pointValue", pointValues[i]))
+            .count();
+    }
+
+    @Benchmark
+    public long rankByIndex() {
+        final var i = ThreadLocalRandom.current().nextInt(scores);
+        return index.countAtLeast(index.getScore(profileIds[i]).orElseThrow());
+    }
+
+    @Benchmark
+    public Pagination<Rank> pageBySkip() {
+        final var offset = ThreadLocalRandom.current().nextInt(scores - PAGE_SIZE);
+        return mongoRankDao.getRanks(LEADERBOARD_NAME, offset, PAGE_SIZE, 0, identity());
+    }
+
+    @Benchmark
+    public Pagination<Rank> pageByIndex() {
+        final var offset = ThreadLocalRandom.current().nextInt(scores - PAGE_SIZE);
+        return mongoRankDao.getRanksForGlobal(LEADERBOARD_NAME, offset, PAGE_SIZE, 0);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MongoRankIndexBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.getelements.elements.sdk.dao.ReceiptDao;
 import dev.getelements.elements.sdk.dao.UserDao;
+import dev.getelements.elements.sdk.model.exception.InvalidParameterException;
 import dev.getelements.elements.sdk.model.exception.NotFoundException;
 import dev.getelements.elements.sdk.model.receipt.Receipt;
 import dev.getelements.elements.sdk.model.user.User;
@@ -14,6 +15,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Guice;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Map;
 import java.util.UUID;
@@ -196,6 +198,37 @@ public class MongoReceiptDaoTest {
     }
 
 
+    @Test(groups = "get", dependsOnGroups = "create")
+    public void testGetReceiptsByCursor() {
+
+        final var expected = getReceiptDao().getReceipts(testUser, 0, INVOCATION_COUNT);
+        final var actual = new ArrayList<Receipt>();
+
+        String cursor = null;
+
+        do {
+
+            final var page = getReceiptDao().getReceipts(testUser, cursor, 3);
+
+            assertEquals(page.getOffset(), actual.size());
+            assertEquals(page.getTotal(), INVOCATION_COUNT);
+            assertEquals(page.isApproximation(), cursor != null);
+
+            actual.addAll(page.getObjects());
+            cursor = page.getNextCursor();
+
+        } while (cursor != null);
+
+        assertEquals(actual, expected.getObjects());
+
+    }
+
+    @Test(groups = "get", dependsOnGroups = "create", expectedExceptions = InvalidParameterException.class)
+    public void testGetReceiptsByInvalidCursor() {
+        getReceiptDao().getReceipts(testUser, "not-a-cursor", 3);
+    }
+
+
     @Test(
             dataProvider = "getReceipts",
             groups = "delete", dependsOnGroups = "get",
@@ -0,0 +1,111 @@
+package dev.getelements.elements.dao.mongo.test;
+
+import com.google.inject.Guice;
+import dev.getelements.elements.dao.mongo.MongoScoreDao;
+import dev.getelements.elements.sdk.dao.ApplicationDao;
+import dev.getelements.elements.sdk.dao.LeaderboardDao;
+import dev.getelements.elements.sdk.dao.ScoreDao;
+import dev.getelements.elements.sdk.model.application.Application;
+import dev.getelements.elements.sdk.model.leaderboard.Leaderboard;
+import dev.getelements.elements.sdk.model.leaderboard.Score;
+import dev.getelements.elements.sdk.model.profile.Profile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static dev.getelements.elements.sdk.model.leaderboard.Leaderboard.TimeStrategyType.ALL_TIME;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Measures the throughput of score submissions with and without write-behind, from several threads at once as during
+ * a tournament. Submissions are spread over a fixed set of profiles, so that with write-behind some are merged before
+ * they are written. Requires Docker, as it runs against the same MongoDB instance as the integration tests. Run
+ * {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class MongoScoreDaoBenchmark {
+
+    private static final int PROFILES = 1000;
+
+    @Param({"false", "true"})
+    private boolean writeBehind;
+
+    @Param({"OVERWRITE_IF_GREATER", "ACCUMULATE"})
+    private Leaderboard.ScoreStrategyType scoreStrategyType;
+
+    private MongoScoreDao scoreDao;
+
+    private Profile[] profiles;
+
+    private String leaderboardName;
+
+    @Setup
+    public void setup() {
+
+        final var injector = Guice.createInjector(new IntegrationTestModule());
+
+        scoreDao = (MongoScoreDao) injector.getInstance(ScoreDao.class);
+        scoreDao.getScoreWriteBehind().setEnabled(writeBehind);
+
+        final var application = new Application();
+        application.setName("score_dao_benchmark");
+        application.setDescription("A mock application.");
+
+        final var created = injector.getInstance(ApplicationDao.class).createOrUpdateInactiveApplication(application);
+        final var userTestFactory = injector.getInstance(UserTestFactory.class);
+        final var profileTestFactory = injector.getInstance(ProfileTestFactory.class);
+
+        profiles = new Profile[PROFILES];
+
+        for (int i = 0; i < PROFILES; ++i) {
+            profiles[i] = profileTestFactory.makeMockProfile(userTestFactory.createTestUser(), created);
+        }
+
+        leaderboardName = "score_dao_benchmark_%s_%s".formatted(scoreStrategyType.name().toLowerCase(), writeBehind);
+
+        final var leaderboard = new Leaderboard();
+        leaderboard.setName(leaderboardName);
+        leaderboard.setTitle("Score DAO Benchmark");
+        leaderboard.setScoreUnits("Points");
+        leaderboard.setScoreStrategyType(scoreStrategyType);
+        leaderboard.setTimeStrategyType(ALL_TIME);
+        injector.getInstance(LeaderboardDao.class).createLeaderboard(leaderboard);
+
+    }
+
+    @TearDown
+    public void stop() {
+        // Includes the final write in the trial, so that buffered submissions are not counted as written for free.
+        scoreDao.getScoreWriteBehind().stop();
+    }
+
+    @Benchmark
+    public Score createOrUpdateScore() {
+
+        final var random = ThreadLocalRandom.current();
+
+        final var score = new Score();
+        score.setProfile(profiles[random.nextInt(PROFILES)]);
+        score.setPointValue(random.nextInt(10000));
+
+        return scoreDao.createOrUpdateScore(leaderboardName, score);
+
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MongoScoreDaoBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
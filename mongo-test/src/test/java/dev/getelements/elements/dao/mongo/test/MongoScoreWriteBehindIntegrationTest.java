@@ -0,0 +1,234 @@
+package dev.getelements.elements.dao.mongo.test;
+
+import dev.getelements.elements.dao.mongo.MongoScoreDao;
+import dev.getelements.elements.sdk.ElementRegistry;
+import dev.getelements.elements.sdk.Event;
+import dev.getelements.elements.sdk.dao.ApplicationDao;
+import dev.getelements.elements.sdk.dao.LeaderboardDao;
+import dev.getelements.elements.sdk.dao.RankDao;
+import dev.getelements.elements.sdk.dao.ScoreDao;
+import dev.getelements.elements.sdk.model.application.Application;
+import dev.getelements.elements.sdk.model.leaderboard.Leaderboard;
+import dev.getelements.elements.sdk.model.leaderboard.Score;
+import dev.getelements.elements.sdk.model.profile.Profile;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static dev.getelements.elements.sdk.ElementRegistry.ROOT;
+import static dev.getelements.elements.sdk.model.leaderboard.Leaderboard.ScoreStrategyType.ACCUMULATE;
+import static dev.getelements.elements.sdk.model.leaderboard.Leaderboard.ScoreStrategyType.OVERWRITE_IF_GREATER;
+import static dev.getelements.elements.sdk.model.leaderboard.Leaderboard.TimeStrategyType.ALL_TIME;
+import static org.testng.Assert.*;
+
+@Guice(modules = IntegrationTestModule.class)
+public class MongoScoreWriteBehindIntegrationTest {
+
+    private static final String ACCUMULATE_LEADERBOARD = "write_behind_accumulate";
+
+    private static final String OVERWRITE_LEADERBOARD = "write_behind_overwrite";
+
+    private MongoScoreDao scoreDao;
+
+    private RankDao rankDao;
+
+    private LeaderboardDao leaderboardDao;
+
+    private ApplicationDao applicationDao;
+
+    private UserTestFactory userTestFactory;
+
+    private ProfileTestFactory profileTestFactory;
+
+    private ElementRegistry elementRegistry;
+
+    private Profile profile;
+
+    private final List<Score> published = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public void setup() {
+
+        final var application = new Application();
+        application.setName("write_behind_integration_test");
+        application.setDescription("A mock application.");
+
+        final var user = getUserTestFactory().createTestUser();
+        final var created = getApplicationDao().createOrUpdateInactiveApplication(application);
+        profile = getProfileTestFactory().makeMockProfile(user, created);
+
+        createLeaderboard(ACCUMULATE_LEADERBOARD, ACCUMULATE);
+        createLeaderboard(OVERWRITE_LEADERBOARD, OVERWRITE_IF_GREATER);
+
+        getElementRegistry().onEvent(this::onEvent);
+        getScoreDao().getScoreWriteBehind().setEnabled(true);
+
+    }
+
+    @AfterClass
+    public void disable() {
+        getScoreDao().getScoreWriteBehind().setEnabled(false);
+    }
+
+    @Test
+    public void testAccumulateMergesSubmissions() {
+
+        published.clear();
+
+        for (int i = 0; i < 10; ++i) {
+            submit(ACCUMULATE_LEADERBOARD, 5);
+        }
+
+        getScoreDao().getScoreWriteBehind().flush();
+        assertEquals(storedPointValue(ACCUMULATE_LEADERBOARD), 50.0);
+        assertEquals(published.size(), 1, "Expected one event for the merged submissions.");
+        assertEquals(published.get(0).getPointValue(), 50.0);
+
+        // The caller gets back its own submission flagged as pending, rather than the buffered sum or the total.
+
+        final var buffered = submit(ACCUMULATE_LEADERBOARD, 5);
+        assertTrue(buffered.isPending());
+        assertEquals(buffered.getPointValue(), 5.0);
+
+        getScoreDao().getScoreWriteBehind().flush();
+        assertEquals(storedPointValue(ACCUMULATE_LEADERBOARD), 55.0);
+
+    }
+
+    @Test
+    public void testOverwriteKeepsGreatest() {
+
+        submit(OVERWRITE_LEADERBOARD, 10);
+        submit(OVERWRITE_LEADERBOARD, 30);
+        submit(OVERWRITE_LEADERBOARD, 20);
+
+        getScoreDao().getScoreWriteBehind().flush();
+        assertEquals(storedPointValue(OVERWRITE_LEADERBOARD), 30.0);
+
+        final var buffered = submit(OVERWRITE_LEADERBOARD, 25);
+        assertTrue(buffered.isPending());
+        assertEquals(buffered.getPointValue(), 25.0);
+
+        getScoreDao().getScoreWriteBehind().flush();
+        assertEquals(storedPointValue(OVERWRITE_LEADERBOARD), 30.0);
+
+    }
+
+    @Test(dependsOnMethods = {"testAccumulateMergesSubmissions", "testOverwriteKeepsGreatest"})
+    public void testStopFlushesAndWritesDirectly() {
+
+        submit(OVERWRITE_LEADERBOARD, 40);
+        getScoreDao().getScoreWriteBehind().stop();
+        assertEquals(storedPointValue(OVERWRITE_LEADERBOARD), 40.0, "Expected stop to write buffered submissions.");
+
+        final var written = submit(OVERWRITE_LEADERBOARD, 50);
+        assertFalse(written.isPending(), "Expected the stored score once stopped.");
+        assertEquals(written.getPointValue(), 50.0);
+        assertEquals(storedPointValue(OVERWRITE_LEADERBOARD), 50.0, "Expected submissions to be written once stopped.");
+
+    }
+
+    private Score submit(final String leaderboard, final double pointValue) {
+        final var score = new Score();
+        score.setProfile(profile);
+        score.setPointValue(pointValue);
+        return getScoreDao().createOrUpdateScore(leaderboard, score);
+    }
+
+    private double storedPointValue(final String leaderboard) {
+        return getRankDao()
+                .getRanksForGlobalRelative(leaderboard, profile.getId(), 0, 1, 0)
+                .getObjects()
+                .get(0)
+                .getScore()
+                .getPointValue();
+    }
+
+    private void createLeaderboard(final String name, final Leaderboard.ScoreStrategyType scoreStrategyType) {
+        final var leaderboard = new Leaderboard();
+        leaderboard.setName(name);
+        leaderboard.setTitle("Write Behind");
+        leaderboard.setScoreUnits("Points");
+        leaderboard.setScoreStrategyType(scoreStrategyType);
+        leaderboard.setTimeStrategyType(ALL_TIME);
+        getLeaderboardDao().createLeaderboard(leaderboard);
+    }
+
+    private void onEvent(final Event event) {
+        if (ScoreDao.SCORE_CREATED_OR_UPDATED.equals(event.getEventName()) &&
+            event.getEventArguments().size() == 1 &&
+            event.getEventArguments().get(0) instanceof Score score) {
+            published.add(score);
+        }
+    }
+
+    public MongoScoreDao getScoreDao() {
+        return scoreDao;
+    }
+
+    @Inject
+    public void setScoreDao(ScoreDao scoreDao) {
+        this.scoreDao = (MongoScoreDao) scoreDao;
+    }
+
+    public RankDao getRankDao() {
+        return rankDao;
+    }
+
+    @Inject
+    public void setRankDao(RankDao rankDao) {
+        this.rankDao = rankDao;
+    }
+
+    public LeaderboardDao getLeaderboardDao() {
+        return leaderboardDao;
+    }
+
+    @Inject
+    public void setLeaderboardDao(LeaderboardDao leaderboardDao) {
+        this.leaderboardDao = leaderboardDao;
+    }
+
+    public ApplicationDao getApplicationDao() {
+        return applicationDao;
+    }
+
+    @Inject
+    public void setApplicationDao(ApplicationDao applicationDao) {
+        this.applicationDao = applicationDao;
+    }
+
+    public UserTestFactory getUserTestFactory() {
+        return userTestFactory;
+    }
+
+    @Inject
+    public void setUserTestFactory(UserTestFactory userTestFactory) {
+        this.userTestFactory = userTestFactory;
+    }
+
+    public ProfileTestFactory getProfileTestFactory() {
+        return profileTestFactory;
+    }
+
+    @Inject
+    public void setProfileTestFactory(ProfileTestFactory profileTestFactory) {
+        this.profileTestFactory = profileTestFactory;
+    }
+
+    public ElementRegistry getElementRegistry() {
+        return elementRegistry;
+    }
+
+    @Inject
+    public void setElementRegistry(@Named(ROOT) ElementRegistry elementRegistry) {
+        this.elementRegistry = elementRegistry;
+    }
+
+}
@@ -0,0 +1,55 @@
+package dev.getelements.elements.rt.binary.guice;
+
+import com.google.inject.PrivateModule;
+import dev.getelements.elements.rt.PayloadReader;
+import dev.getelements.elements.rt.PayloadWriter;
+import dev.getelements.elements.rt.binary.BinaryPayloadReader;
+import dev.getelements.elements.rt.binary.BinaryPayloadWriter;
+import dev.getelements.elements.rt.kryo.KryoPayloadReader;
+import dev.getelements.elements.rt.kryo.KryoPayloadWriter;
+
+import static com.google.inject.name.Names.named;
+import static dev.getelements.elements.rt.binary.BinaryPayloadFormat.FALLBACK;
+
+/**
+ * Binds the {@link BinaryPayloadReader} and {@link BinaryPayloadWriter}. Unless otherwise specified, payloads and
+ * values which the binary format does not cover are handled by Kryo.
+ */
+public class BinaryPayloadReaderWriterModule extends PrivateModule {
+
+    private Runnable bindFallback = () -> {
+        bind(PayloadReader.class).annotatedWith(named(FALLBACK)).to(KryoPayloadReader.class);
+        bind(PayloadWriter.class).annotatedWith(named(FALLBACK)).to(KryoPayloadWriter.class);
+    };
+
+    @Override
+    protected void configure() {
+
+        bindFallback.run();
+
+        expose(PayloadReader.class);
+        expose(PayloadWriter.class);
+
+        bind(PayloadReader.class).to(BinaryPayloadReader.class);
+        bind(PayloadWriter.class).to(BinaryPayloadWriter.class);
+
+    }
+
+    /**
+     * Specifies the fallback {@link PayloadReader} and {@link PayloadWriter}. Any dependencies of the fallback, such as
+     * an ObjectMapper or FSTConfiguration, must be bound elsewhere in the injector.
+     *
+     * @param readerClass the fallback {@link PayloadReader} type
+     * @param writerClass the fallback {@link PayloadWriter} type
+     * @return this instance
+     */
+    public BinaryPayloadReaderWriterModule withFallback(final Class<? extends PayloadReader> readerClass,
+                                                        final Class<? extends PayloadWriter> writerClass) {
+        bindFallback = () -> {
+            bind(PayloadReader.class).annotatedWith(named(FALLBACK)).to(readerClass);
+            bind(PayloadWriter.class).annotatedWith(named(FALLBACK)).to(writerClass);
+        };
+        return this;
+    }
+
+}
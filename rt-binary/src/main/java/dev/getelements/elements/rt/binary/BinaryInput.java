@@ -0,0 +1,133 @@
+package dev.getelements.elements.rt.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads the primitives written by {@link BinaryOutput} from a byte array.
+ */
+class BinaryInput {
+
+    private final byte[] buffer;
+
+    private int position;
+
+    BinaryInput(final byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    int readByte() throws IOException {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    byte[] readBytes() throws IOException {
+        final var length = readLength(0);
+        final var bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    int readVarInt() throws IOException {
+
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            final var b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+
+        throw new IOException("Malformed variable length integer.");
+
+    }
+
+    long readVarLong() throws IOException {
+
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            final long b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+
+        throw new IOException("Malformed variable length long.");
+
+    }
+
+    int readZigZagInt() throws IOException {
+        final var value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readZigZagLong() throws IOException {
+        final var value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    int readInt() throws IOException {
+        require(4);
+        return (buffer[position++] & 0xFF) << 24 |
+               (buffer[position++] & 0xFF) << 16 |
+               (buffer[position++] & 0xFF) << 8 |
+               (buffer[position++] & 0xFF);
+    }
+
+    long readLong() throws IOException {
+        final long high = readInt();
+        final long low = readInt();
+        return high << 32 | (low & 0xFFFFFFFFL);
+    }
+
+    String readNullableString() throws IOException {
+
+        final var length = readVarInt();
+        if (length == 0) return null;
+
+        final var bytes = length - 1;
+        require(bytes);
+
+        final var value = new String(buffer, position, bytes, UTF_8);
+        position += bytes;
+        return value;
+
+    }
+
+    /**
+     * Reads a collection size or byte length written with the supplied offset, checking it against the remaining input
+     * so that a corrupt length cannot cause an oversized allocation.
+     *
+     * @param offset the offset used when the length was written
+     * @return the length
+     * @throws IOException if the length exceeds the remaining input
+     */
+    int readLength(final int offset) throws IOException {
+        return checkRemaining(readVarInt() - offset);
+    }
+
+    /**
+     * Checks that a count of elements, each of which takes at least one byte, fits in the remaining input.
+     *
+     * @param count the count
+     * @return the count
+     * @throws IOException if the count exceeds the remaining input
+     */
+    int checkRemaining(final int count) throws IOException {
+        if (count < 0 || count > buffer.length - position) {
+            throw new IOException(format("Invalid count %d at position %d.", count, position));
+        }
+        return count;
+    }
+
+    private void require(final int count) throws EOFException {
+        if (count < 0 || position + count > buffer.length) {
+            throw new EOFException(format("Expected %d bytes at position %d.", count, position));
+        }
+    }
+
+}
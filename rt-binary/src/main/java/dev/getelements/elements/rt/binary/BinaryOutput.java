@@ -0,0 +1,103 @@
+package dev.getelements.elements.rt.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A growable byte buffer which writes the primitives used by the binary codec. Integers are written as unsigned
+ * variable length quantities, so small values such as lengths and method indices take a single byte.
+ */
+class BinaryOutput {
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    private int position;
+
+    void writeByte(final int value) {
+        ensure(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeBytes(final byte[] bytes) {
+        writeVarInt(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    void writeVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeZigZagInt(final int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    void writeZigZagLong(final long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeInt(final int value) {
+        ensure(4);
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeLong(final long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    /**
+     * Writes a string which may be null. The length is written off by one, reserving zero for null.
+     *
+     * @param value the value
+     */
+    void writeNullableString(final String value) {
+        if (value == null) {
+            writeVarInt(0);
+        } else {
+            final var bytes = value.getBytes(UTF_8);
+            writeVarInt(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    void writeTo(final OutputStream stream) throws IOException {
+        stream.write(buffer, 0, position);
+    }
+
+    private void ensure(final int count) {
+        if (position + count > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + count));
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package dev.getelements.elements.rt.binary;
+
+import dev.getelements.elements.rt.PayloadReader;
+import dev.getelements.elements.rt.PayloadWriter;
+import dev.getelements.elements.rt.remote.Invocation;
+import dev.getelements.elements.rt.remote.InvocationResult;
+
+/**
+ * Describes the wire format shared by the {@link BinaryPayloadWriter} and {@link BinaryPayloadReader}.
+ *
+ * An {@link Invocation} is written as the format version, a flags byte, and the type name. If the method appears in
+ * the type's {@link RemoteMethodTable}, the table fingerprint and method index follow. Otherwise the method name and
+ * parameter type names are written inline. The optional name and dispatch type follow, and then the arguments. An
+ * {@link InvocationResult} is written as the format version followed by the result.
+ *
+ * Each argument or result is written as a tag byte followed by the value. Common types have a registered tag. Any
+ * other value is written as its class name and the bytes produced by the fallback {@link PayloadWriter}.
+ */
+public final class BinaryPayloadFormat {
+
+    /**
+     * The name of the fallback {@link PayloadReader} and {@link PayloadWriter}, which handle every payload other than
+     * {@link Invocation} and {@link InvocationResult} as well as values without a registered tag.
+     */
+    public static final String FALLBACK = "dev.getelements.elements.rt.binary.fallback";
+
+    static final int VERSION = 1;
+
+    static final int FLAG_INLINE_SIGNATURE = 0x01;
+
+    static final int FLAG_HAS_NAME = 0x02;
+
+    static final int FLAG_HAS_DISPATCH_TYPE = 0x04;
+
+    static final int TAG_NULL = 0;
+
+    static final int TAG_TRUE = 1;
+
+    static final int TAG_FALSE = 2;
+
+    static final int TAG_BYTE = 3;
+
+    static final int TAG_SHORT = 4;
+
+    static final int TAG_CHARACTER = 5;
+
+    static final int TAG_INTEGER = 6;
+
+    static final int TAG_LONG = 7;
+
+    static final int TAG_FLOAT = 8;
+
+    static final int TAG_DOUBLE = 9;
+
+    static final int TAG_STRING = 10;
+
+    static final int TAG_UUID = 11;
+
+    static final int TAG_BYTE_ARRAY = 12;
+
+    static final int TAG_ARRAY_LIST = 13;
+
+    static final int TAG_HASH_MAP = 14;
+
+    static final int TAG_FALLBACK = 15;
+
+    private BinaryPayloadFormat() {}
+
+}
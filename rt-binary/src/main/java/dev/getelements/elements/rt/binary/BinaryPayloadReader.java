@@ -0,0 +1,232 @@
+package dev.getelements.elements.rt.binary;
+
+import dev.getelements.elements.rt.PayloadReader;
+import dev.getelements.elements.rt.annotation.Dispatch;
+import dev.getelements.elements.rt.remote.Invocation;
+import dev.getelements.elements.rt.remote.InvocationResult;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static dev.getelements.elements.rt.binary.BinaryPayloadFormat.*;
+import static java.lang.String.format;
+
+/**
+ * Reads {@link Invocation} and {@link InvocationResult} in the compact format described by
+ * {@link BinaryPayloadFormat}, delegating all other payloads to the fallback {@link PayloadReader}.
+ */
+public class BinaryPayloadReader implements PayloadReader {
+
+    private static final Dispatch.Type[] DISPATCH_TYPES = Dispatch.Type.values();
+
+    private final RemoteMethodTableCache remoteMethodTableCache = new RemoteMethodTableCache();
+
+    private PayloadReader fallback;
+
+    @Override
+    public <T> T convert(final Class<T> to, final Object from) {
+        return getFallback().convert(to, from);
+    }
+
+    @Override
+    public <T> T read(final Class<T> payloadType, final InputStream stream) throws IOException {
+        return isBinary(payloadType)
+            ? read(payloadType, stream.readAllBytes())
+            : getFallback().read(payloadType, stream);
+    }
+
+    @Override
+    public <T> T read(final Class<T> payloadType, final byte[] toRead) throws IOException {
+        if (payloadType == Invocation.class) {
+            return payloadType.cast(decodeInvocation(new BinaryInput(toRead)));
+        } else if (payloadType == InvocationResult.class) {
+            return payloadType.cast(decodeInvocationResult(new BinaryInput(toRead)));
+        } else {
+            return getFallback().read(payloadType, toRead);
+        }
+    }
+
+    private static boolean isBinary(final Class<?> payloadType) {
+        return payloadType == Invocation.class || payloadType == InvocationResult.class;
+    }
+
+    private Invocation decodeInvocation(final BinaryInput input) throws IOException {
+
+        checkVersion(input);
+
+        final var flags = input.readByte();
+        final var invocation = new Invocation();
+        invocation.setType(input.readNullableString());
+
+        if ((flags & FLAG_INLINE_SIGNATURE) == 0) {
+
+            final var fingerprint = input.readInt();
+            final var index = input.readVarInt();
+
+            final var table = remoteMethodTableCache
+                .find(invocation.getType())
+                .orElseThrow(() -> new IOException(format("Unable to load %s.", invocation.getType())));
+
+            if (table.getFingerprint() != fingerprint || index >= table.size()) {
+                throw new IOException(format("Method table mismatch for %s. Peers disagree on the type.", table.getType()));
+            }
+
+            invocation.setMethod(table.getMethod(index));
+            invocation.setParameters(table.getParameters(index));
+
+        } else {
+            invocation.setMethod(input.readNullableString());
+            invocation.setParameters(readStrings(input));
+        }
+
+        if ((flags & FLAG_HAS_NAME) != 0) {
+            invocation.setName(input.readNullableString());
+        }
+
+        if ((flags & FLAG_HAS_DISPATCH_TYPE) != 0) {
+
+            final var ordinal = input.readVarInt();
+
+            if (ordinal >= DISPATCH_TYPES.length) {
+                throw new IOException(format("Invalid dispatch type %d.", ordinal));
+            }
+
+            invocation.setDispatchType(DISPATCH_TYPES[ordinal]);
+
+        }
+
+        final var size = input.readVarInt();
+
+        if (size > 0) {
+
+            final var count = size - 1;
+            final var arguments = new ArrayList<>(input.checkRemaining(count));
+            for (int i = 0; i < count; ++i) arguments.add(readValue(input));
+            invocation.setArguments(arguments);
+
+        }
+
+        return invocation;
+
+    }
+
+    private InvocationResult decodeInvocationResult(final BinaryInput input) throws IOException {
+        checkVersion(input);
+        return new InvocationResult(readValue(input));
+    }
+
+    private static void checkVersion(final BinaryInput input) throws IOException {
+        final var version = input.readByte();
+        if (version != VERSION) throw new IOException(format("Unsupported format version %d.", version));
+    }
+
+    private List<String> readStrings(final BinaryInput input) throws IOException {
+
+        final var size = input.readVarInt();
+        if (size == 0) return null;
+
+        final var count = input.checkRemaining(size - 1);
+        final var strings = new ArrayList<String>(count);
+        for (int i = 0; i < count; ++i) strings.add(input.readNullableString());
+
+        return strings;
+
+    }
+
+    private Object readValue(final BinaryInput input) throws IOException {
+
+        final var tag = input.readByte();
+
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_BYTE:
+                return (byte) input.readByte();
+            case TAG_SHORT:
+                return (short) input.readZigZagInt();
+            case TAG_CHARACTER:
+                return (char) input.readVarInt();
+            case TAG_INTEGER:
+                return input.readZigZagInt();
+            case TAG_LONG:
+                return input.readZigZagLong();
+            case TAG_FLOAT:
+                return Float.intBitsToFloat(input.readInt());
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(input.readLong());
+            case TAG_STRING:
+                return input.readNullableString();
+            case TAG_UUID:
+                return new UUID(input.readLong(), input.readLong());
+            case TAG_BYTE_ARRAY:
+                return input.readBytes();
+            case TAG_ARRAY_LIST:
+                return readList(input);
+            case TAG_HASH_MAP:
+                return readMap(input);
+            case TAG_FALLBACK:
+                return readFallback(input);
+            default:
+                throw new IOException(format("Unknown value tag %d.", tag));
+        }
+
+    }
+
+    private ArrayList<Object> readList(final BinaryInput input) throws IOException {
+        final var count = input.readLength(0);
+        final var list = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) list.add(readValue(input));
+        return list;
+    }
+
+    private HashMap<Object, Object> readMap(final BinaryInput input) throws IOException {
+
+        final var count = input.readLength(0);
+        final var map = new HashMap<>();
+
+        for (int i = 0; i < count; ++i) {
+            final var key = readValue(input);
+            map.put(key, readValue(input));
+        }
+
+        return map;
+
+    }
+
+    private Object readFallback(final BinaryInput input) throws IOException {
+
+        final var typeName = input.readNullableString();
+        final var bytes = input.readBytes();
+
+        final Class<?> type;
+
+        try {
+            type = Class.forName(typeName, false, BinaryPayloadReader.class.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            throw new IOException(ex);
+        }
+
+        return getFallback().read(type, bytes);
+
+    }
+
+    public PayloadReader getFallback() {
+        return fallback;
+    }
+
+    @Inject
+    public void setFallback(@Named(FALLBACK) final PayloadReader fallback) {
+        this.fallback = fallback;
+    }
+
+}
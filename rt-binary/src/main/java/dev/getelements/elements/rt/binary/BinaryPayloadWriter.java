@@ -0,0 +1,191 @@
+package dev.getelements.elements.rt.binary;
+
+import dev.getelements.elements.rt.PayloadWriter;
+import dev.getelements.elements.rt.remote.Invocation;
+import dev.getelements.elements.rt.remote.InvocationResult;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static dev.getelements.elements.rt.binary.BinaryPayloadFormat.*;
+
+/**
+ * Writes {@link Invocation} and {@link InvocationResult} in the compact format described by
+ * {@link BinaryPayloadFormat}, delegating all other payloads to the fallback {@link PayloadWriter}.
+ */
+public class BinaryPayloadWriter implements PayloadWriter {
+
+    private final RemoteMethodTableCache remoteMethodTableCache = new RemoteMethodTableCache();
+
+    private PayloadWriter fallback;
+
+    @Override
+    public byte[] write(final Object payload) throws IOException {
+        final var output = encode(payload);
+        return output == null ? getFallback().write(payload) : output.toByteArray();
+    }
+
+    @Override
+    public void write(final Object payload, final OutputStream stream) throws IOException {
+
+        final var output = encode(payload);
+
+        if (output == null) {
+            getFallback().write(payload, stream);
+        } else {
+            output.writeTo(stream);
+        }
+
+    }
+
+    private BinaryOutput encode(final Object payload) throws IOException {
+        if (payload == null) {
+            return null;
+        } else if (payload.getClass() == Invocation.class) {
+            return encodeInvocation((Invocation) payload);
+        } else if (payload.getClass() == InvocationResult.class) {
+            return encodeInvocationResult((InvocationResult) payload);
+        } else {
+            return null;
+        }
+    }
+
+    private BinaryOutput encodeInvocation(final Invocation invocation) throws IOException {
+
+        final var table = remoteMethodTableCache.find(invocation.getType());
+
+        final var index = table
+            .map(t -> t.indexOf(invocation.getMethod(), invocation.getParameters()))
+            .orElse(-1);
+
+        int flags = 0;
+        if (index < 0) flags |= FLAG_INLINE_SIGNATURE;
+        if (invocation.getName() != null) flags |= FLAG_HAS_NAME;
+        if (invocation.getDispatchType() != null) flags |= FLAG_HAS_DISPATCH_TYPE;
+
+        final var output = new BinaryOutput();
+        output.writeByte(VERSION);
+        output.writeByte(flags);
+        output.writeNullableString(invocation.getType());
+
+        if (index < 0) {
+            output.writeNullableString(invocation.getMethod());
+            writeStrings(output, invocation.getParameters());
+        } else {
+            output.writeInt(table.get().getFingerprint());
+            output.writeVarInt(index);
+        }
+
+        if (invocation.getName() != null) output.writeNullableString(invocation.getName());
+        if (invocation.getDispatchType() != null) output.writeVarInt(invocation.getDispatchType().ordinal());
+
+        final var arguments = invocation.getArguments();
+
+        if (arguments == null) {
+            output.writeVarInt(0);
+        } else {
+            output.writeVarInt(arguments.size() + 1);
+            for (var argument : arguments) writeValue(output, argument);
+        }
+
+        return output;
+
+    }
+
+    private BinaryOutput encodeInvocationResult(final InvocationResult invocationResult) throws IOException {
+        final var output = new BinaryOutput();
+        output.writeByte(VERSION);
+        writeValue(output, invocationResult.getResult());
+        return output;
+    }
+
+    private void writeStrings(final BinaryOutput output, final List<String> strings) {
+        if (strings == null) {
+            output.writeVarInt(0);
+        } else {
+            output.writeVarInt(strings.size() + 1);
+            for (var string : strings) output.writeNullableString(string);
+        }
+    }
+
+    private void writeValue(final BinaryOutput output, final Object value) throws IOException {
+
+        if (value == null) {
+            output.writeByte(TAG_NULL);
+            return;
+        }
+
+        final var type = value.getClass();
+
+        if (type == String.class) {
+            output.writeByte(TAG_STRING);
+            output.writeNullableString((String) value);
+        } else if (type == Integer.class) {
+            output.writeByte(TAG_INTEGER);
+            output.writeZigZagInt((Integer) value);
+        } else if (type == Long.class) {
+            output.writeByte(TAG_LONG);
+            output.writeZigZagLong((Long) value);
+        } else if (type == Double.class) {
+            output.writeByte(TAG_DOUBLE);
+            output.writeLong(Double.doubleToRawLongBits((Double) value));
+        } else if (type == Boolean.class) {
+            output.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (type == Float.class) {
+            output.writeByte(TAG_FLOAT);
+            output.writeInt(Float.floatToRawIntBits((Float) value));
+        } else if (type == Byte.class) {
+            output.writeByte(TAG_BYTE);
+            output.writeByte((Byte) value);
+        } else if (type == Short.class) {
+            output.writeByte(TAG_SHORT);
+            output.writeZigZagInt((Short) value);
+        } else if (type == Character.class) {
+            output.writeByte(TAG_CHARACTER);
+            output.writeVarInt((Character) value);
+        } else if (type == UUID.class) {
+            final var uuid = (UUID) value;
+            output.writeByte(TAG_UUID);
+            output.writeLong(uuid.getMostSignificantBits());
+            output.writeLong(uuid.getLeastSignificantBits());
+        } else if (type == byte[].class) {
+            output.writeByte(TAG_BYTE_ARRAY);
+            output.writeBytes((byte[]) value);
+        } else if (type == ArrayList.class) {
+            final var list = (List<?>) value;
+            output.writeByte(TAG_ARRAY_LIST);
+            output.writeVarInt(list.size());
+            for (var element : list) writeValue(output, element);
+        } else if (type == HashMap.class) {
+            final var map = (Map<?, ?>) value;
+            output.writeByte(TAG_HASH_MAP);
+            output.writeVarInt(map.size());
+            for (var entry : map.entrySet()) {
+                writeValue(output, entry.getKey());
+                writeValue(output, entry.getValue());
+            }
+        } else {
+            output.writeByte(TAG_FALLBACK);
+            output.writeNullableString(type.getName());
+            output.writeBytes(getFallback().write(value));
+        }
+
+    }
+
+    public PayloadWriter getFallback() {
+        return fallback;
+    }
+
+    @Inject
+    public void setFallback(@Named(FALLBACK) final PayloadWriter fallback) {
+        this.fallback = fallback;
+    }
+
+}
@@ -0,0 +1,176 @@
+package dev.getelements.elements.rt.binary;
+
+import dev.getelements.elements.rt.annotation.RemoteService;
+import dev.getelements.elements.rt.annotation.RemotelyInvokable;
+import dev.getelements.elements.rt.remote.Invocation;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static dev.getelements.elements.rt.Reflection.methods;
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * Numbers the {@link RemotelyInvokable} methods of a {@link RemoteService} type so that an {@link Invocation} may carry
+ * a method index in place of the method name and parameter type names.
+ *
+ * Methods are ordered by name and parameter types, so both ends of a connection derive the same table from the same
+ * version of the type without exchanging it. The {@link #getFingerprint()} summarizes the table, letting the reading
+ * end detect that the peers disagree on the type rather than invoking the wrong method.
+ */
+public class RemoteMethodTable {
+
+    private static final ClassValue<RemoteMethodTable> tables = new ClassValue<>() {
+        @Override
+        protected RemoteMethodTable computeValue(final Class<?> type) {
+            return new RemoteMethodTable(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final int fingerprint;
+
+    private final Entry[] entries;
+
+    private final Map<Entry, Integer> indices = new HashMap<>();
+
+    private RemoteMethodTable(final Class<?> type) {
+
+        this.type = type;
+
+        final var sorted = new TreeMap<String, Entry>();
+
+        methods(type)
+            .filter(method -> method.getAnnotationsByType(RemotelyInvokable.class).length > 0)
+            .forEach(method -> {
+
+                final var parameters = stream(method.getParameterTypes())
+                    .map(Class::getName)
+                    .collect(toUnmodifiableList());
+
+                final var entry = new Entry(method.getName(), parameters);
+                sorted.putIfAbsent(entry.toString(), entry);
+
+            });
+
+        int fingerprint = 0;
+        entries = sorted.values().toArray(Entry[]::new);
+
+        for (int index = 0; index < entries.length; ++index) {
+            indices.put(entries[index], index);
+            fingerprint = 31 * fingerprint + entries[index].toString().hashCode();
+        }
+
+        this.fingerprint = fingerprint;
+
+    }
+
+    /**
+     * Gets the {@link RemoteMethodTable} for the supplied type, building it the first time the type is seen.
+     *
+     * @param type the type
+     * @return the {@link RemoteMethodTable}
+     */
+    public static RemoteMethodTable forType(final Class<?> type) {
+        return tables.get(type);
+    }
+
+    /**
+     * Gets the type for which this table was built.
+     *
+     * @return the type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Gets a hash of every method in the table, in order.
+     *
+     * @return the fingerprint
+     */
+    public int getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Gets the number of methods in the table.
+     *
+     * @return the size
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Finds the index of the method with the supplied name and parameter types.
+     *
+     * @param method the method name, as in {@link Invocation#getMethod()}
+     * @param parameters the parameter type names, as in {@link Invocation#getParameters()}
+     * @return the index, or -1 if the table has no such method
+     */
+    public int indexOf(final String method, final List<String> parameters) {
+        if (method == null || parameters == null) return -1;
+        final var index = indices.get(new Entry(method, parameters));
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the method name at the supplied index.
+     *
+     * @param index the index
+     * @return the method name
+     */
+    public String getMethod(final int index) {
+        return entries[index].method;
+    }
+
+    /**
+     * Gets the parameter type names at the supplied index. The returned {@link List} is immutable.
+     *
+     * @param index the index
+     * @return the parameter type names
+     */
+    public List<String> getParameters(final int index) {
+        return entries[index].parameters;
+    }
+
+    private static final class Entry {
+
+        private final String method;
+
+        private final List<String> parameters;
+
+        private final int hashCode;
+
+        public Entry(final String method, final List<String> parameters) {
+            this.method = method;
+            this.parameters = parameters;
+            this.hashCode = 31 * method.hashCode() + parameters.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry)) return false;
+            final Entry other = (Entry) o;
+            return hashCode == other.hashCode && method.equals(other.method) && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return method + "(" + String.join(",", parameters) + ")";
+        }
+
+    }
+
+}
@@ -0,0 +1,34 @@
+package dev.getelements.elements.rt.binary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves {@link RemoteMethodTable} instances by type name, remembering types which could not be loaded so that the
+ * lookup is only attempted once per name.
+ */
+class RemoteMethodTableCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteMethodTableCache.class);
+
+    private final ConcurrentMap<String, Optional<RemoteMethodTable>> tables = new ConcurrentHashMap<>();
+
+    Optional<RemoteMethodTable> find(final String typeName) {
+        return typeName == null ? Optional.empty() : tables.computeIfAbsent(typeName, this::load);
+    }
+
+    private Optional<RemoteMethodTable> load(final String typeName) {
+        try {
+            final var type = Class.forName(typeName, false, RemoteMethodTableCache.class.getClassLoader());
+            return Optional.of(RemoteMethodTable.forType(type));
+        } catch (ClassNotFoundException | LinkageError ex) {
+            logger.debug("Unable to load {}. Invocations will carry an inline signature.", typeName, ex);
+            return Optional.empty();
+        }
+    }
+
+}
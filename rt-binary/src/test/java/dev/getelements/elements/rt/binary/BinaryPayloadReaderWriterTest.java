@@ -0,0 +1,242 @@
+package dev.getelements.elements.rt.binary;
+
+import dev.getelements.elements.rt.kryo.KryoPayloadReader;
+import dev.getelements.elements.rt.kryo.KryoPayloadWriter;
+import dev.getelements.elements.rt.remote.Invocation;
+import dev.getelements.elements.rt.remote.InvocationResult;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static dev.getelements.elements.rt.annotation.Dispatch.Type.ASYNCHRONOUS;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Arrays.copyOf;
+import static org.testng.Assert.*;
+
+public class BinaryPayloadReaderWriterTest {
+
+    private final BinaryPayloadReader reader = new BinaryPayloadReader();
+
+    private final BinaryPayloadWriter writer = new BinaryPayloadWriter();
+
+    {
+        reader.setFallback(new KryoPayloadReader());
+        writer.setFallback(new KryoPayloadWriter());
+    }
+
+    @DataProvider
+    public static Object[][] values() {
+
+        final var list = new ArrayList<Object>(List.of("a", 1, 2L));
+        list.add(null);
+
+        final var map = new HashMap<Object, Object>();
+        map.put("key", 42);
+        map.put(7, new ArrayList<>(List.of("nested")));
+
+        return new Object[][] {
+            { null },
+            { true },
+            { false },
+            { (byte) -7 },
+            { (short) -1234 },
+            { 'x' },
+            { Integer.MIN_VALUE },
+            { Integer.MAX_VALUE },
+            { -1 },
+            { Long.MIN_VALUE },
+            { 1L << 40 },
+            { 3.5f },
+            { Double.NaN },
+            { -0.25 },
+            { "" },
+            { "Hello é世界" },
+            { UUID.randomUUID() },
+            { list },
+            { map },
+            { new BigDecimal("1234.5678") },
+            { new LinkedList<>(List.of("fallback")) }
+        };
+
+    }
+
+    @Test(dataProvider = "values")
+    public void testInvocationResultRoundTrip(final Object value) throws IOException {
+
+        final var bytes = writer.write(new InvocationResult(value));
+        final var result = reader.read(InvocationResult.class, bytes);
+
+        assertEquals(result.getResult(), value);
+        if (value != null) assertEquals(result.getResult().getClass(), value.getClass());
+
+    }
+
+    @Test
+    public void testByteArrayRoundTrip() throws IOException {
+        final var value = new byte[] { 1, 2, 3, -128, 127 };
+        final var result = reader.read(InvocationResult.class, writer.write(new InvocationResult(value)));
+        assertEquals((byte[]) result.getResult(), value);
+    }
+
+    @Test
+    public void testTableInvocationRoundTrip() throws Exception {
+
+        final var invocation = updateInvocation();
+        final var bytes = writer.write(invocation);
+        final var table = RemoteMethodTable.forType(TestBinaryService.class);
+
+        assertTrue(table.indexOf(invocation.getMethod(), invocation.getParameters()) >= 0);
+        assertFalse(contains(bytes, "update"), "Expected method name to be omitted.");
+        assertFalse(contains(bytes, UUID.class.getName()), "Expected parameter types to be omitted.");
+
+        assertEquals(reader.read(Invocation.class, bytes), invocation);
+
+    }
+
+    @Test
+    public void testStreamRoundTrip() throws Exception {
+
+        final var invocation = updateInvocation();
+
+        try (final var bos = new ByteArrayOutputStream()) {
+            writer.write(invocation, bos);
+            assertEquals(reader.read(Invocation.class, new ByteArrayInputStream(bos.toByteArray())), invocation);
+        }
+
+    }
+
+    @Test
+    public void testInlineSignatureForUnknownType() throws Exception {
+
+        final var invocation = updateInvocation();
+        invocation.setType("com.example.DoesNotExist");
+
+        final var bytes = writer.write(invocation);
+        assertTrue(contains(bytes, "update"), "Expected inline method name.");
+        assertEquals(reader.read(Invocation.class, bytes), invocation);
+
+    }
+
+    @Test
+    public void testInlineSignatureForUnknownMethod() throws Exception {
+
+        final var invocation = new Invocation();
+        invocation.setType(TestBinaryService.class.getName());
+        invocation.setMethod("notRemotelyInvokable");
+        invocation.setParameters(new ArrayList<>(List.of(String.class.getName())));
+        invocation.setArguments(new ArrayList<>(List.of("Hello")));
+
+        assertEquals(RemoteMethodTable.forType(TestBinaryService.class).indexOf("notRemotelyInvokable", invocation.getParameters()), -1);
+        assertEquals(reader.read(Invocation.class, writer.write(invocation)), invocation);
+
+    }
+
+    @Test
+    public void testEmptyInvocationRoundTrip() throws Exception {
+        final var invocation = new Invocation();
+        assertEquals(reader.read(Invocation.class, writer.write(invocation)), invocation);
+    }
+
+    @Test
+    public void testMethodTableIsOrdered() {
+
+        final var table = RemoteMethodTable.forType(TestBinaryService.class);
+        assertEquals(table.size(), 3);
+
+        for (int i = 1; i < table.size(); ++i) {
+            final var previous = signature(table, i - 1);
+            final var current = signature(table, i);
+            assertTrue(previous.compareTo(current) < 0, previous + " should sort before " + current);
+        }
+
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testFingerprintMismatch() throws Exception {
+
+        final var bytes = writer.write(updateInvocation());
+
+        // Version, flags, then the length prefixed type name precede the fingerprint.
+        final var fingerprintOffset = 3 + TestBinaryService.class.getName().length();
+        bytes[fingerprintOffset] ^= 0xFF;
+
+        reader.read(Invocation.class, bytes);
+
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testTruncated() throws Exception {
+        final var bytes = writer.write(updateInvocation());
+        reader.read(Invocation.class, copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test
+    public void testOtherPayloadsUseFallback() throws Exception {
+
+        final var payload = new ArrayList<>(List.of("not", "an", "invocation"));
+        final var bytes = writer.write(payload);
+
+        assertEquals(bytes, new KryoPayloadWriter().write(payload));
+        assertEquals(reader.read(ArrayList.class, bytes), payload);
+
+    }
+
+    @Test
+    public void testSmallerThanKryo() throws Exception {
+
+        final var invocation = updateInvocation();
+        final var binary = writer.write(invocation);
+        final var kryo = new KryoPayloadWriter().write(invocation);
+
+        assertTrue(binary.length * 2 < kryo.length, "Binary " + binary.length + " Kryo " + kryo.length);
+
+    }
+
+    private static Invocation updateInvocation() {
+
+        final var attributes = new HashMap<Object, Object>();
+        attributes.put("level", 12);
+
+        final var invocation = new Invocation();
+        invocation.setType(TestBinaryService.class.getName());
+        invocation.setName("test");
+        invocation.setMethod("update");
+        invocation.setDispatchType(ASYNCHRONOUS);
+
+        invocation.setParameters(new ArrayList<>(List.of(
+            UUID.class.getName(),
+            int.class.getName(),
+            double.class.getName(),
+            List.class.getName(),
+            Map.class.getName(),
+            Consumer.class.getName(),
+            Consumer.class.getName()
+        )));
+
+        invocation.setArguments(new ArrayList<>(List.of(
+            UUID.randomUUID(),
+            3,
+            99.5,
+            new ArrayList<>(List.of("one", "two")),
+            attributes
+        )));
+
+        return invocation;
+
+    }
+
+    private static String signature(final RemoteMethodTable table, final int index) {
+        return table.getMethod(index) + "(" + String.join(",", table.getParameters(index)) + ")";
+    }
+
+    private static boolean contains(final byte[] bytes, final String string) {
+        return new String(bytes, ISO_8859_1).contains(string);
+    }
+
+}
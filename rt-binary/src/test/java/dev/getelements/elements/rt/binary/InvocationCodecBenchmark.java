@@ -0,0 +1,217 @@
+package dev.getelements.elements.rt.binary;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.getelements.elements.rt.PayloadReader;
+import dev.getelements.elements.rt.PayloadWriter;
+import dev.getelements.elements.rt.fst.FSTPayloadReader;
+import dev.getelements.elements.rt.fst.FSTPayloadWriter;
+import dev.getelements.elements.rt.jackson.ObjectMapperPayloadReader;
+import dev.getelements.elements.rt.jackson.ObjectMapperPayloadWriter;
+import dev.getelements.elements.rt.kryo.KryoPayloadReader;
+import dev.getelements.elements.rt.kryo.KryoPayloadWriter;
+import dev.getelements.elements.rt.remote.Invocation;
+import dev.getelements.elements.rt.remote.InvocationResult;
+import org.nustaq.serialization.FSTConfiguration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping.NON_FINAL;
+import static dev.getelements.elements.rt.annotation.Dispatch.Type.ASYNCHRONOUS;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Compares the throughput of each {@link PayloadWriter} and {@link PayloadReader} when encoding an {@link Invocation}
+ * and its {@link InvocationResult}. The binary codec falls back to Kryo for values without a registered tag. Running
+ * {@link #main(String[])} from the test classpath prints the encoded size for each codec before the benchmarks start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {
+    "--add-opens=java.base/java.lang=ALL-UNNAMED",
+    "--add-opens=java.base/java.util=ALL-UNNAMED",
+    "--add-opens=java.base/java.math=ALL-UNNAMED",
+    "--add-opens=java.base/java.net=ALL-UNNAMED",
+    "--add-opens=java.base/java.text=ALL-UNNAMED",
+    "--add-opens=java.base/java.util.concurrent=ALL-UNNAMED",
+    "--add-opens=java.sql/java.sql=ALL-UNNAMED"
+})
+public class InvocationCodecBenchmark {
+
+    @Param({"binary", "kryo", "fst", "jackson"})
+    private String codec;
+
+    private PayloadReader reader;
+
+    private PayloadWriter writer;
+
+    private Invocation invocation;
+
+    private InvocationResult invocationResult;
+
+    private byte[] invocationBytes;
+
+    private byte[] invocationResultBytes;
+
+    @Setup
+    public void setup() throws IOException {
+
+        reader = reader(codec);
+        writer = writer(codec);
+
+        invocation = invocation();
+        invocationResult = invocationResult();
+
+        invocationBytes = writer.write(invocation);
+        invocationResultBytes = writer.write(invocationResult);
+
+    }
+
+    @Benchmark
+    public byte[] writeInvocation() throws IOException {
+        return writer.write(invocation);
+    }
+
+    @Benchmark
+    public Invocation readInvocation() throws IOException {
+        return reader.read(Invocation.class, invocationBytes);
+    }
+
+    @Benchmark
+    public byte[] writeInvocationResult() throws IOException {
+        return writer.write(invocationResult);
+    }
+
+    @Benchmark
+    public InvocationResult readInvocationResult() throws IOException {
+        return reader.read(InvocationResult.class, invocationResultBytes);
+    }
+
+    static Invocation invocation() {
+
+        final var attributes = new HashMap<Object, Object>();
+        attributes.put("level", 12);
+        attributes.put("region", "us-west");
+
+        final var invocation = new Invocation();
+        invocation.setType(TestBinaryService.class.getName());
+        invocation.setMethod("update");
+        invocation.setDispatchType(ASYNCHRONOUS);
+
+        invocation.setParameters(new ArrayList<>(List.of(
+            UUID.class.getName(),
+            int.class.getName(),
+            double.class.getName(),
+            List.class.getName(),
+            Map.class.getName(),
+            Consumer.class.getName(),
+            Consumer.class.getName()
+        )));
+
+        invocation.setArguments(new ArrayList<>(List.of(
+            UUID.randomUUID(),
+            3,
+            99.5,
+            new ArrayList<>(List.of("one", "two", "three")),
+            attributes
+        )));
+
+        return invocation;
+
+    }
+
+    static InvocationResult invocationResult() {
+        return new InvocationResult(new ArrayList<>(List.of("Hello World!", 42, 99.5)));
+    }
+
+    static PayloadReader reader(final String codec) {
+        switch (codec) {
+            case "binary":
+                final var binary = new BinaryPayloadReader();
+                binary.setFallback(new KryoPayloadReader());
+                return binary;
+            case "kryo":
+                return new KryoPayloadReader();
+            case "fst":
+                final var fst = new FSTPayloadReader();
+                fst.setFstConfiguration(FSTConfiguration.createDefaultConfiguration());
+                return fst;
+            case "jackson":
+                final var jackson = new ObjectMapperPayloadReader();
+                jackson.setObjectMapper(objectMapper());
+                return jackson;
+            default:
+                throw new IllegalArgumentException(codec);
+        }
+    }
+
+    static PayloadWriter writer(final String codec) {
+        switch (codec) {
+            case "binary":
+                final var binary = new BinaryPayloadWriter();
+                binary.setFallback(new KryoPayloadWriter());
+                return binary;
+            case "kryo":
+                return new KryoPayloadWriter();
+            case "fst":
+                final var fst = new FSTPayloadWriter();
+                fst.setFstConfiguration(FSTConfiguration.createDefaultConfiguration());
+                return fst;
+            case "jackson":
+                final var jackson = new ObjectMapperPayloadWriter();
+                jackson.setObjectMapper(objectMapper());
+                return jackson;
+            default:
+                throw new IllegalArgumentException(codec);
+        }
+    }
+
+    /**
+     * Configured the same way as the ObjectMapperPayloadReaderWriterModule.
+     */
+    private static ObjectMapper objectMapper() {
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.enableDefaultTyping(NON_FINAL);
+        objectMapper.disable(FAIL_ON_UNKNOWN_PROPERTIES);
+        objectMapper.setVisibility(objectMapper.getSerializationConfig().getDefaultVisibilityChecker()
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+                .withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withSetterVisibility(JsonAutoDetect.Visibility.NONE)
+                .withCreatorVisibility(JsonAutoDetect.Visibility.NONE));
+
+        return objectMapper;
+
+    }
+
+    public static void main(final String[] args) throws IOException, RunnerException {
+
+        for (var codec : List.of("binary", "kryo", "fst", "jackson")) {
+            final var writer = writer(codec);
+            final var invocationSize = writer.write(invocation()).length;
+            final var resultSize = writer.write(invocationResult()).length;
+            System.out.printf("%-8s invocation: %4d bytes result: %4d bytes%n", codec, invocationSize, resultSize);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(InvocationCodecBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package dev.getelements.elements.rt.binary;
+
+import dev.getelements.elements.rt.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static dev.getelements.elements.rt.annotation.RemoteScope.ELEMENTS_RT_PROTOCOL;
+import static dev.getelements.elements.rt.annotation.RemoteScope.WORKER_SCOPE;
+
+@RemoteService(scopes = @RemoteScope(scope = WORKER_SCOPE, protocol = ELEMENTS_RT_PROTOCOL))
+public interface TestBinaryService {
+
+    @RemotelyInvokable
+    String echo(@Serialize String msg);
+
+    @RemotelyInvokable
+    void update(@Serialize UUID id,
+                @Serialize int count,
+                @Serialize double score,
+                @Serialize List<Object> tags,
+                @Serialize Map<Object, Object> attributes,
+                @ResultHandler Consumer<Object> resultConsumer,
+                @ErrorHandler Consumer<Throwable> errorConsumer);
+
+    @RemotelyInvokable
+    void update(@Serialize UUID id, @Serialize int count);
+
+    void notRemotelyInvokable(String msg);
+
+}
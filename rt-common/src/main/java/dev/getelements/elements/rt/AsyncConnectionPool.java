@@ -2,6 +2,9 @@
 
 import java.util.function.Consumer;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 /**
  * An interface to an underlying pool of sockets.
  */
@@ -10,12 +13,28 @@ public interface AsyncConnectionPool<ContextT, SocketT> extends AutoCloseable {
     /**
      * Acquires a new {@link AsyncConnection}.  Once assigned to a thread, the supplied {@link Consumer} will be
      * called by the IO Thread with an allocated instance of {@link AsyncConnection<ContextT, SocketT>}.  This method
-     * will block until an {@link AsyncConnection} is available.
+     * never blocks. If no {@link AsyncConnection} is available, the {@link Consumer} is called once one is recycled or
+     * allocated.
      *
      * @param asyncConnectionConsumer the {@link Consumer} which will accept
      *                                the {@link AsyncConnection<ContextT, SocketT>}
      */
-    void acquireNextAvailableConnection(Consumer<AsyncConnection<ContextT, SocketT>> asyncConnectionConsumer);
+    default void acquireNextAvailableConnection(Consumer<AsyncConnection<ContextT, SocketT>> asyncConnectionConsumer) {
+        acquireNextAvailableConnection(asyncConnectionConsumer, ex -> {});
+    }
+
+    /**
+     * Acquires a new {@link AsyncConnection} as {@link #acquireNextAvailableConnection(Consumer)}, additionally
+     * reporting to the supplied error {@link Consumer} should the acquisition never be served, such as when this
+     * {@link AsyncConnectionPool<ContextT, SocketT>} is closed while the acquisition waits for a connection. Exactly one
+     * of the two {@link Consumer}s is called.
+     *
+     * @param asyncConnectionConsumer the {@link Consumer} which will accept
+     *                                the {@link AsyncConnection<ContextT, SocketT>}
+     * @param asyncErrorConsumer the {@link Consumer} which will accept the reason the acquisition failed
+     */
+    void acquireNextAvailableConnection(Consumer<AsyncConnection<ContextT, SocketT>> asyncConnectionConsumer,
+                                        Consumer<Exception> asyncErrorConsumer);
 
     /**
      * Closes this {@link  AsyncConnectionPool<ContextT, SocketT>} and releases
@@ -23,4 +42,54 @@ public interface AsyncConnectionPool<ContextT, SocketT> extends AutoCloseable {
      */
     void close();
 
+    /**
+     * Gets a snapshot of the current pool metrics.
+     *
+     * @return the {@link Metrics}
+     */
+    Metrics getMetrics();
+
+    /**
+     * A point-in-time snapshot of the pool metrics.
+     *
+     * @param max the maximum number of connections the pool may hold
+     * @param connections the number of open connections
+     * @param idle the number of open connections available to be acquired
+     * @param waiting the number of acquisitions waiting for a connection
+     * @param acquired the total number of connections handed out
+     * @param allocated the total number of connections opened
+     * @param deferred the total number of acquisitions which had to wait for a connection to be recycled
+     * @param totalWaitNanos the total time between requesting and receiving a connection, over all acquisitions
+     * @param maxWaitNanos the longest time any acquisition spent between requesting and receiving a connection
+     */
+    record Metrics(int max,
+                   int connections,
+                   int idle,
+                   int waiting,
+                   long acquired,
+                   long allocated,
+                   long deferred,
+                   long totalWaitNanos,
+                   long maxWaitNanos) {
+
+        /**
+         * Gets the fraction of the maximum pool size which is currently in use.
+         *
+         * @return the utilization, from 0 to 1
+         */
+        public double getUtilization() {
+            return max == 0 ? 0 : (double) Math.max(connections - idle, 0) / max;
+        }
+
+        /**
+         * Gets the mean time between requesting and receiving a connection.
+         *
+         * @return the mean wait, in milliseconds
+         */
+        public double getMeanWaitMsec() {
+            return acquired == 0 ? 0 : (double) totalWaitNanos / acquired / NANOSECONDS.convert(1, MILLISECONDS);
+        }
+
+    }
+
 }
@@ -0,0 +1,27 @@
+package dev.getelements.elements.rt.exception;
+
+/**
+ * Indicates that a node rejected an invocation without dispatching it because the node is saturated. As the invocation
+ * never ran, it may be safely retried on another node.
+ */
+public class NodeBusyException extends ContentionException {
+
+    public NodeBusyException() {}
+
+    public NodeBusyException(String message) {
+        super(message);
+    }
+
+    public NodeBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public NodeBusyException(Throwable cause) {
+        super(cause);
+    }
+
+    public NodeBusyException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+}
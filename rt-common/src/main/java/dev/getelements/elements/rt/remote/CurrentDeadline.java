@@ -0,0 +1,23 @@
+package dev.getelements.elements.rt.remote;
+
+import dev.getelements.elements.sdk.util.ReentrantThreadLocal;
+
+/**
+ * Houses a {@link ReentrantThreadLocal} to represent the {@link Deadline} of the work being done by the current thread.
+ * Any {@link Invocation} sent while a {@link Deadline} is in scope carries the time remaining, so that the remote end
+ * may abandon the work once the caller would no longer wait for it.
+ */
+public class CurrentDeadline {
+
+    private static final ReentrantThreadLocal<Deadline> instance = new ReentrantThreadLocal<>();
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the {@link ReentrantThreadLocal<Deadline>} instance.
+     */
+    public static ReentrantThreadLocal<Deadline> getInstance() {
+        return instance;
+    }
+
+}
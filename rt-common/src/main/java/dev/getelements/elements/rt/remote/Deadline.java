@@ -0,0 +1,74 @@
+package dev.getelements.elements.rt.remote;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The point in time by which the caller of an {@link Invocation} needs a response, measured against
+ * {@link System#nanoTime()}. Because that clock is local to each process, a {@link Deadline} never crosses the network
+ * directly. Instead the time remaining is sent with the request and the receiving end starts a new {@link Deadline}
+ * from the moment the request arrived.
+ *
+ * @param nanoTime the value of {@link System#nanoTime()} at which the deadline passes
+ */
+public record Deadline(long nanoTime) {
+
+    /**
+     * Creates a {@link Deadline} which passes after the given time from now.
+     *
+     * @param time the time
+     * @param timeUnit the unit of the time
+     * @return the {@link Deadline}
+     */
+    public static Deadline after(final long time, final TimeUnit timeUnit) {
+        return after(System.nanoTime(), time, timeUnit);
+    }
+
+    /**
+     * Creates a {@link Deadline} which passes after the given time from the supplied starting point.
+     *
+     * @param startNanoTime the starting point, as a value of {@link System#nanoTime()}
+     * @param time the time
+     * @param timeUnit the unit of the time
+     * @return the {@link Deadline}
+     */
+    public static Deadline after(final long startNanoTime, final long time, final TimeUnit timeUnit) {
+        return new Deadline(startNanoTime + timeUnit.toNanos(time));
+    }
+
+    /**
+     * Gets the time remaining until this {@link Deadline} passes, which is negative if it has already passed.
+     *
+     * @param timeUnit the unit in which to return the time
+     * @return the time remaining
+     */
+    public long remaining(final TimeUnit timeUnit) {
+        return timeUnit.convert(nanoTime - System.nanoTime(), NANOSECONDS);
+    }
+
+    /**
+     * Checks if this {@link Deadline} has passed.
+     *
+     * @return true if passed, false otherwise
+     */
+    public boolean isExpired() {
+        return nanoTime - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Gets the time an {@link Invocation} sent now may take, which is the lesser of the supplied timeout and the time
+     * remaining on the {@link CurrentDeadline}, if there is one.
+     *
+     * @param timeoutNanos the timeout of the sender, in nanoseconds
+     * @return the time remaining, in nanoseconds, which is zero or negative if the current deadline has already passed
+     */
+    public static long budgetNanos(final long timeoutNanos) {
+        return CurrentDeadline.getInstance()
+            .getCurrentOptional()
+            .map(deadline -> min(timeoutNanos, deadline.remaining(NANOSECONDS)))
+            .orElse(timeoutNanos);
+    }
+
+}
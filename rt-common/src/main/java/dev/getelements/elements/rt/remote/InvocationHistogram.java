@@ -0,0 +1,140 @@
+package dev.getelements.elements.rt.remote;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Long.numberOfLeadingZeros;
+
+/**
+ * A lock-free histogram of non-negative values, such as response times or payload sizes, with log-linear buckets in
+ * the manner of an HDR histogram. Each power of two is split into {@link #SUB_BUCKETS} equal buckets, so any recorded
+ * value is reported to within 1/16th (about 6%) of its true value while the whole range of a long fits in a few
+ * hundred counters.
+ *
+ * Recording is a handful of atomic increments and never blocks, so it is safe to use on the hot path of every
+ * {@link Invocation}. Reading the histogram walks every bucket and is meant for periodic scraping rather than for
+ * every call. Values are kept from the time the histogram is created.
+ */
+public class InvocationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * The number of buckets into which each power of two is split.
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a single value. Negative values are recorded as zero.
+     *
+     * @param value the value
+     */
+    public void record(final long value) {
+
+        final var v = Math.max(0, value);
+
+        buckets.incrementAndGet(bucketOf(v));
+        count.increment();
+        sum.add(v);
+
+        // Checked first, as the maximum rarely changes and reading is much cheaper than contending on an update.
+        if (v > max.get()) max.accumulateAndGet(v, Math::max);
+
+    }
+
+    /**
+     * Takes a {@link Snapshot} of the values recorded so far.
+     *
+     * @return the {@link Snapshot}
+     */
+    public Snapshot getSnapshot() {
+
+        final var counts = new long[BUCKET_COUNT];
+        var total = 0L;
+
+        for (int i = 0; i < counts.length; ++i) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        final var mean = total == 0 ? 0.0 : (double) sum.sum() / count.sum();
+
+        return new Snapshot(
+            total,
+            mean,
+            valueAtPercentile(counts, total, 0.50),
+            valueAtPercentile(counts, total, 0.90),
+            valueAtPercentile(counts, total, 0.99),
+            max.get());
+
+    }
+
+    private static long valueAtPercentile(final long[] counts, final long total, final double percentile) {
+
+        if (total == 0) return 0;
+
+        final var rank = Math.max(1, (long) Math.ceil(percentile * total));
+        var seen = 0L;
+
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= rank) return valueOf(i);
+        }
+
+        return valueOf(counts.length - 1);
+
+    }
+
+    static int bucketOf(final long value) {
+
+        if (value < SUB_BUCKETS) return (int) value;
+
+        // The exponent selects the power of two, and the bits immediately below the leading one select the bucket
+        // within it.
+
+        final var exponent = Long.SIZE - 1 - numberOfLeadingZeros(value);
+        final var shift = exponent - SUB_BUCKET_BITS;
+        final var subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+
+    }
+
+    static long valueOf(final int bucket) {
+
+        if (bucket < SUB_BUCKETS) return bucket;
+
+        // Reports the middle of the bucket, which halves the worst case error compared to either end.
+
+        final var shift = bucket / SUB_BUCKETS - 1;
+        final var subBucket = bucket % SUB_BUCKETS;
+        final var lower = (long) (SUB_BUCKETS + subBucket) << shift;
+
+        return lower + ((1L << shift) >>> 1);
+
+    }
+
+    /**
+     * A summary of the values in an {@link InvocationHistogram} at a point in time.
+     *
+     * @param count the number of values recorded
+     * @param mean the exact mean of the values recorded
+     * @param p50 the median
+     * @param p90 the 90th percentile
+     * @param p99 the 99th percentile
+     * @param max the exact maximum value recorded
+     */
+    public record Snapshot(long count, double mean, long p50, long p90, long p99, long max) {}
+
+}
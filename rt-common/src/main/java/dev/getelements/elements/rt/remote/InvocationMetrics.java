@@ -0,0 +1,178 @@
+package dev.getelements.elements.rt.remote;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static javax.management.ObjectName.quote;
+
+/**
+ * Collects {@link MethodMetrics} for each remote method, keyed by the service type and method name of the
+ * {@link Invocation}. There is one process-wide instance for each side of the connection: the
+ * {@link #getClientMetrics()} are recorded by the {@link RemoteInvoker}s as seen by the caller, including the time on
+ * the wire, and the {@link #getServerMetrics()} are recorded by the node as it dispatches to the local service.
+ * Comparing the two for the same method separates slow services from a slow network or a backed up node.
+ *
+ * The metrics may be read with {@link #getSnapshots()}. The process-wide instances also register an MXBean for each
+ * method as it is first seen, under {@link #JMX_DOMAIN} with the side, service and method as keys, where they may be
+ * scraped by any JMX collector.
+ */
+public class InvocationMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvocationMetrics.class);
+
+    /**
+     * The JMX domain under which the process-wide instances register their MXBeans.
+     */
+    public static final String JMX_DOMAIN = "dev.getelements.elements.rt";
+
+    private static final InvocationMetrics client = new InvocationMetrics("client", true);
+
+    private static final InvocationMetrics server = new InvocationMetrics("server", true);
+
+    /**
+     * Gets the process-wide {@link InvocationMetrics} recorded by the calling side.
+     *
+     * @return the client {@link InvocationMetrics}
+     */
+    public static InvocationMetrics getClientMetrics() {
+        return client;
+    }
+
+    /**
+     * Gets the process-wide {@link InvocationMetrics} recorded by the side which dispatches to the local service.
+     *
+     * @return the server {@link InvocationMetrics}
+     */
+    public static InvocationMetrics getServerMetrics() {
+        return server;
+    }
+
+    private final String side;
+
+    private final boolean registerMBeans;
+
+    private final ConcurrentMap<Key, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a standalone instance which does not register with JMX, such as for testing.
+     *
+     * @param side the name of the side recording the metrics
+     */
+    public InvocationMetrics(final String side) {
+        this(side, false);
+    }
+
+    private InvocationMetrics(final String side, final boolean registerMBeans) {
+        this.side = side;
+        this.registerMBeans = registerMBeans;
+    }
+
+    /**
+     * Gets the {@link MethodMetrics} for the method targeted by the supplied {@link Invocation}, creating them the
+     * first time the method is seen.
+     *
+     * @param invocation the {@link Invocation}
+     * @return the {@link MethodMetrics}
+     */
+    public MethodMetrics getMethodMetrics(final Invocation invocation) {
+        return getMethodMetrics(invocation.getType(), invocation.getMethod());
+    }
+
+    /**
+     * Gets the {@link MethodMetrics} for the supplied service type and method, creating them the first time the
+     * method is seen.
+     *
+     * @param serviceType the fully qualified name of the service type
+     * @param method the name of the method
+     * @return the {@link MethodMetrics}
+     */
+    public MethodMetrics getMethodMetrics(final String serviceType, final String method) {
+        final var key = new Key(serviceType, method);
+        final var methodMetrics = methods.get(key);
+        return methodMetrics == null ? methods.computeIfAbsent(key, this::create) : methodMetrics;
+    }
+
+    /**
+     * Finds the {@link MethodMetrics} for the method targeted by the supplied {@link Invocation}, without creating them.
+     * This suits callers which can't tell whether the method exists, such as the node receiving the {@link Invocation}
+     * before it has been dispatched, as creating metrics for arbitrary names supplied by a remote peer would let the
+     * peer grow them without limit.
+     *
+     * @param invocation the {@link Invocation}
+     * @return the {@link MethodMetrics}, or empty if none have been created for the method
+     */
+    public Optional<MethodMetrics> findMethodMetrics(final Invocation invocation) {
+        return Optional.ofNullable(methods.get(new Key(invocation.getType(), invocation.getMethod())));
+    }
+
+    /**
+     * Takes a {@link MethodMetrics.Snapshot} of every method seen so far, ordered by service type and method.
+     *
+     * @return the {@link MethodMetrics.Snapshot}s
+     */
+    public List<MethodMetrics.Snapshot> getSnapshots() {
+        return methods
+            .values()
+            .stream()
+            .map(MethodMetrics::getSnapshot)
+            .sorted(Comparator
+                .comparing(MethodMetrics.Snapshot::serviceType)
+                .thenComparing(MethodMetrics.Snapshot::method))
+            .toList();
+    }
+
+    /**
+     * Gets the name of the side recording these metrics.
+     *
+     * @return the side
+     */
+    public String getSide() {
+        return side;
+    }
+
+    private MethodMetrics create(final Key key) {
+
+        final var methodMetrics = new MethodMetrics(key.serviceType(), key.method());
+        if (registerMBeans) register(methodMetrics);
+
+        return methodMetrics;
+
+    }
+
+    private void register(final MethodMetrics methodMetrics) {
+
+        // Failing to register only costs visibility, so it must never fail the invocation which triggered it.
+
+        try {
+
+            final var name = new ObjectName(String.format("%s:type=InvocationMetrics,side=%s,service=%s,method=%s",
+                JMX_DOMAIN,
+                quote(side),
+                quote(String.valueOf(methodMetrics.getServiceType())),
+                quote(String.valueOf(methodMetrics.getMethod()))));
+
+            final var mbean = new StandardMBean(methodMetrics, MethodMetricsMXBean.class, true);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, name);
+
+        } catch (JMException ex) {
+            logger.warn("Unable to register metrics for {}.{}",
+                methodMetrics.getServiceType(),
+                methodMetrics.getMethod(),
+                ex);
+        }
+
+    }
+
+    private record Key(String serviceType, String method) {}
+
+}
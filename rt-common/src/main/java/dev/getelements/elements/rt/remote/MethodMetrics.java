@@ -0,0 +1,186 @@
+package dev.getelements.elements.rt.remote;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorded for a single remote method, identified by its service type and method name, on one side of
+ * the connection. Obtain instances from {@link InvocationMetrics#getMethodMetrics(Invocation)}.
+ */
+public class MethodMetrics implements MethodMetricsMXBean {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String serviceType;
+
+    private final String method;
+
+    private final InvocationHistogram latency = new InvocationHistogram();
+
+    private final InvocationHistogram requestBytes = new InvocationHistogram();
+
+    private final InvocationHistogram responseBytes = new InvocationHistogram();
+
+    private final LongAdder errors = new LongAdder();
+
+    MethodMetrics(final String serviceType, final String method) {
+        this.serviceType = serviceType;
+        this.method = method;
+    }
+
+    /**
+     * Records an {@link Invocation} which completed with a result.
+     *
+     * @param nanos the time taken, in nanoseconds
+     */
+    public void recordSuccess(final long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Records an {@link Invocation} which completed with an error. The time taken is included in the latency, so that
+     * a method which fails slowly still appears slow.
+     *
+     * @param nanos the time taken, in nanoseconds
+     */
+    public void recordError(final long nanos) {
+        errors.increment();
+        latency.record(nanos);
+    }
+
+    /**
+     * Records the outcome of an {@link Invocation} which began at the supplied time. Cancellations are not recorded,
+     * as they say nothing of how the method performs.
+     *
+     * @param startNanoTime the {@link System#nanoTime()} at which the {@link Invocation} began
+     * @param throwable the error with which the {@link Invocation} completed, or null if it succeeded
+     */
+    public void record(final long startNanoTime, final Throwable throwable) {
+
+        final var nanos = System.nanoTime() - startNanoTime;
+
+        if (throwable == null) {
+            recordSuccess(nanos);
+        } else if (!(throwable instanceof CancellationException)) {
+            recordError(nanos);
+        }
+
+    }
+
+    /**
+     * Records the size of a serialized request.
+     *
+     * @param bytes the size in bytes
+     */
+    public void recordRequestBytes(final long bytes) {
+        requestBytes.record(bytes);
+    }
+
+    /**
+     * Records the size of a serialized response.
+     *
+     * @param bytes the size in bytes
+     */
+    public void recordResponseBytes(final long bytes) {
+        responseBytes.record(bytes);
+    }
+
+    /**
+     * Takes a {@link Snapshot} of the metrics recorded so far.
+     *
+     * @return the {@link Snapshot}
+     */
+    public Snapshot getSnapshot() {
+        return new Snapshot(
+            serviceType,
+            method,
+            errors.sum(),
+            latency.getSnapshot(),
+            requestBytes.getSnapshot(),
+            responseBytes.getSnapshot());
+    }
+
+    @Override
+    public String getServiceType() {
+        return serviceType;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getSnapshot().count();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getSnapshot().mean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.getSnapshot().p50() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP90Millis() {
+        return latency.getSnapshot().p90() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.getSnapshot().p99() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.getSnapshot().max() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getRequestBytesP50() {
+        return requestBytes.getSnapshot().p50();
+    }
+
+    @Override
+    public long getRequestBytesP99() {
+        return requestBytes.getSnapshot().p99();
+    }
+
+    @Override
+    public long getResponseBytesP50() {
+        return responseBytes.getSnapshot().p50();
+    }
+
+    @Override
+    public long getResponseBytesP99() {
+        return responseBytes.getSnapshot().p99();
+    }
+
+    /**
+     * The metrics of a single method at a point in time.
+     *
+     * @param serviceType the fully qualified name of the service type
+     * @param method the method name
+     * @param errors the number of invocations which completed with an error
+     * @param latency the time taken by all invocations, successful or not, in nanoseconds
+     * @param requestBytes the size of the serialized requests
+     * @param responseBytes the size of the serialized responses
+     */
+    public record Snapshot(
+            String serviceType,
+            String method,
+            long errors,
+            InvocationHistogram.Snapshot latency,
+            InvocationHistogram.Snapshot requestBytes,
+            InvocationHistogram.Snapshot responseBytes) {}
+
+}
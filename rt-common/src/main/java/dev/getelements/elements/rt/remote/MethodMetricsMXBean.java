@@ -0,0 +1,46 @@
+package dev.getelements.elements.rt.remote;
+
+/**
+ * Exposes the {@link MethodMetrics} of a single remote method over JMX, flattened into simple attributes so that
+ * generic collectors, such as the Prometheus JMX exporter, can scrape them without further configuration. Times are
+ * in milliseconds and sizes in bytes. All values are cumulative from the start of the process.
+ */
+public interface MethodMetricsMXBean {
+
+    /**
+     * Gets the fully qualified name of the service type.
+     *
+     * @return the service type
+     */
+    String getServiceType();
+
+    /**
+     * Gets the name of the method.
+     *
+     * @return the method name
+     */
+    String getMethod();
+
+    long getCount();
+
+    long getErrors();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+
+    long getRequestBytesP50();
+
+    long getRequestBytesP99();
+
+    long getResponseBytesP50();
+
+    long getResponseBytesP99();
+
+}
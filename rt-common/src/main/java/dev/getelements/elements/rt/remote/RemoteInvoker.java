@@ -68,6 +68,18 @@ public interface RemoteInvoker {
      */
     default void stop() {}
 
+    /**
+     * Gets the {@link RemoteInvokerLoad} which tracks the {@link Invocation}s sent through this {@link RemoteInvoker}.
+     * Load aware {@link RoutingStrategy} implementations use this to choose between invokers.
+     *
+     * The default implementation returns null, indicating that this {@link RemoteInvoker} does not track its load.
+     *
+     * @return the {@link RemoteInvokerLoad}, or null
+     */
+    default RemoteInvokerLoad getLoad() {
+        return null;
+    }
+
     /**
      *
      * @deprecated This maps directly to {@link #invokeFuture(Invocation, List, InvocationErrorConsumer)}, but was
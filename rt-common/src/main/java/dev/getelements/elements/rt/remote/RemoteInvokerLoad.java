@@ -0,0 +1,206 @@
+package dev.getelements.elements.rt.remote;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static java.lang.Math.exp;
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Tracks the load placed on a single {@link RemoteInvoker} as seen from the calling side: the number of
+ * {@link Invocation}s currently in flight and an exponentially weighted moving average (EWMA) of the time taken for
+ * the remote end to respond. A {@link RemoteInvoker} begins a {@link Call} for each {@link Invocation} it sends and
+ * finishes it when the response, or error, arrives.
+ *
+ * The average decays toward zero while no responses arrive. Load aware {@link RoutingStrategy} implementations stop
+ * sending to an invoker whose average is too high, so without the decay such an invoker would never receive another
+ * sample and would never be retried.
+ */
+public class RemoteInvokerLoad {
+
+    /**
+     * The weight given to each new sample in the moving average.
+     */
+    public static final double DEFAULT_ALPHA = 0.2;
+
+    /**
+     * The time constant with which the average decays while the invoker is idle.
+     */
+    public static final long DEFAULT_DECAY_NANOS = SECONDS.toNanos(5);
+
+    private final double alpha;
+
+    private final long decayNanos;
+
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile long timeoutNanos;
+
+    private volatile double latencyNanos;
+
+    private volatile long lastSampleNanos;
+
+    private long samples;
+
+    public RemoteInvokerLoad() {
+        this(DEFAULT_ALPHA, DEFAULT_DECAY_NANOS, System::nanoTime);
+    }
+
+    public RemoteInvokerLoad(final double alpha, final long decayNanos, final LongSupplier clock) {
+
+        if (alpha <= 0 || alpha > 1) throw new IllegalArgumentException("Alpha must be in (0, 1]: " + alpha);
+        if (decayNanos <= 0) throw new IllegalArgumentException("Decay must be positive: " + decayNanos);
+
+        this.alpha = alpha;
+        this.decayNanos = decayNanos;
+        this.clock = clock;
+        this.lastSampleNanos = clock.getAsLong();
+
+    }
+
+    /**
+     * Begins tracking a single {@link Invocation}. The returned {@link Call} must be finished exactly once.
+     *
+     * @return the {@link Call}
+     */
+    public Call begin() {
+        inFlight.incrementAndGet();
+        return new Call(clock.getAsLong());
+    }
+
+    /**
+     * Gets the number of {@link Invocation}s which have begun but not yet finished.
+     *
+     * @return the number of {@link Invocation}s in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the moving average of the response time, decayed by the time since the last response.
+     *
+     * @return the average response time, in nanoseconds
+     */
+    public double getLatencyNanos() {
+        final var idle = clock.getAsLong() - lastSampleNanos;
+        return idle <= 0 ? latencyNanos : latencyNanos * exp(-(double) idle / decayNanos);
+    }
+
+    /**
+     * Gets the time after which the {@link RemoteInvoker} gives up waiting on a response, or zero if unknown.
+     *
+     * @return the timeout, in nanoseconds
+     */
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    /**
+     * Sets the time after which the {@link RemoteInvoker} gives up waiting on a response. Typically called from
+     * {@link RemoteInvoker#start(String, long, TimeUnit)}.
+     *
+     * @param timeout the timeout
+     * @param timeUnit the unit of the timeout
+     */
+    public void setTimeout(final long timeout, final TimeUnit timeUnit) {
+        this.timeoutNanos = timeUnit.toNanos(timeout);
+    }
+
+    /**
+     * Gets a snapshot of the current {@link Metrics}.
+     *
+     * @return the {@link Metrics}
+     */
+    public Metrics getMetrics() {
+        final long samples;
+        synchronized (this) { samples = this.samples; }
+        return new Metrics(getInFlight(), getLatencyNanos(), getTimeoutNanos(), samples);
+    }
+
+    private synchronized void sample(final long startedNanos, final boolean failed) {
+
+        final var now = clock.getAsLong();
+        final var current = getLatencyNanos();
+        final var elapsed = (double) max(0, now - startedNanos);
+
+        // A failure carries no more information than that the node is no faster than we thought. Counting a fast
+        // failure, such as a rejection from a saturated node, as a fast response would draw more traffic to that node.
+        final var sample = failed ? max(elapsed, current) : elapsed;
+
+        latencyNanos = samples == 0 ? sample : current + alpha * (sample - current);
+        lastSampleNanos = now;
+        ++samples;
+
+    }
+
+    /**
+     * A single {@link Invocation} tracked by the {@link RemoteInvokerLoad}. Only the first call to any of the finishing
+     * methods has any effect.
+     */
+    public class Call {
+
+        private final long startedNanos;
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Call(final long startedNanos) {
+            this.startedNanos = startedNanos;
+        }
+
+        /**
+         * Finishes the {@link Call} with a response, recording the time taken.
+         */
+        public void complete() {
+            if (finish()) sample(startedNanos, false);
+        }
+
+        /**
+         * Finishes the {@link Call} with an error. A {@link CancellationException} is treated as per {@link #cancel()}
+         * because it was the caller, rather than the remote end, which ended the call.
+         *
+         * @param throwable the error
+         */
+        public void fail(final Throwable throwable) {
+            if (throwable instanceof CancellationException) {
+                cancel();
+            } else if (finish()) {
+                sample(startedNanos, true);
+            }
+        }
+
+        /**
+         * Finishes the {@link Call} without recording the time taken.
+         */
+        public void cancel() {
+            finish();
+        }
+
+        private boolean finish() {
+            if (finished.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+    }
+
+    /**
+     * A snapshot of the load on a {@link RemoteInvoker}.
+     *
+     * @param inFlight the number of {@link Invocation}s in flight
+     * @param latencyNanos the decayed moving average of the response time, in nanoseconds
+     * @param timeoutNanos the timeout of the {@link RemoteInvoker}, in nanoseconds, or zero if unknown
+     * @param samples the total number of responses recorded
+     */
+    public record Metrics(int inFlight, double latencyNanos, long timeoutNanos, long samples) {}
+
+}
@@ -0,0 +1,329 @@
+package dev.getelements.elements.rt.routing;
+
+import dev.getelements.elements.rt.exception.InternalException;
+import dev.getelements.elements.rt.remote.*;
+
+import jakarta.inject.Singleton;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link LoadAwareRoutingStrategy} which sends a second copy of an {@link Invocation} to another
+ * {@link RemoteInvoker} if the first has not responded within the usual time, and takes whichever response arrives
+ * first. This trims the tail latency seen by callers when a single node slows down, at the cost of a small amount of
+ * duplicate work.
+ *
+ * Because the same {@link Invocation} may run on two nodes, this must only be used for idempotent methods. Selecting
+ * this strategy with {@link dev.getelements.elements.rt.annotation.Routing} is the declaration that the method is
+ * idempotent.
+ *
+ * The hedge is sent once the invocation has been outstanding for longer than the given percentile of the recent
+ * response times for the same method. No hedge is sent until enough responses have been seen to estimate the
+ * percentile, if the {@link CurrentDeadline} would pass first, or if hedges already make up the maximum share of all
+ * invocations. Only invocations with a single result are hedged. Those with asynchronous results, and those sent with
+ * {@link #invokeAsync(List, Invocation, List, InvocationErrorConsumer)}, are routed as per the
+ * {@link LoadAwareRoutingStrategy}.
+ *
+ * This is a {@link Singleton} so that the response times are shared by every invocation routed through it.
+ */
+@Singleton
+public class HedgedRoutingStrategy extends LoadAwareRoutingStrategy {
+
+    /**
+     * The default percentile of the response time after which a hedge is sent.
+     */
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    /**
+     * The default maximum ratio of hedges to invocations.
+     */
+    public static final double DEFAULT_MAX_HEDGE_RATIO = 0.1;
+
+    /**
+     * The number of recent response times kept for each method.
+     */
+    static final int WINDOW_SIZE = 256;
+
+    /**
+     * The number of response times required for each method before any hedge is sent.
+     */
+    static final int MIN_SAMPLES = 32;
+
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    private double percentile = DEFAULT_PERCENTILE;
+
+    private double maxHedgeRatio = DEFAULT_MAX_HEDGE_RATIO;
+
+    private final Map<MethodKey, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private final LongAdder invocations = new LongAdder();
+
+    private final LongAdder hedges = new LongAdder();
+
+    @Override
+    public Future<Object> invokeFuture(
+            final List<Object> address,
+            final Invocation invocation,
+            final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+            final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+
+        // Asynchronous results from two nodes can't be told apart, so there's no way to deliver only one set of them.
+
+        if (!asyncInvocationResultConsumerList.isEmpty()) {
+            return super.invokeFuture(
+                address,
+                invocation,
+                asyncInvocationResultConsumerList,
+                asyncInvocationErrorConsumer);
+        }
+
+        return new Hedge(invocation, asyncInvocationErrorConsumer).start();
+
+    }
+
+    @Override
+    public Object invokeSync(
+            final List<Object> address,
+            final Invocation invocation,
+            final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+            final InvocationErrorConsumer asyncInvocationErrorConsumer) throws Exception {
+
+        if (!asyncInvocationResultConsumerList.isEmpty()) {
+            return super.invokeSync(
+                address,
+                invocation,
+                asyncInvocationResultConsumerList,
+                asyncInvocationErrorConsumer);
+        }
+
+        try {
+            return new Hedge(invocation, asyncInvocationErrorConsumer).start().get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)ex.getCause();
+            } else {
+                throw new InternalException(ex);
+            }
+        } catch (InterruptedException ex) {
+            throw new InternalException("Interrupted waiting.", ex);
+        }
+
+    }
+
+    /**
+     * Gets a snapshot of the current {@link Metrics}.
+     *
+     * @return the {@link Metrics}
+     */
+    public Metrics getMetrics() {
+        return new Metrics(invocations.sum(), hedges.sum());
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public double getMaxHedgeRatio() {
+        return maxHedgeRatio;
+    }
+
+    public void setMaxHedgeRatio(double maxHedgeRatio) {
+        this.maxHedgeRatio = maxHedgeRatio;
+    }
+
+    private boolean reserveHedge() {
+
+        // Checked loosely, as concurrent invocations may each pass the check, but this only needs to keep the extra
+        // load in proportion rather than enforce an exact limit.
+
+        if (hedges.sum() >= getMaxHedgeRatio() * invocations.sum()) return false;
+        hedges.increment();
+        return true;
+
+    }
+
+    /**
+     * A single {@link Invocation} and its attempts, of which there are at most two.
+     */
+    private class Hedge {
+
+        private final Invocation invocation;
+
+        private final InvocationErrorConsumer asyncInvocationErrorConsumer;
+
+        private final LatencyWindow window;
+
+        private final Deadline deadline = CurrentDeadline.getInstance().getCurrentOptional().orElse(null);
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private final AtomicReference<Object> winner = new AtomicReference<>();
+
+        private final List<CompletableFuture<Object>> attempts = new CopyOnWriteArrayList<>();
+
+        public Hedge(final Invocation invocation, final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+            this.invocation = invocation;
+            this.asyncInvocationErrorConsumer = asyncInvocationErrorConsumer;
+            this.window = latencies.computeIfAbsent(MethodKey.from(invocation), k -> new LatencyWindow());
+        }
+
+        public CompletableFuture<Object> start() {
+
+            invocations.increment();
+
+            final var primary = select();
+            send(primary);
+
+            final var delayNanos = window.getPercentileNanos(getPercentile());
+
+            if (delayNanos > 0 && (deadline == null || deadline.remaining(NANOSECONDS) > delayNanos)) {
+                CompletableFuture
+                    .delayedExecutor(delayNanos, NANOSECONDS)
+                    .execute(() -> hedge(primary));
+            }
+
+            return result;
+
+        }
+
+        private void hedge(final RemoteInvoker primary) {
+
+            if (result.isDone()) return;
+
+            final var secondary = selectOther(primary);
+            if (secondary == null || !reserveHedge()) return;
+
+            if (deadline == null) {
+                send(secondary);
+            } else {
+                try (var scope = CurrentDeadline.getInstance().enter(deadline)) {
+                    send(secondary);
+                }
+            }
+
+        }
+
+        private void send(final RemoteInvoker remoteInvoker) {
+
+            final var token = new Object();
+            final var started = System.nanoTime();
+
+            outstanding.incrementAndGet();
+
+            final InvocationErrorConsumer errorConsumer = invocationError -> {
+                if (winner.get() == token) asyncInvocationErrorConsumer.accept(invocationError);
+            };
+
+            final var attempt = remoteInvoker
+                .invokeCompletionStage(invocation, emptyList(), errorConsumer)
+                .toCompletableFuture();
+
+            attempts.add(attempt);
+
+            attempt.whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    window.record(System.nanoTime() - started);
+                    if (winner.compareAndSet(null, token)) {
+                        attempts.stream().filter(other -> other != attempt).forEach(other -> other.cancel(false));
+                        result.complete(value);
+                    }
+                } else if (outstanding.decrementAndGet() == 0 && winner.compareAndSet(null, token)) {
+                    result.completeExceptionally(throwable);
+                }
+            });
+
+            // The result may have been settled while this attempt was being sent, in which case it's no longer needed.
+            if (result.isDone() && winner.get() != token) attempt.cancel(false);
+
+        }
+
+    }
+
+    /**
+     * Identifies a remote method, independent of the arguments with which it is called.
+     */
+    private record MethodKey(String type, String name, String method, List<String> parameters) {
+        static MethodKey from(final Invocation invocation) {
+            return new MethodKey(
+                invocation.getType(),
+                invocation.getName(),
+                invocation.getMethod(),
+                invocation.getParameters());
+        }
+    }
+
+    /**
+     * The most recent response times for a single method, from which percentiles are estimated. The percentile is
+     * recomputed periodically, rather than on every request, to keep the cost of sorting off of the common path.
+     */
+    static class LatencyWindow {
+
+        private final long[] samples = new long[WINDOW_SIZE];
+
+        private int count;
+
+        private int next;
+
+        private double cachedPercentile = -1;
+
+        private long cachedNanos = -1;
+
+        private int sinceComputed;
+
+        synchronized void record(final long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) ++count;
+            ++sinceComputed;
+        }
+
+        /**
+         * Gets the given percentile of the recorded response times.
+         *
+         * @param percentile the percentile, in the range (0, 1]
+         * @return the percentile, in nanoseconds, or -1 if too few response times have been recorded
+         */
+        synchronized long getPercentileNanos(final double percentile) {
+
+            if (count < MIN_SAMPLES) return -1;
+
+            if (cachedPercentile != percentile || sinceComputed >= RECOMPUTE_INTERVAL) {
+                final var sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                final var index = (int) Math.ceil(percentile * count) - 1;
+                cachedNanos = sorted[Math.max(0, Math.min(count - 1, index))];
+                cachedPercentile = percentile;
+                sinceComputed = 0;
+            }
+
+            return cachedNanos;
+
+        }
+
+    }
+
+    /**
+     * A snapshot of the hedging activity.
+     *
+     * @param invocations the total number of invocations which were eligible for hedging
+     * @param hedges the total number of hedges sent
+     */
+    public record Metrics(long invocations, long hedges) {}
+
+}
@@ -0,0 +1,224 @@
+package dev.getelements.elements.rt.routing;
+
+import dev.getelements.elements.sdk.cluster.id.ApplicationId;
+import dev.getelements.elements.rt.remote.*;
+import dev.getelements.elements.rt.remote.RemoteInvokerRegistry.RemoteInvokerStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import static java.lang.Math.max;
+
+/**
+ * A {@link RoutingStrategy} which spreads {@link Invocation}s across all {@link RemoteInvoker}s for the application
+ * according to their load, rather than always selecting the best {@link RemoteInvoker} as the
+ * {@link DefaultRoutingStrategy} does.
+ *
+ * Each {@link Invocation} samples two {@link RemoteInvoker}s at random and sends to the one with the lower cost (the
+ * "power of two choices"). The cost combines the number of {@link Invocation}s in flight and the average response
+ * time, both as tracked by the invoker's {@link RemoteInvokerLoad}, and is scaled down by the quality the node reports
+ * to the {@link RemoteInvokerRegistry}. Sampling two, rather than picking the cheapest of all, avoids sending every
+ * caller to the same node between updates of the load.
+ *
+ * A {@link RemoteInvoker} whose average response time exceeds the shed ratio of its timeout is avoided entirely while
+ * any other is available, so that traffic moves away from a slow node before its invocations begin to time out.
+ */
+public class LoadAwareRoutingStrategy implements RoutingStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadAwareRoutingStrategy.class);
+
+    /**
+     * The default fraction of the timeout after which a {@link RemoteInvoker} is considered too slow to use.
+     */
+    public static final double DEFAULT_SHED_RATIO = 0.5;
+
+    /**
+     * The lowest quality used when computing the cost, which keeps the cost finite for nodes reporting no headroom.
+     */
+    private static final double MIN_QUALITY = 1.0;
+
+    private double shedRatio = DEFAULT_SHED_RATIO;
+
+    private ApplicationId applicationId;
+
+    private RemoteInvokerRegistry remoteInvokerRegistry;
+
+    @Override
+    public Future<Object> invokeFuture(
+            final List<Object> address,
+            final Invocation invocation,
+            final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+            final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+
+        if (!address.isEmpty()) logger.warn("Ignoring routing address {}", address);
+
+        return select().invokeFuture(
+            invocation,
+            asyncInvocationResultConsumerList,
+            asyncInvocationErrorConsumer);
+
+    }
+
+    @Override
+    public AsyncOperation invokeAsync(
+            final List<Object> address,
+            final Invocation invocation,
+            final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+            final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+
+        if (!address.isEmpty()) logger.warn("Ignoring routing address {}", address);
+
+        return select().invokeAsync(
+            invocation,
+            asyncInvocationResultConsumerList,
+            asyncInvocationErrorConsumer);
+
+    }
+
+    @Override
+    public Object invokeSync(
+            final List<Object> address,
+            final Invocation invocation,
+            final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+            final InvocationErrorConsumer asyncInvocationErrorConsumer) throws Exception {
+
+        if (!address.isEmpty()) logger.warn("Ignoring routing address {}", address);
+
+        return select().invokeSync(
+            invocation,
+            asyncInvocationResultConsumerList,
+            asyncInvocationErrorConsumer);
+
+    }
+
+    /**
+     * Selects the {@link RemoteInvoker} to which the next {@link Invocation} will be sent.
+     *
+     * @return the {@link RemoteInvoker}
+     */
+    public RemoteInvoker select() {
+        return select(getRemoteInvokerRegistry().getAllRemoteInvokerStatuses(getApplicationId()));
+    }
+
+    /**
+     * Selects a {@link RemoteInvoker} other than the one supplied, such as to send a second copy of an
+     * {@link Invocation}.
+     *
+     * @param excluded the {@link RemoteInvoker} to exclude
+     * @return the {@link RemoteInvoker}, or null if there is no other
+     */
+    public RemoteInvoker selectOther(final RemoteInvoker excluded) {
+
+        final var statuses = getRemoteInvokerRegistry()
+            .getAllRemoteInvokerStatuses(getApplicationId())
+            .stream()
+            .filter(status -> status.getInvoker() != excluded)
+            .toList();
+
+        return statuses.isEmpty() ? null : select(statuses);
+
+    }
+
+    private RemoteInvoker select(final List<RemoteInvokerStatus> statuses) {
+
+        final var size = statuses.size();
+
+        // The registry reports the absence of any node for the application, so we defer to it in that case.
+        if (size == 0) return getRemoteInvokerRegistry().getBestRemoteInvoker(getApplicationId());
+        if (size == 1) return statuses.get(0).getInvoker();
+
+        final var random = ThreadLocalRandom.current();
+        final var first = random.nextInt(size);
+        final var second = (first + 1 + random.nextInt(size - 1)) % size;
+
+        final var a = statuses.get(first);
+        final var b = statuses.get(second);
+
+        final var aShed = isShed(a);
+        final var bShed = isShed(b);
+
+        if (aShed && bShed) return selectUnshed(statuses);
+        if (aShed) return b.getInvoker();
+        if (bShed) return a.getInvoker();
+
+        return cost(a) <= cost(b) ? a.getInvoker() : b.getInvoker();
+
+    }
+
+    private RemoteInvoker selectUnshed(final List<RemoteInvokerStatus> statuses) {
+
+        // Both samples are too slow, so we look for the cheapest of the rest. If every node is too slow then we have
+        // no choice but to use the cheapest of those.
+
+        RemoteInvokerStatus best = null;
+        var bestShed = true;
+        var bestCost = Double.MAX_VALUE;
+
+        for (final var status : statuses) {
+
+            final var shed = isShed(status);
+            final var cost = cost(status);
+
+            if ((bestShed && !shed) || (bestShed == shed && cost < bestCost)) {
+                best = status;
+                bestShed = shed;
+                bestCost = cost;
+            }
+
+        }
+
+        return best.getInvoker();
+
+    }
+
+    private boolean isShed(final RemoteInvokerStatus status) {
+        final var load = status.getInvoker().getLoad();
+        if (load == null || load.getTimeoutNanos() <= 0) return false;
+        return load.getLatencyNanos() >= getShedRatio() * load.getTimeoutNanos();
+    }
+
+    private double cost(final RemoteInvokerStatus status) {
+
+        final var load = status.getInvoker().getLoad();
+        final var quality = max(MIN_QUALITY, status.getPriority());
+
+        if (load == null) return 1.0 / quality;
+
+        // An invoker with no responses yet has no latency, and so costs the least, which ensures each gets tried.
+        final var latency = max(1.0, load.getLatencyNanos());
+        return latency * (load.getInFlight() + 1) / quality;
+
+    }
+
+    public double getShedRatio() {
+        return shedRatio;
+    }
+
+    public void setShedRatio(double shedRatio) {
+        this.shedRatio = shedRatio;
+    }
+
+    public RemoteInvokerRegistry getRemoteInvokerRegistry() {
+        return remoteInvokerRegistry;
+    }
+
+    @Inject
+    public void setRemoteInvokerRegistry(RemoteInvokerRegistry remoteInvokerRegistry) {
+        this.remoteInvokerRegistry = remoteInvokerRegistry;
+    }
+
+    public ApplicationId getApplicationId() {
+        return applicationId;
+    }
+
+    @Inject
+    public void setApplicationId(ApplicationId applicationId) {
+        this.applicationId = applicationId;
+    }
+
+}
@@ -0,0 +1,127 @@
+package dev.getelements.elements.rt;
+
+import dev.getelements.elements.rt.remote.InvocationHistogram;
+import dev.getelements.elements.rt.remote.InvocationMetrics;
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CancellationException;
+
+import static dev.getelements.elements.rt.remote.InvocationMetrics.JMX_DOMAIN;
+import static org.testng.Assert.*;
+
+public class InvocationMetricsTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        final var snapshot = new InvocationHistogram().getSnapshot();
+        assertEquals(snapshot, new InvocationHistogram.Snapshot(0, 0.0, 0, 0, 0, 0));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+
+        final var histogram = new InvocationHistogram();
+        for (long i = 0; i < InvocationHistogram.SUB_BUCKETS; ++i) histogram.record(i);
+
+        final var snapshot = histogram.getSnapshot();
+        assertEquals(snapshot.count(), InvocationHistogram.SUB_BUCKETS);
+        assertEquals(snapshot.p50(), 3);
+        assertEquals(snapshot.max(), InvocationHistogram.SUB_BUCKETS - 1);
+
+    }
+
+    @Test
+    public void testPercentilesAreWithinPrecision() {
+
+        final var histogram = new InvocationHistogram();
+        for (long i = 1; i <= 100_000; ++i) histogram.record(i * 1000);
+
+        final var snapshot = histogram.getSnapshot();
+        assertEquals(snapshot.count(), 100_000);
+        assertEquals(snapshot.mean(), 50_000_500.0, 1.0);
+        assertEquals(snapshot.max(), 100_000_000);
+        assertWithinPrecision(snapshot.p50(), 50_000_000);
+        assertWithinPrecision(snapshot.p90(), 90_000_000);
+        assertWithinPrecision(snapshot.p99(), 99_000_000);
+
+    }
+
+    @Test
+    public void testExtremeValues() {
+
+        final var histogram = new InvocationHistogram();
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        final var snapshot = histogram.getSnapshot();
+        assertEquals(snapshot.count(), 2);
+        assertEquals(snapshot.p50(), 0);
+        assertEquals(snapshot.max(), Long.MAX_VALUE);
+        assertTrue(snapshot.p99() > Long.MAX_VALUE / 2);
+
+    }
+
+    @Test
+    public void testMethodMetrics() {
+
+        final var metrics = new InvocationMetrics("test");
+        final var methodMetrics = metrics.getMethodMetrics("com.example.Service", "call");
+        assertSame(metrics.getMethodMetrics("com.example.Service", "call"), methodMetrics);
+
+        final var started = System.nanoTime();
+        methodMetrics.record(started, null);
+        methodMetrics.record(started, new IllegalStateException());
+        methodMetrics.record(started, new CancellationException());
+        methodMetrics.recordRequestBytes(100);
+        methodMetrics.recordResponseBytes(2000);
+
+        metrics.getMethodMetrics("com.example.Another", "call");
+
+        final var snapshots = metrics.getSnapshots();
+        assertEquals(snapshots.size(), 2);
+        assertEquals(snapshots.get(0).serviceType(), "com.example.Another");
+
+        final var snapshot = snapshots.get(1);
+        assertEquals(snapshot.serviceType(), "com.example.Service");
+        assertEquals(snapshot.method(), "call");
+        assertEquals(snapshot.latency().count(), 2);
+        assertEquals(snapshot.errors(), 1);
+        assertWithinPrecision(snapshot.requestBytes().p50(), 100);
+        assertWithinPrecision(snapshot.responseBytes().p50(), 2000);
+
+    }
+
+    @Test
+    public void testMethodMetricsAreRegisteredWithJmx() throws Exception {
+
+        final var methodMetrics = InvocationMetrics
+            .getClientMetrics()
+            .getMethodMetrics(InvocationMetricsTest.class.getName(), "testJmx");
+
+        methodMetrics.recordSuccess(5_000_000);
+
+        final var name = new ObjectName(JMX_DOMAIN + ":type=InvocationMetrics,side=\"client\",*");
+        final var names = ManagementFactory.getPlatformMBeanServer().queryNames(name, null);
+
+        final var registered = names
+            .stream()
+            .filter(n -> "\"testJmx\"".equals(n.getKeyProperty("method")))
+            .findFirst()
+            .orElseThrow();
+
+        final var count = ManagementFactory.getPlatformMBeanServer().getAttribute(registered, "Count");
+        final var p50 = (Double) ManagementFactory.getPlatformMBeanServer().getAttribute(registered, "P50Millis");
+
+        assertEquals(count, 1L);
+        assertEquals(p50, 5.0, 5.0 / 16);
+
+    }
+
+    private static void assertWithinPrecision(final long actual, final long expected) {
+        final var error = Math.abs(actual - expected) / (double) expected;
+        assertTrue(error <= 1.0 / 16, String.format("%d not within precision of %d", actual, expected));
+    }
+
+}
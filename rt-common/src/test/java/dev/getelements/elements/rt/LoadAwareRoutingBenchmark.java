@@ -0,0 +1,285 @@
+package dev.getelements.elements.rt;
+
+import dev.getelements.elements.rt.remote.*;
+import dev.getelements.elements.rt.routing.DefaultRoutingStrategy;
+import dev.getelements.elements.rt.routing.LoadAwareRoutingStrategy;
+import dev.getelements.elements.sdk.cluster.id.ApplicationId;
+import dev.getelements.elements.sdk.cluster.id.NodeId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import static dev.getelements.elements.sdk.cluster.id.ApplicationId.randomApplicationId;
+import static dev.getelements.elements.sdk.cluster.id.InstanceId.randomInstanceId;
+import static dev.getelements.elements.sdk.cluster.id.NodeId.forInstanceAndApplication;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the response time seen by callers of a simulated cluster in which the nodes run at very different speeds,
+ * comparing the {@link DefaultRoutingStrategy}, a uniformly random choice of node, and the
+ * {@link LoadAwareRoutingStrategy}. Each simulated node serves a fixed number of invocations at once, queueing the
+ * rest, and takes a fixed time for each. Every node reports the same quality, as happens when the quality is derived
+ * from host metrics which say nothing about how quickly the application itself responds.
+ *
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class LoadAwareRoutingBenchmark {
+
+    /**
+     * The time each node takes to serve a single invocation, in milliseconds.
+     */
+    private static final long[] SERVICE_TIME_MILLIS = {1, 1, 1, 1, 4, 16};
+
+    private static final int NODE_CONCURRENCY = 4;
+
+    private static final long TIMEOUT_MILLIS = 100;
+
+    private static final double QUALITY = 50;
+
+    @Param({"default", "random", "loadAware"})
+    private String strategy;
+
+    private final List<SimulatedNode> nodes = new ArrayList<>();
+
+    private final Invocation invocation = new Invocation();
+
+    private RoutingStrategy routingStrategy;
+
+    @Setup
+    public void setup() {
+
+        final var applicationId = randomApplicationId();
+
+        for (final var serviceTimeMillis : SERVICE_TIME_MILLIS) {
+            final var nodeId = forInstanceAndApplication(randomInstanceId(), applicationId);
+            nodes.add(new SimulatedNode(nodeId, serviceTimeMillis));
+        }
+
+        final var registry = new SimulatedRemoteInvokerRegistry(nodes);
+
+        routingStrategy = switch (strategy) {
+            case "default" -> {
+                final var defaultRoutingStrategy = new DefaultRoutingStrategy();
+                defaultRoutingStrategy.setApplicationId(applicationId);
+                defaultRoutingStrategy.setRemoteInvokerRegistry(registry);
+                yield defaultRoutingStrategy;
+            }
+            case "random" -> new RandomRoutingStrategy(nodes);
+            case "loadAware" -> {
+                final var loadAwareRoutingStrategy = new LoadAwareRoutingStrategy();
+                loadAwareRoutingStrategy.setApplicationId(applicationId);
+                loadAwareRoutingStrategy.setRemoteInvokerRegistry(registry);
+                yield loadAwareRoutingStrategy;
+            }
+            default -> throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        };
+
+    }
+
+    @TearDown
+    public void teardown() {
+        nodes.forEach(SimulatedNode::stop);
+    }
+
+    @Benchmark
+    public Object invoke() throws Exception {
+        return routingStrategy
+            .invokeFuture(emptyList(), invocation, emptyList(), invocationError -> {})
+            .get(10, SECONDS);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoadAwareRoutingBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+    private static class SimulatedNode implements RemoteInvoker, RemoteInvokerRegistry.RemoteInvokerStatus {
+
+        private final NodeId nodeId;
+
+        private final long serviceTimeMillis;
+
+        private final ExecutorService executor = Executors.newFixedThreadPool(NODE_CONCURRENCY, r -> {
+            final var thread = new Thread(r);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private final RemoteInvokerLoad load = new RemoteInvokerLoad();
+
+        public SimulatedNode(final NodeId nodeId, final long serviceTimeMillis) {
+            this.nodeId = nodeId;
+            this.serviceTimeMillis = serviceTimeMillis;
+            load.setTimeout(TIMEOUT_MILLIS, MILLISECONDS);
+        }
+
+        @Override
+        public String getConnectAddress() {
+            return nodeId.toString();
+        }
+
+        @Override
+        public void start(final String connectAddress, final long timeout, final TimeUnit timeoutTimeUnit) {}
+
+        @Override
+        public void stop() {
+            executor.shutdownNow();
+        }
+
+        @Override
+        public RemoteInvokerLoad getLoad() {
+            return load;
+        }
+
+        @Override
+        public AsyncOperation invokeAsync(
+                final Invocation invocation,
+                final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+                final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<Object> invokeCompletionStage(
+                final Invocation invocation,
+                final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+                final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+
+            final var call = load.begin();
+            final var future = new CompletableFuture<>();
+
+            executor.submit(() -> {
+                try {
+                    Thread.sleep(serviceTimeMillis);
+                    call.complete();
+                    future.complete(nodeId);
+                } catch (InterruptedException ex) {
+                    call.fail(ex);
+                    future.completeExceptionally(ex);
+                }
+            });
+
+            return future;
+
+        }
+
+        @Override
+        public NodeId getNodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public double getPriority() {
+            return QUALITY;
+        }
+
+        @Override
+        public RemoteInvoker getInvoker() {
+            return this;
+        }
+
+    }
+
+    private static class SimulatedRemoteInvokerRegistry implements RemoteInvokerRegistry {
+
+        private final List<RemoteInvokerStatus> statuses;
+
+        public SimulatedRemoteInvokerRegistry(final List<SimulatedNode> nodes) {
+            this.statuses = List.copyOf(nodes);
+        }
+
+        @Override
+        public void start() {}
+
+        @Override
+        public void stop() {}
+
+        @Override
+        public void refresh() {}
+
+        @Override
+        public List<RemoteInvokerStatus> getAllRemoteInvokerStatuses() {
+            return statuses;
+        }
+
+        @Override
+        public List<RemoteInvokerStatus> getAllRemoteInvokerStatuses(final ApplicationId applicationId) {
+            return statuses;
+        }
+
+        @Override
+        public RemoteInvokerStatus getBestRemoteInvokerStatus(final ApplicationId applicationId) {
+            return statuses.get(0);
+        }
+
+        @Override
+        public RemoteInvoker getRemoteInvoker(final NodeId nodeId) {
+            return statuses
+                .stream()
+                .filter(status -> status.getNodeId().equals(nodeId))
+                .map(RemoteInvokerStatus::getInvoker)
+                .findFirst()
+                .orElse(null);
+        }
+
+    }
+
+    private static class RandomRoutingStrategy implements RoutingStrategy {
+
+        private final List<SimulatedNode> nodes;
+
+        public RandomRoutingStrategy(final List<SimulatedNode> nodes) {
+            this.nodes = nodes;
+        }
+
+        private RemoteInvoker select() {
+            return nodes.get(ThreadLocalRandom.current().nextInt(nodes.size()));
+        }
+
+        @Override
+        public Future<Object> invokeFuture(
+                final List<Object> address,
+                final Invocation invocation,
+                final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+                final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+            return select().invokeFuture(invocation, asyncInvocationResultConsumerList, asyncInvocationErrorConsumer);
+        }
+
+        @Override
+        public AsyncOperation invokeAsync(
+                final List<Object> address,
+                final Invocation invocation,
+                final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+                final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+            return select().invokeAsync(invocation, asyncInvocationResultConsumerList, asyncInvocationErrorConsumer);
+        }
+
+        @Override
+        public Object invokeSync(
+                final List<Object> address,
+                final Invocation invocation,
+                final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+                final InvocationErrorConsumer asyncInvocationErrorConsumer) throws Exception {
+            return select().invokeSync(invocation, asyncInvocationResultConsumerList, asyncInvocationErrorConsumer);
+        }
+
+    }
+
+}
@@ -0,0 +1,192 @@
+package dev.getelements.elements.rt;
+
+import com.google.inject.AbstractModule;
+import dev.getelements.elements.rt.remote.*;
+import dev.getelements.elements.rt.remote.RemoteInvokerRegistry.RemoteInvokerStatus;
+import dev.getelements.elements.rt.routing.HedgedRoutingStrategy;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+@Guice(modules = {RoutingTestModule.class, TestHedgedRoutingStrategy.Module.class})
+public class TestHedgedRoutingStrategy extends BaseRoutingStrategyTest {
+
+    private final RemoteInvoker primary = mock(RemoteInvoker.class);
+
+    private final RemoteInvoker secondary = mock(RemoteInvoker.class);
+
+    @Test
+    public void testHedgesSlowInvocation() throws Exception {
+
+        final var invocation = invocation("testHedgesSlowInvocation");
+        prime(invocation);
+
+        final var stuck = new CompletableFuture<Object>();
+        givenResult(primary, stuck);
+        givenResult(secondary, CompletableFuture.completedFuture("secondary"));
+
+        final var hedges = getHedgedRoutingStrategy().getMetrics().hedges();
+        final var result = invokeFuture(invocation).get(10, SECONDS);
+
+        assertEquals(result, "secondary");
+        assertEquals(getHedgedRoutingStrategy().getMetrics().hedges(), hedges + 1);
+        assertTrue(stuck.isCancelled(), "Expected the losing attempt to be canceled.");
+
+    }
+
+    @Test
+    public void testNoHedgeWithoutSamples() throws Exception {
+
+        final var invocation = invocation("testNoHedgeWithoutSamples");
+        final var pending = new CompletableFuture<Object>();
+        givenResult(primary, pending);
+        givenResult(secondary, CompletableFuture.completedFuture("secondary"));
+
+        final var future = invokeFuture(invocation);
+        MILLISECONDS.sleep(50);
+        assertFalse(future.isDone());
+
+        pending.complete("primary");
+        assertEquals(future.get(10, SECONDS), "primary");
+        verify(secondary, never()).invokeCompletionStage(any(), any(), any());
+
+    }
+
+    @Test
+    public void testNoHedgeAboveMaxRatio() throws Exception {
+
+        final var invocation = invocation("testNoHedgeAboveMaxRatio");
+        prime(invocation);
+
+        final var pending = new CompletableFuture<Object>();
+        givenResult(primary, pending);
+        givenResult(secondary, CompletableFuture.completedFuture("secondary"));
+
+        final var maxHedgeRatio = getHedgedRoutingStrategy().getMaxHedgeRatio();
+        getHedgedRoutingStrategy().setMaxHedgeRatio(0);
+
+        try {
+
+            final var future = invokeFuture(invocation);
+            MILLISECONDS.sleep(50);
+            assertFalse(future.isDone());
+
+            pending.complete("primary");
+            assertEquals(future.get(10, SECONDS), "primary");
+            verify(secondary, never()).invokeCompletionStage(any(), any(), any());
+
+        } finally {
+            getHedgedRoutingStrategy().setMaxHedgeRatio(maxHedgeRatio);
+        }
+
+    }
+
+    @Test
+    public void testFailurePropagates() {
+
+        final var invocation = invocation("testFailurePropagates");
+        givenResult(primary, CompletableFuture.failedFuture(new IllegalStateException("failed")));
+
+        try {
+            getRoutingStrategy().invokeSync(emptyList(), invocation, emptyList(), invocationError -> {});
+            fail("Expected exception.");
+        } catch (Exception ex) {
+            assertTrue(ex instanceof IllegalStateException, "Unexpected exception " + ex);
+        }
+
+    }
+
+    @Test
+    public void testAsyncResultsAreNotHedged() {
+
+        final var invocation = invocation("testAsyncResultsAreNotHedged");
+        final var invocationErrorConsumer = mock(InvocationErrorConsumer.class);
+        final List<Consumer<InvocationResult>> asyncConsumers = List.of(invocationResult -> {});
+
+        reset(primary, secondary);
+        givenStatuses();
+
+        getRoutingStrategy().invokeFuture(emptyList(), invocation, asyncConsumers, invocationErrorConsumer);
+
+        verify(primary, times(1)).invokeFuture(eq(invocation), eq(asyncConsumers), eq(invocationErrorConsumer));
+        verify(primary, never()).invokeCompletionStage(any(), any(), any());
+        verify(secondary, never()).invokeCompletionStage(any(), any(), any());
+
+    }
+
+    private void prime(final Invocation invocation) throws Exception {
+
+        // Enough fast responses to estimate the percentile, after which anything slower is hedged.
+
+        givenResult(primary, CompletableFuture.completedFuture("primary"));
+
+        for (int i = 0; i < 64; ++i) {
+            assertEquals(invokeFuture(invocation).get(10, SECONDS), "primary");
+        }
+
+    }
+
+    private CompletableFuture<Object> invokeFuture(final Invocation invocation) {
+        return (CompletableFuture<Object>) getRoutingStrategy()
+            .invokeFuture(emptyList(), invocation, emptyList(), invocationError -> {});
+    }
+
+    private void givenResult(final RemoteInvoker remoteInvoker, final CompletableFuture<Object> result) {
+
+        reset(remoteInvoker);
+        when(remoteInvoker.invokeCompletionStage(any(), any(), any())).thenReturn(result);
+
+        // The primary is always selected first, as neither tracks load and it reports the higher quality.
+        givenStatuses();
+
+    }
+
+    private void givenStatuses() {
+        final var statuses = List.of(status(secondary, 10), status(primary, 90));
+        when(getRemoteInvokerRegistry()
+            .getAllRemoteInvokerStatuses(getApplicationId()))
+            .thenReturn(statuses);
+    }
+
+    private static Invocation invocation(final String method) {
+        final var invocation = new Invocation();
+        invocation.setType(TestHedgedRoutingStrategy.class.getName());
+        invocation.setMethod(method);
+        invocation.setParameters(emptyList());
+        invocation.setArguments(emptyList());
+        return invocation;
+    }
+
+    private static RemoteInvokerStatus status(final RemoteInvoker remoteInvoker, final double priority) {
+        final var status = mock(RemoteInvokerStatus.class);
+        when(status.getInvoker()).thenReturn(remoteInvoker);
+        when(status.getPriority()).thenReturn(priority);
+        return status;
+    }
+
+    private HedgedRoutingStrategy getHedgedRoutingStrategy() {
+        return (HedgedRoutingStrategy) getRoutingStrategy();
+    }
+
+    public static class Module extends AbstractModule {
+
+        @Override
+        protected void configure() {
+            bind(RoutingStrategy.class).to(HedgedRoutingStrategy.class);
+        }
+
+    }
+
+}
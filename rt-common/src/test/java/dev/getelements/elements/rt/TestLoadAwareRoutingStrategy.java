@@ -0,0 +1,229 @@
+package dev.getelements.elements.rt;
+
+import com.google.inject.AbstractModule;
+import dev.getelements.elements.rt.remote.*;
+import dev.getelements.elements.rt.remote.RemoteInvokerRegistry.RemoteInvokerStatus;
+import dev.getelements.elements.rt.routing.LoadAwareRoutingStrategy;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static dev.getelements.elements.rt.remote.RemoteInvokerLoad.DEFAULT_DECAY_NANOS;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+@Guice(modules = {RoutingTestModule.class, TestLoadAwareRoutingStrategy.Module.class})
+public class TestLoadAwareRoutingStrategy extends BaseRoutingStrategyTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testPrefersFewerInFlight() {
+
+        final var idle = newRemoteInvoker(10);
+        final var busy = newRemoteInvoker(10);
+
+        for (int i = 0; i < 10; ++i) busy.getLoad().begin();
+        givenStatuses(status(idle, 50), status(busy, 50));
+
+        for (int i = 0; i < 100; ++i) assertSame(getLoadAwareRoutingStrategy().select(), idle);
+
+    }
+
+    @Test
+    public void testPrefersLowerLatency() {
+
+        final var fast = newRemoteInvoker(1);
+        final var slow = newRemoteInvoker(20);
+        givenStatuses(status(slow, 50), status(fast, 50));
+
+        for (int i = 0; i < 100; ++i) assertSame(getLoadAwareRoutingStrategy().select(), fast);
+
+    }
+
+    @Test
+    public void testPrefersHigherQuality() {
+
+        final var better = newRemoteInvoker(10);
+        final var worse = newRemoteInvoker(10);
+        givenStatuses(status(worse, 10), status(better, 90));
+
+        for (int i = 0; i < 100; ++i) assertSame(getLoadAwareRoutingStrategy().select(), better);
+
+    }
+
+    @Test
+    public void testShedsSlowNode() {
+
+        final var invokers = new ArrayList<RemoteInvoker>();
+        for (int i = 0; i < 4; ++i) invokers.add(newRemoteInvoker(100));
+
+        // Slower than half the timeout, but still the cheapest because it has nothing in flight.
+        final var slow = newRemoteInvoker(600);
+        for (final var invoker : invokers) for (int i = 0; i < 10; ++i) invoker.getLoad().begin();
+
+        final var statuses = new ArrayList<RemoteInvokerStatus>();
+        invokers.forEach(invoker -> statuses.add(status(invoker, 50)));
+        statuses.add(status(slow, 50));
+        givenStatuses(statuses.toArray(RemoteInvokerStatus[]::new));
+
+        for (int i = 0; i < 1000; ++i) assertNotSame(getLoadAwareRoutingStrategy().select(), slow);
+
+    }
+
+    @Test
+    public void testAllShedSelectsCheapest() {
+
+        final var slow = newRemoteInvoker(600);
+        final var slower = newRemoteInvoker(800);
+        givenStatuses(status(slower, 50), status(slow, 50));
+
+        for (int i = 0; i < 100; ++i) assertSame(getLoadAwareRoutingStrategy().select(), slow);
+
+    }
+
+    @Test
+    public void testShedNodeRecovers() {
+
+        final var normal = newRemoteInvoker(100);
+        final var slow = newRemoteInvoker(600);
+        for (int i = 0; i < 10; ++i) normal.getLoad().begin();
+        givenStatuses(status(normal, 50), status(slow, 50));
+
+        assertSame(getLoadAwareRoutingStrategy().select(), normal);
+
+        // With no responses, the slow node's average decays until it falls under the threshold and it is retried.
+        clock.addAndGet(DEFAULT_DECAY_NANOS * 3);
+        assertSame(getLoadAwareRoutingStrategy().select(), slow);
+
+    }
+
+    @Test
+    public void testUntrackedInvokers() {
+
+        final var first = mock(RemoteInvoker.class);
+        final var second = mock(RemoteInvoker.class);
+        givenStatuses(status(first, 10), status(second, 90));
+
+        for (int i = 0; i < 100; ++i) assertSame(getLoadAwareRoutingStrategy().select(), second);
+
+    }
+
+    @Test
+    public void testNoStatusesDefersToRegistry() {
+
+        final var remoteInvoker = mock(RemoteInvoker.class);
+        givenStatuses();
+
+        when(getRemoteInvokerRegistry()
+            .getBestRemoteInvoker(getApplicationId()))
+            .thenReturn(remoteInvoker);
+
+        assertSame(getLoadAwareRoutingStrategy().select(), remoteInvoker);
+
+    }
+
+    @Test
+    public void testInvokeSync() throws Exception {
+
+        final var remoteInvoker = newRemoteInvoker(10);
+        final var invocation = spy(Invocation.class);
+        final var invocationErrorConsumer = mock(InvocationErrorConsumer.class);
+        final List<Consumer<InvocationResult>> asyncConsumers = emptyList();
+        final Object mockResult = mock(Object.class);
+
+        givenStatuses(status(remoteInvoker, 50));
+
+        when(remoteInvoker.invokeSync(invocation, asyncConsumers, invocationErrorConsumer)).thenReturn(mockResult);
+
+        final var result = getRoutingStrategy().invokeSync(
+            emptyList(),
+            invocation,
+            asyncConsumers,
+            invocationErrorConsumer);
+
+        verify(remoteInvoker, times(1))
+            .invokeSync(eq(invocation), eq(asyncConsumers), eq(invocationErrorConsumer));
+
+        assertEquals(result, mockResult);
+
+    }
+
+    @Test
+    public void testLoadTracksCalls() {
+
+        final var load = new RemoteInvokerLoad(0.5, DEFAULT_DECAY_NANOS, clock::get);
+
+        final var first = load.begin();
+        final var second = load.begin();
+        final var third = load.begin();
+        assertEquals(load.getInFlight(), 3);
+
+        clock.addAndGet(MILLISECONDS.toNanos(10));
+        first.complete();
+        first.complete();
+        assertEquals(load.getInFlight(), 2);
+        assertEquals(load.getLatencyNanos(), MILLISECONDS.toNanos(10), 1.0);
+
+        // A fast failure must not make the node look faster than it was.
+        second.fail(new IllegalStateException());
+        assertEquals(load.getLatencyNanos(), MILLISECONDS.toNanos(10), 1.0);
+
+        // Cancellation records nothing.
+        third.fail(new CancellationException());
+        assertEquals(load.getInFlight(), 0);
+        assertEquals(load.getMetrics().samples(), 2);
+
+    }
+
+    private RemoteInvoker newRemoteInvoker(final long latencyMillis) {
+
+        final var load = new RemoteInvokerLoad(1.0, DEFAULT_DECAY_NANOS, clock::get);
+        load.setTimeout(1, SECONDS);
+
+        final var call = load.begin();
+        clock.addAndGet(MILLISECONDS.toNanos(latencyMillis));
+        call.complete();
+
+        final var remoteInvoker = mock(RemoteInvoker.class);
+        when(remoteInvoker.getLoad()).thenReturn(load);
+        return remoteInvoker;
+
+    }
+
+    private void givenStatuses(final RemoteInvokerStatus ... statuses) {
+        when(getRemoteInvokerRegistry()
+            .getAllRemoteInvokerStatuses(getApplicationId()))
+            .thenReturn(List.of(statuses));
+    }
+
+    private static RemoteInvokerStatus status(final RemoteInvoker remoteInvoker, final double priority) {
+        final var status = mock(RemoteInvokerStatus.class);
+        when(status.getInvoker()).thenReturn(remoteInvoker);
+        when(status.getPriority()).thenReturn(priority);
+        return status;
+    }
+
+    private LoadAwareRoutingStrategy getLoadAwareRoutingStrategy() {
+        return (LoadAwareRoutingStrategy) getRoutingStrategy();
+    }
+
+    public static class Module extends AbstractModule {
+
+        @Override
+        protected void configure() {
+            bind(RoutingStrategy.class).to(LoadAwareRoutingStrategy.class);
+        }
+
+    }
+
+}
@@ -11,28 +11,40 @@ import org.zeromq.ZContext;
 import org.zeromq.ZMQ;
 
 import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
-import static com.google.common.collect.Streams.concat;
+import static java.lang.Math.floorMod;
 import static java.lang.Math.max;
 import static java.util.Collections.emptyList;
-import static java.util.stream.Collectors.toList;
-
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * A pool of {@link JeroMQAsyncConnection}s spread over the IO threads of the {@link JeroMQAsyncConnectionService}.
+ *
+ * Each IO thread keeps its own free list of the connections it owns, which only that thread touches. Acquiring a
+ * connection hands the request to an IO thread, preferring one with idle connections, and never blocks the caller. If
+ * no connection is free and the pool is at its maximum size, the request waits in a queue shared by all IO threads and
+ * is served by whichever thread next recycles or closes a connection. Waiters are served in the order they arrived, and
+ * any still waiting when the pool closes are failed rather than dropped.
+ */
 class JeroMQAsyncConnectionPool implements AsyncConnectionPool<ZContext, ZMQ.Socket> {
 
     private static final Logger logger = LoggerFactory.getLogger(JeroMQAsyncConnectionPool.class);
 
-    private boolean open = true;
+    private volatile boolean open = true;
 
     private final int min;
 
@@ -44,13 +56,30 @@ class JeroMQAsyncConnectionPool implements AsyncConnectionPool<ZContext, ZMQ.Soc
 
     private final JeroMQAsyncConnectionService.SimpleAsyncConnectionServiceContext context;
 
-    private final Lock lock = new ReentrantLock();
+    private final List<Lane> lanes;
+
+    private final AtomicInteger nextLane = new AtomicInteger();
+
+    private final Deque<Waiter> waiters = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Set<JeroMQAsyncConnection> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The number of open connections plus those reserved and about to be opened. This never exceeds the max.
+     */
+    private final AtomicInteger total = new AtomicInteger();
+
+    private final LongAdder acquired = new LongAdder();
+
+    private final LongAdder allocated = new LongAdder();
 
-    private final Condition condition = lock.newCondition();
+    private final LongAdder deferred = new LongAdder();
 
-    private final Queue<JeroMQAsyncConnection> available = new LinkedList<>();
+    private final LongAdder totalWaitNanos = new LongAdder();
 
-    private final List<JeroMQAsyncConnection> connections = new ArrayList<>();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
 
     public JeroMQAsyncConnectionPool(final String name, final int min, final int max,
                                      final Function<ZContext, ZMQ.Socket> socketSupplier,
@@ -64,137 +93,101 @@ class JeroMQAsyncConnectionPool implements AsyncConnectionPool<ZContext, ZMQ.Soc
         this.socketSupplier = socketSupplier;
         this.context = parentContext;
 
-        parentContext.getThreadContextRoundRobin().forEach(c -> c.doInThread(() -> {
-            c.onPostLoop((s, v) -> ensureMinimum(s, c));
-        }));
-
-    }
-
-    private void ensureMinimum(final Subscription subscription, final JeroMQAsyncThreadContext context) {
-
-        try {
-
-            lock.lock();
-
-            int added = 0;
-            final int toAdd = max((min - connections.size()) / this.context.getThreadPoolSize(), 0);
-
-            while (open && connections.size() < min && connections.size() < max && (added++ < toAdd)) {
-                final var connection = context.allocateNewConnection(name, socketSupplier);
-                doAddConnection(connection);
-            }
-
-            if (!open) subscription.unsubscribe();
+        this.lanes = parentContext.getThreadContextRoundRobin()
+            .stream()
+            .map(Lane::new)
+            .collect(toUnmodifiableList());
 
-        } finally {
-            lock.unlock();
-        }
+        lanes.forEach(lane -> lane.context.doInThread(() -> {
+            lane.context.onPostLoop((s, v) -> lane.ensureMinimum(s));
+        }));
 
     }
 
     @Override
-    public void acquireNextAvailableConnection(final Consumer<AsyncConnection<ZContext, ZMQ.Socket>> asyncConnectionConsumer) {
-
-        JeroMQAsyncConnection connection;
-        requestConnection();
-
-        try {
+    public void acquireNextAvailableConnection(final Consumer<AsyncConnection<ZContext, ZMQ.Socket>> asyncConnectionConsumer,
+                                               final Consumer<Exception> asyncErrorConsumer) {
+        checkOpen();
+        final var waiter = new Waiter(asyncConnectionConsumer, asyncErrorConsumer);
+        final var lane = nextLane();
+        lane.context.doInThread(() -> lane.acquire(waiter));
+    }
 
-            lock.lock();
-            checkOpen();
+    private Lane nextLane() {
 
-            while ((connection = available.poll()) == null) {
-                checkOpen();
-                condition.await();
-            }
+        final int size = lanes.size();
+        final int start = floorMod(nextLane.getAndIncrement(), size);
 
-        } catch (InterruptedException e) {
-            throw new InternalError(e);
-        } finally {
-            lock.unlock();
+        for (int i = 0; i < size; ++i) {
+            final var lane = lanes.get((start + i) % size);
+            if (lane.idle.get() > 0) return lane;
         }
 
-        connection.signal(asyncConnectionConsumer);
+        return lanes.get(start);
 
     }
 
-    private void requestConnection() {
-
-        final boolean acquire;
-
-        try {
-            lock.lock();
-            checkOpen();
-            acquire = available.isEmpty() && connections.size() < max;
-        } finally {
-            lock.unlock();
-        }
+    private boolean reserve(final int limit) {
 
-        if (acquire) {
+        int current;
 
-            final var context = this.context.getThreadContextRoundRobin().getNext();
+        do {
+            current = total.get();
+            if (current >= limit) return false;
+        } while (!total.compareAndSet(current, current + 1));
 
-            context.doInThread(() -> {
+        return true;
 
-                boolean close = true;
-                final var connection = context.allocateNewConnection(name, socketSupplier);
+    }
 
-                try {
+    private void defer(final Waiter waiter) {
+        waiting.incrementAndGet();
+        waiters.offerLast(waiter);
+        kick();
+    }
 
-                    lock.lock();
+    private void requeue(final Waiter waiter) {
+        waiting.incrementAndGet();
+        waiters.offerFirst(waiter);
+        kick();
+    }
 
-                    if (open) {
-                        close = false;
-                        doAddConnection(connection);
-                    }
+    private int failWaiters() {
 
-                } finally {
-                    lock.unlock();
-                    if (close) connection.close();
-                }
+        // Every waiter still queued would otherwise never hear back, so each is told the pool closed. Polling hands
+        // each waiter to exactly one thread, so none is failed twice.
 
-            });
+        int failed = 0;
 
+        for (var waiter = waiters.poll(); waiter != null; waiter = waiters.poll()) {
+            waiting.decrementAndGet();
+            waiter.fail(new IllegalStateException("Pool closed."));
+            ++failed;
         }
 
-    }
-
-    private void doAddConnection(final JeroMQAsyncConnection connection) {
-
-        condition.signalAll();
-        connections.add(connection);
-        available.offer(connection);
+        return failed;
 
-        connection.onClose(c -> {
-            try {
-                lock.lock();
-                logger.trace("Closed connection {}", c);
-                if (open && available.remove(connection)) logger.warn("Should not have removed available connection {}", c);
-                if (open && !connections.remove(connection)) logger.warn("Could not remove connection {}", c);
-            } finally {
-                lock.unlock();
-            }
-        });
+    }
 
-        connection.onRecycle(c -> {
-            try {
+    private void kick() {
 
-                lock.lock();
-                condition.signalAll();
+        // The pool may have closed, and failed its waiters, after the caller checked. Failing again catches those.
 
-                connection.clearEvents();
-                connection.getOnError().clear();
-                connection.getOnRead().clear();
-                connection.getOnWrite().clear();
+        if (!open) {
+            failWaiters();
+            return;
+        }
 
-                if (open && available.offer(connection)) {
-                    logger.trace("Recycled connection {}", c);
-                }
+        // A connection may have been recycled on another IO thread after this thread found none free but before the
+        // waiter was queued. Recycling publishes the idle count before checking for waiters and this checks the idle
+        // count after queueing, so at least one of the two sides sees the other.
 
-            } finally {
-                lock.unlock();
+        for (var lane : lanes) {
+            if (lane.idle.get() > 0) {
+                lane.context.doInThread(lane::serveWaiters);
+                return;
             }
-        });
+        }
 
     }
 
@@ -202,6 +195,21 @@ class JeroMQAsyncConnectionPool implements AsyncConnectionPool<ZContext, ZMQ.Soc
         if (!open) throw new IllegalStateException("Not open.");
     }
 
+    @Override
+    public Metrics getMetrics() {
+        return new Metrics(
+            max,
+            connections.size(),
+            lanes.stream().mapToInt(lane -> lane.idle.get()).sum(),
+            waiting.get(),
+            acquired.sum(),
+            allocated.sum(),
+            deferred.sum(),
+            totalWaitNanos.sum(),
+            maxWaitNanos.get()
+        );
+    }
+
     @Override
     public void close() {
         if (context.remove(this)) {
@@ -216,16 +224,13 @@ class JeroMQAsyncConnectionPool implements AsyncConnectionPool<ZContext, ZMQ.Soc
      */
     void doClose() {
 
-        final List<JeroMQAsyncConnection> toClose;
+        final var wasOpen = open;
+        open = false;
 
-        try {
-            lock.lock();
-            condition.signalAll();
-            toClose = open ? emptyList() : concat(available.stream(), connections.stream()).collect(toList());
-        } finally {
-            open = false;
-            lock.unlock();
-        }
+        final var abandoned = failWaiters();
+        if (abandoned > 0) logger.debug("Failed {} pending acquisitions closing {}", abandoned, this);
+
+        final List<JeroMQAsyncConnection> toClose = wasOpen ? emptyList() : List.copyOf(connections);
 
         final var causes = new ArrayList<Exception>();
         final var initial = new CompletableFuture<Void>();
@@ -261,6 +266,204 @@ class JeroMQAsyncConnectionPool implements AsyncConnectionPool<ZContext, ZMQ.Soc
 
     }
 
+    /**
+     * The connections owned by a single IO thread. Apart from the idle count, which other threads read to pick a lane,
+     * everything here is only touched by that thread. Connections are recycled and closed on the IO thread which owns
+     * them, so the callbacks registered here run there as well.
+     */
+    private class Lane {
+
+        private final JeroMQAsyncThreadContext context;
+
+        private final Deque<JeroMQAsyncConnection> free = new ArrayDeque<>();
+
+        private final AtomicInteger idle = new AtomicInteger();
+
+        private Lane(final JeroMQAsyncThreadContext context) {
+            this.context = context;
+        }
+
+        private void acquire(final Waiter waiter) {
+
+            if (!open) {
+                logger.debug("Pool closed. Failing acquisition from {}", JeroMQAsyncConnectionPool.this);
+                waiter.fail(new IllegalStateException("Pool closed."));
+                return;
+            }
+
+            final var connection = poll();
+
+            if (connection != null) {
+                waiter.accept(connection);
+            } else if (reserve(max)) {
+                waiter.accept(allocate());
+            } else {
+                deferred.increment();
+                defer(waiter);
+            }
+
+        }
+
+        private JeroMQAsyncConnection poll() {
+            final var connection = free.poll();
+            if (connection != null) idle.decrementAndGet();
+            return connection;
+        }
+
+        private void release(final JeroMQAsyncConnection connection) {
+            // Most recently used first, as that connection is the most likely to still be warm.
+            free.push(connection);
+            idle.incrementAndGet();
+        }
+
+        private void serveWaiters() {
+
+            while (open) {
+
+                final var waiter = waiters.poll();
+                if (waiter == null) return;
+
+                waiting.decrementAndGet();
+
+                var connection = poll();
+
+                if (connection == null && reserve(max)) {
+                    connection = allocate();
+                } else if (connection == null) {
+                    // Lost the race for the connection which prompted this, so the waiter goes back to the front.
+                    requeue(waiter);
+                    return;
+                }
+
+                waiter.accept(connection);
+
+            }
+
+        }
+
+        private void ensureMinimum(final Subscription subscription) {
+
+            if (!open) {
+                subscription.unsubscribe();
+                return;
+            }
+
+            final int current = total.get();
+            if (current >= min) return;
+
+            final int toAdd = max((min - current) / lanes.size(), 0);
+
+            for (int added = 0; added < toAdd && reserve(min); ++added) {
+                release(allocate());
+            }
+
+            if (!waiters.isEmpty()) serveWaiters();
+
+        }
+
+        /**
+         * Opens a new connection owned by this lane. The caller must have already reserved room for it in the total.
+         *
+         * @return the new connection
+         */
+        private JeroMQAsyncConnection allocate() {
+
+            final JeroMQAsyncConnection connection;
+
+            try {
+                connection = context.allocateNewConnection(name, socketSupplier);
+            } catch (RuntimeException ex) {
+                total.decrementAndGet();
+                throw ex;
+            }
+
+            connections.add(connection);
+            allocated.increment();
+
+            connection.onClose(c -> {
+
+                logger.trace("Closed connection {}", c);
+
+                if (free.remove(connection)) {
+                    idle.decrementAndGet();
+                    if (open) logger.warn("Should not have removed available connection {}", c);
+                }
+
+                if (open && !connections.remove(connection)) logger.warn("Could not remove connection {}", c);
+                total.decrementAndGet();
+
+                // Room for a new connection may unblock a waiter. This is deferred as the connection is mid-close.
+                if (open && !waiters.isEmpty()) context.doInThread(this::serveWaiters);
+
+            });
+
+            connection.onRecycle(c -> {
+
+                connection.clearEvents();
+                connection.getOnError().clear();
+                connection.getOnRead().clear();
+                connection.getOnWrite().clear();
+
+                if (open) {
+
+                    release(connection);
+                    logger.trace("Recycled connection {}", c);
+
+                    // The recycling client is still on the stack, so the next waiter is served in a separate command.
+                    if (!waiters.isEmpty()) context.doInThread(this::serveWaiters);
+
+                }
+
+            });
+
+            return connection;
+
+        }
+
+    }
+
+    /**
+     * An acquisition request, which records how long it took to be served.
+     */
+    private class Waiter {
+
+        private final long requested = System.nanoTime();
+
+        private final Consumer<AsyncConnection<ZContext, ZMQ.Socket>> consumer;
+
+        private final Consumer<Exception> errorConsumer;
+
+        private Waiter(final Consumer<AsyncConnection<ZContext, ZMQ.Socket>> consumer,
+                       final Consumer<Exception> errorConsumer) {
+            this.consumer = consumer;
+            this.errorConsumer = errorConsumer;
+        }
+
+        private void accept(final JeroMQAsyncConnection connection) {
+
+            final var waited = System.nanoTime() - requested;
+            acquired.increment();
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+            try {
+                consumer.accept(connection);
+            } catch (Exception ex) {
+                logger.error("Caught exception in consumer for {}", connection, ex);
+            }
+
+        }
+
+        private void fail(final Exception cause) {
+            try {
+                errorConsumer.accept(cause);
+            } catch (Exception ex) {
+                logger.error("Caught exception in error consumer.", ex);
+            }
+        }
+
+    }
+
     @Override
     public String toString() {
         return "SimpleManagedPool{" +
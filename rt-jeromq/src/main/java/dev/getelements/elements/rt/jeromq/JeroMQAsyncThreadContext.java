@@ -1,7 +1,6 @@
 package dev.getelements.elements.rt.jeromq;
 
 import dev.getelements.elements.sdk.util.Publisher;
-import dev.getelements.elements.rt.Rollover;
 import dev.getelements.elements.sdk.util.LinkedPublisher;
 import dev.getelements.elements.sdk.Subscription;
 import dev.getelements.elements.rt.exception.InternalException;
@@ -14,10 +13,9 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.Pipe;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicReferenceArray;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -25,9 +23,24 @@ import static java.lang.String.format;
 import static org.zeromq.ZMQ.Poller.POLLERR;
 import static org.zeromq.ZMQ.Poller.POLLIN;
 
+/**
+ * Owns the {@link ZMQ.Poller} for a single IO thread and runs commands submitted from other threads on that thread.
+ *
+ * Commands go into a lock-free queue. The pipe registered with the poller only carries a wakeup, which producers send
+ * when the IO thread may be about to block in the poller. While a wakeup is pending, or while the IO thread is still
+ * draining the queue, further commands are enqueued without touching the pipe, so a burst of commands costs a single
+ * pipe write.
+ *
+ * Once closed, the context rejects further commands and discards any which were still queued, as the IO thread which
+ * would have run them has exited its poll loop.
+ */
 class JeroMQAsyncThreadContext implements AutoCloseable {
 
-    private static final int COMMAND_QUEUE_MAX = 4096;
+    /**
+     * The maximum number of commands run in a single pass of the poll loop, so that a steady stream of commands does
+     * not starve the sockets managed by this thread.
+     */
+    static final int COMMAND_BATCH_SIZE = 256;
 
     private static final Logger logger = LoggerFactory.getLogger(JeroMQAsyncThreadContext.class);
     
@@ -43,15 +56,17 @@ class JeroMQAsyncThreadContext implements AutoCloseable {
 
     private final Publisher<Void> onPostLoop = new LinkedPublisher<>();
 
-    private final Lock lock = new ReentrantLock();
+    private final ByteBuffer wakeupBuffer = ByteBuffer.allocate(64);
 
-    private final ByteBuffer commandIndexBuffer = ByteBuffer.allocate(Integer.BYTES);
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
 
-    private final Rollover next = new Rollover(COMMAND_QUEUE_MAX);
+    /**
+     * True while a wakeup is pending in the pipe or the IO thread is draining commands. Producers only write to the
+     * pipe when they flip this from false to true.
+     */
+    private final AtomicBoolean signaled = new AtomicBoolean();
 
-    private final AtomicReferenceArray<Runnable> commands = new AtomicReferenceArray<>(COMMAND_QUEUE_MAX);
-
-    private final Semaphore semaphore = new Semaphore(COMMAND_QUEUE_MAX);
+    private volatile boolean open = true;
 
     public JeroMQAsyncThreadContext(final ZContext zContext, final ZMQ.Poller poller) {
 
@@ -71,29 +86,26 @@ class JeroMQAsyncThreadContext implements AutoCloseable {
 
     public void doInThread(final Runnable command) {
 
-        try {
-            semaphore.acquire();
-        } catch (InterruptedException e) {
-            throw new InternalException(e);
+        // Checked up front because, with the signal still raised from before the close, the command would otherwise
+        // be queued without touching the closed pipe and silently never run.
+
+        if (!open) {
+            throw new IllegalStateException("Thread context closed.");
         }
 
-        final var index = next.getAndIncrement();
-        final var output = ByteBuffer.allocate(Integer.BYTES);
+        commands.offer(command);
+        if (signaled.compareAndSet(false, true)) wakeup();
 
-        if (!commands.compareAndSet(index, null, command)) {
-            logger.error("Buffer overflow at index {}.", index);
-            throw new IllegalStateException("Buffer overflow: " + index);
-        }
+    }
+
+    private void wakeup() {
+
+        final var output = ByteBuffer.allocate(1);
 
         try {
-            output.putInt(index);
-            output.flip();
-            lock.lock();
-            while(output.remaining() > 0) pipe.sink().write(output);
+            while (output.remaining() > 0) pipe.sink().write(output);
         } catch (IOException ex) {
             throw new UncheckedIOException(ex);
-        } finally {
-            lock.unlock();
         }
 
     }
@@ -105,23 +117,39 @@ class JeroMQAsyncThreadContext implements AutoCloseable {
     }
 
     private void pollCommands() {
-        if (poller.pollin(commandIndex)) {
-            try {
-                while (pipe.source().read(commandIndexBuffer) > 0) {
-                    if (commandIndexBuffer.remaining() == 0) {
 
-                        commandIndexBuffer.flip();
-                        final var idx = commandIndexBuffer.getInt();
-                        process(idx);
+        if (!poller.pollin(commandIndex)) {
+            return;
+        }
 
-                        commandIndexBuffer.flip();
+        try {
+            while (pipe.source().read(wakeupBuffer.clear()) > 0);
+        } catch (IOException ex) {
+            throw new InternalException(ex);
+        }
 
-                    }
-                }
-            } catch (IOException ex) {
-                throw new InternalException(ex);
+        int budget = COMMAND_BATCH_SIZE;
+
+        do {
+
+            for (Runnable command; budget > 0 && (command = commands.poll()) != null; --budget) {
+                process(command);
             }
-        }
+
+            if (budget == 0 && !commands.isEmpty()) {
+                // Leaves the signal raised so producers stay off the pipe, and wakes this thread again so the
+                // remainder runs on the next pass of the poll loop after the sockets have been serviced.
+                wakeup();
+                return;
+            }
+
+            // About to park in the poller. Clears the signal and checks once more, so that a command enqueued while
+            // the signal was still raised is not left waiting for some unrelated event. If a producer raises the signal
+            // first, its wakeup brings this thread back around instead.
+            signaled.set(false);
+
+        } while (!commands.isEmpty() && signaled.compareAndSet(false, true));
+
     }
 
     private void pollManagedConnections() {
@@ -135,27 +163,19 @@ class JeroMQAsyncThreadContext implements AutoCloseable {
 
     }
 
-    private void process(final int index) {
-
-        final var command = commands.getAndSet(index, null);
-
+    private void process(final Runnable command) {
         try {
-            if (command == null) {
-                logger.error("Unable to process command at index {}. Command is null.", index);
-            } else {
-                command.run();
-            }
+            command.run();
         } catch (Exception ex) {
             logger.error("Caught exception processing command {}.", command, ex);
-        } finally {
-            semaphore.release();
         }
-
     }
 
     @Override
     public void close() {
 
+        open = false;
+
         try {
             pipe.sink().close();
         } catch (IOException ex) {
@@ -168,6 +188,13 @@ class JeroMQAsyncThreadContext implements AutoCloseable {
             logger.error("Error closing source.", ex);
         }
 
+        int discarded = 0;
+        while (commands.poll() != null) ++discarded;
+
+        if (discarded > 0) {
+            logger.warn("Discarded {} command(s) pending at close.", discarded);
+        }
+
     }
 
     public JeroMQAsyncConnection allocateNewConnection(
@@ -0,0 +1,223 @@
+package dev.getelements.elements.rt.jeromq;
+
+import dev.getelements.elements.rt.AsyncConnection;
+import dev.getelements.elements.rt.AsyncConnectionPool;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.*;
+import static org.zeromq.SocketType.DEALER;
+
+public class JeroMQAsyncConnectionPoolTest {
+
+    private static final int WAITER_COUNT = 5;
+
+    private ZContext zContext;
+
+    private JeroMQAsyncConnectionService asyncConnectionService;
+
+    @BeforeClass
+    public void setup() {
+        zContext = new ZContext();
+        asyncConnectionService = new JeroMQAsyncConnectionService();
+        asyncConnectionService.setzContext(zContext);
+        asyncConnectionService.setThreadPoolSize(2);
+        asyncConnectionService.start();
+    }
+
+    @AfterClass
+    public void teardown() {
+        asyncConnectionService.stop();
+        zContext.close();
+    }
+
+    @Test
+    public void testAcquisitionWaitsForRecycle() throws Exception {
+
+        final var pool = asyncConnectionService.allocatePool("wait-for-recycle", 0, 2, z -> z.createSocket(DEALER));
+
+        try {
+
+            final var first = acquire(pool).get(10, SECONDS);
+            final var second = acquire(pool).get(10, SECONDS);
+            assertNotSame(first, second);
+
+            // The pool is at its maximum, so this returns immediately and completes only once a connection is recycled.
+            final var third = acquire(pool);
+            Thread.sleep(50);
+            assertFalse(third.isDone());
+            assertEquals(pool.getMetrics().waiting(), 1);
+
+            first.signal(AsyncConnection::recycle);
+            assertSame(third.get(10, SECONDS), first);
+
+            final var metrics = pool.getMetrics();
+            assertEquals(metrics.max(), 2);
+            assertEquals(metrics.connections(), 2);
+            assertEquals(metrics.idle(), 0);
+            assertEquals(metrics.waiting(), 0);
+            assertEquals(metrics.acquired(), 3);
+            assertEquals(metrics.allocated(), 2);
+            assertEquals(metrics.deferred(), 1);
+            assertEquals(metrics.getUtilization(), 1.0);
+            assertTrue(metrics.maxWaitNanos() >= MILLISECONDS.toNanos(50));
+
+        } finally {
+            pool.close();
+        }
+
+    }
+
+    @Test
+    public void testRecycledConnectionsAreReused() throws Exception {
+
+        final var pool = asyncConnectionService.allocatePool("reuse", 0, 10, z -> z.createSocket(DEALER));
+
+        try {
+
+            for (int i = 0; i < 100; ++i) {
+                final var connection = acquire(pool).get(10, SECONDS);
+                connection.signal(AsyncConnection::recycle);
+            }
+
+            final var metrics = pool.getMetrics();
+            assertEquals(metrics.acquired(), 100);
+            assertTrue(metrics.allocated() <= 10, "Allocated " + metrics.allocated());
+            assertEquals(metrics.deferred(), 0);
+
+        } finally {
+            pool.close();
+        }
+
+    }
+
+    @Test
+    public void testConcurrentAcquisition() throws Exception {
+
+        final var pool = asyncConnectionService.allocatePool("concurrent", 0, 4, z -> z.createSocket(DEALER));
+
+        try {
+
+            final var futures = new ArrayList<CompletableFuture<Void>>();
+
+            for (int i = 0; i < 1000; ++i) {
+                final var future = new CompletableFuture<Void>();
+                pool.acquireNextAvailableConnection(connection -> {
+                    connection.recycle();
+                    future.complete(null);
+                });
+                futures.add(future);
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, SECONDS);
+
+            final var metrics = pool.getMetrics();
+            assertEquals(metrics.acquired(), 1000);
+            assertTrue(metrics.allocated() <= 4, "Allocated " + metrics.allocated());
+            assertEquals(metrics.waiting(), 0);
+
+        } finally {
+            pool.close();
+        }
+
+    }
+
+    @Test
+    public void testWaitersAreServedInArrivalOrder() throws Exception {
+
+        final var pool = asyncConnectionService.allocatePool("fifo", 0, 1, z -> z.createSocket(DEALER));
+
+        try {
+
+            final var held = acquire(pool).get(10, SECONDS);
+
+            final var served = new CopyOnWriteArrayList<Integer>();
+            final var done = new CompletableFuture<Void>();
+
+            for (int i = 0; i < WAITER_COUNT; ++i) {
+
+                final int index = i;
+
+                pool.acquireNextAvailableConnection(connection -> {
+                    served.add(index);
+                    connection.recycle();
+                    if (index == WAITER_COUNT - 1) done.complete(null);
+                });
+
+                // Each waiter is queued before the next is requested, as requests may otherwise reach the IO threads
+                // in any order.
+                awaitWaiting(pool, i + 1);
+
+            }
+
+            held.signal(AsyncConnection::recycle);
+            done.get(10, SECONDS);
+
+            assertEquals(served, IntStream.range(0, WAITER_COUNT).boxed().collect(toList()));
+
+        } finally {
+            pool.close();
+        }
+
+    }
+
+    @Test
+    public void testCloseFailsWaiters() throws Exception {
+
+        final var pool = asyncConnectionService.allocatePool("close-waiters", 0, 1, z -> z.createSocket(DEALER));
+
+        acquire(pool).get(10, SECONDS);
+
+        final var failures = new ArrayList<CompletableFuture<Exception>>();
+
+        for (int i = 0; i < WAITER_COUNT; ++i) {
+            final var failure = new CompletableFuture<Exception>();
+            pool.acquireNextAvailableConnection(
+                connection -> failure.completeExceptionally(new AssertionError("Unexpected connection.")),
+                failure::complete
+            );
+            failures.add(failure);
+        }
+
+        awaitWaiting(pool, WAITER_COUNT);
+        pool.close();
+
+        for (var failure : failures) {
+            assertTrue(failure.get(10, SECONDS) instanceof IllegalStateException);
+        }
+
+        assertEquals(pool.getMetrics().waiting(), 0);
+
+    }
+
+    private static void awaitWaiting(final AsyncConnectionPool<ZContext, ZMQ.Socket> pool,
+                                     final int expected) throws InterruptedException {
+
+        final var deadline = System.nanoTime() + SECONDS.toNanos(10);
+
+        while (pool.getMetrics().waiting() < expected) {
+            if (System.nanoTime() > deadline) fail("Timed out waiting for " + expected + " waiters.");
+            Thread.sleep(1);
+        }
+
+    }
+
+    private static CompletableFuture<AsyncConnection<ZContext, ZMQ.Socket>> acquire(
+            final AsyncConnectionPool<ZContext, ZMQ.Socket> pool) {
+        final var future = new CompletableFuture<AsyncConnection<ZContext, ZMQ.Socket>>();
+        pool.acquireNextAvailableConnection(future::complete);
+        return future;
+    }
+
+}
@@ -0,0 +1,100 @@
+package dev.getelements.elements.rt.jeromq;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.zeromq.ZContext;
+
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the rate at which other threads may submit commands to a single {@link JeroMQAsyncThreadContext}. Each
+ * operation submits a batch of commands and waits until the IO thread has run all of them, so the result reflects the
+ * full round trip from submission through to execution rather than just the cost of enqueueing.
+ *
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JeroMQAsyncThreadContextBenchmark {
+
+    private static final int POLL_INTERVAL = 1000;
+
+    @Param({"1", "64"})
+    private int batch;
+
+    private ZContext zContext;
+
+    private JeroMQAsyncThreadContext context;
+
+    private Thread ioThread;
+
+    @Setup
+    public void setup() throws InterruptedException {
+
+        zContext = new ZContext();
+
+        final var started = new CountDownLatch(1);
+
+        ioThread = new Thread(() -> {
+            try (final var poller = zContext.createPoller(1);
+                 final var context = new JeroMQAsyncThreadContext(zContext, poller)) {
+
+                this.context = context;
+                started.countDown();
+
+                // Mirrors the loop run by each IO thread of the JeroMQAsyncConnectionService.
+                while (!Thread.currentThread().isInterrupted() && poller.poll(POLL_INTERVAL) >= 0) {
+                    context.poll();
+                }
+
+            }
+        });
+
+        ioThread.setDaemon(true);
+        ioThread.setName(JeroMQAsyncThreadContextBenchmark.class.getSimpleName());
+        ioThread.start();
+
+        if (!started.await(10, SECONDS)) {
+            throw new IllegalStateException("IO thread did not start.");
+        }
+
+    }
+
+    @TearDown
+    public void teardown() throws InterruptedException {
+        ioThread.interrupt();
+        ioThread.join();
+        zContext.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void submit() throws InterruptedException {
+
+        final var latch = new CountDownLatch(batch);
+
+        for (int i = 0; i < batch; ++i) {
+            context.doInThread(latch::countDown);
+        }
+
+        latch.await();
+
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JeroMQAsyncThreadContextBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
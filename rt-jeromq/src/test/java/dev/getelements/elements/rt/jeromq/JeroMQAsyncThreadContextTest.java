@@ -0,0 +1,200 @@
+package dev.getelements.elements.rt.jeromq;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static dev.getelements.elements.rt.jeromq.JeroMQAsyncThreadContext.COMMAND_BATCH_SIZE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.*;
+
+/**
+ * Drives a {@link JeroMQAsyncThreadContext} from the test thread, standing in for the IO thread, so that each pass of
+ * the poll loop may be checked on its own.
+ */
+public class JeroMQAsyncThreadContextTest {
+
+    private static final int COMMAND_COUNT = 1000;
+
+    private static final int PRODUCER_COUNT = 4;
+
+    private ZContext zContext;
+
+    private ZMQ.Poller poller;
+
+    private JeroMQAsyncThreadContext context;
+
+    @BeforeClass
+    public void setupZContext() {
+        zContext = new ZContext();
+    }
+
+    @AfterClass
+    public void teardownZContext() {
+        zContext.close();
+    }
+
+    @BeforeMethod
+    public void setupContext() {
+        poller = zContext.createPoller(1);
+        context = new JeroMQAsyncThreadContext(zContext, poller);
+    }
+
+    @AfterMethod
+    public void teardownContext() {
+        context.close();
+        poller.close();
+    }
+
+    @Test
+    public void testCommandsRunInSubmissionOrder() {
+
+        final var ran = new ArrayList<Integer>();
+        IntStream.range(0, COMMAND_COUNT).forEach(i -> context.doInThread(() -> ran.add(i)));
+
+        while (ran.size() < COMMAND_COUNT) pass();
+
+        assertEquals(ran, IntStream.range(0, COMMAND_COUNT).boxed().collect(toList()));
+        assertIdle();
+
+    }
+
+    @Test
+    public void testCommandsRunInSubmissionOrderPerProducer() throws InterruptedException {
+
+        final var ran = new ArrayList<int[]>();
+        final var start = new CountDownLatch(1);
+
+        final var producers = IntStream.range(0, PRODUCER_COUNT).mapToObj(producer -> new Thread(() -> {
+
+            try {
+                start.await();
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+
+            for (int i = 0; i < COMMAND_COUNT; ++i) {
+                final int sequence = i;
+                context.doInThread(() -> ran.add(new int[]{producer, sequence}));
+            }
+
+        })).collect(toList());
+
+        producers.forEach(Thread::start);
+        start.countDown();
+
+        final var total = PRODUCER_COUNT * COMMAND_COUNT;
+        final var deadline = System.nanoTime() + SECONDS.toNanos(10);
+
+        while (ran.size() < total) {
+            assertTrue(System.nanoTime() < deadline, "Commands were not all run.");
+            if (poller.poll(100) > 0) context.poll();
+        }
+
+        for (final var producer : producers) producer.join();
+
+        final var next = new int[PRODUCER_COUNT];
+
+        for (final var command : ran) {
+            assertEquals(command[1], next[command[0]]++, "Commands from producer " + command[0] + " ran out of order.");
+        }
+
+        assertIdle();
+
+    }
+
+    @Test
+    public void testCommandSubmittedWhileDrainingRunsWithoutWakeup() {
+
+        // The signal is still raised while the IO thread drains, so a command submitted from within another command
+        // skips the pipe and is picked up by the same pass instead.
+
+        final var ran = new ArrayList<String>();
+
+        context.doInThread(() -> {
+            ran.add("outer");
+            context.doInThread(() -> ran.add("inner"));
+        });
+
+        pass();
+
+        assertEquals(ran, List.of("outer", "inner"));
+        assertIdle();
+
+    }
+
+    @Test
+    public void testBurstRunsInBatches() {
+
+        final var ran = new AtomicInteger();
+        final var count = COMMAND_BATCH_SIZE * 2 + 1;
+
+        IntStream.range(0, count).forEach(i -> context.doInThread(ran::incrementAndGet));
+
+        // The burst raised a single wakeup, and each pass which stops at the batch size raises exactly one more.
+
+        pass();
+        assertEquals(ran.get(), COMMAND_BATCH_SIZE);
+
+        pass();
+        assertEquals(ran.get(), COMMAND_BATCH_SIZE * 2);
+
+        pass();
+        assertEquals(ran.get(), count);
+
+        assertIdle();
+
+    }
+
+    @Test
+    public void testCommandsAfterCloseAreRejected() {
+
+        final var ran = new AtomicInteger();
+
+        // Leaves the signal raised, which is the case that would otherwise queue commands without touching the pipe.
+        context.doInThread(ran::incrementAndGet);
+        context.close();
+
+        expectThrows(IllegalStateException.class, () -> context.doInThread(ran::incrementAndGet));
+        assertEquals(ran.get(), 0);
+
+    }
+
+    @Test
+    public void testCommandsBeforeCloseRunOnFinalPass() {
+
+        // Mirrors the IO thread shutting down, which finishes its current pass before closing the context.
+
+        final var ran = new AtomicInteger();
+        IntStream.range(0, COMMAND_BATCH_SIZE).forEach(i -> context.doInThread(ran::incrementAndGet));
+
+        pass();
+        context.close();
+
+        assertEquals(ran.get(), COMMAND_BATCH_SIZE);
+        expectThrows(IllegalStateException.class, () -> context.doInThread(ran::incrementAndGet));
+        assertEquals(ran.get(), COMMAND_BATCH_SIZE);
+
+    }
+
+    private void pass() {
+        assertTrue(poller.poll(SECONDS.toMillis(10)) > 0, "Expected a wakeup.");
+        context.poll();
+    }
+
+    private void assertIdle() {
+        assertEquals(poller.poll(0), 0, "Unexpected wakeup left in the pipe.");
+    }
+
+}
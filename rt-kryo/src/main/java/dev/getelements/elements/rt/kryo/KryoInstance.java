@@ -10,16 +10,24 @@ import java.util.UUID;
 
 public class KryoInstance {
 
-    private static final ThreadLocal<Kryo> kryo = ThreadLocal.withInitial(() -> {
+    private static final ThreadLocal<Kryo> kryo = ThreadLocal.withInitial(KryoInstance::newKryo);
+
+    public static Kryo get() {
+        return kryo.get();
+    }
+
+    /**
+     * Creates a new {@link Kryo} configured with the serializers used by the {@link KryoPayloadReader} and
+     * {@link KryoPayloadWriter}.
+     *
+     * @return a new {@link Kryo}
+     */
+    public static Kryo newKryo() {
         final var kryo = new Kryo();
         kryo.setRegistrationRequired(false);
         kryo.addDefaultSerializer(UUID.class, new KryoUUIDSerializer());
         kryo.addDefaultSerializer(Throwable.class, new KryoThrowableSerializer());
         return kryo;
-    });
-
-    public static Kryo get() {
-        return kryo.get();
     }
 
     public static void main(String[] args) {
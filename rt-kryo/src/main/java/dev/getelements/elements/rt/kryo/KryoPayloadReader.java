@@ -1,37 +1,70 @@
 package dev.getelements.elements.rt.kryo;
 
-import com.esotericsoftware.kryo.Kryo;
-import com.esotericsoftware.kryo.io.Input;
-import com.esotericsoftware.kryo.io.Output;
 import dev.getelements.elements.rt.PayloadReader;
 
 import java.io.IOException;
 import java.io.InputStream;
 
+/**
+ * Reads payloads with a {@link KryoPool}.
+ */
 public class KryoPayloadReader implements PayloadReader {
 
+    private KryoPool kryoPool = KryoPool.getShared();
+
     @Override
     public <T> T convert(final Class<T> to, final Object from) {
 
-        final var kryo = KryoInstance.get();
+        final var kryo = getKryoPool().obtainKryo();
+        final var output = getKryoPool().obtainOutput();
 
-        try (final var output = new Output()) {
+        try {
 
             kryo.writeObject(output, from);
 
-            try (final var input = new Input(output.toBytes())) {
+            // Reads directly from the pooled output buffer, avoiding a copy of the intermediate bytes.
+            final var input = getKryoPool().obtainInput(output.getBuffer());
+
+            try {
+                input.setLimit(output.position());
                 return kryo.readObject(input, to);
+            } finally {
+                getKryoPool().release(input);
             }
 
+        } finally {
+            getKryoPool().release(output);
+            getKryoPool().release(kryo);
         }
 
     }
 
     @Override
     public <T> T read(final Class<T> payloadType, final InputStream stream) throws IOException {
-        final var bytes = stream.readAllBytes();
-        final var input = new Input(bytes);
-        return KryoInstance.get().readObject(input, payloadType);
+        return read(payloadType, stream.readAllBytes());
+    }
+
+    @Override
+    public <T> T read(final Class<T> payloadType, final byte[] toRead) {
+
+        final var kryo = getKryoPool().obtainKryo();
+        final var input = getKryoPool().obtainInput(toRead);
+
+        try {
+            return kryo.readObject(input, payloadType);
+        } finally {
+            getKryoPool().release(input);
+            getKryoPool().release(kryo);
+        }
+
+    }
+
+    public KryoPool getKryoPool() {
+        return kryoPool;
+    }
+
+    public void setKryoPool(final KryoPool kryoPool) {
+        this.kryoPool = kryoPool;
     }
 
 }
@@ -1,34 +1,57 @@
 package dev.getelements.elements.rt.kryo;
 
-import com.esotericsoftware.kryo.io.Output;
 import dev.getelements.elements.rt.PayloadWriter;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
+/**
+ * Writes payloads with a {@link KryoPool}. Payloads are written into a pooled buffer and copied once, into an array of
+ * exactly the encoded size, which the caller may wrap in a message frame directly.
+ */
 public class KryoPayloadWriter implements PayloadWriter {
 
+    private KryoPool kryoPool = KryoPool.getShared();
+
     @Override
     public byte[] write(final Object payload) throws IOException {
 
-        final var kryo = KryoInstance.get();
+        final var kryo = getKryoPool().obtainKryo();
+        final var output = getKryoPool().obtainOutput();
 
-        try (final var bos = new ByteArrayOutputStream();
-             final var output = new Output(bos)) {
+        try {
             kryo.writeObject(output, payload);
-            output.flush();
-            return bos.toByteArray();
+            return output.toBytes();
+        } finally {
+            getKryoPool().release(output);
+            getKryoPool().release(kryo);
         }
 
     }
 
     @Override
     public void write(final Object payload, final OutputStream stream) throws IOException {
-        final var kryo = KryoInstance.get();
-        final var output = new Output(stream);
-        kryo.writeObject(output, payload);
-        output.flush();
+
+        final var kryo = getKryoPool().obtainKryo();
+        final var output = getKryoPool().obtainOutput();
+
+        try {
+            output.setOutputStream(stream);
+            kryo.writeObject(output, payload);
+            output.flush();
+        } finally {
+            getKryoPool().release(output);
+            getKryoPool().release(kryo);
+        }
+
+    }
+
+    public KryoPool getKryoPool() {
+        return kryoPool;
+    }
+
+    public void setKryoPool(final KryoPool kryoPool) {
+        this.kryoPool = kryoPool;
     }
 
 }
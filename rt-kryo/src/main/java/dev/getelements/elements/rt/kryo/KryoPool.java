@@ -0,0 +1,207 @@
+package dev.getelements.elements.rt.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.lang.Math.max;
+
+/**
+ * Holds bounded pools of {@link Kryo} instances and the {@link Output} and {@link Input} buffers used with them, so the
+ * number of live instances depends on the number of concurrent serializations rather than the number of threads.
+ *
+ * Obtaining from an empty pool creates a new instance, and releasing to a full pool discards the instance, so callers
+ * never block. Output buffers which have grown past {@link #MAX_RETAINED_BUFFER_SIZE} are discarded rather than
+ * retained.
+ */
+public class KryoPool {
+
+    /**
+     * The default number of idle instances retained by each pool.
+     */
+    public static final int DEFAULT_CAPACITY = max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The initial size of each pooled {@link Output} buffer.
+     */
+    public static final int INITIAL_BUFFER_SIZE = 4096;
+
+    /**
+     * The largest {@link Output} buffer returned to the pool.
+     */
+    public static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final KryoPool shared = new KryoPool(DEFAULT_CAPACITY);
+
+    private final BoundedPool<Kryo> kryos;
+
+    private final BoundedPool<Output> outputs;
+
+    private final BoundedPool<Input> inputs;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param capacity the number of idle instances retained by each pool, must be positive
+     */
+    public KryoPool(final int capacity) {
+
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        kryos = new BoundedPool<>(capacity, KryoInstance::newKryo);
+        outputs = new BoundedPool<>(capacity, () -> new Output(INITIAL_BUFFER_SIZE, -1));
+        inputs = new BoundedPool<>(capacity, Input::new);
+
+    }
+
+    /**
+     * Gets the pool shared by all {@link KryoPayloadReader} and {@link KryoPayloadWriter} instances which were not
+     * given a pool of their own.
+     *
+     * @return the shared {@link KryoPool}
+     */
+    public static KryoPool getShared() {
+        return shared;
+    }
+
+    /**
+     * Obtains a {@link Kryo} from the pool. Kryo resets its object graph state at the end of every top level read or
+     * write, even one which fails, so the instance may always be released.
+     *
+     * @return the {@link Kryo}
+     */
+    public Kryo obtainKryo() {
+        return kryos.obtain();
+    }
+
+    public void release(final Kryo kryo) {
+        kryos.release(kryo);
+    }
+
+    /**
+     * Obtains an empty {@link Output} which writes to its own buffer.
+     *
+     * @return the {@link Output}
+     */
+    public Output obtainOutput() {
+        return outputs.obtain();
+    }
+
+    public void release(final Output output) {
+        if (output.getBuffer().length > MAX_RETAINED_BUFFER_SIZE) {
+            outputs.discard();
+        } else {
+            output.setOutputStream(null);
+            output.clear();
+            outputs.release(output);
+        }
+    }
+
+    /**
+     * Obtains an {@link Input} which reads the supplied bytes.
+     *
+     * @param bytes the bytes to read
+     * @return the {@link Input}
+     */
+    public Input obtainInput(final byte[] bytes) {
+        final var input = inputs.obtain();
+        input.setBuffer(bytes);
+        return input;
+    }
+
+    public void release(final Input input) {
+        input.setBuffer(EMPTY);
+        inputs.release(input);
+    }
+
+    /**
+     * Gets a snapshot of the pool metrics.
+     *
+     * @return the {@link Metrics}
+     */
+    public Metrics getMetrics() {
+        return new Metrics(kryos.getMetrics(), outputs.getMetrics(), inputs.getMetrics());
+    }
+
+    /**
+     * A point-in-time snapshot of the metrics for each pool.
+     *
+     * @param kryo the {@link Kryo} pool metrics
+     * @param output the {@link Output} pool metrics
+     * @param input the {@link Input} pool metrics
+     */
+    public record Metrics(PoolMetrics kryo, PoolMetrics output, PoolMetrics input) {}
+
+    /**
+     * A point-in-time snapshot of the metrics for a single pool.
+     *
+     * @param obtained the total number of instances obtained from the pool
+     * @param created the total number of instances created because the pool was empty
+     * @param discarded the total number of instances discarded because the pool was full or the instance was too large
+     * @param idle the number of instances currently in the pool
+     */
+    public record PoolMetrics(long obtained, long created, long discarded, int idle) {
+
+        /**
+         * Gets the fraction of obtains which were served from the pool.
+         *
+         * @return the hit rate, between zero and one
+         */
+        public double getHitRate() {
+            return obtained == 0 ? 0 : (double) (obtained - created) / obtained;
+        }
+
+    }
+
+    private static class BoundedPool<T> {
+
+        private final ArrayBlockingQueue<T> idle;
+
+        private final Supplier<T> factory;
+
+        private final AtomicLong obtained = new AtomicLong();
+
+        private final AtomicLong created = new AtomicLong();
+
+        private final AtomicLong discarded = new AtomicLong();
+
+        public BoundedPool(final int capacity, final Supplier<T> factory) {
+            this.idle = new ArrayBlockingQueue<>(capacity);
+            this.factory = factory;
+        }
+
+        public T obtain() {
+
+            obtained.incrementAndGet();
+
+            final var instance = idle.poll();
+            if (instance != null) return instance;
+
+            created.incrementAndGet();
+            return factory.get();
+
+        }
+
+        public void release(final T instance) {
+            if (!idle.offer(instance)) discard();
+        }
+
+        public void discard() {
+            discarded.incrementAndGet();
+        }
+
+        public PoolMetrics getMetrics() {
+            return new PoolMetrics(obtained.get(), created.get(), discarded.get(), idle.size());
+        }
+
+    }
+
+}
@@ -0,0 +1,135 @@
+package dev.getelements.elements.rt.kryo;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.*;
+
+public class KryoPoolTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+
+        final var pool = new KryoPool(2);
+        final var reader = reader(pool);
+        final var writer = writer(pool);
+
+        final var payload = new ArrayList<Object>(List.of("Hello", 42, UUID.randomUUID()));
+        assertEquals(reader.read(ArrayList.class, writer.write(payload)), payload);
+
+        try (final var bos = new ByteArrayOutputStream()) {
+            writer.write(payload, bos);
+            assertEquals(bos.toByteArray(), writer.write(payload));
+        }
+
+        assertEquals(reader.convert(ArrayList.class, payload), payload);
+
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+
+        final var pool = new KryoPool(2);
+        final var reader = reader(pool);
+        final var writer = writer(pool);
+
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(reader.read(String.class, writer.write("message-" + i)), "message-" + i);
+        }
+
+        final var metrics = pool.getMetrics();
+        assertEquals(metrics.kryo().obtained(), 200);
+        assertEquals(metrics.kryo().created(), 1);
+        assertEquals(metrics.output().created(), 1);
+        assertEquals(metrics.input().created(), 1);
+        assertTrue(metrics.kryo().getHitRate() > 0.99);
+
+    }
+
+    @Test
+    public void testOversizedOutputIsDiscarded() throws Exception {
+
+        final var pool = new KryoPool(2);
+        writer(pool).write(new byte[KryoPool.MAX_RETAINED_BUFFER_SIZE + 1]);
+
+        final var metrics = pool.getMetrics();
+        assertEquals(metrics.output().discarded(), 1);
+        assertEquals(metrics.output().idle(), 0);
+        assertEquals(metrics.kryo().idle(), 1);
+
+    }
+
+    @Test
+    public void testFailureReleases() {
+
+        final var pool = new KryoPool(2);
+
+        try {
+            reader(pool).read(UUID.class, new byte[] { 1 });
+            fail("Expected exception.");
+        } catch (RuntimeException ex) {
+            // Expected
+        }
+
+        final var metrics = pool.getMetrics();
+        assertEquals(metrics.kryo().idle(), 1);
+        assertEquals(metrics.input().idle(), 1);
+
+    }
+
+    @Test
+    public void testBoundedUnderConcurrency() throws Exception {
+
+        final var capacity = 4;
+        final var pool = new KryoPool(capacity);
+        final var reader = reader(pool);
+        final var writer = writer(pool);
+        final var executor = Executors.newFixedThreadPool(16);
+
+        try {
+
+            final var tasks = new ArrayList<Callable<Void>>();
+
+            for (int t = 0; t < 16; ++t) {
+                tasks.add(() -> {
+                    for (int i = 0; i < 1000; ++i) {
+                        final var uuid = UUID.randomUUID();
+                        assertEquals(reader.read(UUID.class, writer.write(uuid)), uuid);
+                    }
+                    return null;
+                });
+            }
+
+            for (var future : executor.invokeAll(tasks, 30, SECONDS)) future.get();
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var metrics = pool.getMetrics();
+        assertTrue(metrics.kryo().idle() <= capacity);
+        assertEquals(metrics.kryo().obtained(), 32000);
+        assertEquals(metrics.kryo().created() - metrics.kryo().discarded(), metrics.kryo().idle());
+
+    }
+
+    private static KryoPayloadReader reader(final KryoPool pool) {
+        final var reader = new KryoPayloadReader();
+        reader.setKryoPool(pool);
+        return reader;
+    }
+
+    private static KryoPayloadWriter writer(final KryoPool pool) {
+        final var writer = new KryoPayloadWriter();
+        writer.setKryoPool(pool);
+        return writer;
+    }
+
+}
@@ -7,6 +7,7 @@ import dev.getelements.elements.rt.remote.jeromq.JeroMQInstanceConnectionService
 import static com.google.inject.name.Names.named;
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQInstanceConnectionService.JEROMQ_CLUSTER_BIND_ADDRESS;
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQInstanceConnectionService.JEROMQ_CONNECTION_SERVICE_REFRESH_INTERVAL_SECONDS;
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQInstanceConnectionService.JEROMQ_ROUTER_DRAIN_BUDGET;
 
 public class JeroMQInstanceConnectionServiceModule extends PrivateModule {
 
@@ -14,11 +15,14 @@ public class JeroMQInstanceConnectionServiceModule extends PrivateModule {
 
     private Runnable bindRefreshInterval = () -> {};
 
+    private Runnable bindRouterDrainBudget = () -> {};
+
     @Override
     protected void configure() {
 
         bindBindAddress.run();
         bindRefreshInterval.run();
+        bindRouterDrainBudget.run();
 
         bind(InstanceConnectionService.class)
             .to(JeroMQInstanceConnectionService.class)
@@ -65,4 +69,18 @@ public class JeroMQInstanceConnectionServiceModule extends PrivateModule {
         return withRefreshIntervalSeconds(30l);
     }
 
+    /**
+     * Binds the maximum number of messages the routing server reads from a single socket on each iteration of its poll
+     * loop. If left unspecified, the routing server uses its default.
+     *
+     * @param budget the drain budget, must be positive
+     * @return this instance
+     */
+    public JeroMQInstanceConnectionServiceModule withRouterDrainBudget(final int budget) {
+        bindRouterDrainBudget = () -> bind(int.class)
+                .annotatedWith(named(JEROMQ_ROUTER_DRAIN_BUDGET))
+                .toInstance(budget);
+        return this;
+    }
+
 }
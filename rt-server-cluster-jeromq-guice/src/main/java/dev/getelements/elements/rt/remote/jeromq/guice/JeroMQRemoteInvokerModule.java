@@ -2,11 +2,13 @@ package dev.getelements.elements.rt.remote.jeromq.guice;
 
 import com.google.inject.PrivateModule;
 import dev.getelements.elements.rt.remote.RemoteInvoker;
+import dev.getelements.elements.rt.remote.jeromq.JeroMQMultiplexedRemoteInvoker;
 import dev.getelements.elements.rt.remote.jeromq.JeroMQRemoteInvoker;
 
 import static com.google.inject.name.Names.named;
 import static dev.getelements.elements.rt.remote.RemoteInvoker.REMOTE_INVOKER_MAX_CONNECTIONS;
 import static dev.getelements.elements.rt.remote.RemoteInvoker.REMOTE_INVOKER_MIN_CONNECTIONS;
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQMultiplexedRemoteInvoker.REMOTE_INVOKER_MULTIPLEX_SOCKETS;
 
 public class JeroMQRemoteInvokerModule extends PrivateModule {
 
@@ -14,6 +16,8 @@ public class JeroMQRemoteInvokerModule extends PrivateModule {
 
     private Runnable bindMaxConnectionsAction = () -> {};
 
+    private Runnable bindRemoteInvokerAction = () -> bind(RemoteInvoker.class).to(JeroMQRemoteInvoker.class);
+
     /**
      * Specifies the minimum number of connections to keep active, even if the timeout has expired.
      *
@@ -40,11 +44,29 @@ public class JeroMQRemoteInvokerModule extends PrivateModule {
         return this;
     }
 
+    /**
+     * Uses the {@link JeroMQMultiplexedRemoteInvoker}, which pipelines all invocations over a fixed number of sockets,
+     * instead of holding a pooled socket for each in-flight invocation. When using this, the minimum and maximum
+     * connections are not used.
+     *
+     * @param sockets the number of sockets over which to multiplex invocations
+     * @return this instance
+     */
+    public JeroMQRemoteInvokerModule withMultiplexedInvoker(final int sockets) {
+        bindRemoteInvokerAction = () -> {
+            bind(Integer.class)
+                .annotatedWith(named(REMOTE_INVOKER_MULTIPLEX_SOCKETS))
+                .toInstance(sockets);
+            bind(RemoteInvoker.class).to(JeroMQMultiplexedRemoteInvoker.class);
+        };
+        return this;
+    }
+
     @Override
     protected void configure() {
         bindMinConnectionsAction.run();
         bindMaxConnectionsAction.run();
-        bind(RemoteInvoker.class).to(JeroMQRemoteInvoker.class);
+        bindRemoteInvokerAction.run();
         expose(RemoteInvoker.class);
     }
 
@@ -38,6 +38,15 @@ public class JeroMQAsyncOperation implements AsyncOperation {
         doCancel(() -> new AsyncOperationCanceledException("User canceled.").fillInStackTrace());
     }
 
+    /**
+     * Cancels the operation, supplying a specific error to the caller.
+     *
+     * @param errorSupplier supplies the error reported to the caller
+     */
+    void cancel(final Supplier<Throwable> errorSupplier) {
+        doCancel(errorSupplier);
+    }
+
     private void doCancel(Supplier<Throwable> errorSupplier) {
         final var result = state.updateAndGet(current -> {
 
@@ -106,7 +115,18 @@ public class JeroMQAsyncOperation implements AsyncOperation {
      * @return true if the operation may proceed.
      */
     public ConnectionState acquire(final AsyncConnection<ZContext, ZMQ.Socket> connection) {
-        return state.updateAndGet(cs -> cs.state.equals(CONNECTION_PENDING) ? cs.acquire(connection) : cs);
+        return acquire(() -> connection.signal(Connection::close));
+    }
+
+    /**
+     * Called when the operation is assigned to a connection which is shared with other operations, and therefore may
+     * not be closed to cancel the operation. Otherwise this behaves as {@link #acquire(AsyncConnection)}.
+     *
+     * @param onCancel invoked when the operation is canceled while in the {@link State#CANCELLATION_PENDING} state
+     * @return true if the operation may proceed.
+     */
+    public ConnectionState acquire(final Runnable onCancel) {
+        return state.updateAndGet(cs -> cs.state.equals(CONNECTION_PENDING) ? cs.acquire(onCancel) : cs);
     }
 
     /**
@@ -193,35 +213,35 @@ public class JeroMQAsyncOperation implements AsyncOperation {
 
         private final Throwable error;
 
-        private final AsyncConnection<ZContext, ZMQ.Socket> connection;
+        private final Runnable onCancel;
 
         private ConnectionState() {
             this.error = null;
-            this.connection = null;
+            this.onCancel = null;
             this.state = State.CONNECTION_PENDING;
         }
 
         private ConnectionState(final State state,
                                 final Throwable error,
-                                final AsyncConnection<ZContext, ZMQ.Socket> connection) {
+                                final Runnable onCancel) {
             this.error = error;
             this.state = state;
-            this.connection = connection;
+            this.onCancel = onCancel;
         }
 
         private ConnectionState update(final State state) {
             traceLogger.trace("Attempting to update connection to {}.", state);
-            return new ConnectionState(state, error, connection);
+            return new ConnectionState(state, error, onCancel);
         }
 
-        private ConnectionState acquire(final AsyncConnection<ZContext, ZMQ.Socket> connection) {
+        private ConnectionState acquire(final Runnable onCancel) {
             traceLogger.trace("Attempting to acquire connection state.");
-            return new ConnectionState(CONNECTION_ACQUIRED, error, connection);
+            return new ConnectionState(CONNECTION_ACQUIRED, error, onCancel);
         }
 
         private ConnectionState update(final State state, final Throwable error) {
             traceLogger.trace("Attempting to update connection to {} with error {}.", state, error.getMessage());
-            return new ConnectionState(state, error, connection);
+            return new ConnectionState(state, error, onCancel);
         }
 
         public State getState() {
@@ -260,13 +280,13 @@ public class JeroMQAsyncOperation implements AsyncOperation {
             if (state != CANCELLATION_PENDING) {
                 logger.debug("In state {}. Nothing to do.", state);
                 traceLogger.trace("In state {}. Nothing to do.", state);
-            } else if (connection == null) {
+            } else if (onCancel == null) {
                 logger.error("Connection null in state. This should never happen.");
                 traceLogger.trace("Connection null in state. Doing nothing. This should never happen.");
             } else {
-                logger.debug("Closing socket from state {}.", state);
-                traceLogger.trace("Closing socket from state {}.", state);
-                connection.signal(Connection::close);
+                logger.debug("Canceling from state {}.", state);
+                traceLogger.trace("Canceling from state {}.", state);
+                onCancel.run();
             }
 
             return this;
@@ -16,6 +16,11 @@ class JeroMQDebugCounter {
         when = now();
     }
 
+    public void add(final long delta) {
+        value += delta;
+        when = now();
+    }
+
     public String toString() {
         return format("%s (last recorded@ %s)", Long.toUnsignedString(value), when);
     }
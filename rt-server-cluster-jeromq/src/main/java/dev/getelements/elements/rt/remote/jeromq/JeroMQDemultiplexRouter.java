@@ -18,6 +18,7 @@ import static dev.getelements.elements.rt.remote.jeromq.JeroMQControlResponseCod
 import static java.lang.String.format;
 import static java.util.Collections.unmodifiableCollection;
 import static org.zeromq.SocketType.DEALER;
+import static org.zeromq.ZMQ.DONTWAIT;
 import static org.zeromq.ZMQ.Poller.POLLERR;
 import static org.zeromq.ZMQ.Poller.POLLIN;
 
@@ -27,6 +28,8 @@ public class JeroMQDemultiplexRouter {
 
     private final InstanceId instanceId;
 
+    private final int drainBudget;
+
     private final Stats stats;
 
     private final Logger logger;
@@ -39,11 +42,16 @@ public class JeroMQDemultiplexRouter {
 
     private final Map<NodeId, ZMQ.PollItem> backends = new LinkedHashMap<>();
 
+    private final Map<NodeId, ZFrame> nodeIdHeaders = new HashMap<>();
+
     public JeroMQDemultiplexRouter(final InstanceId instanceId,
                                    final ZContext zContext,
                                    final ZMQ.Poller poller,
-                                   final ZMQ.PollItem frontend) {
+                                   final ZMQ.PollItem frontend,
+                                   final int drainBudget) {
+        if (drainBudget <= 0) throw new IllegalArgumentException("Drain budget must be positive: " + drainBudget);
         this.instanceId = instanceId;
+        this.drainBudget = drainBudget;
         this.logger = JeroMQRoutingServer.getLogger(getClass(), instanceId);
         this.zContext = zContext;
         this.poller = poller;
@@ -51,6 +59,10 @@ public class JeroMQDemultiplexRouter {
         this.stats = new Stats();
     }
 
+    /**
+     * Routes pending responses from each node back to the frontend, draining each readable node socket of up to the
+     * drain budget worth of messages.
+     */
     public void poll() {
         backends.forEach(this::routeToFrontend);
     }
@@ -88,6 +100,7 @@ public class JeroMQDemultiplexRouter {
             throw new JeroMQControlException(INTERNAL_ERROR);
         }
 
+        nodeIdHeaders.put(nodeId, new ZFrame(nodeId.asBytes()));
         logger.info("Opening binding for node {} with connect address {}", nodeId, localBindAddress);
 
         return localBindAddress;
@@ -103,6 +116,7 @@ public class JeroMQDemultiplexRouter {
             }
 
             final var item = backends.remove(nodeId);
+            nodeIdHeaders.remove(nodeId);
 
             if (item == null) {
                 logger.warn("No such binding {}", nodeId);
@@ -144,18 +158,35 @@ public class JeroMQDemultiplexRouter {
 
         final var backend = item.getSocket();
         final var frontend = this.frontend.getSocket();
-        final var zMsg = ZMsg.recvMsg(backend);
-        final var identity = popIdentity(zMsg);
-        final var nodeIdFrame = new ZFrame(nid.asBytes());
 
-        zMsg.addFirst(nodeIdFrame);
-        OK.pushResponseCode(zMsg);
-        pushIdentity(zMsg, identity);
+        // The header is shared by every response from the node, so messages carrying it must be sent without destroying
+        // their frames.
+        final var nodeIdFrame = nodeIdHeaders.get(nid);
+
+        int messages = 0;
+        long bytes = 0;
+
+        for (; messages < drainBudget; ++messages) {
+
+            final var zMsg = ZMsg.recvMsg(backend, DONTWAIT);
+            if (zMsg == null) break;
+
+            bytes += zMsg.contentSize();
+
+            final var identity = popIdentity(zMsg);
+
+            zMsg.addFirst(nodeIdFrame);
+            OK.pushResponseCode(zMsg);
+            pushIdentity(zMsg, identity);
+
+            if (!zMsg.send(frontend, false)) {
+                logger.error("Failed to send: {}", frontend.errno());
+            }
 
-        if (!zMsg.send(frontend)) {
-            logger.error("Failed to send: {}", frontend.errno());
         }
 
+        stats.route(nid).record(messages, bytes);
+
     }
 
     public Collection<NodeId> getConnectedNodeIds() {
@@ -178,6 +209,8 @@ public class JeroMQDemultiplexRouter {
 
         private final SortedMap<NodeId, String> routes = new TreeMap<>();
 
+        private final Map<NodeId, JeroMQRouteCounter> traffic = new HashMap<>();
+
         private final JeroMQDebugCounter errorCounter = new JeroMQDebugCounter();
 
         private final Runnable log = logger.isDebugEnabled() ? this::doLog : () -> {};
@@ -187,9 +220,10 @@ public class JeroMQDemultiplexRouter {
             logger.debug("  Errors {}", errorCounter);
             logger.debug("  Total Routes: {}", routes.size());
             logger.debug("  Routes:");
-            routes.forEach((nid, addr) -> logger.debug("  Node {} (master:{}) -> {} @{})",
+            routes.forEach((nid, addr) -> logger.debug("  Node {} (master:{}) -> {} @{}) {}",
                 nid, nid.isMaster(),
-                addr, backends.get(nid))
+                addr, backends.get(nid),
+                route(nid))
             );
         }
 
@@ -207,6 +241,11 @@ public class JeroMQDemultiplexRouter {
 
         public void removeRoute(final NodeId nodeId) {
             routes.remove(nodeId);
+            traffic.remove(nodeId);
+        }
+
+        public JeroMQRouteCounter route(final NodeId nodeId) {
+            return traffic.computeIfAbsent(nodeId, nid -> new JeroMQRouteCounter());
         }
 
     }
@@ -43,6 +43,9 @@ public class JeroMQInstanceConnectionService implements InstanceConnectionServic
     public static final String JEROMQ_CONNECTION_SERVICE_REFRESH_INTERVAL_SECONDS =
         "dev.getelements.elements.rt.remote.jeromq.connection.service.refresh.interval.sec";
 
+    public static final String JEROMQ_ROUTER_DRAIN_BUDGET =
+        "dev.getelements.elements.rt.remote.jeromq.router.drain.budget";
+
     private static final long REPORT_INTERVAL_SECONDS = 15;
 
     private static final long REFRESH_INTERVAL_SECONDS = 5;
@@ -57,6 +60,8 @@ public class JeroMQInstanceConnectionService implements InstanceConnectionServic
 
     private long refreshIntervalInSeconds;
 
+    private int routerDrainBudget = JeroMQRoutingServer.DEFAULT_DRAIN_BUDGET;
+
     private Provider<RemoteInvoker> remoteInvokerProvider;
 
     private InstanceDiscoveryService instanceDiscoveryService;
@@ -181,6 +186,15 @@ public class JeroMQInstanceConnectionService implements InstanceConnectionServic
         this.refreshIntervalInSeconds = refreshIntervalInSeconds;
     }
 
+    public int getRouterDrainBudget() {
+        return routerDrainBudget;
+    }
+
+    @com.google.inject.Inject(optional = true)
+    public void setRouterDrainBudget(@Named(JEROMQ_ROUTER_DRAIN_BUDGET) int routerDrainBudget) {
+        this.routerDrainBudget = routerDrainBudget;
+    }
+
     public InstanceDiscoveryService getInstanceDiscoveryService() {
         return instanceDiscoveryService;
     }
@@ -541,7 +555,8 @@ public class JeroMQInstanceConnectionService implements InstanceConnectionServic
                     getInstanceId(),
                     getzContext(),
                     binds,
-                    getSecurityChain())
+                    getSecurityChain(),
+                    getRouterDrainBudget())
             ) {
                 final var incoming = exchangeException(null);
                 assert incoming == null;
@@ -23,6 +23,7 @@ import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 import static org.zeromq.SocketType.DEALER;
 import static org.zeromq.SocketType.ROUTER;
+import static org.zeromq.ZMQ.DONTWAIT;
 import static org.zeromq.ZMQ.Poller.POLLERR;
 import static org.zeromq.ZMQ.Poller.POLLIN;
 
@@ -30,6 +31,8 @@ public class JeroMQMultiplexRouter {
 
     private final InstanceId instanceId;
 
+    private final int drainBudget;
+
     private final Logger logger;
 
     private final Stats stats;
@@ -40,51 +43,75 @@ public class JeroMQMultiplexRouter {
 
     private final Map<NodeId, ZMQ.PollItem> frontends = new LinkedHashMap<>();
 
-    private final Map<InstanceId, ZMQ.PollItem> backends = new LinkedHashMap<>();
+    private final Map<NodeId, ZFrame> nodeIdHeaders = new HashMap<>();
 
-    private final Collection<ZMQ.PollItem> backendItems = backends.values();
+    private final Map<InstanceId, ZMQ.PollItem> backends = new LinkedHashMap<>();
 
     private final SortedSetMultimap<NodeId, JeroMQInstanceConnectionId> routingTable = TreeMultimap.create();
 
-    public JeroMQMultiplexRouter(final InstanceId instanceId, final ZContext zContext, final ZMQ.Poller poller) {
+    public JeroMQMultiplexRouter(final InstanceId instanceId,
+                                 final ZContext zContext,
+                                 final ZMQ.Poller poller,
+                                 final int drainBudget) {
+        if (drainBudget <= 0) throw new IllegalArgumentException("Drain budget must be positive: " + drainBudget);
         this.instanceId = instanceId;
+        this.drainBudget = drainBudget;
         this.logger = JeroMQRoutingServer.getLogger(getClass(), instanceId);
         this.poller = poller;
         this.zContext = zContext;
         this.stats = new Stats();
     }
 
+    /**
+     * Routes pending messages in both directions. Each readable socket is drained of up to the drain budget worth of
+     * messages so that a busy socket cannot starve the others sharing the poller. Any messages left over remain
+     * readable and will be picked up on the next poll.
+     */
     public void poll() {
-        backendItems.forEach(this::routeToFrontend);
+        backends.forEach(this::routeToFrontend);
         frontends.forEach(this::routeToBackend);
     }
-    
-    private void routeToFrontend(final ZMQ.PollItem item) {
+
+    private void routeToFrontend(final InstanceId iid, final ZMQ.PollItem item) {
 
         if (!item.isReadable()) {
             return;
         }
 
-        try {
+        final var backend = item.getSocket();
+
+        int messages = 0;
+        long bytes = 0;
+
+        for (; messages < drainBudget; ++messages) {
+
+            final var zMsg = ZMsg.recvMsg(backend, DONTWAIT);
+            if (zMsg == null) break;
+
+            bytes += zMsg.contentSize();
+
+            try {
+
+                final var identity = popIdentity(zMsg);
+                final var code = stripCode(zMsg);
+
+                switch (code) {
+                    case OK:
+                        respondWithSuccess(zMsg, identity);
+                        break;
+                    default:
+                        respondWithFailure(zMsg, identity, code);
+                        break;
+                }
 
-            final var backend = item.getSocket();
-            final var zMsg = ZMsg.recvMsg(backend);
-            final var identity = popIdentity(zMsg);
-            final var code = stripCode(zMsg);
-
-            switch (code) {
-                case OK:
-                    respondWithSuccess(zMsg, identity);
-                    break;
-                default:
-                    respondWithFailure(zMsg, identity, code);
-                    break;
+            } catch (Exception ex) {
+                logger.error("Caught exception routing incoming message.", ex);
             }
 
-        } catch (Exception ex) {
-            logger.error("Caught exception routing incoming message.", ex);
         }
 
+        stats.backend(iid).record(messages, bytes);
+
     }
 
     private void respondWithSuccess(final ZMsg zMsg, final ZMsg identity) {
@@ -140,25 +167,11 @@ public class JeroMQMultiplexRouter {
 
         final ZMQ.Socket frontend = frontendItem.getSocket();
 
-        try {
-
-            // Finds the source and the route to the destination
-            final var backendItem = getBackend(nid.getInstanceId());
-            final var backend = backendItem.getSocket();
-
-            // Rebuilds the message and sends it
-            final var zMsg = ZMsg.recvMsg(frontend);
-            final var identity = popIdentity(zMsg);
-            final var nodeIdHeader = new ZFrame(nid.asBytes());
-
-            zMsg.addFirst(nodeIdHeader);
-            FORWARD.pushCommand(zMsg);
-            pushIdentity(zMsg, identity);
-
-            if (!zMsg.send(backend)) {
-                logger.error("Failed to send: {}", backend.errno());
-            }
+        // Finds the source and the route to the destination
+        final ZMQ.Socket backend;
 
+        try {
+            backend = getBackend(nid.getInstanceId()).getSocket();
         } catch (JeroMQControlException ex) {
 
             logger.error("No such instance for node {}", nid, ex);
@@ -168,17 +181,52 @@ public class JeroMQMultiplexRouter {
                 logger.error("Failed to send: {}", frontend.errno());
             }
 
-        } catch (Exception ex) {
+            return;
+
+        }
 
-            logger.error("Caught exception routing outgoing message to {}", nid, ex);
-            final ZMsg response = exceptionError(logger, ex);
+        // The header is shared by every message forwarded to the node, so messages carrying it must be sent without
+        // destroying their frames.
+        final var nodeIdHeader = nodeIdHeaders.get(nid);
+
+        int messages = 0;
+        long bytes = 0;
+
+        for (; messages < drainBudget; ++messages) {
+
+            final var zMsg = ZMsg.recvMsg(frontend, DONTWAIT);
+            if (zMsg == null) break;
+
+            bytes += zMsg.contentSize();
+
+            try {
+
+                // Rebuilds the message and sends it
+                final var identity = popIdentity(zMsg);
+
+                zMsg.addFirst(nodeIdHeader);
+                FORWARD.pushCommand(zMsg);
+                pushIdentity(zMsg, identity);
+
+                if (!zMsg.send(backend, false)) {
+                    logger.error("Failed to send: {}", backend.errno());
+                }
+
+            } catch (Exception ex) {
+
+                logger.error("Caught exception routing outgoing message to {}", nid, ex);
+                final ZMsg response = exceptionError(logger, ex);
+
+                if (!response.send(frontend)) {
+                    logger.error("Failed to send: {}", frontend.errno());
+                }
 
-            if (!response.send(frontend)) {
-                logger.error("Failed to send: {}", frontend.errno());
             }
 
         }
 
+        stats.frontend(nid).record(messages, bytes);
+
     }
 
     private ZMQ.PollItem getBackend(final InstanceId instanceId) {
@@ -196,6 +244,7 @@ public class JeroMQMultiplexRouter {
         final var frontend = frontends.computeIfAbsent(nodeId, nid -> {
             final var f = zContext.createSocket(ROUTER);
             final var index = poller.register(f, POLLIN | POLLERR);
+            nodeIdHeaders.put(nid, new ZFrame(nid.asBytes()));
             return poller.getItem(index);
         });
 
@@ -262,6 +311,7 @@ public class JeroMQMultiplexRouter {
                 } else {
                     logger.debug("Removing {}.", nodeId);
                     doClose(item, format("Node %s", nodeId));
+                    nodeIdHeaders.remove(nodeId);
                     stats.removeRoute(nodeId);
                 }
 
@@ -325,6 +375,10 @@ public class JeroMQMultiplexRouter {
 
         private final SortedMap<InstanceId, JeroMQInstanceConnectionId> bRoutes = new TreeMap<>();
 
+        private final Map<NodeId, JeroMQRouteCounter> fTraffic = new HashMap<>();
+
+        private final Map<InstanceId, JeroMQRouteCounter> bTraffic = new HashMap<>();
+
         private final JeroMQDebugCounter errorCounter = new JeroMQDebugCounter();
 
         private final Runnable log = logger.isDebugEnabled() ? this::doLog : () -> {};
@@ -349,6 +403,8 @@ public class JeroMQMultiplexRouter {
                   .append(nid)
                   .append(" -> ")
                   .append(iid)
+                  .append(" ")
+                  .append(frontend(nid))
             );
 
             sb.append("\n  Backend Routes:");
@@ -358,6 +414,8 @@ public class JeroMQMultiplexRouter {
                   .append(instanceId.equals(iid) ? "L: " : "R: ")
                   .append(iid).append(" -> ")
                   .append(addr)
+                  .append(" ")
+                  .append(backend(iid))
             );
 
             sb.append("\n  Full Routing Table:");
@@ -393,10 +451,20 @@ public class JeroMQMultiplexRouter {
 
         public void removeRoute(final NodeId nodeId) {
             fRoutes.remove(nodeId);
+            fTraffic.remove(nodeId);
         }
 
         public void removeRoute(final InstanceId instanceId) {
             bRoutes.remove(instanceId);
+            bTraffic.remove(instanceId);
+        }
+
+        public JeroMQRouteCounter frontend(final NodeId nodeId) {
+            return fTraffic.computeIfAbsent(nodeId, nid -> new JeroMQRouteCounter());
+        }
+
+        public JeroMQRouteCounter backend(final InstanceId instanceId) {
+            return bTraffic.computeIfAbsent(instanceId, iid -> new JeroMQRouteCounter());
         }
 
     }
@@ -0,0 +1,356 @@
+package dev.getelements.elements.rt.remote.jeromq;
+
+import dev.getelements.elements.rt.PayloadReader;
+import dev.getelements.elements.rt.exception.HandlerTimeoutException;
+import dev.getelements.elements.rt.exception.InternalException;
+import dev.getelements.elements.rt.exception.NodeBusyException;
+import dev.getelements.elements.rt.remote.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMsg;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static dev.getelements.elements.rt.remote.jeromq.IdentityUtil.EMPTY_DELIMITER;
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQAsyncOperation.State.*;
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQRemoteInvocation.checkResponseCode;
+import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.zeromq.ZMQ.DONTWAIT;
+import static org.zeromq.ZMQ.SNDMORE;
+
+/**
+ * A single {@link Invocation} sent through the {@link JeroMQMultiplexedRemoteInvoker}. Unlike the
+ * {@link JeroMQRemoteInvocation}, this does not own its socket. The request is prefixed with a correlation ID frame,
+ * which the remote end echoes back as part of the identity, and the invoker uses the correlation ID to route each
+ * response to the matching instance.
+ *
+ * Except for construction, all methods must be called from the IO thread servicing the socket which sent the request.
+ */
+class JeroMQMultiplexedInvocation {
+
+    private static final Logger logger = LoggerFactory.getLogger(JeroMQMultiplexedInvocation.class);
+
+    private final long correlationId;
+
+    private final JeroMQAsyncOperation asyncOperation;
+
+    private final Invocation invocation;
+
+    private final byte[] payload;
+
+    private final PayloadReader payloadReader;
+
+    private final Map<String, String> mdcContext;
+
+    private final Consumer<Object> syncResultConsumer;
+
+    private final Consumer<Throwable> syncErrorConsumer;
+
+    private final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList;
+
+    private final InvocationErrorConsumer asyncInvocationErrorConsumer;
+
+    private final long timeoutNanos;
+
+    private final MethodMetrics methodMetrics;
+
+    private long deadline;
+
+    private int remaining;
+
+    private boolean syncCompleted;
+
+    private boolean asyncCompleted;
+
+    public JeroMQMultiplexedInvocation(final long correlationId,
+                                       final JeroMQAsyncOperation asyncOperation,
+                                       final Invocation invocation,
+                                       final byte[] payload,
+                                       final PayloadReader payloadReader,
+                                       final Map<String, String> mdcContext,
+                                       final long timeoutNanos,
+                                       final MethodMetrics methodMetrics,
+                                       final Consumer<Object> syncResultConsumer,
+                                       final Consumer<Throwable> syncErrorConsumer,
+                                       final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+                                       final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+        this.correlationId = correlationId;
+        this.asyncOperation = asyncOperation;
+        this.invocation = invocation;
+        this.payload = payload;
+        this.payloadReader = payloadReader;
+        this.mdcContext = mdcContext == null ? emptyMap() : mdcContext;
+        this.timeoutNanos = timeoutNanos;
+        this.methodMetrics = methodMetrics;
+        this.syncResultConsumer = syncResultConsumer;
+        this.syncErrorConsumer = syncErrorConsumer;
+        this.asyncInvocationResultConsumerList = asyncInvocationResultConsumerList;
+        this.asyncInvocationErrorConsumer = asyncInvocationErrorConsumer;
+        this.remaining = asyncInvocationResultConsumerList.size();
+        this.asyncCompleted = remaining == 0;
+        this.deadline = System.nanoTime() + timeoutNanos;
+    }
+
+    public long getCorrelationId() {
+        return correlationId;
+    }
+
+    /**
+     * Attempts to send the request without blocking.
+     *
+     * @param socket the socket
+     * @return true if sent, false if the socket would have blocked
+     */
+    public boolean send(final ZMQ.Socket socket) {
+
+        final var correlationIdBytes = ByteBuffer.allocate(Long.BYTES).putLong(correlationId).array();
+
+        // ZeroMQ delivers multipart messages atomically, so once the first frame is accepted the remaining frames will
+        // be accepted as well.
+
+        if (!socket.send(correlationIdBytes, SNDMORE | DONTWAIT)) {
+            return false;
+        }
+
+        final RequestHeader requestHeader = new RequestHeader();
+        requestHeader.additionalParts.set(asyncInvocationResultConsumerList.size());
+        requestHeader.budgetMillis.set(toBudgetMillis(deadline - System.nanoTime()));
+
+        socket.send(EMPTY_DELIMITER, SNDMORE);
+        socket.sendByteBuffer(requestHeader.getByteBuffer(), SNDMORE);
+        socket.send(payload);
+
+        return true;
+
+    }
+
+    /**
+     * Converts the time remaining to the whole number of milliseconds sent in the {@link RequestHeader}, rounding up so
+     * that a request which is about to expire is never sent without a budget.
+     *
+     * @param remainingNanos the time remaining, in nanoseconds
+     * @return the budget, in milliseconds
+     */
+    static int toBudgetMillis(final long remainingNanos) {
+        final var millis = (remainingNanos + 999_999) / 1_000_000;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, millis));
+    }
+
+    /**
+     * Checks if this invocation has gone longer than the timeout without a response.
+     *
+     * @param now the current value of {@link System#nanoTime()}
+     * @return true if expired
+     */
+    public boolean isExpired(final long now) {
+        return now - deadline > 0;
+    }
+
+    /**
+     * Cancels this invocation because it has expired.
+     */
+    public void timeout() {
+        asyncOperation.cancel(() -> new HandlerTimeoutException(format(
+                "Remote invocation timed out after %dms.",
+                MILLISECONDS.convert(timeoutNanos, NANOSECONDS)
+        )));
+    }
+
+    /**
+     * Handles a single response. Any exception processing the response fails this invocation.
+     *
+     * @param zMsg the response, with the correlation ID and delimiter removed
+     * @return true if this invocation has received all responses and is finished
+     */
+    public boolean handleResponse(final ZMsg zMsg) {
+
+        MDC.setContextMap(mdcContext);
+
+        try {
+
+            checkResponseCode(zMsg);
+
+            final ResponseHeader responseHeader = new ResponseHeader();
+            responseHeader.getByteBuffer().put(zMsg.pop().getData());
+
+            switch (responseHeader.type.get()) {
+                case INVOCATION_RESULT:
+                    handleResult(zMsg, responseHeader.part.get());
+                    break;
+                case INVOCATION_ERROR:
+                    handleError(zMsg, responseHeader.part.get());
+                    break;
+                case INVOCATION_REJECTED:
+                    handleRejected();
+                    break;
+                default:
+                    throw new InternalException("Invalid response type " + responseHeader.type.get());
+            }
+
+        } catch (Exception ex) {
+            logger.error("Caught error running remote invocation.", ex);
+            fail(ex);
+            return true;
+        }
+
+        if (syncCompleted && asyncCompleted) {
+
+            final var cs = asyncOperation.requestFinish();
+
+            if (FINISH_PENDING.equals(cs.getState())) {
+                asyncOperation.finish();
+                logger.debug("Finished Invocation.");
+            } else {
+                // A cancellation request beat us to the punch. As with the pooled invoker, the results were already
+                // delivered so we drive the cancellation error on our end.
+                asyncOperation.finishCancellation();
+                asyncInvocationErrorConsumer.acceptAndLogError(logger, cs.getInvocationError());
+                logger.debug("Invocation cancelled at finish time.");
+            }
+
+            return true;
+
+        }
+
+        deadline = System.nanoTime() + timeoutNanos;
+        return false;
+
+    }
+
+    private void handleResult(final ZMsg zMsg, final int part) {
+
+        final InvocationResult invocationResult;
+
+        try {
+            final var bytes = zMsg.pop().getData();
+            methodMetrics.recordResponseBytes(bytes.length);
+            invocationResult = payloadReader.read(InvocationResult.class, bytes);
+        } catch (IOException ex) {
+            throw new InternalException(ex);
+        }
+
+        if (part == 0) {
+            syncCompleted = true;
+            syncResultConsumer.accept(invocationResult.getResult());
+        } else {
+
+            if (!asyncCompleted && (--remaining) == 0) {
+                asyncCompleted = true;
+            }
+
+            asyncInvocationResultConsumerList.get(part - 1).accept(invocationResult);
+
+        }
+
+    }
+
+    private void handleError(final ZMsg zMsg, final int part) {
+
+        InvocationError invocationError;
+
+        try {
+            invocationError = payloadReader.read(InvocationError.class, zMsg.pop().getData());
+        } catch (Exception ex) {
+            invocationError = new InvocationError();
+            invocationError.setThrowable(ex);
+        }
+
+        if (part == 0) {
+
+            final Throwable throwable = invocationError.getThrowable();
+
+            syncCompleted = true;
+            syncErrorConsumer.accept(throwable instanceof Exception
+                    ? throwable
+                    : new RemoteInvocationException(throwable));
+
+        } else if (part == 1) {
+            asyncCompleted = true;
+            asyncInvocationErrorConsumer.accept(invocationError);
+        } else {
+            asyncCompleted = true;
+            throw new InternalException("Invalid error part " + part);
+        }
+
+    }
+
+    private void handleRejected() {
+
+        final var exception = new NodeBusyException("Node is saturated. Invocation was not dispatched.");
+        final var invocationError = new InvocationError();
+        invocationError.setThrowable(exception);
+
+        // The node sends no further responses for a rejected invocation, so both portions are complete.
+        syncCompleted = true;
+        asyncCompleted = true;
+        syncErrorConsumer.accept(exception);
+        asyncInvocationErrorConsumer.acceptAndLogError(logger, invocationError);
+
+    }
+
+    /**
+     * Fails this invocation, such as when the request could not be sent or the socket has been closed. The supplied
+     * error is delivered unless the invocation was canceled in the meantime, in which case the cancellation error is
+     * delivered instead.
+     *
+     * @param th the cause of the failure
+     */
+    public void fail(final Throwable th) {
+
+        MDC.setContextMap(mdcContext);
+
+        final var cs = asyncOperation.requestFinish();
+
+        if (FINISH_PENDING.equals(cs.getState())) {
+
+            final var invocationError = new InvocationError();
+            invocationError.setThrowable(th);
+
+            syncErrorConsumer.accept(th);
+            asyncInvocationErrorConsumer.acceptAndLogError(logger, invocationError);
+            asyncOperation.finish();
+
+        } else {
+            finishCancellation();
+        }
+
+    }
+
+    /**
+     * Finishes the cancellation of this invocation, delivering the cancellation error.
+     */
+    public void finishCancellation() {
+
+        MDC.setContextMap(mdcContext);
+
+        final var cs = asyncOperation.finishCancellation();
+
+        if (CANCELED.equals(cs.getState())) {
+            syncErrorConsumer.accept(cs.getError());
+            asyncInvocationErrorConsumer.acceptAndLogError(logger, cs.getInvocationError());
+        }
+
+    }
+
+    @Override
+    public String toString() {
+        return "JeroMQMultiplexedInvocation{" +
+                "correlationId=" + correlationId +
+                ", asyncOperation=" + asyncOperation +
+                ", invocation=" + invocation +
+                ", remaining=" + remaining +
+                ", syncCompleted=" + syncCompleted +
+                ", asyncCompleted=" + asyncCompleted +
+                '}';
+    }
+
+}
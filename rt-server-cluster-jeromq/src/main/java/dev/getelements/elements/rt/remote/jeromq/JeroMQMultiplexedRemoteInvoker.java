@@ -0,0 +1,589 @@
+package dev.getelements.elements.rt.remote.jeromq;
+
+import dev.getelements.elements.rt.*;
+import dev.getelements.elements.rt.exception.HandlerTimeoutException;
+import dev.getelements.elements.rt.exception.InternalException;
+import dev.getelements.elements.rt.remote.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMsg;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static dev.getelements.elements.rt.AsyncConnection.Event.*;
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQAsyncOperation.State.CONNECTION_ACQUIRED;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.zeromq.SocketType.DEALER;
+import static org.zeromq.ZMQ.DONTWAIT;
+
+/**
+ * A {@link RemoteInvoker} which pipelines many concurrent {@link Invocation}s over a small, fixed set of DEALER
+ * sockets rather than taking exclusive ownership of a socket for the life of each {@link Invocation}, as the
+ * {@link JeroMQRemoteInvoker} does.
+ *
+ * Each request is prefixed with a unique correlation ID frame ahead of the delimiter. The routing server and the
+ * remote node treat the correlation ID as part of the message identity and echo it back with every response, which
+ * allows responses to be matched to their {@link JeroMQMultiplexedInvocation} regardless of order.
+ *
+ * Each socket is held in its own {@link AsyncConnectionGroup}, spreading the sockets across the IO threads of the
+ * {@link AsyncConnectionService}. All state for the invocations sent through a socket is confined to that socket's IO
+ * thread. The timeout passed to {@link #start(String, long, TimeUnit)} applies to each request individually and is
+ * measured from when the request was dispatched, or its last response was received, whichever is later.
+ */
+public class JeroMQMultiplexedRemoteInvoker implements RemoteInvoker {
+
+    private static final Logger logger = LoggerFactory.getLogger(JeroMQMultiplexedRemoteInvoker.class);
+
+    /**
+     * The number of DEALER sockets over which to multiplex invocations.
+     */
+    public static final String REMOTE_INVOKER_MULTIPLEX_SOCKETS = "dev.getelements.elements.rt.remote.jeromq.JeroMQMultiplexedRemoteInvoker.sockets";
+
+    private static final long MIN_SWEEP_INTERVAL_MSEC = 10;
+
+    private static final long MAX_SWEEP_INTERVAL_MSEC = 1000;
+
+    private String connectAddress;
+
+    private PayloadReader payloadReader;
+
+    private PayloadWriter payloadWriter;
+
+    private AsyncConnectionService<ZContext, ZMQ.Socket> asyncConnectionService;
+
+    private int sockets;
+
+    private final AtomicLong correlationIds = new AtomicLong();
+
+    private final AtomicReference<MultiplexContext> context = new AtomicReference<>();
+
+    private final RemoteInvokerLoad load = new RemoteInvokerLoad();
+
+    private InvocationMetrics invocationMetrics = InvocationMetrics.getClientMetrics();
+
+    @Override
+    public String getConnectAddress() {
+        return connectAddress;
+    }
+
+    @Override
+    public void start(final String connectAddress, final long timeout, final TimeUnit timeoutTimeUnit) {
+
+        final long timeoutMillis = MILLISECONDS.convert(timeout, timeoutTimeUnit);
+        logger.info("Starting with connect address {}, {} sockets, and timeout {}msec",
+                connectAddress, getSockets(), timeoutMillis);
+
+        final var context = new MultiplexContext(connectAddress, timeoutMillis);
+
+        if (!this.context.compareAndSet(null, context)) {
+            throw new IllegalStateException("Already started.");
+        }
+
+        this.connectAddress = connectAddress;
+        load.setTimeout(timeout, timeoutTimeUnit);
+        context.start();
+
+    }
+
+    @Override
+    public void stop() {
+
+        logger.info("Stopping connection to {}", connectAddress);
+        connectAddress = null;
+
+        final var context = this.context.getAndSet(null);
+        if (context == null) throw new IllegalStateException("Not running.");
+        context.stop();
+
+    }
+
+    @Override
+    public AsyncOperation invokeAsync(
+            final Invocation invocation,
+            final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+            final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+
+        final var asyncOperation = new JeroMQAsyncOperation();
+        final var context = getContext();
+        final var call = load.begin();
+        final var methodMetrics = getInvocationMetrics().getMethodMetrics(invocation);
+        final var started = System.nanoTime();
+
+        context.dispatch(
+                asyncOperation,
+                invocation,
+                methodMetrics,
+                o -> {
+                    call.complete();
+                    methodMetrics.record(started, null);
+                    if (o != null) logger.warn("Async method returned value.");
+                },
+                ex -> {
+                    call.fail(ex);
+                    methodMetrics.record(started, ex);
+                    logger.warn("Async method threw exception.", ex);
+                },
+                asyncInvocationResultConsumerList,
+                asyncInvocationErrorConsumer
+        );
+
+        return asyncOperation;
+
+    }
+
+    @Override
+    public CompletionStage<Object> invokeCompletionStage(
+            final Invocation invocation,
+            final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+            final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+
+        final var asyncOperation = new JeroMQAsyncOperation();
+
+        final var completableFuture = new CompletableFuture<>();
+
+        completableFuture.exceptionally(throwable -> {
+
+            if (throwable instanceof CancellationException) {
+                asyncOperation.cancel();
+            }
+
+            return throwable;
+
+        });
+
+        final var context = getContext();
+        final var call = load.begin();
+        final var methodMetrics = getInvocationMetrics().getMethodMetrics(invocation);
+        final var started = System.nanoTime();
+
+        context.dispatch(
+                asyncOperation,
+                invocation,
+                methodMetrics,
+                result -> {
+                    call.complete();
+                    methodMetrics.record(started, null);
+                    completableFuture.complete(result);
+                },
+                throwable -> {
+                    call.fail(throwable);
+                    methodMetrics.record(started, throwable);
+                    completableFuture.completeExceptionally(throwable);
+                },
+                asyncInvocationResultConsumerList,
+                asyncInvocationErrorConsumer
+        );
+
+        return completableFuture;
+
+    }
+
+    @Override
+    public RemoteInvokerLoad getLoad() {
+        return load;
+    }
+
+    private MultiplexContext getContext() {
+        final var context = this.context.get();
+        if (context == null) throw new IllegalStateException("Not currently running.");
+        return context;
+    }
+
+    public InvocationMetrics getInvocationMetrics() {
+        return invocationMetrics;
+    }
+
+    public void setInvocationMetrics(InvocationMetrics invocationMetrics) {
+        this.invocationMetrics = invocationMetrics;
+    }
+
+    public PayloadReader getPayloadReader() {
+        return payloadReader;
+    }
+
+    @Inject
+    public void setPayloadReader(PayloadReader payloadReader) {
+        this.payloadReader = payloadReader;
+    }
+
+    public PayloadWriter getPayloadWriter() {
+        return payloadWriter;
+    }
+
+    @Inject
+    public void setPayloadWriter(PayloadWriter payloadWriter) {
+        this.payloadWriter = payloadWriter;
+    }
+
+    public AsyncConnectionService<ZContext, ZMQ.Socket> getAsyncConnectionService() {
+        return asyncConnectionService;
+    }
+
+    @Inject
+    public void setAsyncConnectionService(AsyncConnectionService<ZContext, ZMQ.Socket> asyncConnectionService) {
+        this.asyncConnectionService = asyncConnectionService;
+    }
+
+    public int getSockets() {
+        return sockets;
+    }
+
+    @Inject
+    public void setSockets(@Named(REMOTE_INVOKER_MULTIPLEX_SOCKETS) int sockets) {
+
+        if (sockets <= 0) {
+            throw new IllegalArgumentException("Sockets must be positive: " + sockets);
+        }
+
+        this.sockets = sockets;
+
+    }
+
+    @Override
+    public String toString() {
+        return "JeroMQMultiplexedRemoteInvoker{" +
+                "connectAddress='" + connectAddress + '\'' +
+                '}';
+    }
+
+    private class MultiplexContext {
+
+        private final String connectAddress;
+
+        private final long timeoutNanos;
+
+        private final long sweepIntervalMillis;
+
+        private final RoundRobin<Lane> lanes;
+
+        private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            final var thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName(format("%s sweeper", JeroMQMultiplexedRemoteInvoker.class.getSimpleName()));
+            return thread;
+        });
+
+        public MultiplexContext(final String connectAddress, final long timeoutMillis) {
+            this.connectAddress = connectAddress;
+            this.timeoutNanos = NANOSECONDS.convert(timeoutMillis, MILLISECONDS);
+            this.sweepIntervalMillis = max(MIN_SWEEP_INTERVAL_MSEC, min(MAX_SWEEP_INTERVAL_MSEC, timeoutMillis / 10));
+            this.lanes = new ConcurrentRoundRobin<>(new Lane[0], getSockets());
+        }
+
+        public void start() {
+
+            final var latch = new CountDownLatch(getSockets() * 2);
+
+            for (int i = 0; i < getSockets(); ++i) {
+
+                final var lane = lanes.set(i, new Lane());
+                final var name = format("%s #%d: %s",
+                        JeroMQMultiplexedRemoteInvoker.class.getSimpleName(), i, connectAddress);
+
+                getAsyncConnectionService().group(name)
+                    .connection(z -> {
+                        final ZMQ.Socket socket = z.createSocket(DEALER);
+                        socket.connect(connectAddress);
+                        return socket;
+                    }, connection -> {
+                        lane.connection = connection;
+                        lane.thread = Thread.currentThread();
+                        connection.setEvents(READ, ERROR);
+                        connection.onRead(lane::onRead);
+                        connection.onWrite(lane::onWrite);
+                        connection.onError(lane::onError);
+                        latch.countDown();
+                    })
+                    .build(group -> {
+                        lane.group = group;
+                        latch.countDown();
+                    });
+
+            }
+
+            try {
+                latch.await();
+            } catch (InterruptedException ex) {
+                throw new InternalException(ex);
+            }
+
+            sweeper.scheduleAtFixedRate(this::sweep, sweepIntervalMillis, sweepIntervalMillis, MILLISECONDS);
+
+        }
+
+        public void stop() {
+
+            // Interrupting the sweeper while it signals an IO thread would close that thread's command pipe, so this
+            // waits for any sweep in progress to finish instead.
+
+            sweeper.shutdown();
+
+            try {
+                if (!sweeper.awaitTermination(1, MINUTES)) {
+                    logger.error("Timed out waiting for sweeper to terminate.");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                logger.error("Interrupted waiting for sweeper to terminate.", ex);
+            }
+
+            final var stopped = new ArrayList<CompletableFuture<Void>>();
+
+            lanes.forEach(lane -> stopped.add(lane.connection
+                .signalAndComputeCompletionV(c -> lane.failAll(new InternalException("Remote invoker stopped.")))
+                .toCompletableFuture()
+            ));
+
+            try {
+                CompletableFuture.allOf(stopped.toArray(CompletableFuture[]::new)).get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                logger.error("Interrupted failing pending invocations.", ex);
+            } catch (ExecutionException ex) {
+                logger.error("Error failing pending invocations.", ex);
+            }
+
+            lanes.forEach(lane -> lane.group.close());
+
+        }
+
+        public void dispatch(final JeroMQAsyncOperation asyncOperation,
+                             final Invocation invocation,
+                             final MethodMetrics methodMetrics,
+                             final Consumer<Object> syncResultConsumer,
+                             final Consumer<Throwable> syncErrorConsumer,
+                             final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
+                             final InvocationErrorConsumer asyncInvocationErrorConsumer) {
+
+            final var lane = lanes.getNext();
+            final var correlationId = correlationIds.incrementAndGet();
+
+            final var cs = asyncOperation.acquire(() -> lane.cancel(correlationId));
+
+            if (!CONNECTION_ACQUIRED.equals(cs.getState())) {
+                syncErrorConsumer.accept(cs.getError());
+                asyncInvocationErrorConsumer.accept(cs.getInvocationError());
+                return;
+            }
+
+            // The caller may have less time than our own timeout, in which case the request carries the shorter
+            // budget and we give up waiting at the same time as the caller.
+
+            final var budgetNanos = Deadline.budgetNanos(timeoutNanos);
+
+            if (budgetNanos <= 0) {
+
+                final var ex = new HandlerTimeoutException("Deadline passed before sending remote invocation.");
+                final var invocationError = new InvocationError();
+                invocationError.setThrowable(ex);
+
+                asyncOperation.requestFinish();
+                asyncOperation.finish();
+                syncErrorConsumer.accept(ex);
+                asyncInvocationErrorConsumer.accept(invocationError);
+                return;
+
+            }
+
+            // Serializing the payload here keeps the work off of the IO thread, which is shared by every
+            // invocation sent over the socket.
+
+            final byte[] payload;
+
+            try {
+                payload = getPayloadWriter().write(invocation);
+                methodMetrics.recordRequestBytes(payload.length);
+            } catch (IOException ex) {
+
+                final var invocationError = new InvocationError();
+                invocationError.setThrowable(ex);
+
+                asyncOperation.requestFinish();
+                asyncOperation.finish();
+                syncErrorConsumer.accept(ex);
+                asyncInvocationErrorConsumer.accept(invocationError);
+                return;
+
+            }
+
+            final var multiplexedInvocation = new JeroMQMultiplexedInvocation(
+                    correlationId,
+                    asyncOperation,
+                    invocation,
+                    payload,
+                    getPayloadReader(),
+                    MDC.getCopyOfContextMap(),
+                    budgetNanos,
+                    methodMetrics,
+                    syncResultConsumer,
+                    syncErrorConsumer,
+                    asyncInvocationResultConsumerList,
+                    asyncInvocationErrorConsumer
+            );
+
+            logger.debug("Sending {} asynchronously.", multiplexedInvocation);
+            lane.connection.signal(c -> lane.send(multiplexedInvocation));
+
+        }
+
+        private void sweep() {
+            try {
+                final var now = System.nanoTime();
+                lanes.forEach(lane -> lane.connection.signal(c -> lane.expire(now)));
+            } catch (Exception ex) {
+                logger.error("Caught exception sweeping expired invocations.", ex);
+            }
+        }
+
+    }
+
+    /**
+     * A single socket and the invocations in flight over it. Apart from the connection and group assignment at
+     * startup, this is only accessed from the socket's IO thread.
+     */
+    private class Lane {
+
+        private AsyncConnection<ZContext, ZMQ.Socket> connection;
+
+        private AsyncConnectionGroup<ZContext, ZMQ.Socket> group;
+
+        private Thread thread;
+
+        private final Map<Long, JeroMQMultiplexedInvocation> pending = new HashMap<>();
+
+        private final Deque<JeroMQMultiplexedInvocation> backlog = new ArrayDeque<>();
+
+        public void send(final JeroMQMultiplexedInvocation invocation) {
+
+            pending.put(invocation.getCorrelationId(), invocation);
+
+            if (!backlog.isEmpty() || !invocation.send(connection.socket())) {
+                // The socket would block, so the remainder wait for the socket to become writable preserving the
+                // order in which they were dispatched.
+                backlog.addLast(invocation);
+                connection.setEvents(READ, WRITE, ERROR);
+            }
+
+        }
+
+        public void onWrite(final AsyncConnection<ZContext, ZMQ.Socket> connection) {
+
+            while (!backlog.isEmpty()) {
+
+                final var invocation = backlog.peekFirst();
+
+                if (!pending.containsKey(invocation.getCorrelationId())) {
+                    // Canceled or timed out before it was ever sent.
+                    backlog.removeFirst();
+                } else if (invocation.send(connection.socket())) {
+                    backlog.removeFirst();
+                } else {
+                    return;
+                }
+
+            }
+
+            connection.setEvents(READ, ERROR);
+
+        }
+
+        public void onRead(final AsyncConnection<ZContext, ZMQ.Socket> connection) {
+
+            ZMsg zMsg;
+
+            while ((zMsg = ZMsg.recvMsg(connection.socket(), DONTWAIT)) != null) {
+
+                final var correlationIdFrame = zMsg.pop();
+
+                if (correlationIdFrame == null || correlationIdFrame.size() != Long.BYTES) {
+                    logger.error("Dropping response without correlation ID.");
+                    continue;
+                }
+
+                final var correlationId = ByteBuffer.wrap(correlationIdFrame.getData()).getLong();
+                final var invocation = pending.get(correlationId);
+
+                if (invocation == null) {
+                    // This is typical of a response arriving after the invocation timed out or was canceled.
+                    logger.debug("Dropping response for unknown correlation ID {}.", correlationId);
+                } else {
+                    zMsg.pop();
+                    if (invocation.handleResponse(zMsg)) pending.remove(correlationId);
+                }
+
+            }
+
+        }
+
+        public void onError(final AsyncConnection<ZContext, ZMQ.Socket> connection) {
+            final int errno = connection.socket().errno();
+            logger.error("Got socket error: {}. Failing {} pending invocations.", errno, pending.size());
+            failAll(new InternalException("Socket error - errno " + errno));
+        }
+
+        public void cancel(final long correlationId) {
+
+            // Cancellation may be requested from any thread, but signaling from the IO thread itself may deadlock
+            // if the IO thread's command queue is full. Timeouts are always canceled from the IO thread.
+
+            if (Thread.currentThread() == thread) {
+                doCancel(correlationId);
+            } else {
+                connection.signal(c -> doCancel(correlationId));
+            }
+
+        }
+
+        private void doCancel(final long correlationId) {
+            final var invocation = pending.remove(correlationId);
+            if (invocation != null) invocation.finishCancellation();
+        }
+
+        public void expire(final long now) {
+
+            // Timing out cancels the operation, which removes it from the pending map, so the expired invocations
+            // are collected before any are canceled.
+
+            final var expired = pending.values()
+                .stream()
+                .filter(invocation -> invocation.isExpired(now))
+                .toList();
+
+            expired.forEach(JeroMQMultiplexedInvocation::timeout);
+
+        }
+
+        public void failAll(final Exception ex) {
+
+            final var failed = new ArrayList<>(pending.values());
+            pending.clear();
+            backlog.clear();
+
+            for (var invocation : failed) invocation.fail(ex);
+
+        }
+
+    }
+
+}
@@ -181,6 +181,10 @@ public class JeroMQRemoteInvocation {
 
     private final int additionalCount;
 
+    private final int budgetMillis;
+
+    private final MethodMetrics methodMetrics;
+
     private int remaining;
 
     private boolean syncCompleted;
@@ -197,6 +201,8 @@ public class JeroMQRemoteInvocation {
                                   final PayloadReader payloadReader,
                                   final PayloadWriter payloadWriter,
                                   final Map<String, String > mdcContext,
+                                  final int budgetMillis,
+                                  final MethodMetrics methodMetrics,
                                   final Consumer<Object> syncResultConsumer,
                                   final Consumer<Throwable> syncErrorConsumer,
                                   final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
@@ -205,6 +211,8 @@ public class JeroMQRemoteInvocation {
         // Immutable
         this.asyncOperation = asyncOperation;
         this.mdcContext = mdcContext == null ? emptyMap() : mdcContext;
+        this.budgetMillis = budgetMillis;
+        this.methodMetrics = methodMetrics;
         this.payloadReader = payloadReader;
         this.payloadWriter = payloadWriter;
         this.syncResultConsumer = wrap(syncResultConsumer);
@@ -365,6 +373,7 @@ public class JeroMQRemoteInvocation {
 
         final RequestHeader requestHeader = new RequestHeader();
         requestHeader.additionalParts.set(additionalCount);
+        requestHeader.budgetMillis.set(budgetMillis);
 
         final byte[] payload;
 
@@ -374,6 +383,10 @@ public class JeroMQRemoteInvocation {
             throw new InternalException(e);
         }
 
+        methodMetrics.recordRequestBytes(payload.length);
+
+        // The socket is reused across invocations with different budgets, so the receive timeout is set every time.
+        connection.socket().setReceiveTimeOut(budgetMillis);
         connection.socket().send(EMPTY_DELIMITER, SNDMORE);
         connection.socket().sendByteBuffer(requestHeader.getByteBuffer(), SNDMORE);
         connection.socket().send(payload);
@@ -393,6 +406,18 @@ public class JeroMQRemoteInvocation {
         }
 
         zMsg.removeFirst();
+        return checkResponseCode(zMsg);
+
+    }
+
+    /**
+     * Strips the {@link JeroMQControlResponseCode} from the supplied response, throwing the appropriate exception if
+     * the code indicates that the request could not be routed or failed.
+     *
+     * @param zMsg the response, with all identity frames and the delimiter removed
+     * @return the supplied {@link ZMsg}
+     */
+    static ZMsg checkResponseCode(final ZMsg zMsg) {
 
         final JeroMQControlResponseCode code = stripCode(zMsg);
 
@@ -409,7 +434,7 @@ public class JeroMQRemoteInvocation {
 
     }
 
-    private RuntimeException extractException(final ZMsg zMsg) {
+    private static RuntimeException extractException(final ZMsg zMsg) {
 
         final ZFrame msgFrame = zMsg.removeFirst();
         final ZFrame exceptionFrame = zMsg.removeFirst();
@@ -424,7 +449,7 @@ public class JeroMQRemoteInvocation {
 
     }
 
-    private NodeNotFoundException extractNodeNotFoundException(ZMsg zMsg) {
+    private static NodeNotFoundException extractNodeNotFoundException(ZMsg zMsg) {
 
         final Throwable cause = extractException(zMsg);
 
@@ -437,7 +462,7 @@ public class JeroMQRemoteInvocation {
 
     }
 
-    private InstanceNotFoundException extractInstanceNotFoundException(final ZMsg zMsg) {
+    private static InstanceNotFoundException extractInstanceNotFoundException(final ZMsg zMsg) {
 
         final Throwable cause = extractException(zMsg);
 
@@ -461,6 +486,9 @@ public class JeroMQRemoteInvocation {
             case INVOCATION_ERROR:
                 handleError(msg, responseHeader);
                 break;
+            case INVOCATION_REJECTED:
+                handleRejected();
+                break;
             default:
                 // This should only happen if there is a bug in the code.
                 logger.error("Invalid response type {}", responseHeader.type.get());
@@ -484,6 +512,7 @@ public class JeroMQRemoteInvocation {
 
         try {
             final byte[] bytes = msg.pop().getData();
+            methodMetrics.recordResponseBytes(bytes.length);
             invocationResult = payloadReader.read(InvocationResult.class, bytes);
         } catch (IOException ex) {
             traceLogger.trace("Failed to Parse Response: {}", ex.getMessage());
@@ -551,6 +580,26 @@ public class JeroMQRemoteInvocation {
 
     }
 
+    private void handleRejected() {
+
+        logger.debug("Node rejected invocation.");
+
+        final var exception = new NodeBusyException("Node is saturated. Invocation was not dispatched.");
+        final var invocationError = new InvocationError();
+        invocationError.setThrowable(exception);
+
+        // The node sends no further responses for a rejected invocation, so both the synchronous and asynchronous
+        // portions are complete.
+
+        syncCompleted = true;
+        asyncCompleted = true;
+        syncErrorConsumer.accept(exception);
+        asyncInvocationErrorConsumer.acceptAndLogError(logger, invocationError);
+
+        traceLogger.trace("Invocation rejected by node.");
+
+    }
+
     private InvocationError extractInvocationError(final ZMsg msg) {
         try {
             final byte[] bytes = msg.pop().getData();
@@ -4,6 +4,7 @@ import dev.getelements.elements.rt.PayloadReader;
 import dev.getelements.elements.rt.PayloadWriter;
 import dev.getelements.elements.rt.AsyncConnectionPool;
 import dev.getelements.elements.rt.AsyncConnectionService;
+import dev.getelements.elements.rt.exception.HandlerTimeoutException;
 import dev.getelements.elements.rt.remote.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +25,7 @@ import java.util.function.Consumer;
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQAsyncOperation.State.CONNECTION_ACQUIRED;
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.zeromq.SocketType.DEALER;
 
 public class JeroMQRemoteInvoker implements RemoteInvoker {
@@ -42,8 +44,14 @@ public class JeroMQRemoteInvoker implements RemoteInvoker {
 
     private int maxConnections;
 
+    private long timeoutNanos;
+
     private final AtomicReference<AsyncConnectionPool<ZContext, ZMQ.Socket>> pool = new AtomicReference<>();
 
+    private final RemoteInvokerLoad load = new RemoteInvokerLoad();
+
+    private InvocationMetrics invocationMetrics = InvocationMetrics.getClientMetrics();
+
     @Override
     public String getConnectAddress() {
         return connectAddress;
@@ -74,6 +82,9 @@ public class JeroMQRemoteInvoker implements RemoteInvoker {
             throw new IllegalStateException("Already started.");
         }
 
+        timeoutNanos = timeoutTimeUnit.toNanos(timeout);
+        load.setTimeout(timeout, timeoutTimeUnit);
+
     }
 
     @Override
@@ -97,9 +108,15 @@ public class JeroMQRemoteInvoker implements RemoteInvoker {
         final var asyncOperation = new JeroMQAsyncOperation();
 
         final var mdcContext = MDC.getCopyOfContextMap();
+        final var deadline = deadline();
+        final var pool = getPool();
+        final var call = load.begin();
+        final var methodMetrics = getInvocationMetrics().getMethodMetrics(invocation);
+        final var started = System.nanoTime();
 
-        getPool().acquireNextAvailableConnection(connection -> {
+        pool.acquireNextAvailableConnection(connection -> {
 
+            final var budgetMillis = budgetMillis(deadline, asyncOperation);
             final var cs = asyncOperation.acquire(connection);
 
             if (CONNECTION_ACQUIRED.equals(cs.getState())) {
@@ -113,8 +130,18 @@ public class JeroMQRemoteInvoker implements RemoteInvoker {
                         getPayloadReader(),
                         getPayloadWriter(),
                         mdcContext,
-                        o -> { if (o != null) logger.warn("Async method returned value."); },
-                        ex -> logger.warn("Async method threw exception.", ex),
+                        budgetMillis,
+                        methodMetrics,
+                        o -> {
+                            call.complete();
+                            methodMetrics.record(started, null);
+                            if (o != null) logger.warn("Async method returned value.");
+                        },
+                        ex -> {
+                            call.fail(ex);
+                            methodMetrics.record(started, ex);
+                            logger.warn("Async method threw exception.", ex);
+                        },
                         asyncInvocationResultConsumerList,
                         asyncInvocationErrorConsumer
                 );
@@ -126,12 +153,25 @@ public class JeroMQRemoteInvoker implements RemoteInvoker {
                 // We put it back in the pool because we were requested a cancellation before the connection was ever
                 // assigned to to this invocation.
 
+                call.cancel();
                 connection.recycle();
                 asyncInvocationErrorConsumer.accept(cs.getInvocationError());
                 logger.debug("Canceled {} before connection assignment. Recycling.", invocation);
 
             }
 
+        }, ex -> {
+
+            // The pool closed before a connection was assigned, so the request was never sent.
+
+            call.cancel();
+            asyncOperation.cancel(() -> ex);
+
+            final var invocationError = new InvocationError();
+            invocationError.setThrowable(ex);
+            asyncInvocationErrorConsumer.acceptAndLogError(logger, invocationError);
+            logger.debug("Failed {} before connection assignment.", invocation, ex);
+
         });
 
         return asyncOperation;
@@ -148,6 +188,7 @@ public class JeroMQRemoteInvoker implements RemoteInvoker {
         final var asyncOperation = new JeroMQAsyncOperation();
 
         final var mdcContext = MDC.getCopyOfContextMap();
+        final var deadline = deadline();
         final var completableFuture = new CompletableFuture<>() {
 
             @Override
@@ -165,10 +206,16 @@ public class JeroMQRemoteInvoker implements RemoteInvoker {
 
         });
 
-        getPool().acquireNextAvailableConnection(connection -> {
+        final var pool = getPool();
+        final var call = load.begin();
+        final var methodMetrics = getInvocationMetrics().getMethodMetrics(invocation);
+        final var started = System.nanoTime();
+
+        pool.acquireNextAvailableConnection(connection -> {
 
             ref.set(connection);
 
+            final var budgetMillis = budgetMillis(deadline, asyncOperation);
             final var cs = asyncOperation.acquire(connection);
 
             if (CONNECTION_ACQUIRED.equals(cs.getState())) {
@@ -180,8 +227,18 @@ public class JeroMQRemoteInvoker implements RemoteInvoker {
                         getPayloadReader(),
                         getPayloadWriter(),
                         mdcContext,
-                        completableFuture::complete,
-                        completableFuture::completeExceptionally,
+                        budgetMillis,
+                        methodMetrics,
+                        result -> {
+                            call.complete();
+                            methodMetrics.record(started, null);
+                            completableFuture.complete(result);
+                        },
+                        throwable -> {
+                            call.fail(throwable);
+                            methodMetrics.record(started, throwable);
+                            completableFuture.completeExceptionally(throwable);
+                        },
                         asyncInvocationResultConsumerList,
                         asyncInvocationErrorConsumer
                 );
@@ -189,23 +246,68 @@ public class JeroMQRemoteInvoker implements RemoteInvoker {
                 logger.debug("Sending {} asynchronously.", jeroMQInvocation);
 
             } else {
+                call.cancel();
                 connection.recycle();
                 logger.debug("Canceled {} before connection assignment. Recycling.", invocation);
                 completableFuture.completeExceptionally(cs.getError());
             }
 
+        }, ex -> {
+            call.cancel();
+            asyncOperation.cancel(() -> ex);
+            logger.debug("Failed {} before connection assignment.", invocation, ex);
+            completableFuture.completeExceptionally(ex);
         });
 
         return completableFuture;
 
     }
 
+    private Deadline deadline() {
+
+        // Read on the calling thread, as the current deadline is not visible from the IO thread which later sends the
+        // request.
+
+        return Deadline.after(Deadline.budgetNanos(timeoutNanos), NANOSECONDS);
+
+    }
+
+    private int budgetMillis(final Deadline deadline, final JeroMQAsyncOperation asyncOperation) {
+
+        final var budgetNanos = deadline.remaining(NANOSECONDS);
+
+        // Measured once the connection is assigned, so any time spent waiting for the pool is deducted. If the
+        // deadline has passed by then, we cancel before acquiring. The request is never sent and the caller receives
+        // the error as with any other cancellation.
+
+        if (budgetNanos <= 0) {
+            asyncOperation.cancel(() ->
+                new HandlerTimeoutException("Deadline passed before sending remote invocation."));
+        }
+
+        return JeroMQMultiplexedInvocation.toBudgetMillis(budgetNanos);
+
+    }
+
+    @Override
+    public RemoteInvokerLoad getLoad() {
+        return load;
+    }
+
     private AsyncConnectionPool<ZContext, ZMQ.Socket> getPool() {
         final var pool = this.pool.get();
         if (pool == null) throw new IllegalStateException("Not currently running.");
         return pool;
     }
 
+    public InvocationMetrics getInvocationMetrics() {
+        return invocationMetrics;
+    }
+
+    public void setInvocationMetrics(InvocationMetrics invocationMetrics) {
+        this.invocationMetrics = invocationMetrics;
+    }
+
     public PayloadReader getPayloadReader() {
         return payloadReader;
     }
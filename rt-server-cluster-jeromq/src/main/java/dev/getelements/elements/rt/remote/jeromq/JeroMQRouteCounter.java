@@ -0,0 +1,34 @@
+package dev.getelements.elements.rt.remote.jeromq;
+
+import org.zeromq.ZMsg;
+
+import static java.lang.String.format;
+
+/**
+ * Counts the messages and bytes carried over a single route. Counts are recorded once per drained batch rather than
+ * once per message.
+ */
+class JeroMQRouteCounter {
+
+    private final JeroMQDebugCounter messages = new JeroMQDebugCounter();
+
+    private final JeroMQDebugCounter bytes = new JeroMQDebugCounter();
+
+    /**
+     * Records a batch of messages.
+     *
+     * @param messageCount the number of messages
+     * @param byteCount the total bytes in all frames of the messages, as reported by {@link ZMsg#contentSize()}
+     */
+    public void record(final int messageCount, final long byteCount) {
+        if (messageCount > 0) {
+            messages.add(messageCount);
+            bytes.add(byteCount);
+        }
+    }
+
+    public String toString() {
+        return format("messages: %s bytes: %s", messages, bytes);
+    }
+
+}
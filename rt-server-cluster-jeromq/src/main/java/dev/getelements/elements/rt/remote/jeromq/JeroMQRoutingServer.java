@@ -39,6 +39,11 @@ public class JeroMQRoutingServer implements AutoCloseable {
 
     private static final long POLL_TIMEOUT_MILLISECONDS = 1000;
 
+    /**
+     * The default maximum number of messages read from a single socket on each iteration of the poll loop.
+     */
+    public static final int DEFAULT_DRAIN_BUDGET = 64;
+
     private final ZContext zContextShadow;
 
     private final ZMQ.Poller poller;
@@ -57,6 +62,14 @@ public class JeroMQRoutingServer implements AutoCloseable {
                                final ZContext zContext,
                                final List<String> bindAddresses,
                                final JeroMQSecurity securityChain) {
+        this(instanceId, zContext, bindAddresses, securityChain, DEFAULT_DRAIN_BUDGET);
+    }
+
+    public JeroMQRoutingServer(final InstanceId instanceId,
+                               final ZContext zContext,
+                               final List<String> bindAddresses,
+                               final JeroMQSecurity securityChain,
+                               final int drainBudget) {
 
         this.securityChain = securityChain;
         this.logger = getLogger(instanceId);
@@ -73,8 +86,8 @@ public class JeroMQRoutingServer implements AutoCloseable {
         final var frontendIndex = poller.register(main, POLLIN | POLLERR);
         final var frontend = poller.getItem(frontendIndex);
 
-        this.multiplex = new JeroMQMultiplexRouter(instanceId, zContextShadow, poller);
-        this.demultiplex = new JeroMQDemultiplexRouter(instanceId, zContextShadow, poller, frontend);
+        this.multiplex = new JeroMQMultiplexRouter(instanceId, zContextShadow, poller, drainBudget);
+        this.demultiplex = new JeroMQDemultiplexRouter(instanceId, zContextShadow, poller, frontend, drainBudget);
         this.control = new JeroMQCommandServer(instanceId, frontend, multiplex, demultiplex);
         this.monitorThread = new JeroMQMonitorThread(JeroMQRoutingServer.class.getSimpleName(), logger, zContext, main);
         this.monitorThread.start();
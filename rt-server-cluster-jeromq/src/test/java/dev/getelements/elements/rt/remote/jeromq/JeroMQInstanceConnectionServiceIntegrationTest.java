@@ -39,6 +39,7 @@ import static dev.getelements.elements.rt.remote.jeromq.JeroMQControlResponseCod
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQInstanceConnectionService.JEROMQ_CLUSTER_BIND_ADDRESS;
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQInstanceConnectionService.JEROMQ_CONNECTION_SERVICE_REFRESH_INTERVAL_SECONDS;
 import static dev.getelements.elements.rt.remote.jeromq.JeroMQRoutingServer.CHARSET;
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQRoutingServer.DEFAULT_DRAIN_BUDGET;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
 import static java.util.UUID.fromString;
@@ -227,6 +228,55 @@ public class JeroMQInstanceConnectionServiceIntegrationTest {
     }
 
     @Test(dependsOnMethods = "testAddConnections")
+    public void testBurstRoundTrips() {
+        for (final var instanceConnection : getFirstInstanceConnectionService().getActiveConnections()) {
+            for (final var aid : mockApplicationIds) {
+                final NodeId nodeId = forInstanceAndApplication(instanceConnection.getInstanceId(), aid);
+                testBurstForNode(instanceConnection, nodeId, 4 * DEFAULT_DRAIN_BUDGET + 1);
+            }
+        }
+    }
+
+    public void testBurstForNode(final InstanceConnection instanceConnection, final NodeId nodeId, final int count) {
+        try (final ZContext context = shadow(getzContext());
+             final ZMQ.Socket socket = context.createSocket(DEALER)) {
+
+            final String connectAddress = instanceConnection.openRouteToNode(nodeId);
+            socket.connect(connectAddress);
+
+            // Sends all requests before reading any response, so that the routing server has more messages queued on
+            // each socket than it reads in a single pass.
+
+            final Set<UUID> sent = new HashSet<>();
+
+            for (int i = 0; i < count; ++i) {
+                final UUID uuid = randomUUID();
+                final ZMsg zMsg = new ZMsg();
+                zMsg.addFirst(uuid.toString().getBytes(CHARSET));
+                zMsg.addFirst(EMPTY_DELIMITER);
+                zMsg.send(socket);
+                sent.add(uuid);
+            }
+
+            final Set<UUID> received = new HashSet<>();
+
+            for (int i = 0; i < count; ++i) {
+
+                final ZMsg response = ZMsg.recvMsg(socket);
+                assertNotNull(response);
+                assertEquals(response.removeFirst().getData(), EMPTY_DELIMITER);
+                assertEquals(JeroMQControlResponseCode.stripCode(response), OK);
+
+                received.add(fromString(response.getFirst().getString(CHARSET)));
+
+            }
+
+            assertEquals(received, sent);
+
+        }
+    }
+
+    @Test(dependsOnMethods = {"testAddConnections", "testBurstRoundTrips"})
     public void testRemoveConnections() throws Exception {
 
         final CountDownLatch countDownLatch = new CountDownLatch(4);
@@ -246,6 +296,7 @@ public class JeroMQInstanceConnectionServiceIntegrationTest {
             "testStartTwiceThrowsSecond",
             "testOpenBindingsWithEchoServers",
             "testAddConnections",
+            "testBurstRoundTrips",
             "testRemoveConnections"
     })
     public void testStop() {
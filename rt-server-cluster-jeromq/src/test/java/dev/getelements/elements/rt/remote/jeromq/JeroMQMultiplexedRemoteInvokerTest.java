@@ -0,0 +1,267 @@
+package dev.getelements.elements.rt.remote.jeromq;
+
+import dev.getelements.elements.rt.exception.HandlerTimeoutException;
+import dev.getelements.elements.rt.exception.NodeBusyException;
+import dev.getelements.elements.rt.jeromq.JeroMQAsyncConnectionService;
+import dev.getelements.elements.rt.kryo.KryoPayloadReader;
+import dev.getelements.elements.rt.kryo.KryoPayloadWriter;
+import dev.getelements.elements.rt.remote.CurrentDeadline;
+import dev.getelements.elements.rt.remote.Deadline;
+import dev.getelements.elements.rt.remote.InvocationMetrics;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.zeromq.ZContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQStubNode.*;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.*;
+
+public class JeroMQMultiplexedRemoteInvokerTest {
+
+    private static final String BIND_ADDRESS = "inproc://multiplexed-invoker-test";
+
+    private static final long TIMEOUT_MSEC = 500;
+
+    private ZContext zContext;
+
+    private JeroMQAsyncConnectionService asyncConnectionService;
+
+    private JeroMQStubNode stubNode;
+
+    private JeroMQMultiplexedRemoteInvoker remoteInvoker;
+
+    @BeforeClass
+    public void setup() {
+
+        zContext = new ZContext();
+
+        asyncConnectionService = new JeroMQAsyncConnectionService();
+        asyncConnectionService.setzContext(zContext);
+        asyncConnectionService.setThreadPoolSize(2);
+        asyncConnectionService.start();
+
+        stubNode = new JeroMQStubNode(zContext, BIND_ADDRESS, new KryoPayloadReader(), new KryoPayloadWriter());
+
+        remoteInvoker = new JeroMQMultiplexedRemoteInvoker();
+        remoteInvoker.setSockets(2);
+        remoteInvoker.setPayloadReader(new KryoPayloadReader());
+        remoteInvoker.setPayloadWriter(new KryoPayloadWriter());
+        remoteInvoker.setAsyncConnectionService(asyncConnectionService);
+        remoteInvoker.start(BIND_ADDRESS, TIMEOUT_MSEC, MILLISECONDS);
+
+    }
+
+    @AfterClass
+    public void teardown() {
+        remoteInvoker.stop();
+        stubNode.close();
+        asyncConnectionService.stop();
+        zContext.close();
+    }
+
+    @Test
+    public void testConcurrentInvocationsAreCorrelated() throws Exception {
+
+        final var futures = new ArrayList<CompletableFuture<Object>>();
+
+        for (int i = 0; i < 1000; ++i) {
+            futures.add(invoke("request-" + i));
+        }
+
+        for (int i = 0; i < futures.size(); ++i) {
+            assertEquals(futures.get(i).get(10, SECONDS), "request-" + i);
+        }
+
+    }
+
+    @Test
+    public void testLoadIsTracked() throws Exception {
+
+        final var load = remoteInvoker.getLoad();
+        final var samples = load.getMetrics().samples();
+
+        assertEquals(invoke("tracked").get(10, SECONDS), "tracked");
+
+        final var metrics = load.getMetrics();
+        assertTrue(metrics.samples() > samples);
+        assertTrue(metrics.latencyNanos() > 0);
+        assertTrue(metrics.timeoutNanos() > 0);
+
+    }
+
+    @Test
+    public void testMetricsAreRecorded() throws Exception {
+
+        final var metrics = new InvocationMetrics("client");
+        remoteInvoker.setInvocationMetrics(metrics);
+
+        try {
+            assertEquals(invoke("measured").get(10, SECONDS), "measured");
+        } finally {
+            remoteInvoker.setInvocationMetrics(InvocationMetrics.getClientMetrics());
+        }
+
+        final var snapshot = metrics.getMethodMetrics(invocation("measured")).getSnapshot();
+        assertEquals(snapshot.latency().count(), 1);
+        assertEquals(snapshot.errors(), 0);
+        assertEquals(snapshot.requestBytes().count(), 1);
+        assertEquals(snapshot.responseBytes().count(), 1);
+        assertTrue(snapshot.requestBytes().max() > 0);
+
+    }
+
+    @Test
+    public void testOutOfOrderResponses() throws Exception {
+
+        final var held = List.of(invoke(HOLD), invoke(HOLD), invoke(HOLD));
+
+        Thread.sleep(50);
+        held.forEach(future -> assertFalse(future.isDone()));
+
+        assertEquals(invoke(RELEASE).get(10, SECONDS), RELEASE);
+
+        for (var future : held) {
+            assertEquals(future.get(10, SECONDS), HOLD);
+        }
+
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+
+        final var dropped = invoke(DROP);
+        final var answered = invoke("answered");
+
+        assertEquals(answered.get(10, SECONDS), "answered");
+
+        try {
+            dropped.get(10, SECONDS);
+            fail("Expected timeout.");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof HandlerTimeoutException, "Expected timeout but got " + ex.getCause());
+        }
+
+    }
+
+    @Test
+    public void testBudgetDefaultsToTimeout() throws Exception {
+
+        // The budget is what remains of the timeout when the request is written, so time spent queued counts against it.
+
+        final var budgetMillis = (Integer) invoke(BUDGET).get(10, SECONDS);
+        assertTrue(budgetMillis > 0 && budgetMillis <= TIMEOUT_MSEC, "Unexpected budget " + budgetMillis);
+
+    }
+
+    @Test
+    public void testBudgetFollowsCurrentDeadline() throws Exception {
+
+        final CompletableFuture<Object> budget;
+        final CompletableFuture<Object> dropped;
+
+        try (var scope = CurrentDeadline.getInstance().enter(Deadline.after(100, MILLISECONDS))) {
+            budget = invoke(BUDGET);
+            dropped = invoke(DROP);
+        }
+
+        final var budgetMillis = (Integer) budget.get(10, SECONDS);
+        assertTrue(budgetMillis > 0 && budgetMillis <= 100, "Unexpected budget " + budgetMillis);
+
+        // The caller stops waiting when its own deadline passes, rather than at the invoker's timeout.
+
+        final var start = System.nanoTime();
+
+        try {
+            dropped.get(10, SECONDS);
+            fail("Expected timeout.");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof HandlerTimeoutException, "Expected timeout but got " + ex.getCause());
+        }
+
+        assertTrue(System.nanoTime() - start < MILLISECONDS.toNanos(TIMEOUT_MSEC));
+
+    }
+
+    @Test
+    public void testExpiredDeadlineFailsWithoutSending() throws Exception {
+
+        final CompletableFuture<Object> expired;
+
+        try (var scope = CurrentDeadline.getInstance().enter(Deadline.after(-1, MILLISECONDS))) {
+            expired = invoke("expired");
+        }
+
+        try {
+            expired.get(10, SECONDS);
+            fail("Expected timeout.");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof HandlerTimeoutException, "Expected timeout but got " + ex.getCause());
+        }
+
+    }
+
+    @Test
+    public void testRejected() throws Exception {
+
+        try {
+            invoke(REJECT).get(10, SECONDS);
+            fail("Expected rejection.");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof NodeBusyException, "Expected rejection but got " + ex.getCause());
+        }
+
+        assertEquals(invoke("after-reject").get(10, SECONDS), "after-reject");
+
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+
+        final var errors = new CompletableFuture<Throwable>();
+        final var operation = remoteInvoker.invokeAsync(
+                invocation(DROP),
+                emptyList(),
+                invocationError -> errors.complete(invocationError.getThrowable())
+        );
+
+        operation.cancel();
+        assertFalse(errors.get(10, SECONDS) instanceof HandlerTimeoutException);
+
+        // The socket remains usable by other invocations after a cancellation.
+        assertEquals(invoke("after-cancel").get(10, SECONDS), "after-cancel");
+
+    }
+
+    @Test
+    public void testCancelCompletionStage() throws Exception {
+
+        final var future = invoke(DROP);
+        future.cancel(true);
+
+        try {
+            future.get(10, SECONDS);
+            fail("Expected cancellation.");
+        } catch (CancellationException ex) {
+            // Expected
+        }
+
+        assertEquals(invoke("after-cancel").get(10, SECONDS), "after-cancel");
+
+    }
+
+    private CompletableFuture<Object> invoke(final Object argument) {
+        return remoteInvoker
+            .invokeCompletionStage(invocation(argument), emptyList(), invocationError -> {})
+            .toCompletableFuture();
+    }
+
+}
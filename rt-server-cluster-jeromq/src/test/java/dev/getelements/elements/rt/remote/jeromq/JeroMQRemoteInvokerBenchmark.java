@@ -0,0 +1,141 @@
+package dev.getelements.elements.rt.remote.jeromq;
+
+import ch.qos.logback.classic.Level;
+import dev.getelements.elements.rt.jeromq.JeroMQAsyncConnectionService;
+import dev.getelements.elements.rt.kryo.KryoPayloadReader;
+import dev.getelements.elements.rt.kryo.KryoPayloadWriter;
+import dev.getelements.elements.rt.remote.Invocation;
+import dev.getelements.elements.rt.remote.RemoteInvoker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.zeromq.ZContext;
+
+import java.util.concurrent.CompletableFuture;
+
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQStubNode.invocation;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.Logger.ROOT_LOGGER_NAME;
+
+/**
+ * Compares the {@link JeroMQRemoteInvoker}, which holds a pooled socket for each in-flight invocation, with the
+ * {@link JeroMQMultiplexedRemoteInvoker}, which pipelines all in-flight invocations over a few sockets. Each operation
+ * sends a batch of invocations to a {@link JeroMQStubNode} and waits for all responses, so the number of in-flight
+ * invocations is the number of threads multiplied by the batch size. The sample time mode reports the p50 and p99
+ * latency of each batch.
+ *
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JeroMQRemoteInvokerBenchmark {
+
+    private static final String BIND_ADDRESS = "inproc://remote-invoker-benchmark";
+
+    /**
+     * Matches the pool limits used by the embedded instance containers in the test kit.
+     */
+    private static final int MIN_CONNECTIONS = 5;
+
+    private static final int MAX_CONNECTIONS = 250;
+
+    private static final int MULTIPLEXED_SOCKETS = 4;
+
+    @Param({"pooled", "multiplexed"})
+    private String invoker;
+
+    @Param({"1", "64"})
+    private int batch;
+
+    private ZContext zContext;
+
+    private JeroMQAsyncConnectionService asyncConnectionService;
+
+    private JeroMQStubNode stubNode;
+
+    private RemoteInvoker remoteInvoker;
+
+    private Invocation invocation;
+
+    @Setup
+    public void setup() {
+
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        zContext = new ZContext();
+
+        asyncConnectionService = new JeroMQAsyncConnectionService();
+        asyncConnectionService.setzContext(zContext);
+        asyncConnectionService.setThreadPoolSize(Runtime.getRuntime().availableProcessors() + 1);
+        asyncConnectionService.start();
+
+        stubNode = new JeroMQStubNode(zContext, BIND_ADDRESS, new KryoPayloadReader(), new KryoPayloadWriter());
+
+        remoteInvoker = switch (invoker) {
+            case "pooled" -> {
+                final var pooled = new JeroMQRemoteInvoker();
+                pooled.setMinConnections(MIN_CONNECTIONS);
+                pooled.setMaxConnections(MAX_CONNECTIONS);
+                pooled.setPayloadReader(new KryoPayloadReader());
+                pooled.setPayloadWriter(new KryoPayloadWriter());
+                pooled.setAsyncConnectionService(asyncConnectionService);
+                yield pooled;
+            }
+            case "multiplexed" -> {
+                final var multiplexed = new JeroMQMultiplexedRemoteInvoker();
+                multiplexed.setSockets(MULTIPLEXED_SOCKETS);
+                multiplexed.setPayloadReader(new KryoPayloadReader());
+                multiplexed.setPayloadWriter(new KryoPayloadWriter());
+                multiplexed.setAsyncConnectionService(asyncConnectionService);
+                yield multiplexed;
+            }
+            default -> throw new IllegalArgumentException(invoker);
+        };
+
+        remoteInvoker.start(BIND_ADDRESS);
+        invocation = invocation("benchmark");
+
+    }
+
+    @TearDown
+    public void teardown() {
+        remoteInvoker.stop();
+        stubNode.close();
+        asyncConnectionService.stop();
+        zContext.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void invoke(final Blackhole blackhole) {
+
+        final var futures = new CompletableFuture<?>[batch];
+
+        for (int i = 0; i < batch; ++i) {
+            futures[i] = remoteInvoker
+                .invokeCompletionStage(invocation, emptyList(), invocationError -> {})
+                .toCompletableFuture();
+        }
+
+        for (var future : futures) {
+            blackhole.consume(future.join());
+        }
+
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JeroMQRemoteInvokerBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
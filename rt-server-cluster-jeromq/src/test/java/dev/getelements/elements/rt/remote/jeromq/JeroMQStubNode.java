@@ -0,0 +1,181 @@
+package dev.getelements.elements.rt.remote.jeromq;
+
+import dev.getelements.elements.rt.PayloadReader;
+import dev.getelements.elements.rt.PayloadWriter;
+import dev.getelements.elements.rt.remote.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.ZContext;
+import org.zeromq.ZMsg;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static dev.getelements.elements.rt.remote.jeromq.IdentityUtil.popIdentity;
+import static dev.getelements.elements.rt.remote.jeromq.IdentityUtil.pushIdentity;
+import static dev.getelements.elements.rt.remote.jeromq.JeroMQControlResponseCode.OK;
+import static org.zeromq.SocketType.ROUTER;
+import static org.zeromq.ZContext.shadow;
+
+/**
+ * Stands in for a remote node, answering each {@link Invocation} with its first argument as the synchronous result and
+ * echoing back the identity frames exactly as the routing server and node do.
+ *
+ * Invocations whose first argument is {@link #DROP} are never answered. Invocations whose first argument is
+ * {@link #HOLD} are held until an invocation with {@link #RELEASE} arrives, at which point all held invocations are
+ * answered in the reverse order in which they arrived. Invocations whose first argument is {@link #REJECT} are
+ * answered with {@link MessageType#INVOCATION_REJECTED}, as a saturated node would. Invocations whose first argument
+ * is {@link #BUDGET} are answered with the budget from the {@link RequestHeader}.
+ */
+public class JeroMQStubNode implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JeroMQStubNode.class);
+
+    public static final String DROP = "drop";
+
+    public static final String HOLD = "hold";
+
+    public static final String RELEASE = "release";
+
+    public static final String REJECT = "reject";
+
+    public static final String BUDGET = "budget";
+
+    private final ZContext shadowZContext;
+
+    private final String bindAddress;
+
+    private final PayloadReader payloadReader;
+
+    private final PayloadWriter payloadWriter;
+
+    private final Thread thread;
+
+    public JeroMQStubNode(final ZContext zContext,
+                          final String bindAddress,
+                          final PayloadReader payloadReader,
+                          final PayloadWriter payloadWriter) {
+
+        this.shadowZContext = shadow(zContext);
+        this.bindAddress = bindAddress;
+        this.payloadReader = payloadReader;
+        this.payloadWriter = payloadWriter;
+
+        final var started = new CountDownLatch(1);
+
+        thread = new Thread(() -> run(started));
+        thread.setDaemon(true);
+        thread.setName(JeroMQStubNode.class.getSimpleName() + " " + bindAddress);
+        thread.start();
+
+        try {
+            started.await();
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+    }
+
+    private void run(final CountDownLatch started) {
+
+        final Deque<ZMsg> held = new ArrayDeque<>();
+
+        try (final var socket = shadowZContext.createSocket(ROUTER)) {
+
+            socket.setReceiveTimeOut(100);
+            socket.bind(bindAddress);
+            started.countDown();
+
+            while (!Thread.interrupted()) {
+
+                final var request = ZMsg.recvMsg(socket);
+                if (request == null) continue;
+
+                final var identity = popIdentity(request);
+
+                final var requestHeader = new RequestHeader();
+                requestHeader.getByteBuffer().put(request.pop().getData());
+
+                final var invocation = payloadReader.read(Invocation.class, request.pop().getData());
+                final var argument = invocation.getArguments().get(0);
+
+                final var response = response(BUDGET.equals(argument) ? requestHeader.budgetMillis.get() : argument);
+                pushIdentity(response, identity);
+
+                if (DROP.equals(argument)) {
+                    continue;
+                } else if (HOLD.equals(argument)) {
+                    held.push(response);
+                    continue;
+                }
+
+                response.send(socket);
+                if (RELEASE.equals(argument)) while (!held.isEmpty()) held.pop().send(socket);
+
+            }
+
+        } catch (Exception ex) {
+            logger.debug("Stub node exiting.", ex);
+        }
+
+    }
+
+    private ZMsg response(final Object argument) throws Exception {
+
+        final var rejected = REJECT.equals(argument);
+
+        final var responseHeader = new ResponseHeader();
+        responseHeader.type.set(rejected ? MessageType.INVOCATION_REJECTED : MessageType.INVOCATION_RESULT);
+        responseHeader.part.set(0);
+
+        final var responseHeaderBytes = new byte[responseHeader.size()];
+        responseHeader.getByteBuffer().get(responseHeaderBytes);
+
+        final var response = new ZMsg();
+        OK.pushResponseCode(response);
+        response.addLast(responseHeaderBytes);
+
+        if (!rejected) {
+            final var invocationResult = new InvocationResult();
+            invocationResult.setResult(argument);
+            response.addLast(payloadWriter.write(invocationResult));
+        }
+
+        return response;
+
+    }
+
+    @Override
+    public void close() {
+
+        thread.interrupt();
+
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        shadowZContext.close();
+
+    }
+
+    /**
+     * Builds an {@link Invocation} which the stub will answer with the supplied argument.
+     *
+     * @param argument the argument
+     * @return the {@link Invocation}
+     */
+    public static Invocation invocation(final Object argument) {
+        final var invocation = new Invocation();
+        invocation.setType(JeroMQStubNode.class.getName());
+        invocation.setMethod("echo");
+        invocation.setParameters(new ArrayList<>(List.of(Object.class.getName())));
+        invocation.setArguments(new ArrayList<>(List.of(argument)));
+        return invocation;
+    }
+
+}
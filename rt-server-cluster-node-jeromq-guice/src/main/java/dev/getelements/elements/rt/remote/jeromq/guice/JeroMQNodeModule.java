@@ -4,6 +4,7 @@ import com.google.inject.PrivateModule;
 import com.google.inject.binder.AnnotatedBindingBuilder;
 import com.google.inject.binder.LinkedBindingBuilder;
 import dev.getelements.elements.remote.jeromq.JeroMQNode;
+import dev.getelements.elements.remote.jeromq.JeroMQNodeDispatchMode;
 import dev.getelements.elements.sdk.cluster.id.ApplicationId;
 import dev.getelements.elements.sdk.cluster.id.InstanceId;
 import dev.getelements.elements.sdk.cluster.id.NodeId;
@@ -30,6 +31,12 @@ public class JeroMQNodeModule extends PrivateModule {
 
     private Runnable bindMaxConnectionsAction = () -> {};
 
+    private Runnable bindDispatchModeAction = () -> {};
+
+    private Runnable bindDispatchMaxConcurrencyAction = () -> {};
+
+    private Runnable bindDispatchMaxQueuedAction = () -> {};
+
     private Function<AnnotatedBindingBuilder<Node>, LinkedBindingBuilder<Node>> bindNodeAction = a -> a;
 
     private Runnable exposeNodeAction = () -> expose(Node.class);
@@ -112,6 +119,45 @@ public class JeroMQNodeModule extends PrivateModule {
         return this;
     }
 
+    /**
+     * Specifies how the node dispatches the invocations it receives.
+     *
+     * @param dispatchMode the {@link JeroMQNodeDispatchMode}
+     * @return this instance
+     */
+    public JeroMQNodeModule withDispatchMode(final JeroMQNodeDispatchMode dispatchMode) {
+        bindDispatchModeAction = () -> bind(JeroMQNodeDispatchMode.class)
+            .annotatedWith(named(JEROMQ_NODE_DISPATCH_MODE))
+            .toInstance(dispatchMode);
+        return this;
+    }
+
+    /**
+     * Specifies the maximum number of invocations the node executes concurrently.
+     *
+     * @param maxConcurrency the maximum concurrency
+     * @return this instance
+     */
+    public JeroMQNodeModule withDispatchMaxConcurrency(final int maxConcurrency) {
+        bindDispatchMaxConcurrencyAction = () -> bind(Integer.class)
+            .annotatedWith(named(JEROMQ_NODE_DISPATCH_MAX_CONCURRENCY))
+            .toInstance(maxConcurrency);
+        return this;
+    }
+
+    /**
+     * Specifies the maximum number of invocations which may wait to execute before the node rejects new invocations.
+     *
+     * @param maxQueued the maximum number of queued invocations
+     * @return this instance
+     */
+    public JeroMQNodeModule withDispatchMaxQueued(final int maxQueued) {
+        bindDispatchMaxQueuedAction = () -> bind(Integer.class)
+            .annotatedWith(named(JEROMQ_NODE_DISPATCH_MAX_QUEUED))
+            .toInstance(maxQueued);
+        return this;
+    }
+
     /**
      * Specifies an {@link Annotation} to bind to the underlying {@link Node}.
      *
@@ -156,6 +202,9 @@ public class JeroMQNodeModule extends PrivateModule {
         bindNodeNameAction.run();
         bindMinConnectionsAction.run();
         bindMaxConnectionsAction.run();
+        bindDispatchModeAction.run();
+        bindDispatchMaxConcurrencyAction.run();
+        bindDispatchMaxQueuedAction.run();
 
         exposeNodeAction.run();
 
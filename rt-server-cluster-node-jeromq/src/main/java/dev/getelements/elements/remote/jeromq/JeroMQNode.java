@@ -8,6 +8,7 @@ import dev.getelements.elements.rt.remote.LocalInvocationDispatcher;
 import dev.getelements.elements.rt.remote.Node;
 import dev.getelements.elements.rt.remote.NodeLifecycle;
 import dev.getelements.elements.rt.remote.NodeState;
+import dev.getelements.elements.rt.remote.ResponseHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.zeromq.ZContext;
@@ -17,15 +18,18 @@ import org.zeromq.ZMsg;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static dev.getelements.elements.rt.AsyncConnection.Event.ERROR;
 import static dev.getelements.elements.rt.AsyncConnection.Event.READ;
+import static dev.getelements.elements.rt.remote.MessageType.INVOCATION_REJECTED;
+import static dev.getelements.elements.rt.remote.jeromq.IdentityUtil.EMPTY_DELIMITER;
+import static dev.getelements.elements.rt.remote.jeromq.IdentityUtil.popIdentity;
 import static dev.getelements.elements.rt.remote.NodeState.*;
 import static java.lang.String.format;
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newThreadPerTaskExecutor;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.zeromq.SocketType.*;
 import static org.zeromq.ZMQ.Socket;
@@ -40,6 +44,29 @@ public class JeroMQNode implements Node {
 
     public static final String JEROMQ_NODE_MAX_CONNECTIONS = "dev.getelements.elements.remote.jeromq.node.max.connections";
 
+    /**
+     * Selects the {@link JeroMQNodeDispatchMode}. If unspecified, the node uses {@link #DEFAULT_DISPATCH_MODE}.
+     */
+    public static final String JEROMQ_NODE_DISPATCH_MODE = "dev.getelements.elements.remote.jeromq.node.dispatch.mode";
+
+    /**
+     * The maximum number of invocations the node executes concurrently when using
+     * {@link JeroMQNodeDispatchMode#VIRTUAL_THREADS}.
+     */
+    public static final String JEROMQ_NODE_DISPATCH_MAX_CONCURRENCY = "dev.getelements.elements.remote.jeromq.node.dispatch.max.concurrency";
+
+    /**
+     * The maximum number of invocations which may wait for a turn to execute when using
+     * {@link JeroMQNodeDispatchMode#VIRTUAL_THREADS}. Invocations arriving beyond this limit are rejected.
+     */
+    public static final String JEROMQ_NODE_DISPATCH_MAX_QUEUED = "dev.getelements.elements.remote.jeromq.node.dispatch.max.queued";
+
+    public static final JeroMQNodeDispatchMode DEFAULT_DISPATCH_MODE = JeroMQNodeDispatchMode.CACHED_THREADS;
+
+    public static final int DEFAULT_DISPATCH_MAX_CONCURRENCY = 1024;
+
+    public static final int DEFAULT_DISPATCH_MAX_QUEUED = 4096;
+
     private final AtomicReference<NodeState> state = new AtomicReference<>(READY);
 
     private final AtomicReference<NodeContext> context = new AtomicReference<>();
@@ -52,6 +79,14 @@ public class JeroMQNode implements Node {
 
     private int maxConnections;
 
+    private JeroMQNodeDispatchMode dispatchMode = DEFAULT_DISPATCH_MODE;
+
+    private int dispatchMaxConcurrency = DEFAULT_DISPATCH_MAX_CONCURRENCY;
+
+    private int dispatchMaxQueued = DEFAULT_DISPATCH_MAX_QUEUED;
+
+    private LoadMonitorService loadMonitorService;
+
     private LocalInvocationDispatcher invocationDispatcher;
 
     private PayloadReader payloadReader;
@@ -278,6 +313,42 @@ public class JeroMQNode implements Node {
         this.maxConnections = maxConnections;
     }
 
+    public JeroMQNodeDispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    @com.google.inject.Inject(optional = true)
+    public void setDispatchMode(@Named(JEROMQ_NODE_DISPATCH_MODE) JeroMQNodeDispatchMode dispatchMode) {
+        this.dispatchMode = dispatchMode;
+    }
+
+    public int getDispatchMaxConcurrency() {
+        return dispatchMaxConcurrency;
+    }
+
+    @com.google.inject.Inject(optional = true)
+    public void setDispatchMaxConcurrency(@Named(JEROMQ_NODE_DISPATCH_MAX_CONCURRENCY) int dispatchMaxConcurrency) {
+        this.dispatchMaxConcurrency = dispatchMaxConcurrency;
+    }
+
+    public int getDispatchMaxQueued() {
+        return dispatchMaxQueued;
+    }
+
+    @com.google.inject.Inject(optional = true)
+    public void setDispatchMaxQueued(@Named(JEROMQ_NODE_DISPATCH_MAX_QUEUED) int dispatchMaxQueued) {
+        this.dispatchMaxQueued = dispatchMaxQueued;
+    }
+
+    public LoadMonitorService getLoadMonitorService() {
+        return loadMonitorService;
+    }
+
+    @com.google.inject.Inject(optional = true)
+    public void setLoadMonitorService(LoadMonitorService loadMonitorService) {
+        this.loadMonitorService = loadMonitorService;
+    }
+
     public NodeLifecycle getNodeLifecycle() {
         return nodeLifecycle;
     }
@@ -299,18 +370,40 @@ public class JeroMQNode implements Node {
 
         private final AtomicInteger dispatcherCount = new AtomicInteger();
 
-        private final ExecutorService dispatchExecutorService = newCachedThreadPool(r -> {
-            final Thread thread = new Thread(r);
-            thread.setDaemon(true);
-            thread.setName(format("%s %s.in #%d", getClass().getSimpleName(), getName(), dispatcherCount.incrementAndGet()));
-            thread.setUncaughtExceptionHandler(((t, e) -> logger.error("Fatal Error: {}", t, e)));
-            return thread;
-        });
+        private final JeroMQNodeDispatcher dispatcher = newDispatcher();
+
+        private JeroMQNodeDispatcher newDispatcher() {
+            switch (getDispatchMode()) {
+                case CACHED_THREADS:
+                    return JeroMQNodeDispatcher.unbounded(newCachedThreadPool(r -> {
+                        final Thread thread = new Thread(r);
+                        thread.setDaemon(true);
+                        thread.setName(format("%s %s.in #%d", getClass().getSimpleName(), getName(), dispatcherCount.incrementAndGet()));
+                        thread.setUncaughtExceptionHandler(((t, e) -> logger.error("Fatal Error: {}", t, e)));
+                        return thread;
+                    }));
+                case VIRTUAL_THREADS:
+                    return new JeroMQNodeDispatcher(
+                        newThreadPerTaskExecutor(Thread.ofVirtual()
+                            .name(format("%s %s.in #", getClass().getSimpleName(), getName()), 0)
+                            .uncaughtExceptionHandler(((t, e) -> logger.error("Fatal Error: {}", t, e)))
+                            .factory()),
+                        getDispatchMaxConcurrency(),
+                        getDispatchMaxQueued()
+                    );
+                default:
+                    throw new IllegalStateException("Unknown dispatch mode: " + getDispatchMode());
+            }
+        }
 
         public void start(final InstanceBinding instanceBinding) {
 
             final CountDownLatch latch = new CountDownLatch(3);
 
+            if (getLoadMonitorService() != null) {
+                getLoadMonitorService().addInvocationLoad(dispatcher);
+            }
+
             outboundConnectionPool = getAsyncConnectionService().allocatePool(
                 "JeroMQNode Outbound",
                 getMinConnections(),
@@ -356,8 +449,37 @@ public class JeroMQNode implements Node {
         }
 
         private void onFrontendRead(final AsyncConnection<ZContext, ZMQ.Socket> connection) {
+
             final ZMsg msg = ZMsg.recvMsg(connection.socket());
-            dispatchExecutorService.submit(() -> dispatch(msg));
+            final long received = System.nanoTime();
+
+            if (!dispatcher.dispatch(() -> dispatch(msg, received))) {
+                reject(connection.socket(), msg);
+            }
+
+        }
+
+        private void reject(final ZMQ.Socket frontend, final ZMsg msg) {
+
+            // Sent directly from the IO thread, which owns the frontend socket, so that a saturated node does not also
+            // need a dispatch thread to refuse work.
+
+            logger.debug("Node saturated. Rejecting invocation. In flight: {}, Queued: {}",
+                dispatcher.getInFlightInvocations(),
+                dispatcher.getQueuedInvocations());
+
+            final ResponseHeader responseHeader = new ResponseHeader();
+            responseHeader.type.set(INVOCATION_REJECTED);
+            responseHeader.part.set(0);
+
+            final byte[] responseHeaderBytes = new byte[responseHeader.size()];
+            responseHeader.getByteBuffer().get(responseHeaderBytes);
+
+            final ZMsg response = popIdentity(msg);
+            response.addLast(EMPTY_DELIMITER);
+            response.addLast(responseHeaderBytes);
+            response.send(frontend);
+
         }
 
         private void onFrontendError(final AsyncConnection<ZContext, ZMQ.Socket> connection) {
@@ -377,12 +499,16 @@ public class JeroMQNode implements Node {
 
         public void stop() {
 
+            if (getLoadMonitorService() != null) {
+                getLoadMonitorService().removeInvocationLoad(dispatcher);
+            }
+
             mainConnectionGroup.close();
             outboundConnectionPool.close();
-            dispatchExecutorService.shutdownNow();
+            dispatcher.shutdownNow();
 
             try {
-                if (!dispatchExecutorService.awaitTermination(10, MINUTES)) {
+                if (!dispatcher.awaitTermination(10, MINUTES)) {
                     logger.error("Terminating dispatchers timed out.");
                 }
             } catch (InterruptedException e) {
@@ -391,17 +517,30 @@ public class JeroMQNode implements Node {
 
         }
 
-        private void dispatch(final ZMsg msg) {
+        private void dispatch(final ZMsg msg, final long received) {
 
             final JeroMQNodeInvocation invocation = new JeroMQNodeInvocation(
                 msg,
+                received,
                 getInvocationDispatcher(),
                 getPayloadReader(),
                 getPayloadWriter(),
                 outboundConnectionPool
             );
 
-            invocation.dispatch();
+            // The invocation may have waited in the dispatcher's queue long enough that the caller has given up. Any
+            // response would be discarded, so we skip the work and send nothing.
+
+            if (invocation.isExpired()) {
+                logger.debug("Dropping invocation whose deadline passed before dispatch.");
+                return;
+            }
+
+            try {
+                invocation.dispatch();
+            } catch (Exception ex) {
+                logger.error("Caught exception dispatching invocation.", ex);
+            }
 
         }
 
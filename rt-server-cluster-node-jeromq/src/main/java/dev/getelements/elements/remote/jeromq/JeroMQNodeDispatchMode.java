@@ -0,0 +1,19 @@
+package dev.getelements.elements.remote.jeromq;
+
+/**
+ * Selects how a {@link JeroMQNode} runs the invocations it receives.
+ */
+public enum JeroMQNodeDispatchMode {
+
+    /**
+     * Runs each invocation on a platform thread from an unbounded cached thread pool. Concurrency limits are ignored.
+     */
+    CACHED_THREADS,
+
+    /**
+     * Runs each invocation on its own virtual thread, subject to the node's concurrency and queue limits. Invocations
+     * arriving when both are exhausted are rejected.
+     */
+    VIRTUAL_THREADS
+
+}
@@ -0,0 +1,157 @@
+package dev.getelements.elements.remote.jeromq;
+
+import dev.getelements.elements.rt.InvocationLoad;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the invocations received by a {@link JeroMQNode}, limiting the number which may execute concurrently and the
+ * number which may wait for a turn. Waiting invocations hold a thread from the underlying {@link ExecutorService}, so
+ * the limits are intended for use with virtual threads, where a waiting thread costs little.
+ */
+class JeroMQNodeDispatcher implements InvocationLoad {
+
+    private final ExecutorService executorService;
+
+    private final long maxOutstanding;
+
+    private final Semaphore permits;
+
+    private final AtomicLong outstanding = new AtomicLong();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param executorService the {@link ExecutorService} which runs the invocations
+     * @param maxConcurrency the maximum number of invocations which may execute concurrently, must be positive
+     * @param maxQueued the maximum number of invocations which may wait to execute, must not be negative
+     */
+    JeroMQNodeDispatcher(final ExecutorService executorService, final int maxConcurrency, final int maxQueued) {
+
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Max queued must not be negative: " + maxQueued);
+        }
+
+        this.executorService = executorService;
+        this.maxOutstanding = (long) maxConcurrency + maxQueued;
+        this.permits = new Semaphore(maxConcurrency);
+
+    }
+
+    /**
+     * Creates a dispatcher which imposes no limits.
+     *
+     * @param executorService the {@link ExecutorService} which runs the invocations
+     * @return the dispatcher
+     */
+    static JeroMQNodeDispatcher unbounded(final ExecutorService executorService) {
+        return new JeroMQNodeDispatcher(executorService, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Submits the invocation unless the dispatcher is saturated. This never blocks.
+     *
+     * @param invocation the invocation
+     * @return true if the invocation was accepted, false if the caller must reject it
+     */
+    boolean dispatch(final Runnable invocation) {
+
+        long current;
+
+        do {
+
+            current = outstanding.get();
+
+            if (current >= maxOutstanding) {
+                rejected.incrementAndGet();
+                return false;
+            }
+
+        } while (!outstanding.compareAndSet(current, current + 1));
+
+        queued.incrementAndGet();
+
+        try {
+            executorService.execute(() -> run(invocation));
+        } catch (RejectedExecutionException ex) {
+            queued.decrementAndGet();
+            outstanding.decrementAndGet();
+            rejected.incrementAndGet();
+            return false;
+        }
+
+        return true;
+
+    }
+
+    private void run(final Runnable invocation) {
+
+        try {
+
+            try {
+                permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                queued.decrementAndGet();
+            }
+
+            inFlight.incrementAndGet();
+
+            try {
+                invocation.run();
+            } finally {
+                inFlight.decrementAndGet();
+                permits.release();
+            }
+
+        } finally {
+            outstanding.decrementAndGet();
+        }
+
+    }
+
+    void shutdownNow() {
+        executorService.shutdownNow();
+    }
+
+    boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return executorService.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public int getInFlightInvocations() {
+        return inFlight.get();
+    }
+
+    @Override
+    public int getQueuedInvocations() {
+        return queued.get();
+    }
+
+    /**
+     * Gets the total number of invocations rejected because the dispatcher was saturated.
+     *
+     * @return the rejected count
+     */
+    long getRejectedInvocations() {
+        return rejected.get();
+    }
+
+}
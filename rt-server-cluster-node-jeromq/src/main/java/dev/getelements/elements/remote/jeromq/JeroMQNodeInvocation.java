@@ -23,6 +23,7 @@ import static dev.getelements.elements.rt.AsyncConnection.Event.WRITE;
 import static dev.getelements.elements.rt.remote.MessageType.INVOCATION_ERROR;
 import static dev.getelements.elements.rt.remote.jeromq.IdentityUtil.EMPTY_DELIMITER;
 import static dev.getelements.elements.rt.remote.jeromq.IdentityUtil.popIdentity;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.IntStream.range;
 
@@ -54,7 +55,12 @@ public class JeroMQNodeInvocation {
 
     private final byte[] payload;
 
+    private final Deadline deadline;
+
+    private volatile Invocation invocation;
+
     public JeroMQNodeInvocation(final ZMsg incoming,
+                                final long receivedNanoTime,
                                 final LocalInvocationDispatcher localInvocationDispatcher,
                                 final PayloadReader payloadReader,
                                 final PayloadWriter payloadWriter,
@@ -72,6 +78,9 @@ public class JeroMQNodeInvocation {
         final int remaining = requestHeader.additionalParts.get();
         this.remaining = new AtomicInteger(remaining);
 
+        final int budgetMillis = requestHeader.budgetMillis.get();
+        this.deadline = budgetMillis > 0 ? Deadline.after(receivedNanoTime, budgetMillis, MILLISECONDS) : null;
+
         payload = incoming.remove().getData();
 
         this.syncInvocationResultConsumer = r -> {
@@ -109,7 +118,31 @@ public class JeroMQNodeInvocation {
         }).collect(toList());
     }
 
+    /**
+     * Checks if the caller has already given up waiting on this invocation. The caller's clock started before ours did,
+     * so if the deadline has passed here then it has certainly passed for the caller.
+     *
+     * @return true if the deadline has passed, false if it has not or if the caller sent no deadline
+     */
+    public boolean isExpired() {
+        return deadline != null && deadline.isExpired();
+    }
+
+    /**
+     * Dispatches the invocation. If the caller sent a deadline, it is in scope as the {@link CurrentDeadline} for the
+     * duration so that any further remote invocations made along the way carry the remaining budget.
+     */
     public void dispatch() {
+        if (deadline == null) {
+            doDispatch();
+        } else {
+            try (var scope = CurrentDeadline.getInstance().enter(deadline)) {
+                doDispatch();
+            }
+        }
+    }
+
+    private void doDispatch() {
 
         final Invocation invocation;
 
@@ -122,11 +155,20 @@ public class JeroMQNodeInvocation {
             return;
         }
 
+        // The dispatcher creates the metrics once it has resolved the method, so the sizes are only recorded for
+        // methods which exist.
+
+        this.invocation = invocation;
+
         localInvocationDispatcher.dispatch(
             invocation,
             syncInvocationResultConsumer, syncInvocationErrorConsumer,
             asyncInvocationResultConsumerList, asyncInvocationErrorConsumer);
 
+        InvocationMetrics.getServerMetrics()
+            .findMethodMetrics(invocation)
+            .ifPresent(methodMetrics -> methodMetrics.recordRequestBytes(payload.length));
+
         if (!sync.get()) {
             throw new InternalException("Sync callback was not made.");
         }
@@ -154,6 +196,14 @@ public class JeroMQNodeInvocation {
             return;
         }
 
+        final var invocation = this.invocation;
+
+        if (invocation != null) {
+            InvocationMetrics.getServerMetrics()
+                .findMethodMetrics(invocation)
+                .ifPresent(methodMetrics -> methodMetrics.recordResponseBytes(payload.length));
+        }
+
         final ZMsg msg = identity.duplicate();
 
         msg.addLast(EMPTY_DELIMITER);
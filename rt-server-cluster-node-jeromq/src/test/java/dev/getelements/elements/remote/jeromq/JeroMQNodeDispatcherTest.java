@@ -0,0 +1,133 @@
+package dev.getelements.elements.remote.jeromq;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.*;
+
+public class JeroMQNodeDispatcherTest {
+
+    @Test
+    public void testRejectsWhenSaturated() throws Exception {
+
+        final var dispatcher = new JeroMQNodeDispatcher(Executors.newVirtualThreadPerTaskExecutor(), 2, 3);
+        final var started = new CountDownLatch(2);
+        final var release = new CountDownLatch(1);
+        final var completed = new AtomicInteger();
+
+        try {
+
+            for (int i = 0; i < 5; ++i) {
+                assertTrue(dispatcher.dispatch(() -> {
+                    started.countDown();
+                    await(release);
+                    completed.incrementAndGet();
+                }));
+            }
+
+            assertTrue(started.await(10, SECONDS));
+            assertFalse(dispatcher.dispatch(completed::incrementAndGet));
+            assertEquals(dispatcher.getRejectedInvocations(), 1);
+
+            awaitLoad(dispatcher, 2, 3);
+
+            release.countDown();
+            awaitCompleted(completed, 5);
+            awaitLoad(dispatcher, 0, 0);
+
+            // Capacity is restored once the outstanding invocations complete.
+            assertTrue(dispatcher.dispatch(completed::incrementAndGet));
+            awaitCompleted(completed, 6);
+
+        } finally {
+            release.countDown();
+            dispatcher.shutdownNow();
+            assertTrue(dispatcher.awaitTermination(10, SECONDS));
+        }
+
+    }
+
+    @Test
+    public void testLimitsConcurrency() throws Exception {
+
+        final var dispatcher = new JeroMQNodeDispatcher(Executors.newVirtualThreadPerTaskExecutor(), 4, 1000);
+        final var done = new CountDownLatch(1000);
+        final var current = new AtomicInteger();
+        final var peak = new AtomicInteger();
+
+        try {
+
+            for (int i = 0; i < 1000; ++i) {
+                assertTrue(dispatcher.dispatch(() -> {
+                    peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                    Thread.yield();
+                    current.decrementAndGet();
+                    done.countDown();
+                }));
+            }
+
+            assertTrue(done.await(10, SECONDS));
+            assertTrue(peak.get() <= 4, "Peak concurrency " + peak.get());
+
+        } finally {
+            dispatcher.shutdownNow();
+            assertTrue(dispatcher.awaitTermination(10, SECONDS));
+        }
+
+    }
+
+    @Test
+    public void testRejectsAfterShutdown() throws Exception {
+
+        final var dispatcher = JeroMQNodeDispatcher.unbounded(Executors.newCachedThreadPool());
+        dispatcher.shutdownNow();
+        assertTrue(dispatcher.awaitTermination(10, SECONDS));
+
+        assertFalse(dispatcher.dispatch(() -> {}));
+        assertEquals(dispatcher.getRejectedInvocations(), 1);
+        assertEquals(dispatcher.getQueuedInvocations(), 0);
+
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidConcurrency() {
+        new JeroMQNodeDispatcher(Executors.newCachedThreadPool(), 0, 0);
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCompleted(final AtomicInteger completed, final int expected) throws InterruptedException {
+
+        final var deadline = System.nanoTime() + SECONDS.toNanos(10);
+
+        while (completed.get() != expected) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + expected + " completions.");
+            Thread.sleep(1);
+        }
+
+    }
+
+    private static void awaitLoad(final JeroMQNodeDispatcher dispatcher,
+                                  final int inFlight,
+                                  final int queued) throws InterruptedException {
+
+        final var deadline = System.nanoTime() + SECONDS.toNanos(10);
+
+        while (dispatcher.getInFlightInvocations() != inFlight || dispatcher.getQueuedInvocations() != queued) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for load " + inFlight + "/" + queued);
+            Thread.sleep(1);
+        }
+
+    }
+
+}
@@ -1,8 +1,5 @@
 package dev.getelements.elements.rt.remote;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import dev.getelements.elements.rt.annotation.RemoteService;
 import dev.getelements.elements.rt.exception.ServiceNotFoundException;
 import org.slf4j.Logger;
@@ -11,14 +8,13 @@ import org.slf4j.LoggerFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 
 import static dev.getelements.elements.rt.annotation.RemoteScope.REMOTE_PROTOCOL;
 import static dev.getelements.elements.rt.annotation.RemoteScope.REMOTE_SCOPE;
 import static java.lang.String.format;
-import static java.util.Collections.unmodifiableList;
 
 public abstract class AbstractLocalInvocationDispatcher implements LocalInvocationDispatcher {
 
@@ -28,28 +24,9 @@ public abstract class AbstractLocalInvocationDispatcher implements LocalInvocati
 
     private String protocol;
 
-    private final LoadingCache<MethodKey, LocalInvocationProcessor> localDispatcherCache = CacheBuilder
-        .newBuilder()
-        .weakKeys()
-        .build(new CacheLoader<>() {
+    private InvocationMetrics invocationMetrics = InvocationMetrics.getServerMetrics();
 
-            @Override
-            public LocalInvocationProcessor load(final MethodKey key) throws Exception {
-
-                final var definition = RemoteService.Util.getScope(
-                    key.getType(),
-                    getProtocol(),
-                    getScope()
-                );
-
-                return new LocalInvocationProcessorBuilder(
-                    definition,
-                    key.getType(),
-                    key.getMethod(),
-                    key.getParameters()).build();
-
-            }
-        });
+    private final ConcurrentMap<String, LocalInvocationDispatchTable> dispatchTables = new ConcurrentHashMap<>();
 
     @Override
     public void dispatch(final Invocation invocation,
@@ -58,64 +35,87 @@ public abstract class AbstractLocalInvocationDispatcher implements LocalInvocati
                          final List<Consumer<InvocationResult>> additionalInvocationResultConsumerList,
                          final Consumer<InvocationError> asyncInvocationErrorConsumer) {
 
-        final Class<?> type;
+        final var dispatchTable = getDispatchTable(invocation.getType());
+        final LocalInvocationProcessor localInvocationProcessor;
 
         try {
-            type = Class.forName(invocation.getType());
-        } catch (final ClassNotFoundException e) {
-            throw new ServiceNotFoundException(format(
-                "Service Not found for %s (%s - %s)",
-                invocation.getType(),
-                getScope(),
-                getProtocol()
-            ));
+            localInvocationProcessor = dispatchTable.getProcessor(invocation);
+        } catch (ClassNotFoundException ex) {
+            logger.error("Caught exception resolving target for invocation.", ex);
+            final InvocationError invocationError = new InvocationError();
+            invocationError.setThrowable(ex);
+            syncInvocationErrorConsumer.accept(invocationError);
+            return;
+        } catch (final Exception ex) {
+            logger.error("Caught exception resolving target for invocation.", ex);
+            final InvocationError invocationError = new InvocationError();
+            invocationError.setThrowable(ex);
+            syncInvocationErrorConsumer.accept(invocationError);
+            asyncInvocationErrorConsumer.accept(invocationError);
+            return;
         }
 
+        // The metrics are keyed on names supplied by the remote peer, so they are only created once the method is known
+        // to exist. Otherwise a peer could grow the metrics, and the registered MXBeans, without limit. The time is
+        // measured to the sync result, which for methods returning a future is when the future completes rather than
+        // when the method returns.
+
+        final var methodMetrics = getInvocationMetrics().getMethodMetrics(invocation);
+        final var started = System.nanoTime();
+
+        final Consumer<InvocationResult> timedInvocationResultConsumer = invocationResult -> {
+            methodMetrics.record(started, null);
+            syncInvocationResultConsumer.accept(invocationResult);
+        };
+
+        final Consumer<InvocationError> timedInvocationErrorConsumer = invocationError -> {
+            methodMetrics.record(started, invocationError.getThrowable());
+            syncInvocationErrorConsumer.accept(invocationError);
+        };
+
         try {
 
-            final var object = resolve(type, invocation);
+            final var object = resolve(dispatchTable.getType(), invocation);
 
-            doDispatch(
-                type, object, invocation,
-                syncInvocationResultConsumer, syncInvocationErrorConsumer,
+            localInvocationProcessor.processInvocation(
+                object, invocation,
+                timedInvocationResultConsumer, timedInvocationErrorConsumer,
                 additionalInvocationResultConsumerList, asyncInvocationErrorConsumer);
 
         } catch (final Exception ex) {
             logger.error("Caught exception resolving target for invocation.", ex);
             final InvocationError invocationError = new InvocationError();
             invocationError.setThrowable(ex);
-            syncInvocationErrorConsumer.accept(invocationError);
+            timedInvocationErrorConsumer.accept(invocationError);
             asyncInvocationErrorConsumer.accept(invocationError);
         }
 
     }
 
-    private void doDispatch(
-            final Class<?> type,
-            final Object object,
-            final Invocation invocation,
-            final Consumer<InvocationResult> syncInvocationResultConsumer,
-            final Consumer<InvocationError> syncInvocationErrorConsumer,
-            final List<Consumer<InvocationResult>> asyncInvocationResultConsumerList,
-            final Consumer<InvocationError> asyncInvocationErrorConsumer) throws Exception {
+    private LocalInvocationDispatchTable getDispatchTable(final String typeName) {
+        final var dispatchTable = dispatchTables.get(typeName);
+        return dispatchTable == null
+            ? dispatchTables.computeIfAbsent(typeName, this::compileDispatchTable)
+            : dispatchTable;
+    }
+
+    private LocalInvocationDispatchTable compileDispatchTable(final String typeName) {
 
-        final LocalInvocationProcessor localInvocationDispatcher;
+        final Class<?> type;
 
         try {
-            final MethodKey methodKey = new MethodKey(type, invocation);
-            localInvocationDispatcher = localDispatcherCache.get(methodKey);
-        } catch (ExecutionException ex) {
-            logger.error("Caught exception resolving target for invocation.", ex);
-            final InvocationError invocationError = new InvocationError();
-            invocationError.setThrowable(ex);
-            syncInvocationErrorConsumer.accept(invocationError);
-            return;
+            type = Class.forName(typeName);
+        } catch (final ClassNotFoundException e) {
+            throw new ServiceNotFoundException(format(
+                "Service Not found for %s (%s - %s)",
+                typeName,
+                getScope(),
+                getProtocol()
+            ));
         }
 
-        localInvocationDispatcher.processInvocation(
-            object, invocation,
-            syncInvocationResultConsumer, syncInvocationErrorConsumer,
-            asyncInvocationResultConsumerList, asyncInvocationErrorConsumer);
+        final var definition = RemoteService.Util.getScope(type, getProtocol(), getScope());
+        return new LocalInvocationDispatchTable(type, definition);
 
     }
 
@@ -132,6 +132,14 @@ public abstract class AbstractLocalInvocationDispatcher implements LocalInvocati
         throw new InternalError("No target for " + type.getName() + " with name " + name);
     }
 
+    public InvocationMetrics getInvocationMetrics() {
+        return invocationMetrics;
+    }
+
+    public void setInvocationMetrics(InvocationMetrics invocationMetrics) {
+        this.invocationMetrics = invocationMetrics;
+    }
+
     public String getScope() {
         return scope;
     }
@@ -150,57 +158,4 @@ public abstract class AbstractLocalInvocationDispatcher implements LocalInvocati
         this.protocol = protocol;
     }
 
-    private static class MethodKey {
-
-        private final Class<?> type;
-
-        private final String method;
-
-        private final List<String> parameters;
-
-        public MethodKey(final Class<?> type, final Invocation invocation) {
-            this(type, invocation.getMethod(), invocation.getParameters());
-        }
-
-        public MethodKey(final Class<?> type,
-                         final String name,
-                         final List<String> parameters) {
-            this.type = type;
-            this.method = name;
-            this.parameters = unmodifiableList(new CopyOnWriteArrayList<>(parameters));
-        }
-
-        public Class<?> getType() {
-            return type;
-        }
-
-        public String getMethod() {
-            return method;
-        }
-
-        public List<String> getParameters() {
-            return parameters;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof MethodKey)) return false;
-
-            MethodKey methodKey = (MethodKey) o;
-
-            if (!getType().equals(methodKey.getType())) return false;
-            if (!getMethod().equals(methodKey.getMethod())) return false;
-            return getParameters().equals(methodKey.getParameters());
-        }
-
-        @Override
-        public int hashCode() {
-            int result = getType().hashCode();
-            result = 31 * result + getMethod().hashCode();
-            result = 31 * result + getParameters().hashCode();
-            return result;
-        }
-
-    }
 }
@@ -0,0 +1,145 @@
+package dev.getelements.elements.rt.remote;
+
+import dev.getelements.elements.rt.annotation.RemoteScope;
+import dev.getelements.elements.rt.annotation.RemoteService;
+import dev.getelements.elements.rt.annotation.RemotelyInvokable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static dev.getelements.elements.rt.Reflection.methods;
+import static dev.getelements.elements.rt.annotation.CaseFormat.LOWER_CAMEL;
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * Maps the method name and parameter signature carried by an {@link Invocation} to the compiled
+ * {@link LocalInvocationProcessor} for a single {@link RemoteService} type. The table is built once per type, when it
+ * is first seen, so that dispatching an {@link Invocation} needs only a single hash lookup rather than a reflective
+ * scan of the type.
+ */
+public class LocalInvocationDispatchTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalInvocationDispatchTable.class);
+
+    private final Class<?> type;
+
+    private final RemoteScope remoteScope;
+
+    private final ConcurrentMap<Signature, LocalInvocationProcessor> processors = new ConcurrentHashMap<>();
+
+    /**
+     * Compiles the table for all {@link RemotelyInvokable} methods of the supplied type.
+     *
+     * @param type the type
+     * @param remoteScope the {@link RemoteScope} under which the type is exposed
+     */
+    public LocalInvocationDispatchTable(final Class<?> type, final RemoteScope remoteScope) {
+
+        this.type = type;
+        this.remoteScope = remoteScope;
+
+        final var seen = new HashSet<Signature>();
+        final var methodCaseFormat = remoteScope.style().methodCaseFormat();
+
+        // As with the LocalInvocationProcessorBuilder, the first method matching a signature wins, so only that method
+        // is compiled.
+
+        methods(type).forEach(method -> {
+
+            final var name = methodCaseFormat.to(LOWER_CAMEL, method.getName());
+
+            final var parameters = stream(method.getParameterTypes())
+                .map(Class::getName)
+                .collect(toUnmodifiableList());
+
+            final var signature = new Signature(name, parameters);
+
+            if (!seen.add(signature) || method.getAnnotationsByType(RemotelyInvokable.class).length == 0) {
+                return;
+            }
+
+            try {
+                processors.put(signature, new LocalInvocationProcessorBuilder(method).build());
+            } catch (IllegalArgumentException ex) {
+                logger.debug("Unable to compile {}. Deferring error until invoked.", method, ex);
+            }
+
+        });
+
+    }
+
+    /**
+     * Gets the type for which this table was compiled.
+     *
+     * @return the type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the {@link LocalInvocationProcessor} for the supplied {@link Invocation}.
+     *
+     * @param invocation the {@link Invocation}
+     * @return the {@link LocalInvocationProcessor}
+     * @throws ClassNotFoundException if one of the parameter types could not be found
+     * @throws IllegalArgumentException if the type has no such remotely invokable method
+     */
+    public LocalInvocationProcessor getProcessor(final Invocation invocation) throws ClassNotFoundException {
+        final var signature = new Signature(invocation.getMethod(), invocation.getParameters());
+        final var processor = processors.get(signature);
+        return processor == null ? compile(invocation) : processor;
+    }
+
+    private LocalInvocationProcessor compile(final Invocation invocation) throws ClassNotFoundException {
+
+        // Covers method names which do not survive the round trip through the scope's case format. Resolving by name
+        // throws if the method does not exist, so misses are never cached.
+
+        final var processor = new LocalInvocationProcessorBuilder(
+            remoteScope,
+            type,
+            invocation.getMethod(),
+            invocation.getParameters()).build();
+
+        final var signature = new Signature(invocation.getMethod(), List.copyOf(invocation.getParameters()));
+        final var existing = processors.putIfAbsent(signature, processor);
+        return existing == null ? processor : existing;
+
+    }
+
+    private static final class Signature {
+
+        private final String method;
+
+        private final List<String> parameters;
+
+        private final int hashCode;
+
+        public Signature(final String method, final List<String> parameters) {
+            this.method = method;
+            this.parameters = parameters;
+            this.hashCode = 31 * method.hashCode() + parameters.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Signature)) return false;
+            final Signature other = (Signature) o;
+            return hashCode == other.hashCode && method.equals(other.method) && parameters.equals(other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
@@ -5,8 +5,10 @@ import dev.getelements.elements.rt.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -19,6 +21,7 @@ import java.util.function.Consumer;
 import static dev.getelements.elements.rt.Reflection.*;
 import static dev.getelements.elements.rt.annotation.CaseFormat.LOWER_CAMEL;
 import static dev.getelements.elements.rt.remote.LocalInvocationProcessor.*;
+import static java.lang.invoke.MethodType.methodType;
 import static java.util.Arrays.stream;
 
 /**
@@ -39,25 +42,27 @@ public class LocalInvocationProcessorBuilder {
             RemoteScope remoteScope,
             final Class<?> type,
             final String name,
-            final List<String> parameters) throws ClassNotFoundException { ;
-
-        final Class<?>[] parameterTypes = lookupParameterTypes(parameters);
-
-        final var methodCaseFormat = remoteScope.style().methodCaseFormat();
-        final var jvmMethodName = LOWER_CAMEL.to(methodCaseFormat, name);
+            final List<String> parameters) throws ClassNotFoundException {
+        this(findMethod(remoteScope, type, name, parameters));
+    }
 
-        this.method = methods(type).filter(m -> m.getName().equals(jvmMethodName))
-                                   .filter(m -> Arrays.equals(m.getParameterTypes(), parameterTypes))
-                                   .findFirst().orElseThrow(() -> Reflection.noSuchMethod(type, name, parameterTypes));
+    /**
+     * Creates a builder for the supplied {@link Method}, which must be annotated with {@link RemotelyInvokable}.
+     *
+     * @param method the method
+     */
+    public LocalInvocationProcessorBuilder(final Method method) {
 
-        this.dispatchType = Dispatch.Type.determine(method);
+        this.method = method;
 
         final var remotelyInvokable = method.getAnnotationsByType(RemotelyInvokable.class);
 
         if (remotelyInvokable.length == 0) {
-            throw Reflection.noSuchMethod(type, name, parameterTypes);
+            throw Reflection.noSuchMethod(method.getDeclaringClass(), method.getName(), method.getParameterTypes());
         }
 
+        this.dispatchType = Dispatch.Type.determine(method);
+
         switch (getDispatchType()) {
 
             case HYBRID:
@@ -95,7 +100,30 @@ public class LocalInvocationProcessorBuilder {
 
     }
 
-    private Class<?>[] lookupParameterTypes(final List<String> parameters) throws ClassNotFoundException {
+    private static Method findMethod(
+            final RemoteScope remoteScope,
+            final Class<?> type,
+            final String name,
+            final List<String> parameters) throws ClassNotFoundException {
+
+        final Class<?>[] parameterTypes = lookupParameterTypes(parameters);
+
+        final var methodCaseFormat = remoteScope.style().methodCaseFormat();
+        final var jvmMethodName = LOWER_CAMEL.to(methodCaseFormat, name);
+
+        final var method = methods(type).filter(m -> m.getName().equals(jvmMethodName))
+                                        .filter(m -> Arrays.equals(m.getParameterTypes(), parameterTypes))
+                                        .findFirst().orElseThrow(() -> Reflection.noSuchMethod(type, name, parameterTypes));
+
+        if (method.getAnnotationsByType(RemotelyInvokable.class).length == 0) {
+            throw Reflection.noSuchMethod(type, name, parameterTypes);
+        }
+
+        return method;
+
+    }
+
+    private static Class<?>[] lookupParameterTypes(final List<String> parameters) throws ClassNotFoundException {
 
         final List<Class<?>> parameterTypes = new ArrayList<>();
 
@@ -161,6 +189,7 @@ public class LocalInvocationProcessorBuilder {
 
         final Method method = getMethod();
         final int argCount = method.getParameterCount();
+        final MethodHandle methodHandle = getMethodHandle();
 
         final LocalInvocationProcessor.ReturnValueStrategy returnValueStrategy = this.returnValueStrategy;
 
@@ -174,27 +203,53 @@ public class LocalInvocationProcessorBuilder {
             errorHandlerTransformer.accept(asyncInvocationErrorConsumer, args);
             resultHandlerTransformer.accept(asyncInvocationResultConsumerList, args);
 
+            final Object returnValue;
+
             try {
-                final Object returnValue = method.invoke(target, args);
-                returnValueStrategy.process(returnValue, syncInvocationErrorConsumer, invocationReturnConsumer);
-            } catch (InvocationTargetException ex) {
-                logger.info("Caught exception dispatching the invocation.", ex);
+                returnValue = (Object) methodHandle.invokeExact(target, args);
+            } catch (Throwable th) {
+                logger.info("Caught exception dispatching the invocation.", th);
                 final InvocationError invocationError = new InvocationError();
-                invocationError.setThrowable(ex.getTargetException());
-                syncInvocationErrorConsumer.accept(invocationError);
-            } catch (IllegalAccessException ex) {
-                // This should not happen because we only consider public methods in the binding but we need to catch
-                // it anyhow and try to relay it to the client.
-                logger.error("IllegalAccessException dispatching method", ex);
-                final InvocationError invocationError = new InvocationError();
-                invocationError.setThrowable(ex);
+                invocationError.setThrowable(th);
                 syncInvocationErrorConsumer.accept(invocationError);
+                return;
             }
 
+            returnValueStrategy.process(returnValue, syncInvocationErrorConsumer, invocationReturnConsumer);
+
         };
 
     }
 
+    /**
+     * Builds a {@link MethodHandle} for the method with the generic type (Object, Object[])Object. Static methods
+     * ignore the target, as with {@link Method#invoke(Object, Object...)}.
+     *
+     * @return the {@link MethodHandle}
+     */
+    private MethodHandle getMethodHandle() {
+
+        final Method method = getMethod();
+
+        MethodHandle methodHandle;
+
+        try {
+            methodHandle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException ex) {
+            // This should not happen because we only consider public methods in the binding.
+            throw new IllegalArgumentException("Unable to access " + format(method), ex);
+        }
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+        }
+
+        return methodHandle
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(methodType(Object.class, Object.class, Object[].class));
+
+    }
+
     private BiConsumer<List<Object>, Object[]> getParametersTransformer() {
 
         final Method method = getMethod();
@@ -202,7 +257,7 @@ public class LocalInvocationProcessorBuilder {
 
         return (objectList, args) -> {
             final Iterator<Object> argIterator = objectList.iterator();
-            stream(serializeIndices).forEach(index -> args[index] = argIterator.next());
+            for (final int index : serializeIndices) args[index] = argIterator.next();
         };
 
     }
@@ -249,10 +304,10 @@ public class LocalInvocationProcessorBuilder {
             final Iterator<Consumer<InvocationResult>> invocationResultIterator;
             invocationResultIterator = invocationResultConsumerList.iterator();
 
-            stream(resultHandlerIndices).forEach(index -> {
+            for (final int index : resultHandlerIndices) {
                 final Object resultHandler = proxyResultHandler(index, invocationResultIterator.next());
                 args[index] = resultHandler;
-            });
+            }
 
         };
 
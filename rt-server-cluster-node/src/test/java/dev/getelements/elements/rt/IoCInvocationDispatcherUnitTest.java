@@ -19,6 +19,8 @@ import static dev.getelements.elements.rt.annotation.RemoteScope.*;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.mockito.Mockito.*;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 @Guice(modules = IoCInvocationDispatcherUnitTest.Module.class)
 public class IoCInvocationDispatcherUnitTest {
@@ -60,6 +62,48 @@ public class IoCInvocationDispatcherUnitTest {
 
     }
 
+    @Test
+    public void testMetricsAreRecorded() throws Exception {
+
+        final Invocation invocation = new Invocation();
+
+        invocation.setType(TestServiceInterface.class.getName());
+        invocation.setMethod("testSyncReturn");
+        invocation.setParameters(asList(String.class.getName()));
+        invocation.setArguments(asList("Hello World!"));
+
+        final var methodMetrics = InvocationMetrics.getServerMetrics().getMethodMetrics(invocation);
+        final var count = methodMetrics.getSnapshot().latency().count();
+
+        getInvocationDispatcher().dispatch(invocation,
+                mock(Consumer.class), mock(Consumer.class),
+                emptyList(), mock(Consumer.class));
+
+        assertEquals(methodMetrics.getSnapshot().latency().count(), count + 1);
+
+    }
+
+    @Test
+    public void testMetricsAreNotCreatedForUnknownMethods() throws Exception {
+
+        final Invocation invocation = new Invocation();
+
+        invocation.setType(TestServiceInterface.class.getName());
+        invocation.setMethod("testNoSuchMethod");
+        invocation.setParameters(emptyList());
+        invocation.setArguments(emptyList());
+
+        final Consumer<InvocationError> syncInvocationErrorConsumer = mock(Consumer.class);
+
+        getInvocationDispatcher().dispatch(invocation,
+                mock(Consumer.class), syncInvocationErrorConsumer,
+                emptyList(), mock(Consumer.class));
+
+        verify(syncInvocationErrorConsumer, times(1)).accept(any());
+        assertTrue(InvocationMetrics.getServerMetrics().findMethodMetrics(invocation).isEmpty());
+
+    }
+
     @Test
     public void testDefaultMethod() throws Exception {
 
@@ -309,6 +353,90 @@ public class IoCInvocationDispatcherUnitTest {
 
     }
 
+    @Test
+    public void testRepeatedDispatch() throws Exception {
+
+        final Invocation invocation = new Invocation();
+
+        invocation.setType(TestServiceInterface.class.getName());
+        invocation.setMethod("testEcho");
+        invocation.setParameters(asList(String.class.getName(), double.class.getName()));
+        invocation.setArguments(asList("Hello World!", 0.0));
+
+        final Consumer<InvocationError> asyncInvocationErrorConsumer = mock(Consumer.class);
+        final Consumer<InvocationResult> syncInvocationResultConsumer = mock(Consumer.class);
+        final Consumer<InvocationError> syncInvocationErrorConsumer = mock(Consumer.class);
+
+        when(getMockTestServiceInterface().testEcho(any(), anyDouble())).thenAnswer(i -> i.getArgument(0));
+
+        for (int i = 0; i < 3; ++i) {
+            getInvocationDispatcher().dispatch(invocation,
+                    syncInvocationResultConsumer, syncInvocationErrorConsumer,
+                    emptyList(), asyncInvocationErrorConsumer);
+        }
+
+        final InvocationResult expected = new InvocationResult();
+        expected.setResult("Hello World!");
+
+        verify(syncInvocationErrorConsumer, never()).accept(any());
+        verify(asyncInvocationErrorConsumer, never()).accept(any());
+        verify(syncInvocationResultConsumer, times(3)).accept(eq(expected));
+        verify(getMockTestServiceInterface(), times(3)).testEcho(eq("Hello World!"), eq(0.0));
+
+    }
+
+    @Test
+    public void testSyncThrows() throws Exception {
+
+        final Invocation invocation = new Invocation();
+
+        invocation.setType(TestServiceInterface.class.getName());
+        invocation.setMethod("testSyncReturn");
+        invocation.setParameters(asList(String.class.getName()));
+        invocation.setArguments(asList("Hello World!"));
+
+        final RuntimeException expectedRuntimeException = new RuntimeException();
+        final InvocationError expectedInvocationError = new InvocationError();
+        expectedInvocationError.setThrowable(expectedRuntimeException);
+
+        final Consumer<InvocationError> asyncInvocationErrorConsumer = mock(Consumer.class);
+        final Consumer<InvocationResult> syncInvocationResultConsumer = mock(Consumer.class);
+        final Consumer<InvocationError> syncInvocationErrorConsumer = mock(Consumer.class);
+
+        when(getMockTestServiceInterface().testSyncReturn(any())).thenThrow(expectedRuntimeException);
+
+        getInvocationDispatcher().dispatch(invocation,
+                syncInvocationResultConsumer, syncInvocationErrorConsumer,
+                emptyList(), asyncInvocationErrorConsumer);
+
+        verify(syncInvocationResultConsumer, never()).accept(any());
+        verify(syncInvocationErrorConsumer, times(1)).accept(eq(expectedInvocationError));
+
+    }
+
+    @Test
+    public void testNoSuchMethod() throws Exception {
+
+        final Invocation invocation = new Invocation();
+
+        invocation.setType(TestServiceInterface.class.getName());
+        invocation.setMethod("testNoSuchMethod");
+        invocation.setParameters(asList(String.class.getName()));
+        invocation.setArguments(asList("Hello World!"));
+
+        final Consumer<InvocationError> asyncInvocationErrorConsumer = mock(Consumer.class);
+        final Consumer<InvocationResult> syncInvocationResultConsumer = mock(Consumer.class);
+        final Consumer<InvocationError> syncInvocationErrorConsumer = mock(Consumer.class);
+
+        getInvocationDispatcher().dispatch(invocation,
+                syncInvocationResultConsumer, syncInvocationErrorConsumer,
+                emptyList(), asyncInvocationErrorConsumer);
+
+        verify(syncInvocationResultConsumer, never()).accept(any());
+        verify(syncInvocationErrorConsumer, times(1)).accept(any());
+
+    }
+
     public LocalInvocationDispatcher getInvocationDispatcher() {
         return invocationDispatcher;
     }
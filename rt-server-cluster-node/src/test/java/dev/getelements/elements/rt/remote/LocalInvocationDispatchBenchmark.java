@@ -0,0 +1,166 @@
+package dev.getelements.elements.rt.remote;
+
+import dev.getelements.elements.rt.annotation.RemoteService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static dev.getelements.elements.rt.annotation.RemoteScope.ELEMENTS_RT_PROTOCOL;
+import static dev.getelements.elements.rt.annotation.RemoteScope.WORKER_SCOPE;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures the overhead of dispatching an {@link Invocation} to a local object.
+ *
+ * The rebuild benchmark repeats the work the dispatcher used to do on every call, before the
+ * {@link LocalInvocationDispatchTable}: loading the type by name and building a new {@link LocalInvocationProcessor}.
+ * The table benchmark goes through the {@link AbstractLocalInvocationDispatcher}. The method invoke and method handle
+ * benchmarks compare only the call itself, using a spread {@link MethodHandle} the same way the compiled
+ * {@link LocalInvocationProcessor} does.
+ *
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalInvocationDispatchBenchmark {
+
+    private final TestServiceInterface target = new BenchmarkService();
+
+    private final Consumer<InvocationError> errorConsumer = invocationError -> {
+        throw new IllegalStateException(invocationError.getThrowable());
+    };
+
+    private Invocation invocation;
+
+    private LocalInvocationDispatcher dispatcher;
+
+    private Method method;
+
+    private MethodHandle methodHandle;
+
+    private Object[] args;
+
+    @Setup
+    public void setup() throws Exception {
+
+        invocation = new Invocation();
+        invocation.setType(TestServiceInterface.class.getName());
+        invocation.setMethod("testEcho");
+        invocation.setParameters(new ArrayList<>(List.of(String.class.getName(), double.class.getName())));
+        invocation.setArguments(new ArrayList<>(List.of("Hello World!", 0.0)));
+
+        final var dispatcher = new AbstractLocalInvocationDispatcher() {
+            @Override
+            protected Object resolve(final Class<?> type) {
+                return target;
+            }
+        };
+
+        dispatcher.setScope(WORKER_SCOPE);
+        dispatcher.setProtocol(ELEMENTS_RT_PROTOCOL);
+        this.dispatcher = dispatcher;
+
+        method = TestServiceInterface.class.getMethod("testEcho", String.class, double.class);
+        methodHandle = MethodHandles.publicLookup()
+            .unreflect(method)
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(methodType(Object.class, Object.class, Object[].class));
+
+        args = invocation.getArguments().toArray();
+
+    }
+
+    @Benchmark
+    public void rebuild(final Blackhole blackhole) throws Exception {
+
+        final var type = Class.forName(invocation.getType());
+        final var definition = RemoteService.Util.getScope(type, ELEMENTS_RT_PROTOCOL, WORKER_SCOPE);
+
+        new LocalInvocationProcessorBuilder(definition, type, invocation.getMethod(), invocation.getParameters())
+            .build()
+            .processInvocation(target, invocation, blackhole::consume, errorConsumer, emptyList(), errorConsumer);
+
+    }
+
+    @Benchmark
+    public void table(final Blackhole blackhole) {
+        dispatcher.dispatch(invocation, blackhole::consume, errorConsumer, emptyList(), errorConsumer);
+    }
+
+    @Benchmark
+    public Object methodInvoke() throws Exception {
+        return method.invoke(target, args);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Throwable {
+        return (Object) methodHandle.invokeExact((Object) target, args);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LocalInvocationDispatchBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+    public static class BenchmarkService implements TestServiceInterface {
+
+        @Override
+        public void testSyncVoid(final String msg) {}
+
+        @Override
+        public double testSyncReturn(final String msg) {
+            return msg.length();
+        }
+
+        @Override
+        public void testAsyncReturnVoid(final String msg,
+                                        final Consumer<String> stringConsumer,
+                                        final Consumer<Throwable> throwableConsumer) {
+            stringConsumer.accept(msg);
+        }
+
+        @Override
+        public Future<Integer> testAsyncReturnFuture(final String msg) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Integer> testAsyncReturnFuture(final String msg,
+                                                     final Consumer<String> stringConsumer,
+                                                     final Consumer<Throwable> throwableConsumer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Integer> testAsyncReturnFuture(final String msg,
+                                                     final MyStringHandler stringConsumer,
+                                                     final MyErrorHandler errorHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String testEcho(final String msg, final double errorChance) {
+            return msg;
+        }
+
+    }
+
+}
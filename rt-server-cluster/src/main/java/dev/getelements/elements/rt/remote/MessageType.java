@@ -15,6 +15,12 @@ public enum MessageType {
     /**
      * Indicates that the message contains an instance of {@link InvocationResult}
      */
-    INVOCATION_RESULT
+    INVOCATION_RESULT,
+
+    /**
+     * Indicates that the node rejected the {@link Invocation} without dispatching it because the node is saturated.
+     * The message carries no payload, and the {@link Invocation} may be safely retried elsewhere.
+     */
+    INVOCATION_REJECTED
 
 }
@@ -8,129 +8,73 @@ import dev.getelements.elements.rt.remote.RemoteInvokerRegistry.RemoteInvokerSta
 
 import java.util.*;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Comparator.comparingDouble;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
-
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * Holds the {@link RemoteInvoker}s known to the {@link SimpleRemoteInvokerRegistry}. Writers build a new copy of the
+ * mutable {@link Storage} under a lock and then publish an immutable {@link Index} of it through a volatile reference.
+ * Each routed call reads only the current {@link Index}, which is indexed by node and by application with each
+ * application's entries already sorted by priority, so that reads take no lock and allocate nothing.
+ */
 class RemoteInvokerRegistrySnapshot {
 
+    private final Lock writeLock = new ReentrantLock();
+
     private Storage storage = new Storage();
 
-    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+    private volatile Index index = Index.EMPTY;
 
     public List<RemoteInvokerStatus> getAllRemoteInvokers() {
-
-        final Lock lock = readWriteLock.readLock();
-
-        try {
-            lock.lock();
-            return new ArrayList<>(storage.invokersByNode.values());
-        } finally {
-            lock.unlock();
-        }
-
+        return index.all;
     }
 
     public RemoteInvoker getRemoteInvoker(final NodeId nodeId) {
-
-        final Lock lock = readWriteLock.readLock();
-
-        try {
-            lock.lock();
-            final var remoteInvoker = storage.invokersByNode.get(nodeId);
-            if (remoteInvoker == null)
-                throw new NodeNotFoundException(nodeId);
-            return remoteInvoker.getInvoker();
-        } finally {
-            lock.unlock();
-        }
-
+        final var remoteInvoker = index.invokersByNode.get(nodeId);
+        if (remoteInvoker == null) throw new NodeNotFoundException(nodeId);
+        return remoteInvoker;
     }
 
     public RemoteInvokerStatus getBestInvokerStatusForApplication(final ApplicationId applicationId) {
-
-        final Lock lock = readWriteLock.readLock();
-
-        try {
-            lock.lock();
-            final List<SnapshotEntry> byLoad = storage.invokersByApplication.get(applicationId);
-            if (byLoad == null || byLoad.isEmpty())
-                throw new NodeNotFoundException("Unknown Application: " + applicationId);
-            return byLoad.getFirst();
-        } finally {
-            lock.unlock();
-        }
-
+        return getApplication(applicationId).byPriority[0];
     }
 
     public List<RemoteInvoker> getAllRemoteInvokersForApplication(final ApplicationId applicationId) {
-
-        final Lock lock = readWriteLock.readLock();
-
-        try {
-            lock.lock();
-            final List<SnapshotEntry> byLoad = storage.invokersByApplication.get(applicationId);
-            if (byLoad == null || byLoad.isEmpty())
-                throw new NodeNotFoundException("Unknown Application: " + applicationId);
-            return byLoad.stream().map(SnapshotEntry::getInvoker).collect(toList());
-        } finally {
-            lock.unlock();
-        }
-
+        return getApplication(applicationId).invokers;
     }
 
     public List<RemoteInvokerStatus> getAllRemoteInvokerStatuses(final ApplicationId applicationId) {
-
-        final Lock lock = readWriteLock.readLock();
-
-        try {
-            lock.lock();
-            final List<SnapshotEntry> byLoad = storage.invokersByApplication.get(applicationId);
-            if (byLoad == null || byLoad.isEmpty())
-                throw new NodeNotFoundException("Unknown Application: " + applicationId);
-            return byLoad.stream().collect(toList());
-        } finally {
-            lock.unlock();
-        }
-
+        return getApplication(applicationId).statuses;
     }
 
     public Map<NodeId, RemoteInvoker> getInvokersByNode() {
+        return index.invokersByNode;
+    }
 
-        final var lock = readWriteLock.readLock();
-
-        try {
-
-            lock.lock();
-
-            return storage.invokersByNode
-                .entrySet()
-                .stream()
-                .collect(toMap(Map.Entry::getKey, e -> e.getValue().getInvoker()));
-
-        } finally {
-            lock.unlock();
-        }
-
+    private ApplicationIndex getApplication(final ApplicationId applicationId) {
+        final var application = index.byApplication.get(applicationId);
+        if (application == null) throw new NodeNotFoundException("Unknown Application: " + applicationId);
+        return application;
     }
 
     public void clear() {
 
         final Storage old;
-        final Lock lock = readWriteLock.writeLock();
 
         try {
-            lock.lock();
+            writeLock.lock();
             old = storage;
             storage = new Storage();
+            index = Index.EMPTY;
         } finally {
-            lock.unlock();
+            writeLock.unlock();
         }
 
         old.clear();
@@ -150,10 +94,9 @@ class RemoteInvokerRegistrySnapshot {
 
 
                 final Runnable purge;
-                final var lock = readWriteLock.writeLock();
 
                 try {
-                    lock.lock();
+                    writeLock.lock();
 
                     // Copy the data in case any of the subsequent operations fail we won't leave things in a state
                     // of undefined behavior.
@@ -172,11 +115,12 @@ class RemoteInvokerRegistrySnapshot {
                     // Generate the list of objects to purge
                     purge = update.purge();
 
-                    // Finally make the new storage live
+                    // Finally make the new storage live, publishing the read-only index of it to all readers.
                     storage = update;
+                    index = update.index();
 
                 } finally {
-                    lock.unlock();
+                    writeLock.unlock();
                 }
 
                 // Purging old connections is deferred as the last step.  At this point everything that needs purged
@@ -308,6 +252,10 @@ class RemoteInvokerRegistrySnapshot {
             });
         }
 
+        private Index index() {
+            return new Index(invokersByNode, invokersByApplication);
+        }
+
         private Storage begin() {
             final Storage copy = new Storage();
             copy.invokersByNode.putAll(invokersByNode);
@@ -317,6 +265,59 @@ class RemoteInvokerRegistrySnapshot {
 
     }
 
+    /**
+     * An immutable view of a {@link Storage}, built once per refresh. Nothing here is modified after construction, so
+     * it is safe to share between threads once published.
+     */
+    private static class Index {
+
+        private static final Index EMPTY = new Index(Map.of(), Map.of());
+
+        private final List<RemoteInvokerStatus> all;
+
+        private final Map<NodeId, RemoteInvoker> invokersByNode;
+
+        private final Map<ApplicationId, ApplicationIndex> byApplication;
+
+        private Index(final Map<NodeId, SnapshotEntry> invokersByNode,
+                      final Map<ApplicationId, List<SnapshotEntry>> invokersByApplication) {
+
+            final var invokers = new HashMap<NodeId, RemoteInvoker>();
+            invokersByNode.forEach((nodeId, entry) -> invokers.put(nodeId, entry.getInvoker()));
+
+            final var byApplication = new HashMap<ApplicationId, ApplicationIndex>();
+
+            invokersByApplication.forEach((applicationId, entries) -> {
+                if (!entries.isEmpty()) byApplication.put(applicationId, new ApplicationIndex(entries));
+            });
+
+            this.all = List.copyOf(invokersByNode.values());
+            this.invokersByNode = unmodifiableMap(invokers);
+            this.byApplication = byApplication;
+
+        }
+
+    }
+
+    /**
+     * The entries for a single application, sorted from the highest to the lowest priority.
+     */
+    private static class ApplicationIndex {
+
+        private final SnapshotEntry[] byPriority;
+
+        private final List<RemoteInvokerStatus> statuses;
+
+        private final List<RemoteInvoker> invokers;
+
+        private ApplicationIndex(final List<SnapshotEntry> sorted) {
+            this.byPriority = sorted.toArray(SnapshotEntry[]::new);
+            this.statuses = List.of(byPriority);
+            this.invokers = sorted.stream().map(SnapshotEntry::getInvoker).collect(toUnmodifiableList());
+        }
+
+    }
+
     /**
      * A builder-type that is used to refresh the internal state of a {@link RemoteInvokerRegistrySnapshot}
      */
@@ -15,4 +15,11 @@ public class RequestHeader extends Struct {
      */
     public final Signed32 additionalParts = new Signed32();
 
+    /**
+     * Indicates the time, in milliseconds, that the caller will wait for the response, measured from when the request
+     * was sent. The receiving end may drop the request if it cannot begin work within that time. Zero indicates that
+     * the caller sent no budget, as is the case for a header sent by a peer which predates this field.
+     */
+    public final Signed32 budgetMillis = new Signed32();
+
 }
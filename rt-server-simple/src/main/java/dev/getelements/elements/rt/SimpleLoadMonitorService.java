@@ -3,7 +3,9 @@ package dev.getelements.elements.rt;
 import dev.getelements.elements.rt.exception.InternalException;
 
 import java.lang.management.OperatingSystemMXBean;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -36,6 +38,8 @@ public class SimpleLoadMonitorService implements LoadMonitorService {
 
     private final AtomicReference<LoadMonitorContext> context = new AtomicReference<>();
 
+    private final Set<InvocationLoad> invocationLoads = new CopyOnWriteArraySet<>();
+
     @Override
     public void start() {
 
@@ -68,6 +72,26 @@ public class SimpleLoadMonitorService implements LoadMonitorService {
         return loadValues.getInstanceQuality();
     }
 
+    @Override
+    public void addInvocationLoad(final InvocationLoad invocationLoad) {
+        invocationLoads.add(invocationLoad);
+    }
+
+    @Override
+    public void removeInvocationLoad(final InvocationLoad invocationLoad) {
+        invocationLoads.remove(invocationLoad);
+    }
+
+    @Override
+    public int getInFlightInvocations() {
+        return invocationLoads.stream().mapToInt(InvocationLoad::getInFlightInvocations).sum();
+    }
+
+    @Override
+    public int getQueuedInvocations() {
+        return invocationLoads.stream().mapToInt(InvocationLoad::getQueuedInvocations).sum();
+    }
+
     private LoadMonitorContext getContext() {
         final LoadMonitorContext context = this.context.get();
         if (context == null) throw new IllegalStateException("SimpleLoadMonitorService is not running.");
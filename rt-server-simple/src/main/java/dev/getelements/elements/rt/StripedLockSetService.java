@@ -0,0 +1,256 @@
+package dev.getelements.elements.rt;
+
+import dev.getelements.elements.rt.exception.InternalException;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import dev.getelements.elements.sdk.util.Monitor;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static dev.getelements.elements.sdk.cluster.path.Path.WILDCARD;
+import static dev.getelements.elements.sdk.cluster.path.Paths.iterateIntermediateHierarchy;
+
+/**
+ * A {@link LockSetService} backed by two fixed-size tables of {@link ReentrantReadWriteLock}, one for {@link Path}
+ * instances and one for {@link ResourceId} instances. Keys are hashed to a stripe in the table, so acquiring a lock
+ * never allocates a lock and no locks are ever reclaimed. Distinct keys may share a stripe, which may cause false
+ * contention but never affects correctness.
+ *
+ * Because distinct keys may share a stripe, locks may not be acquired in key order. Instead, each request determines
+ * the full set of stripes it must hold, collapses duplicate stripes to the strongest requested mode, and acquires them
+ * in ascending stripe order. All {@link ResourceId} stripes are acquired before any {@link Path} stripes, matching the
+ * order used when building snapshots. Paths are expanded to their intermediate hierarchy using the same rules as
+ * {@link WeakReferenceLockSetService}.
+ */
+public class StripedLockSetService implements LockSetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripedLockSetService.class);
+
+    /**
+     * The number of stripes in each lock table. This will be rounded up to the next power of two.
+     */
+    public static final String LOCK_SET_STRIPES = "dev.getelements.elements.rt.lock.set.stripes";
+
+    private static final long WRITE = 1;
+
+    private final StripeTable pathTable;
+
+    private final StripeTable resourceIdTable;
+
+    @Inject
+    public StripedLockSetService(@Named(LOCK_SET_STRIPES) final int stripes) {
+
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be positive: " + stripes);
+        }
+
+        pathTable = new StripeTable("Path", stripes);
+        resourceIdTable = new StripeTable("ResourceId", stripes);
+
+    }
+
+    @Override
+    public void logStatus() {
+        resourceIdTable.logStatus();
+        pathTable.logStatus();
+    }
+
+    @Override
+    public Monitor getPathReadMonitor(final Collection<Path> paths) {
+        return getPathMonitor(paths, false);
+    }
+
+    @Override
+    public Monitor getPathWriteMonitor(final Collection<Path> paths) {
+        return getPathMonitor(paths, true);
+    }
+
+    @Override
+    public Monitor getPathReadMonitor(final Path path) {
+        return getPathMonitor(List.of(path), false);
+    }
+
+    @Override
+    public Monitor getPathWriteMonitor(final Path path) {
+        return getPathMonitor(List.of(path), true);
+    }
+
+    @Override
+    public Monitor getResourceIdReadMonitor(final SortedSet<ResourceId> resourceIds) {
+        return getResourceIdMonitor(resourceIds, false);
+    }
+
+    @Override
+    public Monitor getResourceIdWriteMonitor(final SortedSet<ResourceId> resourceIds) {
+        return getResourceIdMonitor(resourceIds, true);
+    }
+
+    @Override
+    public Monitor getResourceIdReadMonitor(final ResourceId resourceId) {
+        return getResourceIdMonitor(List.of(resourceId), false);
+    }
+
+    @Override
+    public Monitor getResourceIdWriteMonitor(final ResourceId resourceId) {
+        return getResourceIdMonitor(List.of(resourceId), true);
+    }
+
+    private Monitor getResourceIdMonitor(final Collection<ResourceId> resourceIds, final boolean write) {
+        final var plan = new Plan(resourceIds.size());
+        for (var resourceId : resourceIds) plan.add(resourceIdTable, resourceId, write);
+        return plan.acquire(resourceIdTable);
+    }
+
+    private Monitor getPathMonitor(final Collection<Path> paths, final boolean write) {
+        final var plan = new Plan(paths.size() * 8);
+        for (var path : paths) addPath(plan, path, write);
+        return plan.acquire(pathTable);
+    }
+
+    private void addPath(final Plan plan, final Path path, final boolean write) {
+
+        // See WeakReferenceLockSetService.PathLockMap for a full description of this hierarchy. All intermediate paths
+        // and their wildcards are read locked and the caller's preference is applied to the final wildcard. Unlike the
+        // WeakReferenceLockSetService, locks are not acquired as the hierarchy is visited. The Plan acquires them all
+        // at once in stripe order.
+
+        final var root = path.contextRootPath();
+
+        if (path.isWildcardContext()) {
+            plan.add(pathTable, root.toPathWithContext(WILDCARD), write);
+            return;
+        }
+
+        plan.add(pathTable, root.toPathWithContext(WILDCARD), false);
+        plan.add(pathTable, root, false);
+
+        var parent = root;
+
+        for (var intermediate : iterateIntermediateHierarchy(path)) {
+
+            if (intermediate.isWildcardTerminated() || intermediate.isWildcardRecursive()) {
+                plan.add(pathTable, intermediate, write);
+                return;
+            }
+
+            plan.add(pathTable, parent.appendComponents(WILDCARD), false);
+            plan.add(pathTable, intermediate, false);
+            parent = intermediate;
+
+        }
+
+        if (!parent.equals(path)) {
+            throw new InternalException("Expected paths to match but got " + path + " != " + parent);
+        }
+
+        plan.add(pathTable, parent.appendComponents(WILDCARD), write);
+
+    }
+
+    /**
+     * Collects the stripes needed for a single request. Each entry encodes the stripe index shifted left by one with
+     * the low bit set for a write lock, so sorting the entries orders them by stripe with reads before writes.
+     */
+    private static class Plan {
+
+        private long[] entries;
+
+        private int size;
+
+        public Plan(final int capacity) {
+            entries = new long[Math.max(capacity, 1)];
+        }
+
+        public void add(final StripeTable table, final Object key, final boolean write) {
+
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+
+            entries[size++] = ((long) table.stripe(key) << 1) | (write ? WRITE : 0);
+
+        }
+
+        public Monitor acquire(final StripeTable table) {
+
+            Arrays.sort(entries, 0, size);
+
+            var monitor = Monitor.empty();
+
+            try {
+
+                for (int i = 0; i < size; ++i) {
+
+                    final var entry = entries[i];
+                    final var stripe = (int) (entry >>> 1);
+
+                    // Entries for the same stripe are adjacent and a write sorts after a read, so only the last entry
+                    // for each stripe is acquired.
+                    if (i + 1 < size && (entries[i + 1] >>> 1) == stripe) continue;
+
+                    final var lock = table.locks[stripe];
+                    monitor = monitor.then((entry & WRITE) == WRITE ? lock.writeLock() : lock.readLock());
+
+                }
+
+            } catch (Exception ex) {
+                monitor.close();
+                throw ex;
+            }
+
+            return monitor;
+
+        }
+
+    }
+
+    private static class StripeTable {
+
+        private final String name;
+
+        private final int mask;
+
+        private final ReentrantReadWriteLock[] locks;
+
+        public StripeTable(final String name, final int stripes) {
+
+            final var size = Integer.highestOneBit(stripes) == stripes
+                    ? stripes
+                    : Integer.highestOneBit(stripes) << 1;
+
+            this.name = name;
+            this.mask = size - 1;
+            this.locks = new ReentrantReadWriteLock[size];
+
+            for (int i = 0; i < size; ++i) locks[i] = new ReentrantReadWriteLock();
+
+        }
+
+        public int stripe(final Object key) {
+            final var h = key.hashCode() * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        public void logStatus() {
+            for (int i = 0; i < locks.length; ++i) {
+
+                final var lock = locks[i];
+
+                if (lock.isWriteLocked() || lock.getReadLockCount() > 0 || lock.hasQueuedThreads()) {
+                    logger.debug("{} stripe {}: {}", name, i, lock);
+                }
+
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,137 @@
+package dev.getelements.elements.rt.remote;
+
+import dev.getelements.elements.sdk.cluster.id.ApplicationId;
+import dev.getelements.elements.sdk.cluster.id.InstanceId;
+import dev.getelements.elements.sdk.cluster.id.NodeId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static dev.getelements.elements.sdk.cluster.id.ApplicationId.randomApplicationId;
+import static dev.getelements.elements.sdk.cluster.id.InstanceId.randomInstanceId;
+import static dev.getelements.elements.sdk.cluster.id.NodeId.forInstanceAndApplication;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures the lookups made by the routing strategies against the {@link RemoteInvokerRegistrySnapshot} from many
+ * threads at once. The snapshot is populated as for a cluster of several instances, each hosting a node for every
+ * application, and is refreshed in the background at the given interval to mimic the registry's refresh cycle.
+ *
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RemoteInvokerRoutingBenchmark {
+
+    private static final int INSTANCES = 8;
+
+    private static final int APPLICATIONS = 16;
+
+    @Param({"0", "10"})
+    private long refreshIntervalMillis;
+
+    private final RemoteInvokerRegistrySnapshot snapshot = new RemoteInvokerRegistrySnapshot();
+
+    private final List<ApplicationId> applicationIds = new ArrayList<>();
+
+    private final List<NodeId> nodeIds = new ArrayList<>();
+
+    private Thread refresher;
+
+    @Setup
+    public void setup() {
+
+        final var instanceIds = new ArrayList<InstanceId>();
+
+        for (int i = 0; i < INSTANCES; ++i) instanceIds.add(randomInstanceId());
+        for (int i = 0; i < APPLICATIONS; ++i) applicationIds.add(randomApplicationId());
+
+        instanceIds.forEach(iid -> applicationIds.forEach(aid -> nodeIds.add(forInstanceAndApplication(iid, aid))));
+
+        refresh();
+
+        if (refreshIntervalMillis > 0) {
+
+            refresher = new Thread(() -> {
+                try {
+                    while (!Thread.interrupted()) {
+                        Thread.sleep(refreshIntervalMillis);
+                        refresh();
+                    }
+                } catch (InterruptedException ex) {
+                    // Exits the refresher.
+                }
+            });
+
+            refresher.setDaemon(true);
+            refresher.start();
+
+        }
+
+    }
+
+    private void refresh() {
+        final var builder = snapshot.refresh();
+        final var random = ThreadLocalRandom.current();
+        nodeIds.forEach(nid -> builder.add(nid, random.nextDouble(), RemoteInvokerRoutingBenchmark::stubRemoteInvoker));
+        builder.prune().commit((remoteInvoker, ex) -> {});
+    }
+
+    @TearDown
+    public void teardown() throws InterruptedException {
+        if (refresher != null) {
+            refresher.interrupt();
+            refresher.join();
+        }
+    }
+
+    @Benchmark
+    public RemoteInvokerRegistry.RemoteInvokerStatus best() {
+        return snapshot.getBestInvokerStatusForApplication(anyApplicationId());
+    }
+
+    @Benchmark
+    public List<RemoteInvoker> all() {
+        return snapshot.getAllRemoteInvokersForApplication(anyApplicationId());
+    }
+
+    @Benchmark
+    public RemoteInvoker byNode() {
+        return snapshot.getRemoteInvoker(nodeIds.get(ThreadLocalRandom.current().nextInt(nodeIds.size())));
+    }
+
+    private ApplicationId anyApplicationId() {
+        return applicationIds.get(ThreadLocalRandom.current().nextInt(applicationIds.size()));
+    }
+
+    private static RemoteInvoker stubRemoteInvoker() {
+        return (RemoteInvoker) Proxy.newProxyInstance(
+            RemoteInvoker.class.getClassLoader(),
+            new Class<?>[]{RemoteInvoker.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "stub";
+                default -> throw new UnsupportedOperationException();
+            });
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RemoteInvokerRoutingBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
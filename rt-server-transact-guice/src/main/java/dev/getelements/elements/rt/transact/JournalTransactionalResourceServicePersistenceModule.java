@@ -3,15 +3,82 @@ package dev.getelements.elements.rt.transact;
 import com.google.inject.PrivateModule;
 import dev.getelements.elements.rt.LockSetService;
 import dev.getelements.elements.rt.PersistenceEnvironment;
+import dev.getelements.elements.rt.StripedLockSetService;
 import dev.getelements.elements.rt.WeakReferenceLockSetService;
 
+import static com.google.inject.name.Names.named;
+import static dev.getelements.elements.rt.StripedLockSetService.LOCK_SET_STRIPES;
+import static dev.getelements.elements.rt.transact.TransactionAdmissionControl.TRANSACTION_ADMISSION_TIMEOUT_MSEC;
+import static dev.getelements.elements.rt.transact.TransactionAdmissionControl.TRANSACTION_MAX_CONCURRENCY;
+
 public class JournalTransactionalResourceServicePersistenceModule extends PrivateModule {
 
+    private Runnable bindAdmissionControl = () -> {};
+
+    private Runnable bindLockSetService = () -> bind(LockSetService.class)
+            .to(WeakReferenceLockSetService.class)
+            .asEagerSingleton();
+
+    /**
+     * Specifies the {@link TransactionAdmissionControl} parameters. If unspecified, the defaults defined by
+     * {@link TransactionAdmissionControl} are used.
+     *
+     * @param maxConcurrency the maximum number of concurrently open transactions
+     * @param admissionTimeoutMsec the maximum time to wait for admission, in milliseconds
+     * @return this instance
+     */
+    public JournalTransactionalResourceServicePersistenceModule withAdmissionControl(
+            final int maxConcurrency,
+            final long admissionTimeoutMsec) {
+
+        bindAdmissionControl = () -> {
+
+            bind(Integer.class)
+                    .annotatedWith(named(TRANSACTION_MAX_CONCURRENCY))
+                    .toInstance(maxConcurrency);
+
+            bind(Long.class)
+                    .annotatedWith(named(TRANSACTION_ADMISSION_TIMEOUT_MSEC))
+                    .toInstance(admissionTimeoutMsec);
+
+        };
+
+        return this;
+
+    }
+
+    /**
+     * Uses the {@link StripedLockSetService} instead of the {@link WeakReferenceLockSetService}.
+     *
+     * @param stripes the number of stripes in each lock table
+     * @return this instance
+     */
+    public JournalTransactionalResourceServicePersistenceModule withStripedLockSetService(final int stripes) {
+
+        bindLockSetService = () -> {
+
+            bind(Integer.class)
+                    .annotatedWith(named(LOCK_SET_STRIPES))
+                    .toInstance(stripes);
+
+            bind(LockSetService.class)
+                    .to(StripedLockSetService.class)
+                    .asEagerSingleton();
+
+        };
+
+        return this;
+
+    }
+
     @Override
     protected void configure() {
 
+        bindAdmissionControl.run();
+        bindLockSetService.run();
+
         bind(Snapshot.Builder.class).to(StandardSnapshotBuilder.class);
-        bind(LockSetService.class).to(WeakReferenceLockSetService.class).asEagerSingleton();
+        bind(TransactionAdmissionControl.class).asEagerSingleton();
         bind(JournalTransactionalResourceServicePersistenceEnvironment.class).asEagerSingleton();
         bind(PersistenceEnvironment.class).to(JournalTransactionalResourceServicePersistenceEnvironment.class);
         bind(TransactionalResourceServicePersistence.class).to(JournalTransactionalResourceServicePersistenceEnvironment.class);
@@ -0,0 +1,127 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import dev.getelements.elements.rt.transact.JournalTransactionalPersistenceDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSChecksumAlgorithm.CRC_32C;
+import static dev.getelements.elements.rt.transact.unix.UnixFSJournalMode.PER_TRANSACTION;
+
+/**
+ * Migrates a UnixFS storage root from the file based {@link UnixFSDataStore} to the {@link UnixFSSegmentDataStore}.
+ *
+ * The migration happens in two passes. First, the storage is started and stopped with the file based store, which
+ * replays any committed transactions remaining in the journal. Second, the storage is started with the segment store
+ * and the {@link UnixFSSegmentMigration} copies the committed files into the segment log. The node must not be
+ * running while the migration takes place.
+ *
+ * Usage: <pre>UnixFSSegmentMigrationTool &lt;storage root&gt; [--remove-source]</pre>
+ */
+public class UnixFSSegmentMigrationTool {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnixFSSegmentMigrationTool.class);
+
+    public static final String REMOVE_SOURCE = "--remove-source";
+
+    private final Path storageRoot;
+
+    private final boolean removeSource;
+
+    private final Supplier<UnixFSTransactionalPersistenceContextModule> moduleSupplier;
+
+    /**
+     * Creates a tool which migrates the supplied storage root using the default configuration.
+     *
+     * @param storageRoot the storage root
+     * @param removeSource true to remove the migrated files
+     */
+    public UnixFSSegmentMigrationTool(final Path storageRoot, final boolean removeSource) {
+        this(storageRoot, removeSource, () -> new UnixFSTransactionalPersistenceContextModule()
+                .withTransactionBufferSize(32768)
+                .withTransactionIdBlockSize(1024)
+                .withIndexCacheMaxSize(65536)
+                .withReplayThreads(Runtime.getRuntime().availableProcessors())
+                .withChecksumAlgorithm(CRC_32C)
+                .withJournalMode(PER_TRANSACTION, 64, 100)
+                .withSegmentLogParameters(64 * 1024 * 1024, 0.5, 10000));
+    }
+
+    /**
+     * Creates a tool which migrates the supplied storage root, configuring the storage with modules from the supplied
+     * {@link Supplier}. The storage root is always overridden with the supplied storage root.
+     *
+     * @param storageRoot the storage root
+     * @param removeSource true to remove the migrated files
+     * @param moduleSupplier supplies a new, configured, {@link UnixFSTransactionalPersistenceContextModule}
+     */
+    public UnixFSSegmentMigrationTool(final Path storageRoot,
+                                      final boolean removeSource,
+                                      final Supplier<UnixFSTransactionalPersistenceContextModule> moduleSupplier) {
+        this.storageRoot = storageRoot;
+        this.removeSource = removeSource;
+        this.moduleSupplier = moduleSupplier;
+    }
+
+    /**
+     * Runs the migration.
+     *
+     * @return the result of the migration
+     */
+    public UnixFSSegmentMigration.Result migrate() {
+
+        logger.info("Replaying journal for {}", storageRoot);
+
+        run(newModule(), injector -> null);
+
+        logger.info("Migrating {} (remove source: {})", storageRoot, removeSource);
+
+        return run(newModule().withSegmentDataStore(), injector -> injector
+                .getInstance(UnixFSSegmentMigration.class)
+                .migrate(removeSource));
+
+    }
+
+    private UnixFSTransactionalPersistenceContextModule newModule() {
+        return moduleSupplier.get().withStorageRoot(storageRoot);
+    }
+
+    private <T> T run(final UnixFSTransactionalPersistenceContextModule module,
+                      final Function<Injector, T> operation) {
+
+        final var injector = Guice.createInjector(module);
+        final var driver = injector.getInstance(JournalTransactionalPersistenceDriver.class);
+
+        driver.start();
+
+        try {
+            return operation.apply(injector);
+        } finally {
+            driver.stop();
+        }
+
+    }
+
+    public static void main(final String[] args) {
+
+        if (args.length < 1 || args.length > 2 || (args.length == 2 && !REMOVE_SOURCE.equals(args[1]))) {
+            System.err.printf("Usage: %s <storage root> [%s]%n", UnixFSSegmentMigrationTool.class.getName(), REMOVE_SOURCE);
+            System.exit(1);
+            return;
+        }
+
+        final var storageRoot = Paths.get(args[0]);
+        final var removeSource = args.length == 2;
+        final var result = new UnixFSSegmentMigrationTool(storageRoot, removeSource).migrate();
+
+        System.out.printf("Migrated %d resources and %d task entries.%n", result.resources(), result.tasks());
+
+    }
+
+}
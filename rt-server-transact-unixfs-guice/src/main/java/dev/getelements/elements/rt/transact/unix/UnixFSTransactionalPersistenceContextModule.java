@@ -10,8 +10,11 @@ import java.io.IOException;
 import java.nio.file.Path;
 
 import static com.google.inject.name.Names.named;
-import static dev.getelements.elements.rt.transact.unix.UnixFSChecksumAlgorithm.ADLER_32;
-import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionJournal.UNIXFS_TRANSACTION_BUFFER_SIZE;
+import static dev.getelements.elements.rt.transact.unix.UnixFSChecksumAlgorithm.CRC_32C;
+import static dev.getelements.elements.rt.transact.unix.UnixFSIndexCache.UNIXFS_INDEX_CACHE_MAX_SIZE;
+import static dev.getelements.elements.rt.transact.unix.UnixFSJournalMode.PER_TRANSACTION;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentLog.*;
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionJournal.*;
 import static dev.getelements.elements.rt.transact.unix.UnixFSUtils.UNIXFS_STORAGE_ROOT_DIRECTORY;
 import static java.lang.String.format;
 
@@ -25,22 +28,44 @@ public class UnixFSTransactionalPersistenceContextModule extends PrivateModule {
 
     private Runnable checksumAlgorithmBinding = () -> {};
 
+    private Runnable journalModeBinding = () -> {};
+
+    private Runnable transactionIdBlockSizeBinding = () -> {};
+
+    private Runnable indexCacheMaxSizeBinding = () -> {};
+
+    private Runnable replayThreadsBinding = () -> {};
+
+    private Runnable segmentLogParametersBinding = () -> {};
+
+    private Runnable dataStoreBinding = () -> {
+        bind(UnixFSJournalTransactionalPersistenceDriver.class).asEagerSingleton();
+        bind(DataStore.class).to(UnixFSDataStore.class);
+    };
+
+    private Runnable exposeDataStoreDetails = () -> {};
+
     private Runnable exposeDetailsForTesting = () -> {};
 
     @Override
     protected void configure() {
 
         bind(UnixFSUtils.class).asEagerSingleton();
+        bind(UnixFSIndexCache.class).asEagerSingleton();
         bind(UnixFSTransactionJournal.class).asEagerSingleton();
-        bind(UnixFSJournalTransactionalPersistenceDriver.class).asEagerSingleton();
 
-        bind(DataStore.class).to(UnixFSDataStore.class);
         bind(TransactionJournal.class).to(UnixFSTransactionJournal.class).asEagerSingleton();
         bind(JournalTransactionalPersistenceDriver.class).to(UnixFSJournalTransactionalPersistenceDriver.class).asEagerSingleton();
 
         storageRootBinding.run();
         transactionSizeBinding.run();
         checksumAlgorithmBinding.run();
+        journalModeBinding.run();
+        transactionIdBlockSizeBinding.run();
+        indexCacheMaxSizeBinding.run();
+        replayThreadsBinding.run();
+        segmentLogParametersBinding.run();
+        dataStoreBinding.run();
         exposeDetailsForTesting.run();
 
         expose(DataStore.class);
@@ -74,6 +99,48 @@ public class UnixFSTransactionalPersistenceContextModule extends PrivateModule {
         return this;
     }
 
+    /**
+     * Specifies the number of transaction IDs reserved each time the journal persists its transaction ID counter.
+     *
+     * @param blockSize the block size
+     * @return this instance
+     */
+    public UnixFSTransactionalPersistenceContextModule withTransactionIdBlockSize(final int blockSize) {
+        transactionIdBlockSizeBinding = () ->
+            bind(int.class)
+                .annotatedWith(named(UNIXFS_TRANSACTION_ID_BLOCK_SIZE))
+                .toInstance(blockSize);
+        return this;
+    }
+
+    /**
+     * Specifies the maximum number of entries held in each of the caches managed by the {@link UnixFSIndexCache}.
+     *
+     * @param maxSize the maximum size
+     * @return this instance
+     */
+    public UnixFSTransactionalPersistenceContextModule withIndexCacheMaxSize(final long maxSize) {
+        indexCacheMaxSizeBinding = () ->
+            bind(long.class)
+                .annotatedWith(named(UNIXFS_INDEX_CACHE_MAX_SIZE))
+                .toInstance(maxSize);
+        return this;
+    }
+
+    /**
+     * Specifies the number of threads used to replay the journal at startup.
+     *
+     * @param threads the number of threads
+     * @return this instance
+     */
+    public UnixFSTransactionalPersistenceContextModule withReplayThreads(final int threads) {
+        replayThreadsBinding = () ->
+            bind(int.class)
+                .annotatedWith(named(UNIXFS_REPLAY_THREADS))
+                .toInstance(threads);
+        return this;
+    }
+
     /**
      * Specifies the {@link UnixFSChecksumAlgorithm} used for new entries in the journal and the revision table.
      *
@@ -85,6 +152,88 @@ public class UnixFSTransactionalPersistenceContextModule extends PrivateModule {
         return this;
     }
 
+    /**
+     * Specifies the {@link UnixFSJournalMode} as well as the batching parameters used when the mode is
+     * {@link UnixFSJournalMode#GROUP_COMMIT}.
+     *
+     * @param mode the journal mode
+     * @param maxBatchSize the maximum number of transactions flushed in a single batch
+     * @param lingerUsec the time, in microseconds, to wait for additional transactions to join a batch
+     * @return this instance
+     */
+    public UnixFSTransactionalPersistenceContextModule withJournalMode(
+            final UnixFSJournalMode mode,
+            final int maxBatchSize,
+            final long lingerUsec) {
+
+        journalModeBinding = () -> {
+            bind(UnixFSJournalMode.class)
+                .annotatedWith(named(UNIXFS_TRANSACTION_JOURNAL_MODE))
+                .toInstance(mode);
+            bind(int.class)
+                .annotatedWith(named(UNIXFS_GROUP_COMMIT_MAX_BATCH_SIZE))
+                .toInstance(maxBatchSize);
+            bind(long.class)
+                .annotatedWith(named(UNIXFS_GROUP_COMMIT_LINGER_USEC))
+                .toInstance(lingerUsec);
+        };
+
+        return this;
+
+    }
+
+    /**
+     * Specifies the parameters of the {@link UnixFSSegmentLog} used when the segment data store is enabled.
+     *
+     * @param segmentSize the size of each segment file, in bytes
+     * @param compactionThreshold the fraction of a segment which must be live for the segment to skip compaction
+     * @param compactionIntervalMsec the interval, in milliseconds, between compaction passes
+     * @return this instance
+     */
+    public UnixFSTransactionalPersistenceContextModule withSegmentLogParameters(
+            final int segmentSize,
+            final double compactionThreshold,
+            final long compactionIntervalMsec) {
+
+        segmentLogParametersBinding = () -> {
+            bind(int.class)
+                .annotatedWith(named(UNIXFS_SEGMENT_SIZE))
+                .toInstance(segmentSize);
+            bind(double.class)
+                .annotatedWith(named(UNIXFS_SEGMENT_COMPACTION_THRESHOLD))
+                .toInstance(compactionThreshold);
+            bind(long.class)
+                .annotatedWith(named(UNIXFS_SEGMENT_COMPACTION_INTERVAL_MSEC))
+                .toInstance(compactionIntervalMsec);
+        };
+
+        return this;
+
+    }
+
+    /**
+     * Stores all paths, resources, and tasks in the {@link UnixFSSegmentDataStore} rather than as individual files in
+     * the {@link UnixFSDataStore}. Existing data must first be migrated with the {@link UnixFSSegmentMigration}.
+     *
+     * @return this instance
+     */
+    public UnixFSTransactionalPersistenceContextModule withSegmentDataStore() {
+
+        dataStoreBinding = () -> {
+            bind(UnixFSSegmentLog.class).asEagerSingleton();
+            bind(UnixFSSegmentMigration.class);
+            bind(UnixFSSegmentJournalTransactionalPersistenceDriver.class).asEagerSingleton();
+            bind(UnixFSJournalTransactionalPersistenceDriver.class).to(UnixFSSegmentJournalTransactionalPersistenceDriver.class);
+            bind(DataStore.class).to(UnixFSSegmentDataStore.class);
+            expose(UnixFSSegmentMigration.class);
+        };
+
+        exposeDataStoreDetails = () -> expose(UnixFSSegmentLog.class);
+
+        return this;
+
+    }
+
     /**
      * Exposes the details of the {@link UnixFSTransactionalPersistenceContextModule} for testing purposes.
      * @return this instance
@@ -93,8 +242,10 @@ public class UnixFSTransactionalPersistenceContextModule extends PrivateModule {
 
         exposeDetailsForTesting = () -> {
             expose(UnixFSUtils.class);
+            expose(UnixFSIndexCache.class);
             expose(UnixFSTransactionJournal.class);
             expose(UnixFSJournalTransactionalPersistenceDriver.class);
+            exposeDataStoreDetails.run();
         };
 
         return this;
@@ -129,7 +280,12 @@ public class UnixFSTransactionalPersistenceContextModule extends PrivateModule {
             .toProvider(() -> temporaryFiles.createTempDirectory(prefix));
 
         return withTransactionBufferSize(4096)
-            .withChecksumAlgorithm(ADLER_32);
+            .withTransactionIdBlockSize(1024)
+            .withIndexCacheMaxSize(65536)
+            .withReplayThreads(4)
+            .withChecksumAlgorithm(CRC_32C)
+            .withJournalMode(PER_TRANSACTION, 64, 100)
+            .withSegmentLogParameters(1024 * 1024, 0.5, 1000);
 
     }
 
@@ -0,0 +1,150 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import com.google.inject.AbstractModule;
+import dev.getelements.elements.rt.transact.JournalTransactionalPersistenceDriver;
+import dev.getelements.elements.sdk.cluster.id.NodeId;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSJournalMode.GROUP_COMMIT;
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionProgramExecutionPhase.CLEANUP;
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionProgramExecutionPhase.COMMIT;
+import static dev.getelements.elements.rt.transact.unix.UnixFSUtils.TRANSACTION_SEGMENT_EXTENSION;
+import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@Guice(modules = UnixFSGroupCommitJournalTest.Module.class)
+public class UnixFSGroupCommitJournalTest {
+
+    private static final int THREADS = 16;
+
+    private static final int TRANSACTIONS_PER_THREAD = 64;
+
+    @Inject
+    private NodeId nodeId;
+
+    @Inject
+    private UnixFSUtils utils;
+
+    @Inject
+    private UnixFSTransactionJournal journal;
+
+    @Inject
+    private JournalTransactionalPersistenceDriver journalTransactionalPersistenceDriver;
+
+    @BeforeClass
+    public void start() {
+        journalTransactionalPersistenceDriver.start();
+    }
+
+    @AfterClass
+    public void stop() {
+        journalTransactionalPersistenceDriver.stop();
+    }
+
+    @Test
+    public void testConcurrentCommits() throws InterruptedException, ExecutionException {
+
+        final var executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+
+            final var futures = new ArrayList<Future<?>>();
+
+            for (int t = 0; t < THREADS; ++t) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < TRANSACTIONS_PER_THREAD; ++i) {
+                        try (final var entry = journal.newMutableEntry(nodeId)) {
+                            entry.commit();
+                        }
+                    }
+                }));
+            }
+
+            for (var future : futures) future.get();
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test(dependsOnMethods = "testConcurrentCommits")
+    public void testReplayTruncatedSegment() throws IOException {
+
+        journalTransactionalPersistenceDriver.stop();
+        assertEquals(listSegments().size(), 0, "Expected all segments released on shutdown.");
+
+        final var first = compile("FFFFFFFFFFFFFFF0");
+        final var second = compile("FFFFFFFFFFFFFFF1");
+        final var segmentPath = utils.getTransactionSegmentFilePath("FFFFFFFFFFFFFFF0");
+
+        // Simulates a crash mid-batch by only writing part of the second program.
+
+        second.limit(second.limit() / 2);
+
+        try (final var channel = FileChannel.open(segmentPath, WRITE, CREATE_NEW)) {
+            while (first.hasRemaining()) channel.write(first);
+            while (second.hasRemaining()) channel.write(second);
+        }
+
+        journalTransactionalPersistenceDriver.start();
+        assertTrue(listSegments().isEmpty(), "Expected segments to be removed after replay.");
+
+    }
+
+    private ByteBuffer compile(final String transactionId) {
+
+        final var buffer = ByteBuffer.allocate(4096);
+
+        new UnixFSTransactionProgramBuilder()
+                .withNodeId(nodeId)
+                .withTransactionId(transactionId)
+                .withByteBuffer(buffer)
+                .compile(COMMIT, CLEANUP)
+                .commit();
+
+        return buffer.flip();
+
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (final Stream<Path> files = Files.list(utils.getTransactionJournalDirectoryPath())) {
+            return files.filter(p -> utils.isMatchingExtension(p, TRANSACTION_SEGMENT_EXTENSION)).toList();
+        }
+    }
+
+    public static class Module extends AbstractModule {
+        @Override
+        protected void configure() {
+
+            bind(NodeId.class).toInstance(randomNodeId());
+
+            install(new UnixFSTransactionalPersistenceContextModule()
+                .exposeDetailsForTesting()
+                .withTestingDefaults("group-commit")
+                .withJournalMode(GROUP_COMMIT, 32, 200)
+            );
+
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package dev.getelements.elements.rt.transact.unix;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
 import dev.getelements.elements.rt.PersistenceEnvironment;
 import dev.getelements.elements.rt.ResourceLoader;
 import dev.getelements.elements.rt.ResourceService;
@@ -11,11 +12,12 @@ import dev.getelements.elements.rt.transact.TransactionalResourceService;
 import dev.getelements.elements.rt.transact.TransactionalResourceServiceModule;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
-import org.testng.annotations.Guice;
+import org.testng.annotations.Factory;
 
 import jakarta.inject.Inject;
 import java.io.InputStream;
 import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
 
 import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,15 +25,26 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.fail;
 
-@Guice(modules = UnixFSResourceServiceLinkingUnitTest.Module.class)
 public class UnixFSResourceServiceAcquiringUnitTest extends AbstractResourceServiceAcquiringUnitTest {
 
+    @Factory
+    public static Object[] getTests() {
+        return Arrays
+                .stream(UnixFSTestDataStore.values())
+                .map(UnixFSResourceServiceAcquiringUnitTest::new)
+                .toArray(Object[]::new);
+    }
+
     @Inject
     private PersistenceEnvironment persistence;
 
     @Inject
     private TransactionalResourceService transactionalResourceService;
 
+    public UnixFSResourceServiceAcquiringUnitTest(final UnixFSTestDataStore dataStore) {
+        Guice.createInjector(new Module(dataStore)).injectMembers(this);
+    }
+
     @Override
     public ResourceService getResourceService() {
         return transactionalResourceService;
@@ -51,6 +64,12 @@ public class UnixFSResourceServiceAcquiringUnitTest extends AbstractResourceServ
 
     public static class Module extends AbstractModule {
 
+        private final UnixFSTestDataStore dataStore;
+
+        public Module(final UnixFSTestDataStore dataStore) {
+            this.dataStore = dataStore;
+        }
+
         @Override
         protected void configure() {
 
@@ -63,9 +82,9 @@ public class UnixFSResourceServiceAcquiringUnitTest extends AbstractResourceServ
 
             install(new JournalTransactionalResourceServicePersistenceModule());
 
-            install(new UnixFSTransactionalPersistenceContextModule()
+            install(dataStore.configure(new UnixFSTransactionalPersistenceContextModule()
                     .exposeDetailsForTesting()
-                    .withTestingDefaults());
+                    .withTestingDefaults()));
 
             final ResourceLoader resourceLoader = mock(ResourceLoader.class);
 
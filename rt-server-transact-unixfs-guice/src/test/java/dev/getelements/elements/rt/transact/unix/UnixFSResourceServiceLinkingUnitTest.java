@@ -1,6 +1,7 @@
 package dev.getelements.elements.rt.transact.unix;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
 import dev.getelements.elements.rt.PersistenceEnvironment;
 import dev.getelements.elements.rt.Resource;
 import dev.getelements.elements.rt.ResourceLoader;
@@ -15,7 +16,7 @@ import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
-import org.testng.annotations.Guice;
+import org.testng.annotations.Factory;
 
 import jakarta.inject.Inject;
 import java.io.IOException;
@@ -23,21 +24,33 @@ import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
 
 import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-@Guice(modules = UnixFSResourceServiceLinkingUnitTest.Module.class)
 public class UnixFSResourceServiceLinkingUnitTest extends AbstractResourceServiceLinkingUnitTest {
 
+    @Factory
+    public static Object[] getTests() {
+        return Arrays
+                .stream(UnixFSTestDataStore.values())
+                .map(UnixFSResourceServiceLinkingUnitTest::new)
+                .toArray(Object[]::new);
+    }
+
     @Inject
     private PersistenceEnvironment persistenceEnvironment;
 
     @Inject
     private TransactionalResourceService transactionalResourceService;
 
+    public UnixFSResourceServiceLinkingUnitTest(final UnixFSTestDataStore dataStore) {
+        Guice.createInjector(new Module(dataStore)).injectMembers(this);
+    }
+
     @Override
     public ResourceService getResourceService() {
         return transactionalResourceService;
@@ -57,6 +70,12 @@ public class UnixFSResourceServiceLinkingUnitTest extends AbstractResourceServic
 
     public static class Module extends AbstractModule {
 
+        private final UnixFSTestDataStore dataStore;
+
+        public Module(final UnixFSTestDataStore dataStore) {
+            this.dataStore = dataStore;
+        }
+
         @Override
         protected void configure() {
 
@@ -67,9 +86,9 @@ public class UnixFSResourceServiceLinkingUnitTest extends AbstractResourceServic
             install(new TransactionalResourceServiceModule().exposeTransactionalResourceService());
             install(new JournalTransactionalResourceServicePersistenceModule());
 
-            install(new UnixFSTransactionalPersistenceContextModule()
+            install(dataStore.configure(new UnixFSTransactionalPersistenceContextModule()
                     .exposeDetailsForTesting()
-                    .withTestingDefaults());
+                    .withTestingDefaults()));
 
             final ResourceLoader resourceLoader = mock(ResourceLoader.class);
 
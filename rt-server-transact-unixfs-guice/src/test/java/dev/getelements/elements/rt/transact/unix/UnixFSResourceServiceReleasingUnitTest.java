@@ -1,6 +1,7 @@
 package dev.getelements.elements.rt.transact.unix;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
 import dev.getelements.elements.rt.PersistenceEnvironment;
 import dev.getelements.elements.rt.Resource;
 import dev.getelements.elements.rt.ResourceLoader;
@@ -14,7 +15,7 @@ import dev.getelements.elements.rt.transact.TransactionalResourceServiceModule;
 import org.mockito.Mockito;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
-import org.testng.annotations.Guice;
+import org.testng.annotations.Factory;
 
 import jakarta.inject.Inject;
 import java.io.IOException;
@@ -22,21 +23,33 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 
 import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.*;
 
-@Guice(modules = UnixFSResourceServiceReleasingUnitTest.Module.class)
 public class UnixFSResourceServiceReleasingUnitTest extends AbstractResourceServiceReleasingUnitTest {
 
-    @jakarta.inject.Inject
+    @Factory
+    public static Object[] getTests() {
+        return Arrays
+                .stream(UnixFSTestDataStore.values())
+                .map(UnixFSResourceServiceReleasingUnitTest::new)
+                .toArray(Object[]::new);
+    }
+
+    @Inject
     private PersistenceEnvironment persistenceEnvironment;
 
     @Inject
     private TransactionalResourceService transactionalResourceService;
 
+    public UnixFSResourceServiceReleasingUnitTest(final UnixFSTestDataStore dataStore) {
+        Guice.createInjector(new Module(dataStore)).injectMembers(this);
+    }
+
     @Override
     public ResourceService getResourceService() {
         return transactionalResourceService;
@@ -61,6 +74,12 @@ public class UnixFSResourceServiceReleasingUnitTest extends AbstractResourceServ
 
     public static class Module extends AbstractModule {
 
+        private final UnixFSTestDataStore dataStore;
+
+        public Module(final UnixFSTestDataStore dataStore) {
+            this.dataStore = dataStore;
+        }
+
         @Override
         protected void configure() {
 
@@ -71,9 +90,9 @@ public class UnixFSResourceServiceReleasingUnitTest extends AbstractResourceServ
             install(new TransactionalResourceServiceModule().exposeTransactionalResourceService());
             install(new JournalTransactionalResourceServicePersistenceModule());
 
-            install(new UnixFSTransactionalPersistenceContextModule()
+            install(dataStore.configure(new UnixFSTransactionalPersistenceContextModule()
                     .exposeDetailsForTesting()
-                    .withTestingDefaults());
+                    .withTestingDefaults()));
 
             final var resourceLoader = mock(ResourceLoader.class);
 
@@ -0,0 +1,167 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import dev.getelements.elements.rt.PersistenceEnvironment;
+import dev.getelements.elements.rt.Resource;
+import dev.getelements.elements.rt.ResourceLoader;
+import dev.getelements.elements.rt.transact.DataStore;
+import dev.getelements.elements.rt.transact.JournalTransactionalResourceServicePersistenceModule;
+import dev.getelements.elements.rt.transact.TransactionalResourceService;
+import dev.getelements.elements.rt.transact.TransactionalResourceServiceModule;
+import dev.getelements.elements.sdk.cluster.id.NodeId;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import dev.getelements.elements.sdk.util.TemporaryFiles;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.randomResourceIdForNode;
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class UnixFSSegmentMigrationTest {
+
+    private static final TemporaryFiles temporaryFiles = new TemporaryFiles(UnixFSSegmentMigrationTest.class);
+
+    private final NodeId nodeId = randomNodeId();
+
+    private final java.nio.file.Path storageRoot = temporaryFiles.createTempDirectory("segment-migration");
+
+    @Test
+    public void testMigrate() {
+
+        final Map<ResourceId, Path[]> resources = new HashMap<>();
+
+        run(false, injector -> {
+
+            final var service = injector.getInstance(TransactionalResourceService.class);
+
+            for (int i = 0; i < 10; ++i) {
+
+                final var resourceId = randomResourceIdForNode(nodeId);
+                final var path = new Path(asList("test", randomUUID().toString()));
+                final var alias = new Path(asList("test", randomUUID().toString()));
+
+                service.addAndReleaseResource(path, mockResource(resourceId));
+                service.link(resourceId, alias);
+                resources.put(resourceId, new Path[]{path, alias});
+
+            }
+
+        });
+
+        final var result = new UnixFSSegmentMigrationTool(
+                storageRoot,
+                true,
+                () -> new UnixFSTransactionalPersistenceContextModule().withTestingDefaults()
+        ).migrate();
+        assertEquals(result.resources(), resources.size());
+
+        run(true, injector -> {
+
+            final var service = injector.getInstance(TransactionalResourceService.class);
+            final var dataStore = injector.getInstance(DataStore.class);
+            final var utils = injector.getInstance(UnixFSUtils.class);
+
+            assertFalse(utils.getNodeStorageRoot().resolve(nodeId.asString()).toFile().exists());
+
+            resources.forEach((resourceId, paths) -> {
+
+                final var contextual = Set.of(
+                        paths[0].toPathWithContextIfAbsent(nodeId),
+                        paths[1].toPathWithContextIfAbsent(nodeId)
+                );
+
+                assertTrue(service.exists(resourceId));
+                assertEquals(dataStore.getResourceIndex().findReversePaths(resourceId).orElseThrow(), contextual);
+
+                for (var path : contextual) {
+                    assertEquals(dataStore.getPathIndex().findResourceId(path).orElseThrow(), resourceId);
+                }
+
+            });
+
+        });
+
+    }
+
+    private void run(final boolean segment, final Consumer<Injector> operation) {
+
+        final var injector = Guice.createInjector(new Module(segment));
+        final var environment = injector.getInstance(PersistenceEnvironment.class);
+        final var service = injector.getInstance(TransactionalResourceService.class);
+
+        environment.start();
+        service.start();
+
+        try {
+            operation.accept(injector);
+        } finally {
+            service.stop();
+            environment.stop();
+        }
+
+    }
+
+    private static Resource mockResource(final ResourceId resourceId) {
+
+        final var resource = mock(Resource.class);
+        when(resource.getId()).thenReturn(resourceId);
+
+        try {
+            doAnswer(a -> {
+                final WritableByteChannel wbc = a.getArgument(0);
+                wbc.write(ByteBuffer.wrap(resourceId.asBytes()));
+                return null;
+            }).when(resource).serialize(any(WritableByteChannel.class));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return resource;
+
+    }
+
+    private class Module extends AbstractModule {
+
+        private final boolean segment;
+
+        public Module(final boolean segment) {
+            this.segment = segment;
+        }
+
+        @Override
+        protected void configure() {
+
+            bind(NodeId.class).toInstance(nodeId);
+
+            install(new TransactionalResourceServiceModule().exposeTransactionalResourceService());
+            install(new JournalTransactionalResourceServicePersistenceModule());
+
+            final var module = new UnixFSTransactionalPersistenceContextModule()
+                    .exposeDetailsForTesting()
+                    .withTestingDefaults()
+                    .withStorageRoot(storageRoot);
+
+            install(segment ? module.withSegmentDataStore() : module);
+            bind(ResourceLoader.class).toInstance(mock(ResourceLoader.class));
+
+        }
+
+    }
+
+}
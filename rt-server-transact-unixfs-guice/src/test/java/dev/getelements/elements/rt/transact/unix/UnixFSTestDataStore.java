@@ -0,0 +1,40 @@
+package dev.getelements.elements.rt.transact.unix;
+
+/**
+ * Enumerates the {@link dev.getelements.elements.rt.transact.DataStore} implementations which the UnixFS resource
+ * service tests run against.
+ */
+public enum UnixFSTestDataStore {
+
+    /**
+     * The {@link UnixFSDataStore}, which stores each entry as an individual file.
+     */
+    FILE {
+        @Override
+        public UnixFSTransactionalPersistenceContextModule configure(
+                final UnixFSTransactionalPersistenceContextModule module) {
+            return module;
+        }
+    },
+
+    /**
+     * The {@link UnixFSSegmentDataStore}, which appends entries to a log of segment files.
+     */
+    SEGMENT {
+        @Override
+        public UnixFSTransactionalPersistenceContextModule configure(
+                final UnixFSTransactionalPersistenceContextModule module) {
+            return module.withSegmentDataStore();
+        }
+    };
+
+    /**
+     * Configures the supplied module to use this data store.
+     *
+     * @param module the module
+     * @return the module
+     */
+    public abstract UnixFSTransactionalPersistenceContextModule configure(
+            UnixFSTransactionalPersistenceContextModule module);
+
+}
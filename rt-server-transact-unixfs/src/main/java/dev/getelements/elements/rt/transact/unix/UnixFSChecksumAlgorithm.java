@@ -7,11 +7,11 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SeekableByteChannel;
 import java.util.zip.Adler32;
 import java.util.zip.CRC32;
-
-import static java.lang.Math.min;
+import java.util.zip.CRC32C;
 
 /**
- * Which checksum algorithm to use when committing the transaction.
+ * Which checksum algorithm to use when committing the transaction. The ordinal of each value is written to disk, so new
+ * values must only ever be appended.
  */
 public enum UnixFSChecksumAlgorithm {
 
@@ -25,11 +25,6 @@ public enum UnixFSChecksumAlgorithm {
             final CRC32 crc32 = new CRC32();
 
             return new Algorithm() {
-                @Override
-                public void update(final byte b) {
-                    crc32.update(b);
-                }
-
                 @Override
                 public void update(final ByteBuffer byteBuffer) {
                     crc32.update(byteBuffer);
@@ -56,18 +51,38 @@ public enum UnixFSChecksumAlgorithm {
 
             return new Algorithm() {
                 @Override
-                public void update(final byte b) {
-                    adler32.update(b);
+                public void update(final ByteBuffer byteBuffer) {
+                    adler32.update(byteBuffer);
                 }
 
+                @Override
+                public long getValue() {
+                    return adler32.getValue();
+                }
+            };
+
+        }
+
+    },
+
+    /**
+     * Uses {@link CRC32C}, which is hardware accelerated on most platforms. This is the default for new journals.
+     */
+    CRC_32C {
+
+        protected Algorithm newAlgorithm() {
+
+            final CRC32C crc32c = new CRC32C();
+
+            return new Algorithm() {
                 @Override
                 public void update(final ByteBuffer byteBuffer) {
-                    adler32.update(byteBuffer);
+                    crc32c.update(byteBuffer);
                 }
 
                 @Override
                 public long getValue() {
-                    return adler32.getValue();
+                    return crc32c.getValue();
                 }
             };
 
@@ -75,6 +90,13 @@ public enum UnixFSChecksumAlgorithm {
 
     };
 
+    /**
+     * The algorithm used for new journals and data files unless otherwise configured.
+     */
+    public static final UnixFSChecksumAlgorithm DEFAULT = CRC_32C;
+
+    private static final ByteBuffer ZERO_CHECKSUM = ByteBuffer.allocate(Integer.BYTES).asReadOnlyBuffer();
+
     /**
      * Checks if this the supplied {@link Checkable} is valid.
      *
@@ -98,7 +120,7 @@ public enum UnixFSChecksumAlgorithm {
         algorithm.update(contents);
 
         // Inserts four zero bytes as if it were calculated with zeros in that position
-        for (int i = 0; i < Integer.BYTES; ++i) algorithm.update((byte) 0x0);
+        algorithm.update(ZERO_CHECKSUM.duplicate());
 
         // Sets the limit and position to the remainder of the buffer and updates the checksum.
         contents.limit(limit).position(position + checksum.offset() + Integer.BYTES);
@@ -223,7 +245,6 @@ public enum UnixFSChecksumAlgorithm {
     }
 
     protected interface Algorithm {
-        void update(byte b);
         void update(ByteBuffer byteBuffer);
         long getValue();
     }
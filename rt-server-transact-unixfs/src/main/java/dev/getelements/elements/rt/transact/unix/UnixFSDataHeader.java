@@ -8,7 +8,7 @@ import java.io.IOException;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 
-import static dev.getelements.elements.rt.transact.unix.UnixFSChecksumAlgorithm.ADLER_32;
+import static dev.getelements.elements.rt.transact.unix.UnixFSChecksumAlgorithm.DEFAULT;
 import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionProgramHeader.TRANSACTION_ID_LENGTH_CURRENT;
 import static java.lang.String.format;
 import static java.nio.ByteBuffer.allocate;
@@ -138,7 +138,7 @@ public class UnixFSDataHeader extends Struct implements UnixFSChecksumAlgorithm.
         minor.set(VERSION_MINOR_CURRENT);
         checksum.set(0);
         headerChecksum.set(0);
-        checksumAlgorithm.set(ADLER_32);
+        checksumAlgorithm.set(DEFAULT);
         transactionId.set("");
         return this;
     }
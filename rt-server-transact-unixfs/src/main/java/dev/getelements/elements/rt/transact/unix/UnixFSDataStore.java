@@ -29,6 +29,8 @@ public class UnixFSDataStore implements DataStore {
 
     private UnixFSUtils unixFSUtils;
 
+    private UnixFSIndexCache indexCache;
+
     @Override
     public void removeAllResources(final NodeId nodeId) {
 
@@ -42,6 +44,7 @@ public class UnixFSDataStore implements DataStore {
             }
         });
 
+        getIndexCache().invalidateAll();
         reaper.execute(() -> getUnixFSUtils().cleanupGarbage(garbageDirectory));
 
     }
@@ -85,4 +88,13 @@ public class UnixFSDataStore implements DataStore {
         this.unixFSUtils = unixFSUtils;
     }
 
+    public UnixFSIndexCache getIndexCache() {
+        return indexCache;
+    }
+
+    @Inject
+    public void setIndexCache(UnixFSIndexCache indexCache) {
+        this.indexCache = indexCache;
+    }
+
 }
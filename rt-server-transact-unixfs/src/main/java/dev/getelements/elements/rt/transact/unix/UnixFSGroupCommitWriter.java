@@ -0,0 +1,308 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.FatalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.open;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Collects {@link UnixFSTransactionProgram}s from concurrently committing transactions and appends them, in batches,
+ * to an append-only segment file in the journal directory. Each batch is written with a single gathering write and
+ * flushed to disk with a single call to {@link FileChannel#force(boolean)}. Callers block until the batch containing
+ * their program is durable.
+ *
+ * Programs are written back-to-back with no additional framing, as each {@link UnixFSTransactionProgramHeader} already
+ * specifies the length of the program and the checksum guarding its contents. When replaying a segment, the first
+ * program which fails to validate marks the end of the segment. Because no program in a batch proceeds until the whole
+ * batch is flushed, anything following a torn write was never acknowledged and may be safely discarded.
+ *
+ * Once a segment exceeds {@link #SEGMENT_SIZE_LIMIT} it is sealed and a new segment is opened with the next batch. A
+ * sealed segment is deleted once every transaction written to it has been released.
+ */
+class UnixFSGroupCommitWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnixFSGroupCommitWriter.class);
+
+    /**
+     * The size, in bytes, after which a segment is sealed and a new segment is started.
+     */
+    public static final long SEGMENT_SIZE_LIMIT = 64 * 1024 * 1024;
+
+    private static final long POLL_INTERVAL_MSEC = 100;
+
+    private final UnixFSUtils utils;
+
+    private final int maxBatchSize;
+
+    private final long lingerNanos;
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    // Only accessed from the writer thread.
+
+    private Segment current;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param utils the {@link UnixFSUtils}
+     * @param maxBatchSize the maximum number of programs to write in a single batch
+     * @param lingerNanos the amount of time, in nanoseconds, to wait for additional programs after the first program
+     *                    in the batch arrives
+     */
+    public UnixFSGroupCommitWriter(final UnixFSUtils utils, final int maxBatchSize, final long lingerNanos) {
+
+        if (maxBatchSize <= 0) throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        if (lingerNanos < 0) throw new IllegalArgumentException("Linger must not be negative: " + lingerNanos);
+
+        this.utils = utils;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = lingerNanos;
+
+        thread = new Thread(this::run);
+        thread.setDaemon(true);
+        thread.setName(format("%s group commit writer.", UnixFSGroupCommitWriter.class.getName()));
+        thread.start();
+
+    }
+
+    /**
+     * Appends the program to the journal, blocking until the program has been flushed to disk.
+     *
+     * @param transactionId the transaction id
+     * @param program the {@link ByteBuffer} containing the program between its position and limit
+     * @return the {@link Segment} to which the program was written, which must be released when the transaction closes
+     */
+    public Segment append(final String transactionId, final ByteBuffer program) {
+
+        if (!running) throw new IllegalStateException("Group commit writer is not running.");
+
+        final var pending = new Pending(transactionId, program);
+        queue.add(pending);
+
+        try {
+            return pending.future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new FatalException(ex);
+        } catch (ExecutionException ex) {
+            throw new FatalException(ex.getCause());
+        }
+
+    }
+
+    /**
+     * Stops the writer, flushing any pending programs and waiting for the writer thread to exit.
+     */
+    public void stop() {
+
+        running = false;
+
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted waiting for writer thread to stop.", ex);
+        }
+
+        Pending pending;
+
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(new IllegalStateException("Group commit writer stopped."));
+        }
+
+    }
+
+    private void run() {
+
+        final var batch = new ArrayList<Pending>(maxBatchSize);
+
+        try {
+            while (running || !queue.isEmpty()) {
+
+                final var first = queue.poll(POLL_INTERVAL_MSEC, MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                linger(batch);
+                flush(batch);
+                batch.clear();
+
+            }
+        } catch (InterruptedException ex) {
+            logger.error("Interrupted writing journal segment.", ex);
+            batch.forEach(p -> p.future.completeExceptionally(ex));
+        } finally {
+            seal();
+        }
+
+    }
+
+    private void linger(final List<Pending> batch) throws InterruptedException {
+
+        final long deadline = System.nanoTime() + lingerNanos;
+
+        while (batch.size() < maxBatchSize) {
+
+            final long remaining = deadline - System.nanoTime();
+
+            final var next = remaining > 0
+                    ? queue.poll(remaining, NANOSECONDS)
+                    : queue.poll();
+
+            if (next == null) break;
+            batch.add(next);
+
+        }
+
+    }
+
+    private void flush(final List<Pending> batch) {
+        try {
+
+            final var segment = current == null ? (current = new Segment(batch.get(0).transactionId)) : current;
+            final var buffers = new ByteBuffer[batch.size()];
+
+            long total = 0;
+
+            for (int i = 0; i < buffers.length; ++i) {
+                buffers[i] = batch.get(i).program;
+                total += buffers[i].remaining();
+            }
+
+            for (long written = 0; written < total; ) {
+                written += segment.channel.write(buffers);
+            }
+
+            segment.channel.force(false);
+            segment.acquire(batch.size(), total);
+            batch.forEach(p -> p.future.complete(segment));
+
+            logger.trace("Flushed {} programs ({} bytes) to {}", batch.size(), total, segment.path);
+
+            if (segment.size >= SEGMENT_SIZE_LIMIT) seal();
+
+        } catch (Exception ex) {
+            logger.error("Failed to write journal segment.", ex);
+            batch.forEach(p -> p.future.completeExceptionally(ex));
+            seal();
+        }
+    }
+
+    private void seal() {
+        if (current != null) {
+            current.seal();
+            current = null;
+        }
+    }
+
+    private static class Pending {
+
+        private final String transactionId;
+
+        private final ByteBuffer program;
+
+        private final CompletableFuture<Segment> future = new CompletableFuture<>();
+
+        public Pending(final String transactionId, final ByteBuffer program) {
+            this.transactionId = transactionId;
+            this.program = program;
+        }
+
+    }
+
+    /**
+     * Represents a single segment file in the journal directory.
+     */
+    class Segment {
+
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private long size;
+
+        private int references;
+
+        private boolean sealed;
+
+        private Segment(final String transactionId) throws IOException {
+            path = utils.getTransactionSegmentFilePath(transactionId);
+            channel = open(path, WRITE, CREATE_NEW);
+            logger.debug("Opened journal segment {}", path);
+        }
+
+        private synchronized void acquire(final int count, final long bytes) {
+            references += count;
+            size += bytes;
+        }
+
+        /**
+         * Releases a single transaction written to this segment.
+         */
+        public synchronized void release() {
+
+            if (references <= 0) {
+                throw new IllegalStateException("Segment over-released: " + path);
+            }
+
+            --references;
+            deleteIfUnused();
+
+        }
+
+        private synchronized void seal() {
+
+            sealed = true;
+
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                logger.error("Unable to close segment {}", path, ex);
+            }
+
+            deleteIfUnused();
+
+        }
+
+        private void deleteIfUnused() {
+            if (sealed && references == 0) {
+                utils.doOperationV(() -> deleteIfExists(path));
+                logger.debug("Deleted journal segment {}", path);
+            }
+        }
+
+        /**
+         * Gets the {@link Path} to this segment.
+         *
+         * @return the {@link Path}
+         */
+        public Path getPath() {
+            return path;
+        }
+
+    }
+
+}
@@ -0,0 +1,224 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import dev.getelements.elements.rt.transact.ResourceEntry.OperationalStrategy;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSUtils.REVERSE_PATHS_DIRECTORY;
+import static dev.getelements.elements.rt.transact.unix.UnixFSUtils.REVERSE_PATH_EXTENSION;
+
+/**
+ * A bounded, in-memory cache of the path to {@link ResourceId} mapping as well as the {@link ResourceId} to reverse
+ * paths mapping. This allows the {@link UnixFSPathIndex} and {@link UnixFSResourceIndex} to resolve entries, and to
+ * determine that entries do not exist, without touching the filesystem.
+ *
+ * Entries are loaded on demand and are invalidated by the {@link UnixFSTransactionCommitExecutionHandler} after each
+ * change is applied to the filesystem. To prevent a concurrent reader from re-inserting a value it read before the
+ * change was applied, every key hashes to a stamp which is incremented on invalidation. A loaded value is only stored
+ * if the stamp observed before the load is unchanged when the value is stored.
+ *
+ * The cache is warmed on startup by walking the reverse paths stored for each node, stopping once the cache is full.
+ */
+public class UnixFSIndexCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnixFSIndexCache.class);
+
+    /**
+     * The maximum number of entries held in each of the path and reverse path caches.
+     */
+    public static final String UNIXFS_INDEX_CACHE_MAX_SIZE = "dev.getelements.elements.rt.transact.unix.index.cache.max.size";
+
+    private static final int STAMP_STRIPES = 1024;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final UnixFSUtils utils;
+
+    private final long maxSize;
+
+    private final Cache<Path, Optional<ResourceId>> pathCache;
+
+    private final Cache<ResourceId, Optional<Set<Path>>> reversePathCache;
+
+    @Inject
+    public UnixFSIndexCache(final UnixFSUtils utils, @Named(UNIXFS_INDEX_CACHE_MAX_SIZE) final long maxSize) {
+        this.utils = utils;
+        this.maxSize = maxSize;
+        this.pathCache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.reversePathCache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+    }
+
+    /**
+     * Finds the {@link ResourceId} linked to the supplied {@link Path}, loading it if it is not cached.
+     *
+     * @param path the {@link Path}
+     * @param loader loads the {@link ResourceId} from the filesystem
+     * @return the {@link ResourceId}, or an empty {@link Optional} if nothing is linked at the {@link Path}
+     */
+    public Optional<ResourceId> findResourceId(final Path path, final Supplier<Optional<ResourceId>> loader) {
+        return find(pathCache, path, loader);
+    }
+
+    /**
+     * Finds the reverse paths for the supplied {@link ResourceId}, loading them if they are not cached.
+     *
+     * @param resourceId the {@link ResourceId}
+     * @param loader loads the reverse paths from the filesystem
+     * @return the reverse paths, or an empty {@link Optional} if no such resource exists
+     */
+    public Optional<Set<Path>> findReversePaths(final ResourceId resourceId,
+                                                final Supplier<Optional<Set<Path>>> loader) {
+        return find(reversePathCache, resourceId, loader);
+    }
+
+    /**
+     * Checks if the supplied {@link Path} is known not to be linked to any resource.
+     *
+     * @param path the {@link Path}
+     * @return true if the cache holds the {@link Path} as absent, false if present or unknown
+     */
+    public boolean isKnownAbsent(final Path path) {
+        final var cached = pathCache.asMap().get(path);
+        return cached != null && cached.isEmpty();
+    }
+
+    /**
+     * Checks if the supplied {@link ResourceId} is known not to exist.
+     *
+     * @param resourceId the {@link ResourceId}
+     * @return true if the cache holds the {@link ResourceId} as absent, false if present or unknown
+     */
+    public boolean isKnownAbsent(final ResourceId resourceId) {
+        final var cached = reversePathCache.asMap().get(resourceId);
+        return cached != null && cached.isEmpty();
+    }
+
+    private <K, V> Optional<V> find(final Cache<K, Optional<V>> cache,
+                                    final K key,
+                                    final Supplier<Optional<V>> loader) {
+
+        final var cached = cache.getIfPresent(key);
+        if (cached != null) return cached;
+
+        final var stripe = stripe(key);
+        final long stamp = stamps.get(stripe);
+        final var loaded = loader.get();
+
+        cache.asMap().compute(key, (k, existing) -> stamps.get(stripe) == stamp ? loaded : existing);
+        return loaded;
+
+    }
+
+    /**
+     * Invalidates the cached {@link ResourceId} for the supplied {@link Path}. This must be called after the change
+     * has been applied to the filesystem.
+     *
+     * @param path the {@link Path}
+     */
+    public void invalidate(final Path path) {
+        stamps.incrementAndGet(stripe(path));
+        pathCache.invalidate(path);
+    }
+
+    /**
+     * Invalidates the cached reverse paths for the supplied {@link ResourceId}. This must be called after the change
+     * has been applied to the filesystem.
+     *
+     * @param resourceId the {@link ResourceId}
+     */
+    public void invalidate(final ResourceId resourceId) {
+        stamps.incrementAndGet(stripe(resourceId));
+        reversePathCache.invalidate(resourceId);
+    }
+
+    /**
+     * Invalidates all cached values.
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < STAMP_STRIPES; ++i) stamps.incrementAndGet(i);
+        pathCache.invalidateAll();
+        reversePathCache.invalidateAll();
+    }
+
+    /**
+     * Warms the cache by walking the reverse paths for each node in the storage root. This stops once the cache is
+     * full or all reverse paths have been read.
+     */
+    public void warm() {
+
+        final var start = System.currentTimeMillis();
+
+        try (var nodes = utils.list(utils.getNodeStorageRoot())) {
+            nodes.filter(Files::isDirectory)
+                 .map(node -> node.resolve(REVERSE_PATHS_DIRECTORY))
+                 .filter(Files::isDirectory)
+                 .flatMap(utils::walk)
+                 .filter(fsPath -> utils.isMatchingExtension(fsPath, REVERSE_PATH_EXTENSION))
+                 .filter(utils::isRegularFile)
+                 .takeWhile(fsPath -> reversePathCache.size() < maxSize)
+                 .forEach(this::warm);
+        }
+
+        logger.info("Warmed index cache with {} paths and {} resources in {}ms.",
+                pathCache.size(),
+                reversePathCache.size(),
+                System.currentTimeMillis() - start
+        );
+
+    }
+
+    private void warm(final java.nio.file.Path reversePathsFile) {
+        try (var entry = new UnixFSResourceEntryExisting(utils, () -> reversePathsFile, new OperationalStrategy() {})) {
+
+            final var resourceId = entry.getOriginalResourceId();
+            final var reversePaths = entry.getOriginalReversePathsImmutable();
+
+            reversePathCache.put(resourceId, Optional.of(reversePaths));
+
+            for (var path : reversePaths) {
+                if (pathCache.size() < maxSize) pathCache.put(path, Optional.of(resourceId));
+            }
+
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Unable to warm index cache from {}. Skipping.", reversePathsFile, ex);
+        }
+    }
+
+    /**
+     * Gets the hit and miss statistics for the path to {@link ResourceId} cache.
+     *
+     * @return the {@link CacheStats}
+     */
+    public CacheStats getPathCacheStats() {
+        return pathCache.stats();
+    }
+
+    /**
+     * Gets the hit and miss statistics for the {@link ResourceId} to reverse paths cache.
+     *
+     * @return the {@link CacheStats}
+     */
+    public CacheStats getReversePathCacheStats() {
+        return reversePathCache.stats();
+    }
+
+    private static int stripe(final Object key) {
+        final int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+}
@@ -0,0 +1,22 @@
+package dev.getelements.elements.rt.transact.unix;
+
+/**
+ * Indicates how the {@link UnixFSTransactionJournal} persists each {@link UnixFSTransactionProgram} before it executes
+ * the program against the data store.
+ */
+public enum UnixFSJournalMode {
+
+    /**
+     * Each transaction writes its own file in the journal directory, synchronously flushing the contents to disk
+     * before executing the program.
+     */
+    PER_TRANSACTION,
+
+    /**
+     * Concurrently committing transactions are collected in batches and appended to a shared segment file in the
+     * journal directory. Each batch is flushed to disk once, and all transactions in the batch proceed after the flush
+     * completes.
+     */
+    GROUP_COMMIT
+
+}
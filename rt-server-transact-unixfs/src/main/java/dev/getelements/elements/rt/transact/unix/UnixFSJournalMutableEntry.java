@@ -32,18 +32,22 @@ class UnixFSJournalMutableEntry implements TransactionJournal.MutableEntry {
 
     private final DataStore dataStore;
 
+    private final UnixFSIndexCache indexCache;
+
     private final Consumer<UnixFSJournalMutableEntry> onWrite;
 
     private final FinallyAction onClose;
 
     public UnixFSJournalMutableEntry(final String transactionId,
                                      final DataStore dataStore,
+                                     final UnixFSIndexCache indexCache,
                                      final UnixFSTransactionProgramBuilder programBuilder,
                                      final Consumer<UnixFSJournalMutableEntry> onWrite,
                                      final Consumer<UnixFSJournalMutableEntry> onClose) {
         this.transactionId = transactionId;
         this.programBuilder = programBuilder;
         this.dataStore = dataStore;
+        this.indexCache = indexCache;
         this.onWrite = onWrite;
         this.onClose = FinallyAction.begin(logger)
                 .then(() -> {
@@ -100,7 +104,7 @@ class UnixFSJournalMutableEntry implements TransactionJournal.MutableEntry {
 
         onWrite.accept(this);
 
-        final var handler = new UnixFSTransactionCommitExecutionHandler(dataStore);
+        final var handler = new UnixFSTransactionCommitExecutionHandler(dataStore, indexCache);
         program.executeCommitPhase(handler).executeCleanupPhase(handler);
 
     }
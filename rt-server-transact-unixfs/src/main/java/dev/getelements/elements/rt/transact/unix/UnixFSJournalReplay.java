@@ -0,0 +1,316 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.exception.InternalException;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Replays {@link UnixFSTransactionProgram}s recovered from the journal at startup, applying programs which do not
+ * touch any of the same {@link ResourceId} or {@link Path} instances in parallel.
+ *
+ * Programs must be added in transaction ID order. Each program depends on the most recently added program which shares
+ * any of its keys, so programs touching the same keys replay in the same order as they would sequentially. This mirrors
+ * the locking performed while the transactions were originally committed, where only transactions touching disjoint
+ * resources and paths may commit concurrently.
+ */
+public class UnixFSJournalReplay {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnixFSJournalReplay.class);
+
+    private static final long PROGRESS_INTERVAL_NANOS = NANOSECONDS.convert(5, SECONDS);
+
+    private final int threads;
+
+    private final Consumer<UnixFSTransactionProgram> replay;
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    private final HashMap<Object, Node> lastWriter = new HashMap<>();
+
+    private int depth;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param threads the maximum number of programs to replay concurrently
+     * @param replay replays a single program
+     */
+    public UnixFSJournalReplay(final int threads, final Consumer<UnixFSTransactionProgram> replay) {
+
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads must be positive: " + threads);
+        }
+
+        this.threads = threads;
+        this.replay = replay;
+
+    }
+
+    /**
+     * Adds a program to the replay.
+     *
+     * @param program the program
+     * @param onComplete invoked after the program has replayed successfully
+     */
+    public void add(final UnixFSTransactionProgram program, final Runnable onComplete) {
+
+        final var node = new Node(program, onComplete);
+        final var collector = new KeyCollector();
+
+        program.interpreter()
+                .tryExecuteCommitPhase(collector)
+                .tryExecuteCleanupPhase(collector);
+
+        for (var key : collector.keys) {
+
+            final var predecessor = lastWriter.put(key, node);
+
+            if (predecessor != null && predecessor.successors.add(node)) {
+                node.pending.incrementAndGet();
+                node.depth = max(node.depth, predecessor.depth + 1);
+            }
+
+        }
+
+        depth = max(depth, node.depth);
+        nodes.add(node);
+
+    }
+
+    /**
+     * Replays all added programs, blocking until complete.
+     *
+     * @return the {@link Result} of the replay
+     */
+    public Result run() {
+
+        final var start = System.nanoTime();
+
+        if (nodes.isEmpty()) {
+            return new Result(0, 0, 0, 0);
+        } else if (threads == 1) {
+            for (var node : nodes) node.replay();
+        } else {
+            runParallel(start);
+        }
+
+        final var result = new Result(
+                nodes.size(),
+                depth + 1,
+                threads,
+                MILLISECONDS.convert(System.nanoTime() - start, NANOSECONDS)
+        );
+
+        nodes.clear();
+        lastWriter.clear();
+        depth = 0;
+
+        return result;
+
+    }
+
+    private void runParallel(final long start) {
+
+        final int total = nodes.size();
+        final var remaining = new CountDownLatch(total);
+        final var failure = new AtomicReference<Throwable>();
+        final var lastProgress = new AtomicLong(start);
+        final var executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final var thread = new Thread(runnable);
+            thread.setName(UnixFSJournalReplay.class.getSimpleName() + " replay.");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final var dispatcher = new Consumer<Node>() {
+            @Override
+            public void accept(final Node node) {
+                executor.execute(() -> {
+
+                    try {
+                        if (failure.get() == null) node.replay();
+                    } catch (Throwable th) {
+                        failure.compareAndSet(null, th);
+                    }
+
+                    // Successors are dispatched even after a failure so that the latch always reaches zero. Once a
+                    // failure has been recorded, no further programs are replayed.
+
+                    for (var successor : node.successors) {
+                        if (successor.pending.decrementAndGet() == 0) accept(successor);
+                    }
+
+                    // Logged before counting down, as the total may not be read from the nodes once the latch
+                    // reaches zero and run() clears them.
+
+                    logProgress(start, lastProgress, total - remaining.getCount() + 1, total);
+                    remaining.countDown();
+
+                });
+            }
+        };
+
+        try {
+
+            // The roots must be determined before any are dispatched, otherwise a node may be dispatched both here
+            // and by its predecessor.
+
+            nodes.stream()
+                    .filter(node -> node.pending.get() == 0)
+                    .toList()
+                    .forEach(dispatcher);
+
+            remaining.await();
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InternalException(ex);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var th = failure.get();
+
+        if (th instanceof RuntimeException ex) {
+            throw ex;
+        } else if (th instanceof Error err) {
+            throw err;
+        } else if (th != null) {
+            throw new InternalException(th);
+        }
+
+    }
+
+    private void logProgress(final long start, final AtomicLong lastProgress, final long replayed, final int total) {
+
+        final var now = System.nanoTime();
+        final var last = lastProgress.get();
+
+        if (now - last >= PROGRESS_INTERVAL_NANOS && lastProgress.compareAndSet(last, now)) {
+            logger.info("Replayed {}/{} transactions in {}ms.",
+                    replayed,
+                    total,
+                    MILLISECONDS.convert(now - start, NANOSECONDS)
+            );
+        }
+
+    }
+
+    /**
+     * The result of a replay.
+     *
+     * @param programs the number of programs replayed
+     * @param depth the length of the longest chain of dependent programs, which bounds the available parallelism
+     * @param threads the number of threads used
+     * @param elapsedMsec the time taken, in milliseconds
+     */
+    public record Result(int programs, int depth, int threads, long elapsedMsec) {}
+
+    private class Node {
+
+        private UnixFSTransactionProgram program;
+
+        private final Runnable onComplete;
+
+        private final Set<Node> successors = new HashSet<>();
+
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private int depth;
+
+        public Node(final UnixFSTransactionProgram program, final Runnable onComplete) {
+            this.program = program;
+            this.onComplete = onComplete;
+        }
+
+        public void replay() {
+            UnixFSJournalReplay.this.replay.accept(program);
+            onComplete.run();
+            // Released as soon as it has replayed, rather than held until the whole replay finishes.
+            program = null;
+        }
+
+    }
+
+    private static class KeyCollector implements UnixFSTransactionProgramInterpreter.ExecutionHandler {
+
+        private final Set<Object> keys = new HashSet<>();
+
+        @Override
+        public void applyReversePathsChange(final UnixFSTransactionProgram program,
+                                            final UnixFSTransactionCommand command,
+                                            final ResourceId resourceId,
+                                            final String transactionId) {
+            keys.add(resourceId);
+        }
+
+        @Override
+        public void applyPathChange(final UnixFSTransactionProgram program,
+                                    final UnixFSTransactionCommand command,
+                                    final Path rtPath,
+                                    final String transactionId) {
+            keys.add(rtPath);
+        }
+
+        @Override
+        public void applyTaskChanges(final UnixFSTransactionProgram program,
+                                     final UnixFSTransactionCommand command,
+                                     final ResourceId resourceId,
+                                     final String transactionId) {
+            keys.add(resourceId);
+        }
+
+        @Override
+        public void applyContentsChange(final UnixFSTransactionProgram program,
+                                        final UnixFSTransactionCommand command,
+                                        final ResourceId resourceId,
+                                        final String transactionId) {
+            keys.add(resourceId);
+        }
+
+        @Override
+        public void cleanupResourceId(final UnixFSTransactionProgram program,
+                                      final UnixFSTransactionCommand command,
+                                      final ResourceId resourceId,
+                                      final String transactionId) {
+            keys.add(resourceId);
+        }
+
+        @Override
+        public void cleanupPath(final UnixFSTransactionProgram program,
+                                final UnixFSTransactionCommand command,
+                                final Path rtPath,
+                                final String transactionId) {
+            keys.add(rtPath);
+        }
+
+        @Override
+        public void cleanupTasks(final UnixFSTransactionProgram program,
+                                 final UnixFSTransactionCommand command,
+                                 final ResourceId resourceId,
+                                 final String transactionId) {
+            keys.add(resourceId);
+        }
+
+    }
+
+}
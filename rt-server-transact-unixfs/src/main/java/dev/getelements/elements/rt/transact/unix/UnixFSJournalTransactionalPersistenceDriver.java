@@ -17,6 +17,8 @@ public class UnixFSJournalTransactionalPersistenceDriver implements JournalTrans
 
     private UnixFSTransactionJournal transactionJournal;
 
+    private UnixFSIndexCache indexCache;
+
     public UnixFSJournalTransactionalPersistenceDriver() {
         shutdownHooks.add(this, () -> doStop(false));
     }
@@ -25,7 +27,9 @@ public class UnixFSJournalTransactionalPersistenceDriver implements JournalTrans
     public void start() {
         getUnixFSUtils().initialize();
         getUnixFSUtils().lockStorageRoot();
+        openDataStore();
         getTransactionJournal().start();
+        onReplayComplete();
     }
 
     @Override
@@ -35,9 +39,30 @@ public class UnixFSJournalTransactionalPersistenceDriver implements JournalTrans
 
     private void doStop(final boolean clean) {
         tryRun(getTransactionJournal()::stop, clean);
+        tryRun(this::closeDataStore, clean);
         tryRun(getUnixFSUtils()::unlockStorageRoot, clean);
     }
 
+    /**
+     * Opens the underlying data store. Called after the storage root is locked and before the journal is started, and
+     * therefore before any committed transactions are replayed.
+     */
+    protected void openDataStore() {}
+
+    /**
+     * Called once the journal has been started and all committed transactions have been replayed.
+     */
+    protected void onReplayComplete() {
+        getIndexCache().warm();
+    }
+
+    /**
+     * Closes the underlying data store. Called after the journal has been stopped.
+     */
+    protected void closeDataStore() {
+        getIndexCache().invalidateAll();
+    }
+
     private void tryRun(final Runnable action, final boolean clean) {
         try {
             action.run();
@@ -74,4 +99,13 @@ public class UnixFSJournalTransactionalPersistenceDriver implements JournalTrans
         this.transactionJournal = transactionJournal;
     }
 
+    public UnixFSIndexCache getIndexCache() {
+        return indexCache;
+    }
+
+    @Inject
+    public void setIndexCache(UnixFSIndexCache indexCache) {
+        this.indexCache = indexCache;
+    }
+
 }
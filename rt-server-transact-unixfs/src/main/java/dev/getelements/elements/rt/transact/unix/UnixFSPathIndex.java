@@ -5,6 +5,7 @@ import dev.getelements.elements.sdk.cluster.path.Path;
 import dev.getelements.elements.rt.exception.InternalException;
 import dev.getelements.elements.rt.transact.PathIndex;
 import dev.getelements.elements.rt.transact.ResourceEntry;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,6 +27,8 @@ public class UnixFSPathIndex implements PathIndex {
 
     private UnixFSUtils unixFSUtils;
 
+    private UnixFSIndexCache indexCache;
+
     @Override
     public void cleanup(final Path path, final String transactionId) {
         final var mapping = UnixFSPathMapping.fromRTPath(getUnixFSUtils(), path);
@@ -49,6 +52,10 @@ public class UnixFSPathIndex implements PathIndex {
             final Path path,
             final Supplier<ResourceEntry.OperationalStrategy> operationalStrategy) {
 
+        if (getIndexCache().isKnownAbsent(path)) {
+            return Optional.empty();
+        }
+
         final var mapping = UnixFSPathMapping.fromRTPath(getUnixFSUtils(), path);
 
         if (!getUnixFSUtils().isRegularFile(mapping)) {
@@ -66,6 +73,11 @@ public class UnixFSPathIndex implements PathIndex {
 
     }
 
+    @Override
+    public Optional<ResourceId> findResourceId(final Path path) {
+        return getIndexCache().findResourceId(path, () -> PathIndex.super.findResourceId(path));
+    }
+
     @Override
     public Stream<PathIndex.Listing> list(final Path rtPath) {
         return rtPath.isWildcard() || rtPath.isWildcardRecursive()
@@ -117,4 +129,13 @@ public class UnixFSPathIndex implements PathIndex {
         this.unixFSUtils = unixFSUtils;
     }
 
+    public UnixFSIndexCache getIndexCache() {
+        return indexCache;
+    }
+
+    @Inject
+    public void setIndexCache(UnixFSIndexCache indexCache) {
+        this.indexCache = indexCache;
+    }
+
 }
@@ -22,7 +22,7 @@ import java.util.TreeSet;
 
 import static dev.getelements.elements.sdk.cluster.path.Paths.WILDCARD_FIRST;
 import static dev.getelements.elements.rt.transact.unix.UnixFSDataHeader.*;
-import static java.lang.Math.min;
+import static java.lang.Math.max;
 import static java.nio.ByteBuffer.allocate;
 import static java.nio.channels.FileChannel.open;
 import static java.nio.file.Files.isRegularFile;
@@ -233,7 +233,7 @@ public class UnixFSResourceEntryExisting extends UnixFSResourceEntryBase {
                 public int read(final ByteBuffer dst) throws IOException {
                     if (!open) throw new ClosedChannelException();
                     final int read = fileChannel.position(position).read(dst);
-                    position += min(read, 0);
+                    position += max(read, 0);
                     return read;
                 }
 
@@ -1,6 +1,7 @@
 package dev.getelements.elements.rt.transact.unix;
 
 import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
 import dev.getelements.elements.rt.transact.ResourceContents;
 import dev.getelements.elements.rt.transact.ResourceEntry;
 import dev.getelements.elements.rt.transact.ResourceIndex;
@@ -9,6 +10,7 @@ import org.slf4j.LoggerFactory;
 
 import jakarta.inject.Inject;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import static java.nio.file.Files.isRegularFile;
@@ -20,6 +22,8 @@ public class UnixFSResourceIndex implements ResourceIndex {
 
     private UnixFSUtils utils;
 
+    private UnixFSIndexCache indexCache;
+
     @Override
     public void cleanup(final ResourceId resourceId, final String transactionId) {
         final var mapping = UnixFSResourceContentsMapping.fromResourceId(utils, resourceId);
@@ -61,6 +65,10 @@ public class UnixFSResourceIndex implements ResourceIndex {
             final ResourceId resourceId,
             final Supplier<ResourceEntry.OperationalStrategy> operationalStrategy) {
 
+        if (getIndexCache().isKnownAbsent(resourceId)) {
+            return Optional.empty();
+        }
+
         final var mapping = UnixFSReversePathMapping.fromResourceId(getUtils(), resourceId);
 
         if (!isRegularFile(mapping.getFilesystemPath(), NOFOLLOW_LINKS)) {
@@ -77,6 +85,11 @@ public class UnixFSResourceIndex implements ResourceIndex {
 
     }
 
+    @Override
+    public Optional<Set<Path>> findReversePaths(final ResourceId resourceId) {
+        return getIndexCache().findReversePaths(resourceId, () -> ResourceIndex.super.findReversePaths(resourceId));
+    }
+
     public UnixFSUtils getUtils() {
         return utils;
     }
@@ -86,4 +99,13 @@ public class UnixFSResourceIndex implements ResourceIndex {
         this.utils = utils;
     }
 
+    public UnixFSIndexCache getIndexCache() {
+        return indexCache;
+    }
+
+    @Inject
+    public void setIndexCache(UnixFSIndexCache indexCache) {
+        this.indexCache = indexCache;
+    }
+
 }
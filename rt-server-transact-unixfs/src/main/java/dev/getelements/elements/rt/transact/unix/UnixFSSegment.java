@@ -0,0 +1,185 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.channels.FileChannel.open;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A single append-only, memory-mapped segment file managed by the {@link UnixFSSegmentLog}. Segments are allocated at
+ * a fixed capacity and filled with {@link UnixFSSegmentRecord}s until sealed. Sealed segments are never written again
+ * and are only removed by compaction.
+ *
+ * All writes happen while holding the {@link UnixFSSegmentLog} lock. The limit is published after each write so that
+ * readers may access any record below the limit without locking.
+ */
+class UnixFSSegment {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnixFSSegment.class);
+
+    private final long id;
+
+    private final Path path;
+
+    private final MappedByteBuffer buffer;
+
+    private final AtomicLong liveBytes = new AtomicLong();
+
+    private volatile int limit;
+
+    private volatile boolean sealed;
+
+    private UnixFSSegment(final long id, final Path path, final MappedByteBuffer buffer, final boolean sealed) {
+        this.id = id;
+        this.path = path;
+        this.buffer = buffer;
+        this.sealed = sealed;
+    }
+
+    /**
+     * Creates a new, empty, segment with the supplied capacity.
+     *
+     * @param id the segment id
+     * @param path the path to the segment file, which must not exist
+     * @param capacity the capacity in bytes
+     * @return the {@link UnixFSSegment}
+     * @throws IOException if there was a problem creating the file
+     */
+    public static UnixFSSegment create(final long id, final Path path, final int capacity) throws IOException {
+        try (final var channel = open(path, READ, WRITE, CREATE_NEW)) {
+            final var buffer = channel.map(READ_WRITE, 0, capacity);
+            logger.debug("Created segment {} ({} bytes)", path, capacity);
+            return new UnixFSSegment(id, path, buffer, false);
+        }
+    }
+
+    /**
+     * Opens an existing segment for reading. The returned segment is sealed and its limit must be set once the valid
+     * records in the segment have been scanned.
+     *
+     * @param id the segment id
+     * @param path the path to the segment file
+     * @return the {@link UnixFSSegment}
+     * @throws IOException if there was a problem opening the file
+     */
+    public static UnixFSSegment load(final long id, final Path path) throws IOException {
+        try (final var channel = open(path, READ)) {
+
+            final var size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Segment too large: " + path);
+            }
+
+            final var buffer = channel.map(READ_ONLY, 0, size);
+            return new UnixFSSegment(id, path, buffer, true);
+
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the underlying buffer. Callers must not modify the position or limit of the buffer.
+     *
+     * @return the buffer
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    public int getRemaining() {
+        return sealed ? 0 : buffer.capacity() - limit;
+    }
+
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * Gets the number of bytes in this segment referenced by the {@link UnixFSSegmentLog} index, or by staged
+     * transactions.
+     *
+     * @return the number of live bytes
+     */
+    public long getLiveBytes() {
+        return liveBytes.get();
+    }
+
+    public void addLiveBytes(final long delta) {
+        liveBytes.addAndGet(delta);
+    }
+
+    /**
+     * Reads the record at the supplied offset.
+     *
+     * @param offset the offset
+     * @return the {@link UnixFSSegmentRecord}
+     */
+    public UnixFSSegmentRecord parse(final int offset) {
+        return UnixFSSegmentRecord.parse(buffer, offset);
+    }
+
+    /**
+     * Flushes the written portion of the segment to disk.
+     */
+    public void force() {
+        if (!buffer.isReadOnly()) buffer.force(0, limit);
+    }
+
+    /**
+     * Seals this segment, flushing its contents to disk. No further records may be written.
+     */
+    public void seal() {
+        if (!sealed) {
+            force();
+            sealed = true;
+            logger.debug("Sealed segment {} ({} bytes)", path, limit);
+        }
+    }
+
+    /**
+     * Deletes the segment file. Any buffers previously read from this segment remain valid until they are garbage
+     * collected.
+     *
+     * @throws IOException if there was a problem deleting the file
+     */
+    public void delete() throws IOException {
+        deleteIfExists(path);
+        logger.debug("Deleted segment {}", path);
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+}
@@ -0,0 +1,66 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.DataStore;
+import dev.getelements.elements.sdk.cluster.id.NodeId;
+
+import jakarta.inject.Inject;
+
+/**
+ * A {@link DataStore} which keeps all paths, resources and tasks in a {@link UnixFSSegmentLog} rather than in
+ * individual files. This shares the {@link UnixFSTransactionJournal} with the file based {@link UnixFSDataStore}.
+ */
+public class UnixFSSegmentDataStore implements DataStore {
+
+    private UnixFSSegmentLog log;
+
+    private UnixFSSegmentTaskIndex taskIndex;
+
+    private UnixFSSegmentPathIndex pathIndex;
+
+    private UnixFSSegmentResourceIndex resourceIndex;
+
+    @Override
+    public void removeAllResources(final NodeId nodeId) {
+        getLog().removeAll(nodeId);
+    }
+
+    @Override
+    public UnixFSSegmentTaskIndex getTaskIndex() {
+        return taskIndex;
+    }
+
+    @Inject
+    public void setTaskIndex(UnixFSSegmentTaskIndex taskIndex) {
+        this.taskIndex = taskIndex;
+    }
+
+    @Override
+    public UnixFSSegmentPathIndex getPathIndex() {
+        return pathIndex;
+    }
+
+    @Inject
+    public void setPathIndex(UnixFSSegmentPathIndex pathIndex) {
+        this.pathIndex = pathIndex;
+    }
+
+    @Override
+    public UnixFSSegmentResourceIndex getResourceIndex() {
+        return resourceIndex;
+    }
+
+    @Inject
+    public void setResourceIndex(UnixFSSegmentResourceIndex resourceIndex) {
+        this.resourceIndex = resourceIndex;
+    }
+
+    public UnixFSSegmentLog getLog() {
+        return log;
+    }
+
+    @Inject
+    public void setLog(UnixFSSegmentLog log) {
+        this.log = log;
+    }
+
+}
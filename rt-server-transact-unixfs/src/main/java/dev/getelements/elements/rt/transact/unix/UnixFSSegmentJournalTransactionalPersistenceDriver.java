@@ -0,0 +1,37 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import jakarta.inject.Inject;
+
+/**
+ * Drives the {@link UnixFSSegmentDataStore}, opening the {@link UnixFSSegmentLog} before the journal replays any
+ * committed transactions and discarding the values staged by transactions which never committed.
+ */
+public class UnixFSSegmentJournalTransactionalPersistenceDriver extends UnixFSJournalTransactionalPersistenceDriver {
+
+    private UnixFSSegmentLog log;
+
+    @Override
+    protected void openDataStore() {
+        getLog().open();
+    }
+
+    @Override
+    protected void onReplayComplete() {
+        getLog().discardStaged();
+    }
+
+    @Override
+    protected void closeDataStore() {
+        getLog().close();
+    }
+
+    public UnixFSSegmentLog getLog() {
+        return log;
+    }
+
+    @Inject
+    public void setLog(UnixFSSegmentLog log) {
+        this.log = log;
+    }
+
+}
@@ -0,0 +1,77 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.sdk.cluster.id.HasNodeId;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+
+import java.nio.ByteBuffer;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKind.*;
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.resourceIdFromByteBuffer;
+
+/**
+ * The key of an entry in the {@link UnixFSSegmentLog}. A {@link UnixFSSegmentKind#PATH} entry is keyed by its
+ * {@link Path} and all other kinds are keyed by {@link ResourceId}.
+ *
+ * @param kind the kind of entry
+ * @param id the id of the entry
+ */
+public record UnixFSSegmentKey(UnixFSSegmentKind kind, HasNodeId id) {
+
+    public static UnixFSSegmentKey path(final Path path) {
+        return new UnixFSSegmentKey(PATH, path);
+    }
+
+    public static UnixFSSegmentKey reversePaths(final ResourceId resourceId) {
+        return new UnixFSSegmentKey(REVERSE_PATHS, resourceId);
+    }
+
+    public static UnixFSSegmentKey contents(final ResourceId resourceId) {
+        return new UnixFSSegmentKey(CONTENTS, resourceId);
+    }
+
+    public static UnixFSSegmentKey tasks(final ResourceId resourceId) {
+        return new UnixFSSegmentKey(TASKS, resourceId);
+    }
+
+    /**
+     * Gets the {@link Path} for a {@link UnixFSSegmentKind#PATH} key.
+     *
+     * @return the {@link Path}
+     */
+    public Path getPath() {
+        return (Path) id;
+    }
+
+    /**
+     * Gets the {@link ResourceId} for any key other than {@link UnixFSSegmentKind#PATH}.
+     *
+     * @return the {@link ResourceId}
+     */
+    public ResourceId getResourceId() {
+        return (ResourceId) id;
+    }
+
+    /**
+     * Encodes the id of this key as bytes.
+     *
+     * @return the encoded id
+     */
+    public byte[] toByteArray() {
+        return PATH.equals(kind) ? getPath().toByteArray() : getResourceId().asBytes();
+    }
+
+    /**
+     * Decodes a key from the supplied {@link ByteBuffer}, reading from the buffer's position to its limit.
+     *
+     * @param kind the kind of entry
+     * @param byteBuffer the buffer containing the encoded id
+     * @return the {@link UnixFSSegmentKey}
+     */
+    public static UnixFSSegmentKey fromByteBuffer(final UnixFSSegmentKind kind, final ByteBuffer byteBuffer) {
+        return PATH.equals(kind)
+                ? new UnixFSSegmentKey(kind, Path.fromByteBuffer(byteBuffer))
+                : new UnixFSSegmentKey(kind, resourceIdFromByteBuffer(byteBuffer, byteBuffer.position()));
+    }
+
+}
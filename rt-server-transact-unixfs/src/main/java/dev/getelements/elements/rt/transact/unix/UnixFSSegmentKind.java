@@ -0,0 +1,31 @@
+package dev.getelements.elements.rt.transact.unix;
+
+/**
+ * Enumerates the kinds of entries stored by the {@link UnixFSSegmentLog}. Each kind corresponds to one of the file
+ * types written by the {@link UnixFSDataStore}.
+ */
+public enum UnixFSSegmentKind {
+
+    /**
+     * Links a {@link dev.getelements.elements.sdk.cluster.path.Path} to a
+     * {@link dev.getelements.elements.sdk.cluster.id.ResourceId}.
+     */
+    PATH,
+
+    /**
+     * The set of paths linked to a {@link dev.getelements.elements.sdk.cluster.id.ResourceId}. The presence of this
+     * entry indicates the existence of the resource.
+     */
+    REVERSE_PATHS,
+
+    /**
+     * The serialized contents of a resource.
+     */
+    CONTENTS,
+
+    /**
+     * The tasks scheduled against a resource.
+     */
+    TASKS
+
+}
@@ -0,0 +1,85 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The location of a value in the {@link UnixFSSegmentLog}. A value written directly with a
+ * {@link UnixFSSegmentRecord.Operation#PUT} has no anchor. A value written by a transaction is located at its
+ * {@link UnixFSSegmentRecord.Operation#STAGE} record and anchored by the matching
+ * {@link UnixFSSegmentRecord.Operation#COMMIT} record, both of which must survive for the value to be recovered.
+ *
+ * @param segment the segment containing the value
+ * @param offset the offset of the record containing the value
+ * @param length the length of the record containing the value
+ * @param tombstone true if the value indicates removal of the key
+ * @param anchor the segment containing the commit record, or null
+ * @param anchorOffset the offset of the commit record
+ * @param anchorLength the length of the commit record
+ */
+record UnixFSSegmentLocation(UnixFSSegment segment,
+                             int offset,
+                             int length,
+                             boolean tombstone,
+                             UnixFSSegment anchor,
+                             int anchorOffset,
+                             int anchorLength) {
+
+    public UnixFSSegmentLocation(final UnixFSSegment segment,
+                                 final int offset,
+                                 final int length,
+                                 final boolean tombstone) {
+        this(segment, offset, length, tombstone, null, 0, 0);
+    }
+
+    /**
+     * Returns a copy of this location anchored by the supplied commit record.
+     *
+     * @param commit the location of the commit record
+     * @return the anchored location
+     */
+    public UnixFSSegmentLocation withAnchor(final UnixFSSegmentLocation commit) {
+        return new UnixFSSegmentLocation(segment, offset, length, tombstone, commit.segment, commit.offset, commit.length);
+    }
+
+    /**
+     * Checks if the value record resides at the supplied position.
+     *
+     * @param segment the segment
+     * @param offset the offset
+     * @return true if the value is at the position
+     */
+    public boolean isAt(final UnixFSSegment segment, final int offset) {
+        return this.segment == segment && this.offset == offset;
+    }
+
+    /**
+     * Checks if the commit record resides at the supplied position.
+     *
+     * @param segment the segment
+     * @param offset the offset
+     * @return true if the commit record is at the position
+     */
+    public boolean isAnchoredAt(final UnixFSSegment segment, final int offset) {
+        return anchor == segment && anchorOffset == offset;
+    }
+
+    /**
+     * Reads the value at this location.
+     *
+     * @return a read-only view of the value, or null if this location is a tombstone
+     */
+    public ByteBuffer value() {
+        return tombstone ? null : segment.parse(offset).getValue();
+    }
+
+    /**
+     * Adjusts the live byte count of the segments referenced by this location.
+     *
+     * @param sign 1 to retain, -1 to release
+     */
+    void account(final int sign) {
+        segment.addLiveBytes(sign * (long) length);
+        if (anchor != null) anchor.addLiveBytes(sign * (long) anchorLength);
+    }
+
+}
@@ -0,0 +1,632 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.FatalException;
+import dev.getelements.elements.sdk.cluster.id.NodeId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Stream;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKind.PATH;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentRecord.Operation.*;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentRecord.encodeTransactionId;
+import static dev.getelements.elements.rt.transact.unix.UnixFSUtils.DATA_SEGMENT_EXTENSION;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A log-structured store for the entries which the {@link UnixFSDataStore} would otherwise keep as individual files.
+ * Entries are appended as {@link UnixFSSegmentRecord}s to memory-mapped {@link UnixFSSegment} files and located
+ * through an in-memory hash index which is rebuilt by scanning the segments on startup.
+ *
+ * Writes follow the same two-phase protocol as the file based store. A transaction first stages its values, which are
+ * invisible to readers. Once the {@link UnixFSTransactionJournal} has recorded the transaction, each staged value is
+ * applied by appending a small commit record and updating the index. Staged values which are never applied are
+ * discarded when cleaned up, or on the next startup once the journal has been replayed.
+ *
+ * Superseded values are reclaimed by a background compactor. When the live data in a sealed segment falls below the
+ * configured threshold, the compactor copies the remaining live values to the active segment and deletes the sealed
+ * segment. Removed keys are kept in the index as tombstones until compaction reaches the oldest segment, which
+ * guarantees that an older value can never be resurrected when the index is rebuilt.
+ */
+public class UnixFSSegmentLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnixFSSegmentLog.class);
+
+    /**
+     * The capacity of each segment file, in bytes. Values larger than a segment are written to a dedicated segment
+     * sized to fit.
+     */
+    public static final String UNIXFS_SEGMENT_SIZE = "dev.getelements.elements.rt.transact.unix.segment.size";
+
+    /**
+     * The fraction of a sealed segment which must be live for the segment to be skipped by compaction.
+     */
+    public static final String UNIXFS_SEGMENT_COMPACTION_THRESHOLD = "dev.getelements.elements.rt.transact.unix.segment.compaction.threshold";
+
+    /**
+     * The interval, in milliseconds, between compaction passes.
+     */
+    public static final String UNIXFS_SEGMENT_COMPACTION_INTERVAL_MSEC = "dev.getelements.elements.rt.transact.unix.segment.compaction.interval.msec";
+
+    private final Object lock = new Object();
+
+    private final ConcurrentHashMap<UnixFSSegmentKey, UnixFSSegmentLocation> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Staged, UnixFSSegmentLocation> staged = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Path, Set<Path>> children = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, UnixFSSegment> segments = new ConcurrentSkipListMap<>();
+
+    private UnixFSUtils utils;
+
+    private int segmentSize;
+
+    private double compactionThreshold;
+
+    private long compactionIntervalMsec;
+
+    // Guarded by lock
+
+    private boolean open;
+
+    private long nextSegmentId;
+
+    private UnixFSSegment active;
+
+    private ScheduledExecutorService compactor;
+
+    /**
+     * Opens the log, scanning all segments to rebuild the index and starting the background compactor.
+     */
+    public void open() {
+
+        final var start = System.currentTimeMillis();
+
+        synchronized (lock) {
+
+            if (open) {
+                throw new IllegalStateException("Segment log already open.");
+            }
+
+            try (var files = getUtils().list(getUtils().getDataSegmentDirectoryPath())) {
+                files.filter(path -> getUtils().isMatchingExtension(path, DATA_SEGMENT_EXTENSION))
+                     .sorted()
+                     .forEach(this::load);
+            }
+
+            nextSegmentId = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+            open = true;
+
+            compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+                final var thread = new Thread(r);
+                thread.setDaemon(true);
+                thread.setName(format("%s compactor.", UnixFSSegmentLog.class.getName()));
+                return thread;
+            });
+
+        }
+
+        compactor.scheduleWithFixedDelay(
+                this::compactQuietly,
+                getCompactionIntervalMsec(),
+                getCompactionIntervalMsec(),
+                MILLISECONDS);
+
+        logger.info("Opened {} segments with {} keys and {} staged values in {}ms.",
+                segments.size(),
+                index.size(),
+                staged.size(),
+                System.currentTimeMillis() - start
+        );
+
+    }
+
+    private void load(final java.nio.file.Path fsPath) {
+
+        final var fileName = fsPath.getFileName().toString();
+        final var id = Long.parseUnsignedLong(fileName.substring(0, fileName.indexOf('.')), 16);
+        final var segment = getUtils().doOperation(() -> UnixFSSegment.load(id, fsPath), FatalException::new);
+
+        int offset = 0;
+        UnixFSSegmentRecord record;
+
+        while ((record = UnixFSSegmentRecord.read(segment.getBuffer(), offset, segment.getCapacity())) != null) {
+            recover(segment, record);
+            offset += record.getLength();
+        }
+
+        segment.setLimit(offset);
+        segments.put(id, segment);
+
+        if (offset < segment.getCapacity() && segment.getBuffer().getInt(offset) != 0) {
+            logger.warn("Segment {} truncated at {} of {} bytes.", fsPath, offset, segment.getCapacity());
+        }
+
+    }
+
+    private void recover(final UnixFSSegment segment, final UnixFSSegmentRecord record) {
+
+        final var key = record.getKey();
+        final var location = new UnixFSSegmentLocation(
+                segment,
+                record.getOffset(),
+                record.getLength(),
+                record.isTombstone()
+        );
+
+        switch (record.getOperation()) {
+            case PUT -> install(key, location);
+            case STAGE -> stage(new Staged(key, record.getTransactionId()), location);
+            case COMMIT -> {
+                final var value = staged.remove(new Staged(key, record.getTransactionId()));
+                if (value != null) commit(key, value, location);
+            }
+        }
+
+    }
+
+    /**
+     * Closes the log, stopping the compactor and sealing the active segment.
+     */
+    public void close() {
+
+        final ScheduledExecutorService compactor;
+
+        synchronized (lock) {
+
+            if (!open) {
+                throw new IllegalStateException("Segment log not open.");
+            }
+
+            open = false;
+            compactor = this.compactor;
+            this.compactor = null;
+
+        }
+
+        compactor.shutdown();
+
+        try {
+            if (!compactor.awaitTermination(1, SECONDS)) {
+                logger.warn("Timed out waiting for compactor to stop.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted waiting for compactor to stop.", ex);
+        }
+
+        synchronized (lock) {
+
+            if (active != null) {
+                active.seal();
+                active = null;
+            }
+
+            index.clear();
+            staged.clear();
+            children.clear();
+            segments.clear();
+
+        }
+
+    }
+
+    /**
+     * Finds the current value for the supplied key.
+     *
+     * @param key the key
+     * @return a read-only view of the value, or an empty {@link Optional} if the key has no value
+     */
+    public Optional<ByteBuffer> find(final UnixFSSegmentKey key) {
+        final var location = index.get(key);
+        return location == null || location.tombstone() ? Optional.empty() : Optional.of(location.value());
+    }
+
+    /**
+     * Checks if the supplied key has a value.
+     *
+     * @param key the key
+     * @return true if the key has a value
+     */
+    public boolean exists(final UnixFSSegmentKey key) {
+        final var location = index.get(key);
+        return location != null && !location.tombstone();
+    }
+
+    /**
+     * Finds the value staged for the supplied key by the supplied transaction.
+     *
+     * @param key the key
+     * @param transactionId the transaction id
+     * @return a read-only view of the value, or an empty {@link Optional} if the transaction staged no value or staged
+     * a removal
+     */
+    public Optional<ByteBuffer> findStaged(final UnixFSSegmentKey key, final String transactionId) {
+        final var location = staged.get(new Staged(key, transactionId));
+        return location == null || location.tombstone() ? Optional.empty() : Optional.of(location.value());
+    }
+
+    /**
+     * Lists all keys of the supplied kind which have a value, along with that value.
+     *
+     * @param kind the kind
+     * @return a {@link Stream} of keys and values
+     */
+    public Stream<Map.Entry<UnixFSSegmentKey, ByteBuffer>> list(final UnixFSSegmentKind kind) {
+        return index.entrySet()
+                .stream()
+                .filter(e -> kind.equals(e.getKey().kind()) && !e.getValue().tombstone())
+                .map(e -> Map.entry(e.getKey(), e.getValue().value()));
+    }
+
+    /**
+     * Lists the {@link Path}s which are linked to a resource and are direct children of the supplied {@link Path}.
+     *
+     * @param parent the parent path
+     * @return a {@link Stream} of child {@link Path}s
+     */
+    public Stream<Path> listChildren(final Path parent) {
+        return children.getOrDefault(parent, emptySet()).stream();
+    }
+
+    /**
+     * Stages a value for the supplied key and transaction. The value is invisible until
+     * {@link #applyChange(UnixFSSegmentKey, String)} is called with the same key and transaction.
+     *
+     * @param key the key
+     * @param transactionId the transaction id
+     * @param value the value, or null to stage the removal of the key
+     */
+    public void stage(final UnixFSSegmentKey key, final String transactionId, final ByteBuffer value) {
+        synchronized (lock) {
+            final var location = append(STAGE, key, transactionId, value == null, value);
+            stage(new Staged(key, transactionId), location);
+        }
+    }
+
+    /**
+     * Applies the value staged for the supplied key and transaction, if any. Applying a change which was already
+     * applied, or which was never staged, has no effect.
+     *
+     * @param key the key
+     * @param transactionId the transaction id
+     */
+    public void applyChange(final UnixFSSegmentKey key, final String transactionId) {
+        synchronized (lock) {
+
+            final var value = staged.remove(new Staged(key, transactionId));
+            if (value == null) return;
+
+            final var commit = append(COMMIT, key, transactionId, value.tombstone(), null);
+            commit(key, value, commit);
+
+        }
+    }
+
+    /**
+     * Discards the value staged for the supplied key and transaction, if any.
+     *
+     * @param key the key
+     * @param transactionId the transaction id
+     */
+    public void cleanup(final UnixFSSegmentKey key, final String transactionId) {
+        synchronized (lock) {
+            final var value = staged.remove(new Staged(key, transactionId));
+            if (value != null) value.account(-1);
+        }
+    }
+
+    /**
+     * Writes a value directly, bypassing the staging protocol.
+     *
+     * @param key the key
+     * @param value the value, or null to remove the key
+     */
+    public void put(final UnixFSSegmentKey key, final ByteBuffer value) {
+        synchronized (lock) {
+            final var location = append(PUT, key, null, value == null, value);
+            install(key, location);
+        }
+    }
+
+    /**
+     * Removes every key which belongs to the supplied {@link NodeId}.
+     *
+     * @param nodeId the {@link NodeId}
+     */
+    public void removeAll(final NodeId nodeId) {
+        synchronized (lock) {
+            index.entrySet()
+                 .stream()
+                 .filter(e -> !e.getValue().tombstone())
+                 .map(Map.Entry::getKey)
+                 .filter(key -> nodeId.equals(key.id().getNodeId()))
+                 .toList()
+                 .forEach(key -> install(key, append(PUT, key, null, true, null)));
+        }
+    }
+
+    /**
+     * Discards all staged values. This is called once the journal has been replayed on startup, at which point any
+     * remaining staged values belong to transactions which never committed.
+     */
+    public void discardStaged() {
+
+        final int count;
+
+        synchronized (lock) {
+            count = staged.size();
+            staged.values().forEach(location -> location.account(-1));
+            staged.clear();
+        }
+
+        if (count > 0) logger.info("Discarded {} uncommitted staged values.", count);
+
+    }
+
+    /**
+     * Gets the number of segments in the log, including the active segment.
+     *
+     * @return the number of segments
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Gets the number of keys in the index, including tombstones.
+     *
+     * @return the number of keys
+     */
+    public int getKeyCount() {
+        return index.size();
+    }
+
+    private void stage(final Staged key, final UnixFSSegmentLocation location) {
+        location.account(1);
+        final var previous = staged.put(key, location);
+        if (previous != null) previous.account(-1);
+    }
+
+    private void commit(final UnixFSSegmentKey key,
+                        final UnixFSSegmentLocation value,
+                        final UnixFSSegmentLocation commit) {
+        value.account(-1);
+        install(key, value.withAnchor(commit));
+    }
+
+    private void install(final UnixFSSegmentKey key, final UnixFSSegmentLocation location) {
+
+        location.account(1);
+
+        final var previous = index.put(key, location);
+        if (previous != null) previous.account(-1);
+
+        if (PATH.equals(key.kind())) {
+
+            final var path = key.getPath();
+
+            children.compute(path.parent(), (parent, existing) -> {
+                if (location.tombstone()) {
+                    if (existing != null) existing.remove(path);
+                    return existing == null || existing.isEmpty() ? null : existing;
+                } else {
+                    final var set = existing == null ? ConcurrentHashMap.<Path>newKeySet() : existing;
+                    set.add(path);
+                    return set;
+                }
+            });
+
+        }
+
+    }
+
+    private UnixFSSegmentLocation append(final UnixFSSegmentRecord.Operation operation,
+                                         final UnixFSSegmentKey key,
+                                         final String transactionId,
+                                         final boolean tombstone,
+                                         final ByteBuffer value) {
+
+        if (!open) {
+            throw new IllegalStateException("Segment log not open.");
+        }
+
+        final var transactionIdBytes = encodeTransactionId(transactionId);
+        final var keyBytes = key.toByteArray();
+        final int size = UnixFSSegmentRecord.sizeOf(transactionIdBytes, keyBytes, value == null ? 0 : value.remaining());
+
+        if (active == null || active.getRemaining() < size) {
+
+            if (active != null) active.seal();
+
+            final var id = nextSegmentId++;
+            final var path = getUtils().getDataSegmentFilePath(id);
+            active = getUtils().doOperation(() -> UnixFSSegment.create(id, path, max(getSegmentSize(), size)));
+            segments.put(id, active);
+
+        }
+
+        final int offset = active.getLimit();
+
+        UnixFSSegmentRecord.write(
+                active.getBuffer(),
+                offset,
+                getUtils().getChecksumAlgorithm(),
+                operation,
+                key.kind(),
+                tombstone,
+                transactionIdBytes,
+                keyBytes,
+                value
+        );
+
+        active.setLimit(offset + size);
+        return new UnixFSSegmentLocation(active, offset, size, tombstone);
+
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (Exception ex) {
+            logger.error("Caught exception compacting segments.", ex);
+        }
+    }
+
+    /**
+     * Performs a single compaction pass, rewriting and deleting every sealed segment whose live data falls below the
+     * compaction threshold.
+     *
+     * @return the number of segments compacted
+     */
+    public int compact() {
+
+        int compacted = 0;
+
+        for (var segment : segments.values()) {
+
+            final var threshold = getCompactionThreshold() * segment.getCapacity();
+
+            if (segment.isSealed() && segment.getLiveBytes() < threshold && compact(segment)) {
+                ++compacted;
+            }
+
+        }
+
+        if (compacted > 0) logger.debug("Compacted {} segments.", compacted);
+        return compacted;
+
+    }
+
+    private boolean compact(final UnixFSSegment segment) {
+
+        int offset = 0;
+
+        while (offset < segment.getLimit()) {
+
+            final var record = segment.parse(offset);
+
+            synchronized (lock) {
+                if (!open) return false;
+                relocate(segment, record);
+            }
+
+            offset += record.getLength();
+
+        }
+
+        synchronized (lock) {
+
+            if (!open) return false;
+            if (active != null) active.force();
+
+            segments.remove(segment.getId());
+
+        }
+
+        getUtils().doOperationV(segment::delete);
+        return true;
+
+    }
+
+    private void relocate(final UnixFSSegment segment, final UnixFSSegmentRecord record) {
+
+        final var key = record.getKey();
+        final var offset = record.getOffset();
+
+        if (STAGE.equals(record.getOperation())) {
+
+            final var s = new Staged(key, record.getTransactionId());
+            final var value = staged.get(s);
+
+            if (value != null && value.isAt(segment, offset)) {
+                stage(s, append(STAGE, key, s.transactionId(), value.tombstone(), value.value()));
+                return;
+            }
+
+        }
+
+        final var current = index.get(key);
+
+        if (current == null) {
+            return;
+        }
+
+        final var live = COMMIT.equals(record.getOperation())
+                ? current.isAnchoredAt(segment, offset)
+                : current.isAt(segment, offset);
+
+        if (!live) {
+            return;
+        }
+
+        final var droppable = current.tombstone() &&
+                segments.firstKey() == segment.getId() &&
+                current.segment() == segment &&
+                (current.anchor() == null || current.anchor() == segment);
+
+        if (droppable) {
+            // Nothing older than this segment exists, so there is nothing left for the tombstone to mask.
+            index.remove(key, current);
+            current.account(-1);
+        } else {
+            install(key, append(PUT, key, null, current.tombstone(), current.value()));
+        }
+
+    }
+
+    public UnixFSUtils getUtils() {
+        return utils;
+    }
+
+    @Inject
+    public void setUtils(UnixFSUtils utils) {
+        this.utils = utils;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    @Inject
+    public void setSegmentSize(@Named(UNIXFS_SEGMENT_SIZE) int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    @Inject
+    public void setCompactionThreshold(@Named(UNIXFS_SEGMENT_COMPACTION_THRESHOLD) double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public long getCompactionIntervalMsec() {
+        return compactionIntervalMsec;
+    }
+
+    @Inject
+    public void setCompactionIntervalMsec(@Named(UNIXFS_SEGMENT_COMPACTION_INTERVAL_MSEC) long compactionIntervalMsec) {
+        this.compactionIntervalMsec = compactionIntervalMsec;
+    }
+
+    private record Staged(UnixFSSegmentKey key, String transactionId) {}
+
+}
@@ -0,0 +1,189 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.ResourceEntry;
+import dev.getelements.elements.rt.transact.TaskEntry;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.inject.Inject;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.List;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKey.*;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentResourceEntry.encodeReversePaths;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentTaskEntry.encodeTasks;
+import static dev.getelements.elements.rt.transact.unix.UnixFSUtils.*;
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+/**
+ * Copies all committed resources and tasks stored by the {@link UnixFSDataStore} into the {@link UnixFSSegmentLog}.
+ *
+ * The migration reads only the committed files. Therefore, the transaction journal must have been fully replayed by
+ * the file based store before migrating, and the {@link UnixFSSegmentLog} must be open.
+ */
+public class UnixFSSegmentMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnixFSSegmentMigration.class);
+
+    private static final ResourceEntry.OperationalStrategy RESOURCE_STRATEGY = new ResourceEntry.OperationalStrategy() {};
+
+    private static final TaskEntry.OperationalStrategy<ResourceId> TASK_STRATEGY = new TaskEntry.OperationalStrategy<>() {};
+
+    private UnixFSUtils utils;
+
+    private UnixFSSegmentLog log;
+
+    /**
+     * Performs the migration.
+     *
+     * @param removeSource true to remove the migrated files once all nodes have been migrated
+     * @return the result of the migration
+     */
+    public Result migrate(final boolean removeSource) {
+
+        final var nodeStorageRoot = getUtils().getNodeStorageRoot();
+
+        if (!isDirectory(nodeStorageRoot, NOFOLLOW_LINKS)) {
+            return new Result(0, 0);
+        }
+
+        final List<Path> nodes;
+
+        try (var stream = getUtils().list(nodeStorageRoot)) {
+            nodes = stream.filter(p -> isDirectory(p, NOFOLLOW_LINKS)).toList();
+        }
+
+        int resources = 0;
+        int tasks = 0;
+
+        for (var node : nodes) {
+            resources += migrateResources(node.resolve(REVERSE_PATHS_DIRECTORY));
+            tasks += migrateTasks(node.resolve(TASKS_DIRECTORY));
+        }
+
+        if (removeSource) {
+            nodes.forEach(getUtils()::rmrf);
+        }
+
+        logger.info("Migrated {} resources and {} task entries from {} nodes.", resources, tasks, nodes.size());
+        return new Result(resources, tasks);
+
+    }
+
+    private int migrateResources(final Path reversePathsDirectory) {
+
+        if (!isDirectory(reversePathsDirectory, NOFOLLOW_LINKS)) {
+            return 0;
+        }
+
+        int count = 0;
+
+        try (var stream = getUtils().list(reversePathsDirectory)) {
+            for (var fsPath : (Iterable<Path>) stream::iterator) {
+                if (getUtils().isMatchingExtension(fsPath, REVERSE_PATH_EXTENSION)) {
+                    migrateResource(fsPath);
+                    ++count;
+                }
+            }
+        }
+
+        return count;
+
+    }
+
+    private void migrateResource(final Path fsPath) {
+        getUtils().doOperationV(() -> {
+            try (var entry = new UnixFSResourceEntryExisting(getUtils(), () -> fsPath, RESOURCE_STRATEGY)) {
+
+                final var resourceId = entry.getOriginalResourceId();
+                final var reversePaths = entry.getOriginalReversePathsImmutable();
+                final var contents = entry.findOriginalResourceContents();
+
+                if (contents.isPresent()) {
+
+                    final var bos = new ByteArrayOutputStream();
+
+                    try (var rbc = contents.get().read(); var is = Channels.newInputStream(rbc)) {
+                        is.transferTo(bos);
+                    }
+
+                    getLog().put(contents(resourceId), ByteBuffer.wrap(bos.toByteArray()));
+
+                }
+
+                getLog().put(reversePaths(resourceId), encodeReversePaths(reversePaths));
+
+                final var value = ByteBuffer.wrap(resourceId.asBytes());
+                reversePaths.forEach(path -> getLog().put(path(path), value));
+
+            }
+        });
+    }
+
+    private int migrateTasks(final Path tasksDirectory) {
+
+        if (!isDirectory(tasksDirectory, NOFOLLOW_LINKS)) {
+            return 0;
+        }
+
+        int count = 0;
+
+        try (var stream = getUtils().list(tasksDirectory)) {
+            for (var fsPath : (Iterable<Path>) stream::iterator) {
+                if (getUtils().isMatchingExtension(fsPath, TASK_EXTENSION)) {
+                    migrateTask(fsPath);
+                    ++count;
+                }
+            }
+        }
+
+        return count;
+
+    }
+
+    private void migrateTask(final Path fsPath) {
+
+        final var mapping = UnixFSTaskPathMapping.fromFSPath(getUtils(), fsPath);
+        final var entry = new UnixFSTaskEntryExisting(TASK_STRATEGY, getUtils(), mapping);
+
+        try {
+            final var resourceId = entry.getOriginalScope();
+            getLog().put(tasks(resourceId), encodeTasks(entry.getOriginalTasksImmutable()));
+        } finally {
+            entry.close();
+        }
+
+    }
+
+    public UnixFSUtils getUtils() {
+        return utils;
+    }
+
+    @Inject
+    public void setUtils(UnixFSUtils utils) {
+        this.utils = utils;
+    }
+
+    public UnixFSSegmentLog getLog() {
+        return log;
+    }
+
+    @Inject
+    public void setLog(UnixFSSegmentLog log) {
+        this.log = log;
+    }
+
+    /**
+     * The result of a migration.
+     *
+     * @param resources the number of resources migrated
+     * @param tasks the number of task entries migrated
+     */
+    public record Result(int resources, int tasks) {}
+
+}
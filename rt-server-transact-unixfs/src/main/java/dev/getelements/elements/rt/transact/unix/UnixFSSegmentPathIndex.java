@@ -0,0 +1,82 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.PathIndex;
+import dev.getelements.elements.rt.transact.ResourceEntry;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+
+import jakarta.inject.Inject;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.resourceIdFromByteBuffer;
+
+public class UnixFSSegmentPathIndex implements PathIndex {
+
+    private UnixFSSegmentLog log;
+
+    @Override
+    public void cleanup(final Path path, final String transactionId) {
+        getLog().cleanup(UnixFSSegmentKey.path(path), transactionId);
+    }
+
+    @Override
+    public void applyChange(final Path path, final String transactionId) {
+        getLog().applyChange(UnixFSSegmentKey.path(path), transactionId);
+    }
+
+    @Override
+    public Optional<ResourceEntry> findEntry(
+            final Path path,
+            final Supplier<ResourceEntry.OperationalStrategy> operationalStrategy) {
+        return findResourceId(path).flatMap(resourceId -> UnixFSSegmentResourceEntry.open(
+                getLog(),
+                resourceId,
+                operationalStrategy.get()
+        ));
+    }
+
+    @Override
+    public Optional<ResourceId> findResourceId(final Path path) {
+        return getLog()
+                .find(UnixFSSegmentKey.path(path))
+                .map(value -> resourceIdFromByteBuffer(value, value.position()));
+    }
+
+    @Override
+    public Stream<Listing> list(final Path rtPath) {
+        return rtPath.isWildcard() || rtPath.isWildcardRecursive()
+                ? wildcardListing(rtPath)
+                : singularListing(rtPath);
+    }
+
+    private Stream<Listing> wildcardListing(final Path rtPath) {
+
+        // Matches the file based index, which lists the top-most path and its immediate children.
+
+        final var topMost = rtPath.stripWildcard(0);
+
+        return Stream.concat(singularListing(topMost), getLog().listChildren(topMost)
+                .filter(path -> getLog().exists(UnixFSSegmentKey.path(path)))
+                .map(path -> new UnixFSSegmentPathListing(getLog(), path)))
+            .filter(listing -> rtPath.matches(listing.getPath()));
+
+    }
+
+    private Stream<Listing> singularListing(final Path rtPath) {
+        return getLog().exists(UnixFSSegmentKey.path(rtPath))
+                ? Stream.of(new UnixFSSegmentPathListing(getLog(), rtPath))
+                : Stream.empty();
+    }
+
+    public UnixFSSegmentLog getLog() {
+        return log;
+    }
+
+    @Inject
+    public void setLog(UnixFSSegmentLog log) {
+        this.log = log;
+    }
+
+}
@@ -0,0 +1,34 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.exception.ResourceNotFoundException;
+import dev.getelements.elements.rt.transact.PathIndex;
+import dev.getelements.elements.rt.transact.ResourceEntry;
+import dev.getelements.elements.sdk.cluster.path.Path;
+
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.resourceIdFromByteBuffer;
+
+class UnixFSSegmentPathListing implements PathIndex.Listing {
+
+    private final UnixFSSegmentLog log;
+
+    private final Path path;
+
+    public UnixFSSegmentPathListing(final UnixFSSegmentLog log, final Path path) {
+        this.log = log;
+        this.path = path;
+    }
+
+    @Override
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public ResourceEntry open(final ResourceEntry.OperationalStrategy operationalStrategy) {
+        return log.find(UnixFSSegmentKey.path(path))
+                .map(value -> resourceIdFromByteBuffer(value, value.position()))
+                .flatMap(resourceId -> UnixFSSegmentResourceEntry.open(log, resourceId, operationalStrategy))
+                .orElseThrow(() -> new ResourceNotFoundException("No resource at path: " + path));
+    }
+
+}
@@ -0,0 +1,292 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * A single record in a {@link UnixFSSegment}. Records are written back-to-back with the following layout, all values
+ * in network byte order.
+ *
+ * <pre>
+ *  0: int   magic
+ *  4: int   checksum of bytes [8, length)
+ *  8: int   length of the whole record, including this header
+ * 12: byte  {@link UnixFSChecksumAlgorithm} ordinal
+ * 13: byte  {@link Operation} ordinal
+ * 14: byte  {@link UnixFSSegmentKind} ordinal
+ * 15: byte  flags
+ * 16: short transaction id length, followed by the transaction id in ASCII
+ *     int   key length, followed by the key
+ *     int   value length, followed by the value
+ * </pre>
+ *
+ * When scanning a segment, the first record which fails to validate marks the end of the segment. Because segments
+ * are zero-filled when allocated, the end of the written data will always fail the magic check.
+ */
+class UnixFSSegmentRecord {
+
+    public static final int MAGIC = 0x45534547;
+
+    public static final int HEADER_SIZE = 16;
+
+    private static final int CHECKSUM_OFFSET = 4;
+
+    private static final int LENGTH_OFFSET = 8;
+
+    private static final byte FLAG_TOMBSTONE = 0x1;
+
+    private static final UnixFSChecksumAlgorithm[] ALGORITHMS = UnixFSChecksumAlgorithm.values();
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private static final UnixFSSegmentKind[] KINDS = UnixFSSegmentKind.values();
+
+    /**
+     * The operation performed by a record.
+     */
+    public enum Operation {
+
+        /**
+         * Writes a committed value directly. Used by compaction and migration.
+         */
+        PUT,
+
+        /**
+         * Writes a value on behalf of a transaction. The value takes effect only once a matching {@link #COMMIT}
+         * record follows it.
+         */
+        STAGE,
+
+        /**
+         * Applies the value previously staged with the same key and transaction id. Carries no value.
+         */
+        COMMIT
+
+    }
+
+    private final int offset;
+
+    private final int length;
+
+    private final Operation operation;
+
+    private final UnixFSSegmentKind kind;
+
+    private final boolean tombstone;
+
+    private final String transactionId;
+
+    private final ByteBuffer key;
+
+    private final ByteBuffer value;
+
+    private UnixFSSegmentRecord(final int offset,
+                                final int length,
+                                final Operation operation,
+                                final UnixFSSegmentKind kind,
+                                final boolean tombstone,
+                                final String transactionId,
+                                final ByteBuffer key,
+                                final ByteBuffer value) {
+        this.offset = offset;
+        this.length = length;
+        this.operation = operation;
+        this.kind = kind;
+        this.tombstone = tombstone;
+        this.transactionId = transactionId;
+        this.key = key;
+        this.value = value;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public UnixFSSegmentKind getKind() {
+        return kind;
+    }
+
+    public boolean isTombstone() {
+        return tombstone;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public UnixFSSegmentKey getKey() {
+        return UnixFSSegmentKey.fromByteBuffer(kind, key.duplicate());
+    }
+
+    /**
+     * Gets a read-only view of the value of this record.
+     *
+     * @return the value
+     */
+    public ByteBuffer getValue() {
+        return value.asReadOnlyBuffer();
+    }
+
+    /**
+     * Calculates the size of a record.
+     *
+     * @param transactionId the encoded transaction id
+     * @param key the encoded key
+     * @param valueLength the length of the value
+     * @return the size of the record, in bytes
+     */
+    public static int sizeOf(final byte[] transactionId, final byte[] key, final int valueLength) {
+        return HEADER_SIZE +
+               Short.BYTES + transactionId.length +
+               Integer.BYTES + key.length +
+               Integer.BYTES + valueLength;
+    }
+
+    /**
+     * Encodes a transaction id.
+     *
+     * @param transactionId the transaction id, may be null
+     * @return the encoded transaction id
+     */
+    public static byte[] encodeTransactionId(final String transactionId) {
+        return transactionId == null ? new byte[0] : transactionId.getBytes(US_ASCII);
+    }
+
+    /**
+     * Writes a record into the supplied segment buffer at the supplied offset. The caller must ensure that there is
+     * sufficient space as calculated by {@link #sizeOf(byte[], byte[], int)}. This does not modify the position or
+     * limit of the supplied buffer.
+     *
+     * @param segment the segment buffer
+     * @param offset the offset at which to write the record
+     * @param algorithm the checksum algorithm
+     * @param operation the operation
+     * @param kind the kind of the key
+     * @param tombstone true if the record removes the key
+     * @param transactionId the encoded transaction id
+     * @param key the encoded key
+     * @param value the value, or null if the record carries no value
+     * @return the length of the record
+     */
+    public static int write(final ByteBuffer segment,
+                            final int offset,
+                            final UnixFSChecksumAlgorithm algorithm,
+                            final Operation operation,
+                            final UnixFSSegmentKind kind,
+                            final boolean tombstone,
+                            final byte[] transactionId,
+                            final byte[] key,
+                            final ByteBuffer value) {
+
+        final int valueLength = value == null ? 0 : value.remaining();
+        final int length = sizeOf(transactionId, key, valueLength);
+        final var buffer = segment.duplicate().clear().position(offset);
+
+        buffer.putInt(MAGIC)
+              .putInt(0)
+              .putInt(length)
+              .put((byte) algorithm.ordinal())
+              .put((byte) operation.ordinal())
+              .put((byte) kind.ordinal())
+              .put(tombstone ? FLAG_TOMBSTONE : 0)
+              .putShort((short) transactionId.length)
+              .put(transactionId)
+              .putInt(key.length)
+              .put(key)
+              .putInt(valueLength);
+
+        if (value != null) buffer.put(value.duplicate());
+
+        segment.putInt(offset + CHECKSUM_OFFSET, checksum(segment, algorithm, offset, length));
+        return length;
+
+    }
+
+    /**
+     * Reads and validates the record at the supplied offset.
+     *
+     * @param segment the segment buffer
+     * @param offset the offset of the record
+     * @param limit the limit of valid data in the segment
+     * @return the record, or null if no valid record exists at the offset
+     */
+    public static UnixFSSegmentRecord read(final ByteBuffer segment, final int offset, final int limit) {
+
+        if (limit - offset < HEADER_SIZE || segment.getInt(offset) != MAGIC) {
+            return null;
+        }
+
+        final int length = segment.getInt(offset + LENGTH_OFFSET);
+        final int algorithm = segment.get(offset + 12);
+
+        if (length < HEADER_SIZE || length > limit - offset || algorithm < 0 || algorithm >= ALGORITHMS.length) {
+            return null;
+        }
+
+        final int expected = segment.getInt(offset + CHECKSUM_OFFSET);
+
+        if (expected != checksum(segment, ALGORITHMS[algorithm], offset, length)) {
+            return null;
+        }
+
+        try {
+            return parse(segment, offset);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+
+    }
+
+    /**
+     * Parses the record at the supplied offset without validating the checksum. This is suitable for records which
+     * have been validated previously, or which were written by this process.
+     *
+     * @param segment the segment buffer
+     * @param offset the offset of the record
+     * @return the record
+     */
+    public static UnixFSSegmentRecord parse(final ByteBuffer segment, final int offset) {
+
+        final int length = segment.getInt(offset + LENGTH_OFFSET);
+        final var buffer = segment.slice(offset, length).position(12);
+
+        buffer.get();
+
+        final var operation = OPERATIONS[buffer.get()];
+        final var kind = KINDS[buffer.get()];
+        final var tombstone = (buffer.get() & FLAG_TOMBSTONE) != 0;
+
+        final var transactionIdBytes = new byte[buffer.getShort()];
+        buffer.get(transactionIdBytes);
+
+        final int keyLength = buffer.getInt();
+        final var key = buffer.slice(buffer.position(), keyLength);
+        buffer.position(buffer.position() + keyLength);
+
+        final int valueLength = buffer.getInt();
+        final var value = buffer.slice(buffer.position(), valueLength);
+
+        final var transactionId = transactionIdBytes.length == 0 ? null : new String(transactionIdBytes, US_ASCII);
+        return new UnixFSSegmentRecord(offset, length, operation, kind, tombstone, transactionId, key, value);
+
+    }
+
+    private static int checksum(final ByteBuffer segment,
+                                final UnixFSChecksumAlgorithm algorithm,
+                                final int offset,
+                                final int length) {
+        final var algo = algorithm.newAlgorithm();
+        algo.update(segment.slice(offset + LENGTH_OFFSET, length - LENGTH_OFFSET));
+        return (int) algo.getValue();
+    }
+
+}
@@ -0,0 +1,134 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.NullResourceException;
+import dev.getelements.elements.rt.transact.ResourceContents;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKey.contents;
+import static java.lang.Math.min;
+
+/**
+ * Updates the contents of a resource stored in the {@link UnixFSSegmentLog}. Written contents are buffered in memory
+ * and staged as a single value when the channel is closed.
+ */
+public class UnixFSSegmentResourceContents implements ResourceContents {
+
+    private final UnixFSSegmentLog log;
+
+    private final ResourceId resourceId;
+
+    private String transactionId;
+
+    public UnixFSSegmentResourceContents(final UnixFSSegmentLog log, final ResourceId resourceId) {
+        this.log = log;
+        this.resourceId = resourceId;
+    }
+
+    @Override
+    public ReadableByteChannel read() throws IOException {
+
+        final var key = contents(resourceId);
+
+        final var value = transactionId == null
+                ? log.find(key)
+                : log.findStaged(key, transactionId);
+
+        return new ByteBufferChannel(value.orElseThrow(NullResourceException::new));
+
+    }
+
+    @Override
+    public Optional<WritableByteChannel> tryWrite(final String transactionId) {
+
+        final var bos = new ByteArrayOutputStream();
+
+        return Optional.of(new WritableByteChannel() {
+
+            private boolean open = true;
+
+            @Override
+            public int write(final ByteBuffer src) throws IOException {
+
+                if (!open) throw new ClosedChannelException();
+
+                final var written = src.remaining();
+
+                if (src.hasArray()) {
+                    bos.write(src.array(), src.arrayOffset() + src.position(), written);
+                    src.position(src.limit());
+                } else {
+                    final var bytes = new byte[written];
+                    src.get(bytes);
+                    bos.write(bytes);
+                }
+
+                return written;
+
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void close() {
+                if (open) {
+                    open = false;
+                    log.stage(contents(resourceId), transactionId, ByteBuffer.wrap(bos.toByteArray()));
+                    UnixFSSegmentResourceContents.this.transactionId = transactionId;
+                }
+            }
+
+        });
+
+    }
+
+    /**
+     * Reads the contents of a {@link ByteBuffer} without modifying the source buffer.
+     */
+    static class ByteBufferChannel implements ReadableByteChannel {
+
+        private final ByteBuffer source;
+
+        private boolean open = true;
+
+        public ByteBufferChannel(final ByteBuffer source) {
+            this.source = source.duplicate();
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+
+            if (!open) throw new ClosedChannelException();
+            if (!source.hasRemaining()) return -1;
+
+            final var count = min(dst.remaining(), source.remaining());
+            dst.put(source.slice(source.position(), count));
+            source.position(source.position() + count);
+
+            return count;
+
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+    }
+
+}
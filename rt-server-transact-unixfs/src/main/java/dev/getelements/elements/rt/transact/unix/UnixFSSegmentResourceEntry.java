@@ -0,0 +1,221 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.AbstractResourceEntry;
+import dev.getelements.elements.rt.transact.ResourceContents;
+import dev.getelements.elements.rt.transact.TransactionJournal.MutableEntry;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKey.contents;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKey.reversePaths;
+import static dev.getelements.elements.sdk.cluster.path.Paths.WILDCARD_FIRST;
+import static java.lang.String.format;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * A {@link dev.getelements.elements.rt.transact.ResourceEntry} backed by the {@link UnixFSSegmentLog}. The original
+ * state of the entry is captured when the entry is opened, so the entry sees a consistent view of the resource even
+ * if other transactions apply changes while it is open.
+ */
+public class UnixFSSegmentResourceEntry extends AbstractResourceEntry {
+
+    private final UnixFSSegmentLog log;
+
+    private final ResourceId resourceId;
+
+    private final Set<Path> originalReversePaths;
+
+    private final ByteBuffer originalContents;
+
+    /**
+     * Creates a new, empty, entry for the supplied {@link ResourceId}.
+     *
+     * @param log the {@link UnixFSSegmentLog}
+     * @param resourceId the {@link ResourceId}
+     * @param operationalStrategy the {@link OperationalStrategy}
+     */
+    public UnixFSSegmentResourceEntry(final UnixFSSegmentLog log,
+                                      final ResourceId resourceId,
+                                      final OperationalStrategy operationalStrategy) {
+        this(log, resourceId, emptySet(), null, operationalStrategy);
+    }
+
+    private UnixFSSegmentResourceEntry(final UnixFSSegmentLog log,
+                                       final ResourceId resourceId,
+                                       final Set<Path> originalReversePaths,
+                                       final ByteBuffer originalContents,
+                                       final OperationalStrategy operationalStrategy) {
+        super(operationalStrategy);
+        this.log = log;
+        this.resourceId = resourceId;
+        this.originalReversePaths = originalReversePaths;
+        this.originalContents = originalContents;
+    }
+
+    /**
+     * Opens the entry for an existing resource.
+     *
+     * @param log the {@link UnixFSSegmentLog}
+     * @param resourceId the {@link ResourceId}
+     * @param operationalStrategy the {@link OperationalStrategy}
+     * @return the entry, or an empty {@link Optional} if no such resource exists
+     */
+    public static Optional<UnixFSSegmentResourceEntry> open(final UnixFSSegmentLog log,
+                                                            final ResourceId resourceId,
+                                                            final OperationalStrategy operationalStrategy) {
+        return log.find(reversePaths(resourceId)).map(reversePaths -> new UnixFSSegmentResourceEntry(
+                log,
+                resourceId,
+                decodeReversePaths(reversePaths),
+                log.find(contents(resourceId)).orElse(null),
+                operationalStrategy
+        ));
+    }
+
+    @Override
+    public Optional<ResourceId> findOriginalResourceId() {
+        return Optional.of(resourceId);
+    }
+
+    @Override
+    public Set<Path> getOriginalReversePathsImmutable() {
+        return originalReversePaths;
+    }
+
+    @Override
+    public Optional<ResourceContents> findOriginalResourceContents() {
+        return originalContents == null
+                ? Optional.empty()
+                : Optional.of(() -> new UnixFSSegmentResourceContents.ByteBufferChannel(originalContents));
+    }
+
+    @Override
+    public void flush(final MutableEntry mutableEntry) {
+        if (isPresent()) {
+
+            final var resourceId = getResourceId();
+
+            if (!resourceId.equals(getOriginalResourceId())) {
+                throw new IllegalStateException(format(
+                        "Original resource id must match %s!=%s",
+                        resourceId,
+                        getOriginalResourceId()
+                ));
+            }
+
+            if (!isOriginalContents()) {
+                mutableEntry.applyChangeToResourceContents(getOriginalResourceId());
+            }
+
+            if (!isOriginalReversePaths()) {
+                flushReversePaths(mutableEntry);
+                mutableEntry.applyChangeToResourceReversePaths(getOriginalResourceId());
+            }
+
+        } else if (isAbsent()) {
+            flushTombstones(mutableEntry);
+        } else {
+            throw new IllegalStateException("Must be either nascent or present.");
+        }
+    }
+
+    private void flushReversePaths(final MutableEntry mutableEntry) {
+
+        final var transactionId = mutableEntry.getTransactionId();
+        final var reversePaths = getReversePathsImmutable();
+        final var value = ByteBuffer.wrap(resourceId.asBytes());
+
+        log.stage(reversePaths(resourceId), transactionId, encodeReversePaths(reversePaths));
+
+        final var toAdd = new TreeSet<>(WILDCARD_FIRST);
+        toAdd.addAll(reversePaths);
+        toAdd.removeAll(originalReversePaths);
+
+        final var toRemove = new TreeSet<>(WILDCARD_FIRST);
+        toRemove.addAll(originalReversePaths);
+        toRemove.removeAll(reversePaths);
+
+        // Only the paths which actually changed need to be written. Unlike the file based store, there is no link to
+        // recreate for the paths which remain the same.
+
+        for (var path : toAdd) {
+            log.stage(UnixFSSegmentKey.path(path), transactionId, value);
+            mutableEntry.applyChangeToResourceReversePaths(path);
+        }
+
+        for (var path : toRemove) {
+            log.stage(UnixFSSegmentKey.path(path), transactionId, null);
+            mutableEntry.applyChangeToResourceReversePaths(path);
+        }
+
+    }
+
+    private void flushTombstones(final MutableEntry mutableEntry) {
+
+        final var transactionId = mutableEntry.getTransactionId();
+
+        if (log.exists(contents(resourceId))) {
+            log.stage(contents(resourceId), transactionId, null);
+            mutableEntry.applyChangeToResourceContents(resourceId);
+        }
+
+        log.stage(reversePaths(resourceId), transactionId, null);
+        mutableEntry.applyChangeToResourceReversePaths(resourceId);
+
+        for (var path : originalReversePaths) {
+            log.stage(UnixFSSegmentKey.path(path), transactionId, null);
+            mutableEntry.applyChangeToResourceReversePaths(path);
+        }
+
+    }
+
+    /**
+     * Encodes a set of reverse paths using the same layout as the file based reverse path files, with each path
+     * prefixed by its length in bytes.
+     *
+     * @param reversePaths the reverse paths
+     * @return the encoded reverse paths
+     */
+    static ByteBuffer encodeReversePaths(final Set<Path> reversePaths) {
+
+        final var encoded = reversePaths
+                .stream()
+                .map(Path::toByteArray)
+                .toList();
+
+        final var size = encoded.stream().mapToInt(b -> Integer.BYTES + b.length).sum();
+        final var buffer = ByteBuffer.allocate(size);
+        encoded.forEach(b -> buffer.putInt(b.length).put(b));
+
+        return buffer.flip();
+
+    }
+
+    /**
+     * Decodes a set of reverse paths encoded with {@link #encodeReversePaths(Set)}.
+     *
+     * @param buffer the encoded reverse paths
+     * @return an unmodifiable {@link Set} of paths
+     */
+    static Set<Path> decodeReversePaths(final ByteBuffer buffer) {
+
+        final var source = buffer.duplicate();
+        final var reversePaths = new TreeSet<>(WILDCARD_FIRST);
+
+        while (source.hasRemaining()) {
+            final int length = source.getInt();
+            reversePaths.add(Path.fromByteBuffer(source.slice(source.position(), length)));
+            source.position(source.position() + length);
+        }
+
+        return unmodifiableSet(reversePaths);
+
+    }
+
+}
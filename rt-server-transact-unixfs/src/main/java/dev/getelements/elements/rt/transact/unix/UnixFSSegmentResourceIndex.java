@@ -0,0 +1,64 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.ResourceContents;
+import dev.getelements.elements.rt.transact.ResourceEntry;
+import dev.getelements.elements.rt.transact.ResourceIndex;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+
+import jakarta.inject.Inject;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKey.contents;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKey.reversePaths;
+
+public class UnixFSSegmentResourceIndex implements ResourceIndex {
+
+    private UnixFSSegmentLog log;
+
+    @Override
+    public void cleanup(final ResourceId resourceId, final String transactionId) {
+        getLog().cleanup(reversePaths(resourceId), transactionId);
+        getLog().cleanup(contents(resourceId), transactionId);
+    }
+
+    @Override
+    public ResourceContents updateContents(final ResourceId resourceId) {
+        return new UnixFSSegmentResourceContents(getLog(), resourceId);
+    }
+
+    @Override
+    public void applyReversePathsChange(final ResourceId resourceId, final String transactionId) {
+        getLog().applyChange(reversePaths(resourceId), transactionId);
+    }
+
+    @Override
+    public void applyContentsChange(final ResourceId resourceId, final String transactionId) {
+        getLog().applyChange(contents(resourceId), transactionId);
+    }
+
+    @Override
+    public ResourceEntry newEntry(final ResourceId resourceId,
+                                  final Supplier<ResourceEntry.OperationalStrategy> operationalStrategy) {
+        return new UnixFSSegmentResourceEntry(getLog(), resourceId, operationalStrategy.get());
+    }
+
+    @Override
+    public Optional<ResourceEntry> findEntry(
+            final ResourceId resourceId,
+            final Supplier<ResourceEntry.OperationalStrategy> operationalStrategy) {
+        return UnixFSSegmentResourceEntry
+                .open(getLog(), resourceId, operationalStrategy.get())
+                .map(ResourceEntry.class::cast);
+    }
+
+    public UnixFSSegmentLog getLog() {
+        return log;
+    }
+
+    @Inject
+    public void setLog(UnixFSSegmentLog log) {
+        this.log = log;
+    }
+
+}
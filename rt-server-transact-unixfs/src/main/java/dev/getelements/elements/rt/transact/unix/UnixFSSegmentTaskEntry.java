@@ -0,0 +1,144 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.AbstractTaskEntry;
+import dev.getelements.elements.rt.transact.TransactionJournal;
+import dev.getelements.elements.rt.transact.TransactionalTask;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.id.TaskId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKey.tasks;
+import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * A {@link dev.getelements.elements.rt.transact.TaskEntry} backed by the {@link UnixFSSegmentLog}. Tasks are stored as
+ * a packed array of {@link UnixFSTask} structures, the same as in the file based task files.
+ */
+public class UnixFSSegmentTaskEntry extends AbstractTaskEntry<ResourceId> {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnixFSSegmentTaskEntry.class);
+
+    private final UnixFSSegmentLog log;
+
+    private final ResourceId resourceId;
+
+    private final Map<TaskId, TransactionalTask> originalTasks;
+
+    public UnixFSSegmentTaskEntry(final OperationalStrategy<ResourceId> operationalStrategy,
+                                  final UnixFSSegmentLog log,
+                                  final ResourceId resourceId) {
+        this(operationalStrategy, log, resourceId, emptyMap());
+    }
+
+    public UnixFSSegmentTaskEntry(final OperationalStrategy<ResourceId> operationalStrategy,
+                                  final UnixFSSegmentLog log,
+                                  final ResourceId resourceId,
+                                  final Map<TaskId, TransactionalTask> originalTasks) {
+        super(operationalStrategy);
+        this.log = log;
+        this.resourceId = resourceId;
+        this.originalTasks = originalTasks;
+    }
+
+    @Override
+    public Optional<ResourceId> findOriginalScope() {
+        return Optional.of(resourceId);
+    }
+
+    @Override
+    public Map<TaskId, TransactionalTask> getOriginalTasksImmutable() {
+        return originalTasks;
+    }
+
+    @Override
+    public void flush(final TransactionJournal.MutableEntry mutableEntry) {
+
+        final var transactionId = mutableEntry.getTransactionId();
+
+        if (isPresent()) {
+
+            if (!getOriginalScope().equals(getScope())) {
+                throw new IllegalStateException(format(
+                        "Original scope must match %s!=%s",
+                        getScope(),
+                        getOriginalScope()
+                ));
+            }
+
+            log.stage(tasks(resourceId), transactionId, encodeTasks(getTasksImmutable()));
+
+        } else if (isAbsent()) {
+            log.stage(tasks(resourceId), transactionId, null);
+        } else {
+            throw new IllegalStateException("Must be either nascent or present.");
+        }
+
+        mutableEntry.applyChangeToTasks(getOriginalScope());
+
+    }
+
+    @Override
+    public void close() {}
+
+    /**
+     * Encodes the supplied tasks.
+     *
+     * @param tasks the tasks
+     * @return the encoded tasks
+     */
+    static ByteBuffer encodeTasks(final Map<TaskId, TransactionalTask> tasks) {
+
+        final var buffer = ByteBuffer.allocate(tasks.size() * new UnixFSTask().size());
+
+        for (var task : tasks.values()) {
+            final var unixFSTask = new UnixFSTask();
+            unixFSTask.timestamp.set(task.getTimestamp());
+            unixFSTask.packedTaskId.set(task.getTaskId());
+            buffer.put(unixFSTask.getByteBuffer().slice(unixFSTask.getByteBufferPosition(), unixFSTask.size()));
+        }
+
+        return buffer.flip();
+
+    }
+
+    /**
+     * Decodes tasks encoded with {@link #encodeTasks(Map)}.
+     *
+     * @param buffer the encoded tasks
+     * @return an unmodifiable {@link Map} of tasks
+     */
+    static Map<TaskId, TransactionalTask> decodeTasks(final ByteBuffer buffer) {
+
+        final var source = buffer.duplicate();
+        final var tasks = new TreeMap<TaskId, TransactionalTask>();
+
+        while (source.hasRemaining()) {
+
+            final var task = new UnixFSTask();
+            final var size = task.size();
+
+            task.getByteBuffer()
+                .position(task.getByteBufferPosition())
+                .put(source.slice(source.position(), size));
+
+            source.position(source.position() + size);
+
+            if (tasks.put(task.getTaskId(), task) != null) {
+                logger.warn("Duplicate task in entry {}.", task.getTaskId());
+            }
+
+        }
+
+        return unmodifiableMap(tasks);
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.rt.transact.TaskEntry;
+import dev.getelements.elements.rt.transact.TaskEntry.OperationalStrategy;
+import dev.getelements.elements.rt.transact.TaskIndex;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+
+import jakarta.inject.Inject;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKey.tasks;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKind.TASKS;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentTaskEntry.decodeTasks;
+
+public class UnixFSSegmentTaskIndex implements TaskIndex {
+
+    private UnixFSSegmentLog log;
+
+    @Override
+    public Stream<Function<OperationalStrategy<ResourceId>, TaskEntry<ResourceId>>> listAllEntriesByResource() {
+        return getLog().list(TASKS).map(entry -> strategy -> new UnixFSSegmentTaskEntry(
+                strategy,
+                getLog(),
+                entry.getKey().getResourceId(),
+                decodeTasks(entry.getValue())
+        ));
+    }
+
+    @Override
+    public Optional<TaskEntry<ResourceId>> findTaskEntry(
+            final Supplier<OperationalStrategy<ResourceId>> ctor,
+            final ResourceId resourceId) {
+        return getLog().find(tasks(resourceId)).map(value -> new UnixFSSegmentTaskEntry(
+                ctor.get(),
+                getLog(),
+                resourceId,
+                decodeTasks(value)
+        ));
+    }
+
+    @Override
+    public TaskEntry<ResourceId> getOrCreateTaskEntry(
+            final Supplier<OperationalStrategy<ResourceId>> ctor,
+            final ResourceId resourceId) {
+        return findTaskEntry(ctor, resourceId).orElseGet(() -> new UnixFSSegmentTaskEntry(
+                ctor.get(),
+                getLog(),
+                resourceId
+        ));
+    }
+
+    @Override
+    public void cleanup(final ResourceId resourceId, final String transactionId) {
+        getLog().cleanup(tasks(resourceId), transactionId);
+    }
+
+    @Override
+    public void applyChange(final ResourceId resourceId, final String transactionId) {
+        getLog().applyChange(tasks(resourceId), transactionId);
+    }
+
+    public UnixFSSegmentLog getLog() {
+        return log;
+    }
+
+    @Inject
+    public void setLog(UnixFSSegmentLog log) {
+        this.log = log;
+    }
+
+}
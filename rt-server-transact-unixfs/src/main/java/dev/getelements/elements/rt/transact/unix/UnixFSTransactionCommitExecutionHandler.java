@@ -12,8 +12,11 @@ public class UnixFSTransactionCommitExecutionHandler implements UnixFSTransactio
 
     private final DataStore dataStore;
 
-    public UnixFSTransactionCommitExecutionHandler( final DataStore dataStore) {
+    private final UnixFSIndexCache indexCache;
+
+    public UnixFSTransactionCommitExecutionHandler(final DataStore dataStore, final UnixFSIndexCache indexCache) {
         this.dataStore = dataStore;
+        this.indexCache = indexCache;
     }
 
     @Override
@@ -32,6 +35,7 @@ public class UnixFSTransactionCommitExecutionHandler implements UnixFSTransactio
             final ResourceId resourceId,
             final String transactionId) {
         getDataStore().getResourceIndex().applyReversePathsChange(resourceId, transactionId);
+        getIndexCache().invalidate(resourceId);
     }
 
     @Override
@@ -41,6 +45,7 @@ public class UnixFSTransactionCommitExecutionHandler implements UnixFSTransactio
             final Path rtPath,
             final String transactionId) {
         getDataStore().getPathIndex().applyChange(rtPath, transactionId);
+        getIndexCache().invalidate(rtPath);
     }
 
     @Override
@@ -61,4 +66,8 @@ public class UnixFSTransactionCommitExecutionHandler implements UnixFSTransactio
         return dataStore;
     }
 
+    public UnixFSIndexCache getIndexCache() {
+        return indexCache;
+    }
+
 }
@@ -0,0 +1,94 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocates transaction IDs for the {@link UnixFSTransactionJournal}. Rather than persisting the counter for every
+ * transaction, this reserves IDs in blocks. The persistent counter holds the high-water mark of all reserved IDs, and
+ * is flushed to disk once per block. IDs within the reserved block are handed out from memory with a single atomic
+ * increment.
+ *
+ * Upon restart, allocation begins at the persisted high-water mark. Any IDs reserved, but never handed out, before a
+ * crash are simply skipped. This guarantees that no ID is ever issued twice, even if the process terminates abruptly.
+ *
+ * Transaction IDs are rendered as fixed-width, sixteen character, upper case hexadecimal strings so that the lexical
+ * ordering of the IDs matches the order in which they were allocated.
+ */
+class UnixFSTransactionIdAllocator {
+
+    private static final HexFormat TRANSACTION_ID_FORMAT = HexFormat.of().withUpperCase();
+
+    private final int blockSize;
+
+    private final UnixFSAtomicLong highWaterMark;
+
+    private final Runnable flush;
+
+    private final AtomicLong next;
+
+    private volatile long limit;
+
+    /**
+     * Creates a new allocator.
+     *
+     * @param blockSize the number of IDs to reserve each time the high-water mark is advanced
+     * @param highWaterMark the persistent counter holding the high-water mark
+     * @param flush flushes the high-water mark to disk
+     */
+    public UnixFSTransactionIdAllocator(final int blockSize,
+                                        final UnixFSAtomicLong highWaterMark,
+                                        final Runnable flush) {
+
+        if (blockSize <= 0) throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+
+        this.blockSize = blockSize;
+        this.highWaterMark = highWaterMark;
+        this.flush = flush;
+
+        final long start = highWaterMark.get();
+        this.next = new AtomicLong(start);
+        this.limit = start;
+
+    }
+
+    /**
+     * Allocates the next transaction ID.
+     *
+     * @return the transaction ID
+     */
+    public long nextValue() {
+        final long value = next.incrementAndGet();
+        if (value > limit) reserve(value);
+        return value;
+    }
+
+    /**
+     * Allocates the next transaction ID and formats it as a string.
+     *
+     * @return the transaction ID
+     */
+    public String next() {
+        return format(nextValue());
+    }
+
+    private synchronized void reserve(final long value) {
+        while (value > limit) {
+            final long update = limit + blockSize;
+            highWaterMark.set(update);
+            flush.run();
+            limit = update;
+        }
+    }
+
+    /**
+     * Formats the supplied value as a transaction ID.
+     *
+     * @param value the value
+     * @return the transaction ID
+     */
+    public static String format(final long value) {
+        return TRANSACTION_ID_FORMAT.toHexDigits(value);
+    }
+
+}
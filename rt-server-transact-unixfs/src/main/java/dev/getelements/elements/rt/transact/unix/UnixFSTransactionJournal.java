@@ -17,16 +17,25 @@ import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.SecureDirectoryStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
+import static dev.getelements.elements.rt.transact.unix.UnixFSUtils.TRANSACTION_EXTENSION;
+import static dev.getelements.elements.rt.transact.unix.UnixFSUtils.TRANSACTION_SEGMENT_EXTENSION;
 import static java.lang.String.format;
 import static java.nio.ByteBuffer.allocate;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
 import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
 import static java.nio.channels.FileChannel.open;
 import static java.nio.file.Files.*;
 import static java.nio.file.StandardOpenOption.*;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class UnixFSTransactionJournal implements TransactionJournal {
 
@@ -38,6 +47,35 @@ public class UnixFSTransactionJournal implements TransactionJournal {
      */
     public static final String UNIXFS_TRANSACTION_BUFFER_SIZE = "dev.getelements.elements.rt.transact.journal.buffer.size";
 
+    /**
+     * Specifies the {@link UnixFSJournalMode} used to persist transactions before they are applied.
+     */
+    public static final String UNIXFS_TRANSACTION_JOURNAL_MODE = "dev.getelements.elements.rt.transact.journal.mode";
+
+    /**
+     * When using {@link UnixFSJournalMode#GROUP_COMMIT}, the maximum number of transactions which will be flushed to
+     * disk in a single batch.
+     */
+    public static final String UNIXFS_GROUP_COMMIT_MAX_BATCH_SIZE = "dev.getelements.elements.rt.transact.journal.group.commit.max.batch.size";
+
+    /**
+     * When using {@link UnixFSJournalMode#GROUP_COMMIT}, the amount of time, in microseconds, the journal will wait for
+     * additional transactions to join a batch before flushing it to disk.
+     */
+    public static final String UNIXFS_GROUP_COMMIT_LINGER_USEC = "dev.getelements.elements.rt.transact.journal.group.commit.linger.usec";
+
+    /**
+     * The number of transaction IDs reserved each time the journal persists its transaction ID counter. Larger values
+     * reduce the number of flushes to the journal file at the expense of skipping more IDs after a crash.
+     */
+    public static final String UNIXFS_TRANSACTION_ID_BLOCK_SIZE = "dev.getelements.elements.rt.transact.journal.id.block.size";
+
+    /**
+     * The number of threads used to replay committed transactions remaining in the journal at startup. Transactions
+     * which touch the same resources or paths are always replayed in order.
+     */
+    public static final String UNIXFS_REPLAY_THREADS = "dev.getelements.elements.rt.transact.journal.replay.threads";
+
     /**
      * Some magic bytes in the file to indicate what it is.
      */
@@ -65,8 +103,20 @@ public class UnixFSTransactionJournal implements TransactionJournal {
 
     private int txnBufferSize;
 
+    private UnixFSJournalMode journalMode;
+
+    private int groupCommitMaxBatchSize;
+
+    private long groupCommitLingerUsec;
+
+    private int transactionIdBlockSize;
+
+    private int replayThreads;
+
     private DataStore dataStore;
 
+    private UnixFSIndexCache indexCache;
+
     private UnixFSUtils utils;
 
     private UnixFSChecksumAlgorithm preferredChecksumAlgorithm;
@@ -121,6 +171,51 @@ public class UnixFSTransactionJournal implements TransactionJournal {
         this.txnBufferSize = txnBufferSize;
     }
 
+    public UnixFSJournalMode getJournalMode() {
+        return journalMode;
+    }
+
+    @Inject
+    public void setJournalMode(@Named(UNIXFS_TRANSACTION_JOURNAL_MODE) UnixFSJournalMode journalMode) {
+        this.journalMode = journalMode;
+    }
+
+    public int getGroupCommitMaxBatchSize() {
+        return groupCommitMaxBatchSize;
+    }
+
+    @Inject
+    public void setGroupCommitMaxBatchSize(@Named(UNIXFS_GROUP_COMMIT_MAX_BATCH_SIZE) int groupCommitMaxBatchSize) {
+        this.groupCommitMaxBatchSize = groupCommitMaxBatchSize;
+    }
+
+    public long getGroupCommitLingerUsec() {
+        return groupCommitLingerUsec;
+    }
+
+    @Inject
+    public void setGroupCommitLingerUsec(@Named(UNIXFS_GROUP_COMMIT_LINGER_USEC) long groupCommitLingerUsec) {
+        this.groupCommitLingerUsec = groupCommitLingerUsec;
+    }
+
+    public int getTransactionIdBlockSize() {
+        return transactionIdBlockSize;
+    }
+
+    @Inject
+    public void setTransactionIdBlockSize(@Named(UNIXFS_TRANSACTION_ID_BLOCK_SIZE) int transactionIdBlockSize) {
+        this.transactionIdBlockSize = transactionIdBlockSize;
+    }
+
+    public int getReplayThreads() {
+        return replayThreads;
+    }
+
+    @Inject
+    public void setReplayThreads(@Named(UNIXFS_REPLAY_THREADS) int replayThreads) {
+        this.replayThreads = replayThreads;
+    }
+
     public UnixFSUtils getUtils() {
         return utils;
     }
@@ -157,6 +252,15 @@ public class UnixFSTransactionJournal implements TransactionJournal {
         this.dataStore = dataStore;
     }
 
+    public UnixFSIndexCache getIndexCache() {
+        return indexCache;
+    }
+
+    @Inject
+    public void setIndexCache(UnixFSIndexCache indexCache) {
+        this.indexCache = indexCache;
+    }
+
     private class Context {
 
         // Created during init
@@ -167,7 +271,9 @@ public class UnixFSTransactionJournal implements TransactionJournal {
 
         private final MappedByteBuffer journalBuffer;
 
-        private final UnixFSAtomicLong transactionIdCounter;
+        private final UnixFSTransactionIdAllocator transactionIdAllocator;
+
+        private final UnixFSGroupCommitWriter groupCommitWriter;
 
         private Context() throws IOException {
 
@@ -176,13 +282,25 @@ public class UnixFSTransactionJournal implements TransactionJournal {
             if (isRegularFile(journalPath)) {
                 logger.info("Reading existing journal file {}", journalPath);
                 journalBuffer = readExistingJournal(journalPath);
-                transactionIdCounter = header.counter.createAtomicLong();
             } else {
                 logger.info("Creating new journal file {}", journalPath);
                 journalBuffer = createNewJournal(journalPath);
-                transactionIdCounter = header.counter.createAtomicLong();
             }
 
+            transactionIdAllocator = new UnixFSTransactionIdAllocator(
+                    getTransactionIdBlockSize(),
+                    header.counter.createAtomicLong(),
+                    journalBuffer::force
+            );
+
+            groupCommitWriter = switch (getJournalMode()) {
+                case GROUP_COMMIT -> new UnixFSGroupCommitWriter(
+                        getUtils(),
+                        getGroupCommitMaxBatchSize(),
+                        MICROSECONDS.toNanos(getGroupCommitLingerUsec()));
+                case PER_TRANSACTION -> null;
+            };
+
         }
 
         private MappedByteBuffer readExistingJournal(final Path journalPath) throws IOException {
@@ -258,16 +376,21 @@ public class UnixFSTransactionJournal implements TransactionJournal {
         }
 
         public void stop() {
+
+            if (groupCommitWriter != null) {
+                groupCommitWriter.stop();
+            }
+
             journalBuffer.force();
+
         }
 
         public UnixFSJournalMutableEntry newMutableEntry(final NodeId nodeId) {
 
             // Gets the next transaction ID from the journal
 
-            final var transactionId = nextTransactionId();
+            final var transactionId = transactionIdAllocator.next();
             final var transactionBuffer = allocate(getTxnBufferSize());
-            final var transactionFilePath = getUtils().getTransactionFilePath(transactionId);
 
             // Sets up a build for the specific slide of the journal file.
 
@@ -277,6 +400,19 @@ public class UnixFSTransactionJournal implements TransactionJournal {
                     .withByteBuffer(transactionBuffer)
                     .withChecksumAlgorithm(getPreferredChecksumAlgorithm());
 
+            return groupCommitWriter == null
+                    ? newPerTransactionEntry(transactionId, transactionBuffer, builder)
+                    : newGroupCommitEntry(transactionId, transactionBuffer, builder);
+
+        }
+
+        private UnixFSJournalMutableEntry newPerTransactionEntry(
+                final String transactionId,
+                final ByteBuffer transactionBuffer,
+                final UnixFSTransactionProgramBuilder builder) {
+
+            final var transactionFilePath = getUtils().getTransactionFilePath(transactionId);
+
             final Consumer<UnixFSJournalMutableEntry> onWrite = entry -> getUtils().doOperationV(() -> {
                 try (final var output = open(transactionFilePath, WRITE, CREATE_NEW, SYNC, DSYNC)) {
 
@@ -296,6 +432,7 @@ public class UnixFSTransactionJournal implements TransactionJournal {
             return new UnixFSJournalMutableEntry(
                     transactionId,
                     getDataStore(),
+                    getIndexCache(),
                     builder,
                     onWrite,
                     onClose
@@ -303,16 +440,31 @@ public class UnixFSTransactionJournal implements TransactionJournal {
 
         }
 
-        private String nextTransactionId() {
+        private UnixFSJournalMutableEntry newGroupCommitEntry(
+                final String transactionId,
+                final ByteBuffer transactionBuffer,
+                final UnixFSTransactionProgramBuilder builder) {
 
-            long value;
+            final var segment = new AtomicReference<UnixFSGroupCommitWriter.Segment>();
 
-            do {
-                value = transactionIdCounter.get();
-            } while (!transactionIdCounter.compareAndSet(value, value + 1));
+            final Consumer<UnixFSJournalMutableEntry> onWrite = entry -> {
+                transactionBuffer.flip();
+                segment.set(groupCommitWriter.append(transactionId, transactionBuffer));
+            };
 
-            journalBuffer.force();
-            return format("%016X", value + 1);
+            final Consumer<UnixFSJournalMutableEntry> onClose = entry -> {
+                final var written = segment.getAndSet(null);
+                if (written != null) written.release();
+            };
+
+            return new UnixFSJournalMutableEntry(
+                    transactionId,
+                    getDataStore(),
+                    getIndexCache(),
+                    builder,
+                    onWrite,
+                    onClose
+            );
 
         }
 
@@ -327,61 +479,170 @@ public class UnixFSTransactionJournal implements TransactionJournal {
             try (final var journalD = (SecureDirectoryStream<Path>) newDirectoryStream(journalDPath)) {
 
                 final var transactions = new TreeSet<Path>();
+                final var segments = new TreeSet<Path>();
 
                 for (var transaction : journalD) {
-                    if (transaction.endsWith(UnixFSUtils.TRANSACTION_EXTENSION) && isRegularFile(transaction)) {
+                    if (getUtils().isMatchingExtension(transaction, TRANSACTION_EXTENSION) && isRegularFile(transaction)) {
                         transactions.add(transaction);
+                    } else if (getUtils().isMatchingExtension(transaction, TRANSACTION_SEGMENT_EXTENSION) && isRegularFile(transaction)) {
+                        segments.add(transaction);
                     } else {
                         logger.warn("Encountered un expected file {}. Ignoring.", transaction);
                     }
                 }
 
+                // Programs from both individual transaction files and segments are replayed in transaction ID order,
+                // as the journal may have been switched between modes across restarts.
+
+                final var programs = new TreeMap<String, ReplayEntry>();
+
+                final var start = System.nanoTime();
+
                 for (var transaction : transactions) {
-                    doReplayForTransaction(journalD, transaction);
+                    final var program = new UnixFSTransactionProgram(readTransactionFile(transaction));
+                    if (program.isValid()) {
+                        programs.put(program.header.transactionId.get(), new ReplayEntry(program, transaction));
+                    } else {
+                        logger.info("Skipping partial transaction {}", transaction);
+                    }
+                }
+
+                for (var segment : segments) {
+                    readSegment(segment).forEach(program -> programs.put(
+                            program.header.transactionId.get(),
+                            new ReplayEntry(program, null))
+                    );
+                }
+
+                if (!programs.isEmpty()) {
+                    logger.info("Loaded {} transactions from {} files and {} segments in {}ms.",
+                            programs.size(),
+                            transactions.size(),
+                            segments.size(),
+                            MILLISECONDS.convert(System.nanoTime() - start, NANOSECONDS)
+                    );
+                }
+
+                final var replay = new UnixFSJournalReplay(getReplayThreads(), this::doReplayForProgram);
+
+                for (var entry : programs.values()) {
+
+                    final var transactionPath = entry.transactionPath();
+
+                    replay.add(entry.program(), transactionPath == null
+                            ? () -> {}
+                            : () -> getUtils().doOperationV(() -> {
+                                synchronized (journalD) {
+                                    journalD.deleteFile(transactionPath);
+                                }
+                            })
+                    );
+
+                }
+
+                // The replay holds each program until it has run, so the programs are not also kept alive here.
+                programs.clear();
+
+                final var result = replay.run();
+
+                if (result.programs() > 0) {
+                    logger.info("Replayed {} transactions in {}ms using {} threads (longest dependency chain {}).",
+                            result.programs(),
+                            result.elapsedMsec(),
+                            result.threads(),
+                            result.depth()
+                    );
                 }
+
+                for (var segment : segments) {
+                    journalD.deleteFile(segment);
+                }
+
             }
 
         }
 
-        private boolean doReplayForTransaction(
-                final SecureDirectoryStream<Path> journalD,
-                final Path transactionPath) throws IOException {
+        private ByteBuffer readTransactionFile(final Path transactionPath) throws IOException {
 
-            final ByteBuffer transactionBuffer;
+            // Read onto the heap rather than mapped. Every program is held until the replay finishes, and after a crash
+            // with a large backlog one mapping per transaction could exhaust the process's mappings just as recovery
+            // needs them. Each file holds a single transaction, so is no larger than the transaction buffer.
 
             try (var transactionFileChannel = open(transactionPath, READ)) {
 
-                transactionBuffer = allocate((int)transactionFileChannel.size());
+                final var size = transactionFileChannel.size();
 
-                while (transactionBuffer.hasRemaining()) {
-                    if (transactionFileChannel.read(transactionBuffer) < 0) {
-                        throw new FatalException("Unexpected end of stream: " + transactionPath);
-                    }
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException("Transaction file too large: " + transactionPath);
                 }
 
+                final var buffer = ByteBuffer.allocate((int) size);
+
+                while (buffer.hasRemaining()) {
+                    if (transactionFileChannel.read(buffer) < 0) break;
+                }
+
+                return buffer.flip();
+
             }
 
-            final var program = new UnixFSTransactionProgram(transactionBuffer);
+        }
+
+        private List<UnixFSTransactionProgram> readSegment(final Path segmentPath) throws IOException {
 
-            if (program.isValid()) {
+            final MappedByteBuffer segmentBuffer;
 
-                final var commitHandler = new UnixFSTransactionCommitExecutionHandler(getDataStore());
-                final var cleanupHandler = new UnixFSTransactionRollbackExecutionHandler(getDataStore());
+            try (var segmentFileChannel = open(segmentPath, READ)) {
+                segmentBuffer = segmentFileChannel.map(READ_ONLY, 0, segmentFileChannel.size());
+            }
 
-                program.interpreter()
-                        .tryExecuteCommitPhase(commitHandler)
-                        .tryExecuteCleanupPhase(cleanupHandler);
+            int position = 0;
 
-                journalD.deleteFile(transactionPath);
+            final var programs = new ArrayList<UnixFSTransactionProgram>();
+            final var programHeader = new UnixFSTransactionProgramHeader();
+
+            while (segmentBuffer.limit() - position >= UnixFSTransactionProgramHeader.SIZE) {
+
+                programHeader.setByteBuffer(segmentBuffer, position);
+
+                final long programSize = UnixFSTransactionProgramHeader.SIZE + programHeader.length.get();
+
+                if (!UnixFSTransactionProgramHeader.MAGIC.equals(programHeader.magic.get()) ||
+                    programSize > segmentBuffer.limit() - position) {
+                    logger.info("Truncated segment {} at {}", segmentPath, position);
+                    break;
+                }
+
+                final var program = new UnixFSTransactionProgram(segmentBuffer.slice(position, (int) programSize));
+
+                if (program.isValid()) {
+                    programs.add(program);
+                    position += (int) programSize;
+                } else {
+                    logger.info("Skipping partial transaction in segment {} at {}", segmentPath, position);
+                    break;
+                }
 
-                return true;
-            } else {
-                logger.info("Skipping partial transaction {}", transactionPath);
-                return false;
             }
 
+            logger.info("Read {} transactions from segment {}", programs.size(), segmentPath);
+            return programs;
+
         }
 
+        private void doReplayForProgram(final UnixFSTransactionProgram program) {
+
+            final var commitHandler = new UnixFSTransactionCommitExecutionHandler(getDataStore(), getIndexCache());
+            final var cleanupHandler = new UnixFSTransactionRollbackExecutionHandler(getDataStore());
+
+            program.interpreter()
+                    .tryExecuteCommitPhase(commitHandler)
+                    .tryExecuteCleanupPhase(cleanupHandler);
+
+        }
+
+        private record ReplayEntry(UnixFSTransactionProgram program, Path transactionPath) {}
+
     }
 
 }
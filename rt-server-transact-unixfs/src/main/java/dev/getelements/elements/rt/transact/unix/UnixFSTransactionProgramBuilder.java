@@ -32,7 +32,7 @@ public class UnixFSTransactionProgramBuilder {
 
     private ByteBuffer byteBuffer;
 
-    private UnixFSChecksumAlgorithm checksumAlgorithm = UnixFSChecksumAlgorithm.ADLER_32;
+    private UnixFSChecksumAlgorithm checksumAlgorithm = UnixFSChecksumAlgorithm.DEFAULT;
 
     private final Map<UnixFSTransactionProgramExecutionPhase, List<CommandWriter>> operations = new EnumMap<>(UnixFSTransactionProgramExecutionPhase.class);
 
@@ -48,6 +48,8 @@ public class UnixFSUtils {
 
     public static final String TRANSACTION_JOURNAL_DIRECTORY = "journal.d";
 
+    public static final String DATA_SEGMENT_DIRECTORY = "segments.d";
+
     public static final String NODE_DIRECTORY = "node";
 
     public static final String GARBAGE_DIRECTORY = "garbage";
@@ -70,6 +72,10 @@ public class UnixFSUtils {
 
     public static final String TRANSACTION_EXTENSION = "txn";
 
+    public static final String TRANSACTION_SEGMENT_EXTENSION = "seg";
+
+    public static final String DATA_SEGMENT_EXTENSION = "dat";
+
     public static final String EXTENSION_REGEX = format("\\.(%s|%s|%s)$", TASK_EXTENSION, RESOURCE_EXTENSION, REVERSE_PATH_EXTENSION);
 
     public static final Pattern EXTENSION_PATTERN = compile(EXTENSION_REGEX);
@@ -84,6 +90,8 @@ public class UnixFSUtils {
 
     private final Path transactionJournalDirectoryPath;
 
+    private final Path dataSegmentDirectoryPath;
+
     private final Path nodeStorageRoot;
 
     private final Path garbageDirectory;
@@ -106,6 +114,7 @@ public class UnixFSUtils {
         this.garbageDirectory = storageRoot.resolve(GARBAGE_DIRECTORY).toAbsolutePath().normalize();
         this.transactionJournalFilePath = storageRoot.resolve(TRANSACTION_JOURNAL_FILE_NAME).toAbsolutePath().normalize();
         this.transactionJournalDirectoryPath = storageRoot.resolve(TRANSACTION_JOURNAL_DIRECTORY).toAbsolutePath().normalize();
+        this.dataSegmentDirectoryPath = storageRoot.resolve(DATA_SEGMENT_DIRECTORY).toAbsolutePath().normalize();
     }
 
     /**
@@ -119,6 +128,7 @@ public class UnixFSUtils {
             createDirectories(getNodeStorageRoot());
             createDirectories(getGarbageDirectory());
             createDirectories(getTransactionJournalDirectoryPath());
+            createDirectories(getDataSegmentDirectoryPath());
 
             try {
                 createFile(getTombstone());
@@ -135,6 +145,7 @@ public class UnixFSUtils {
         fileSystemSet.add(getGarbageDirectory().getFileSystem());
         fileSystemSet.add(getTransactionJournalFilePath().getFileSystem());
         fileSystemSet.add(getTransactionJournalDirectoryPath().getFileSystem());
+        fileSystemSet.add(getDataSegmentDirectoryPath().getFileSystem());
 
         final var paths = Stream.of(
                 getTombstone(),
@@ -142,7 +153,8 @@ public class UnixFSUtils {
                 getNodeStorageRoot(),
                 getGarbageDirectory(),
                 getTransactionJournalFilePath(),
-                getTransactionJournalDirectoryPath()
+                getTransactionJournalDirectoryPath(),
+                getDataSegmentDirectoryPath()
         ).map(Objects::toString).collect(joining());
 
         if (fileSystemSet.size() > 1) {
@@ -297,6 +309,15 @@ public class UnixFSUtils {
         return transactionJournalDirectoryPath;
     }
 
+    /**
+     * Returns the path to the directory containing the data segments used by the {@link UnixFSSegmentLog}.
+     *
+     * @return the path to the data segment directory.
+     */
+    public Path getDataSegmentDirectoryPath() {
+        return dataSegmentDirectoryPath;
+    }
+
     /**
      * Gets the {@link Path} to the tombstone marker file.
      *
@@ -550,6 +571,27 @@ public class UnixFSUtils {
         return getTransactionJournalDirectoryPath().resolve(format("%s.%s", transactionId, TRANSACTION_EXTENSION));
     }
 
+    /**
+     * Allocates a journal segment file. Segments are named after the first transaction written to the segment.
+     *
+     * @param transactionId the transaction ID of the first transaction in the segment
+     * @return the {@link Path} to the segment file
+     */
+    public Path getTransactionSegmentFilePath(final String transactionId) {
+        return getTransactionJournalDirectoryPath().resolve(format("%s.%s", transactionId, TRANSACTION_SEGMENT_EXTENSION));
+    }
+
+    /**
+     * Gets the path to a data segment file used by the {@link UnixFSSegmentLog}. Segments are named after their id
+     * such that the lexical ordering of the file names matches the order in which the segments were created.
+     *
+     * @param segmentId the segment id
+     * @return the {@link Path} to the segment file
+     */
+    public Path getDataSegmentFilePath(final long segmentId) {
+        return getDataSegmentDirectoryPath().resolve(format("%016X.%s", segmentId, DATA_SEGMENT_EXTENSION));
+    }
+
     /**
      * Allocates a directory in the garbage directory.
      *
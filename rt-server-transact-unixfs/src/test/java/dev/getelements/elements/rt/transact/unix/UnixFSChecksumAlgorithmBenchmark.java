@@ -0,0 +1,97 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.sdk.cluster.id.NodeId;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionProgramExecutionPhase.CLEANUP;
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionProgramExecutionPhase.COMMIT;
+import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.randomResourceIdForNode;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * Compares the throughput of building and verifying {@link UnixFSTransactionProgram}s with each
+ * {@link UnixFSChecksumAlgorithm} across a range of transaction sizes, measured in resources touched per transaction.
+ *
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnixFSChecksumAlgorithmBenchmark {
+
+    @Param({"CRC_32", "ADLER_32", "CRC_32C"})
+    private UnixFSChecksumAlgorithm algorithm;
+
+    @Param({"1", "16", "256"})
+    private int resources;
+
+    private NodeId nodeId;
+
+    private List<ResourceId> resourceIds;
+
+    private ByteBuffer buildBuffer;
+
+    private UnixFSTransactionProgram program;
+
+    @Setup
+    public void setup() {
+
+        nodeId = randomNodeId();
+
+        resourceIds = IntStream.range(0, resources)
+                .mapToObj(i -> randomResourceIdForNode(nodeId))
+                .collect(toUnmodifiableList());
+
+        buildBuffer = ByteBuffer.allocate(1024 * 1024);
+        program = build();
+
+    }
+
+    private UnixFSTransactionProgram build() {
+
+        final var builder = new UnixFSTransactionProgramBuilder()
+                .withByteBuffer(buildBuffer.clear())
+                .withTransactionId("0000000000000001")
+                .withChecksumAlgorithm(algorithm)
+                .withNodeId(nodeId);
+
+        for (var resourceId : resourceIds) {
+            builder.applyChangeToResourceContents(COMMIT, resourceId);
+            builder.cleanupResource(CLEANUP, resourceId);
+        }
+
+        return builder.compile(COMMIT, CLEANUP).commit();
+
+    }
+
+    @Benchmark
+    public UnixFSTransactionProgram buildProgram() {
+        return build();
+    }
+
+    @Benchmark
+    public boolean verifyProgram() {
+        return program.isValid();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UnixFSChecksumAlgorithmBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,60 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSChecksumAlgorithm.*;
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionProgramExecutionPhase.CLEANUP;
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionProgramExecutionPhase.COMMIT;
+import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.randomResourceIdForNode;
+import static java.nio.ByteBuffer.allocate;
+import static org.testng.Assert.*;
+
+public class UnixFSChecksumAlgorithmTest {
+
+    @DataProvider
+    public static Object[][] algorithms() {
+        return Arrays.stream(UnixFSChecksumAlgorithm.values())
+                .map(algorithm -> new Object[]{algorithm})
+                .toArray(Object[][]::new);
+    }
+
+    @Test
+    public void testOrdinalsAreStable() {
+        // Ordinals are written to existing journals and data files and must never change.
+        assertEquals(CRC_32.ordinal(), 0);
+        assertEquals(ADLER_32.ordinal(), 1);
+        assertEquals(CRC_32C.ordinal(), 2);
+        assertEquals(DEFAULT, CRC_32C);
+    }
+
+    @Test(dataProvider = "algorithms")
+    public void testProgramVerifies(final UnixFSChecksumAlgorithm algorithm) {
+
+        final var nodeId = randomNodeId();
+
+        final var program = new UnixFSTransactionProgramBuilder()
+                .withByteBuffer(allocate(4096))
+                .withTransactionId("0000000000000001")
+                .withChecksumAlgorithm(algorithm)
+                .withNodeId(nodeId)
+                .applyChangeToResourceContents(COMMIT, randomResourceIdForNode(nodeId))
+                .cleanupResource(CLEANUP, randomResourceIdForNode(nodeId))
+                .compile(COMMIT, CLEANUP)
+                .commit();
+
+        assertEquals(program.header.algorithm.get(), algorithm);
+        assertTrue(program.isValid());
+
+        final var buffer = program.getByteBuffer();
+        final var last = UnixFSTransactionProgramHeader.SIZE + (int) program.header.length.get() - 1;
+        buffer.put(last, (byte) (buffer.get(last) ^ 0xFF));
+
+        assertFalse(program.isValid());
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.randomResourceIdForNode;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.*;
+
+public class UnixFSIndexCacheTest {
+
+    private final UnixFSIndexCache cache = new UnixFSIndexCache(mock(UnixFSUtils.class), 16);
+
+    @Test
+    public void testHitsAndMisses() {
+
+        final var path = Path.fromPathString("test/hits").toPathWithContext(randomNodeId().asString());
+        final var resourceId = randomResourceIdForNode(randomNodeId());
+
+        assertEquals(cache.findResourceId(path, () -> Optional.of(resourceId)), Optional.of(resourceId));
+        assertEquals(cache.findResourceId(path, () -> {
+            fail("Expected cached value.");
+            return Optional.empty();
+        }), Optional.of(resourceId));
+
+        assertTrue(cache.getPathCacheStats().hitCount() >= 1);
+        assertTrue(cache.getPathCacheStats().missCount() >= 1);
+
+    }
+
+    @Test
+    public void testKnownAbsent() {
+
+        final var resourceId = randomResourceIdForNode(randomNodeId());
+
+        assertFalse(cache.isKnownAbsent(resourceId));
+        assertEquals(cache.findReversePaths(resourceId, Optional::empty), Optional.empty());
+        assertTrue(cache.isKnownAbsent(resourceId));
+
+        cache.invalidate(resourceId);
+        assertFalse(cache.isKnownAbsent(resourceId));
+
+    }
+
+    @Test
+    public void testInvalidationDuringLoadDiscardsStaleValue() {
+
+        final var path = Path.fromPathString("test/stale").toPathWithContext(randomNodeId().asString());
+        final var stale = randomResourceIdForNode(randomNodeId());
+        final var fresh = randomResourceIdForNode(randomNodeId());
+
+        final var loaded = cache.findResourceId(path, () -> {
+            // Simulates a commit landing while the value is being read from disk.
+            cache.invalidate(path);
+            return Optional.of(stale);
+        });
+
+        assertEquals(loaded, Optional.of(stale));
+        assertEquals(cache.findResourceId(path, () -> Optional.of(fresh)), Optional.of(fresh));
+
+    }
+
+}
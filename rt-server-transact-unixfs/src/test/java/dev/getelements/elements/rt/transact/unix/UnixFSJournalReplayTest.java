@@ -0,0 +1,127 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.sdk.cluster.id.NodeId;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionProgramExecutionPhase.CLEANUP;
+import static dev.getelements.elements.rt.transact.unix.UnixFSTransactionProgramExecutionPhase.COMMIT;
+import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.randomResourceIdForNode;
+import static java.lang.String.format;
+import static org.testng.Assert.*;
+
+public class UnixFSJournalReplayTest {
+
+    private final NodeId nodeId = randomNodeId();
+
+    private final List<ResourceId> resourceIds = IntStream.range(0, 8)
+            .mapToObj(i -> randomResourceIdForNode(nodeId))
+            .toList();
+
+    private final List<Path> paths = IntStream.range(0, 8)
+            .mapToObj(i -> Path.fromPathString("replay/" + i).toPathWithContext(nodeId.asString()))
+            .toList();
+
+    @DataProvider
+    public static Object[][] threads() {
+        return new Object[][] {{1}, {4}};
+    }
+
+    @Test(dataProvider = "threads")
+    public void testConflictingProgramsReplayInOrder(final int threads) {
+
+        final var random = new Random();
+        final var active = new ConcurrentHashMap<Object, AtomicInteger>();
+        final var order = new ConcurrentHashMap<Object, List<String>>();
+        final var expected = new ConcurrentHashMap<Object, List<String>>();
+        final var completed = new AtomicInteger();
+        final var keysByTransaction = new ConcurrentHashMap<String, List<Object>>();
+
+        final var replay = new UnixFSJournalReplay(threads, program -> {
+
+            final var transactionId = program.header.transactionId.get();
+            final var keys = keysByTransaction.get(transactionId);
+
+            for (var key : keys) {
+                final var count = active.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                assertEquals(count, 1, "Conflicting programs replayed concurrently for " + key);
+                order.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>())).add(transactionId);
+            }
+
+            Thread.yield();
+
+            for (var key : keys) active.get(key).decrementAndGet();
+
+        });
+
+        final int programs = 200;
+
+        for (int i = 0; i < programs; ++i) {
+
+            final var transactionId = format("%016X", i);
+            final var resourceId = resourceIds.get(random.nextInt(resourceIds.size()));
+            final var path = paths.get(random.nextInt(paths.size()));
+            final List<Object> keys = List.of(resourceId, path);
+
+            keysByTransaction.put(transactionId, keys);
+            keys.forEach(key -> expected.computeIfAbsent(key, k -> new ArrayList<>()).add(transactionId));
+
+            replay.add(compile(transactionId, resourceId, path), completed::incrementAndGet);
+
+        }
+
+        final var result = replay.run();
+
+        assertEquals(result.programs(), programs);
+        assertEquals(result.threads(), threads);
+        assertTrue(result.depth() >= 1 && result.depth() <= programs);
+        assertEquals(completed.get(), programs);
+        assertEquals(Map.copyOf(order), Map.copyOf(expected));
+
+    }
+
+    @Test
+    public void testFailureStopsReplay() {
+
+        final var replayed = new AtomicInteger();
+
+        final var replay = new UnixFSJournalReplay(4, program -> {
+            if (replayed.incrementAndGet() == 1) throw new IllegalStateException("Expected.");
+        });
+
+        // All programs share a resource, so they form a single chain and nothing replays after the failure.
+        for (int i = 0; i < 10; ++i) {
+            replay.add(compile(format("%016X", i), resourceIds.get(0), paths.get(i % paths.size())), () -> {});
+        }
+
+        assertThrows(IllegalStateException.class, replay::run);
+        assertEquals(replayed.get(), 1);
+
+    }
+
+    private UnixFSTransactionProgram compile(final String transactionId, final ResourceId resourceId, final Path path) {
+        return new UnixFSTransactionProgramBuilder()
+                .withNodeId(nodeId)
+                .withTransactionId(transactionId)
+                .withByteBuffer(ByteBuffer.allocate(4096))
+                .applyChangeToResourceContents(COMMIT, resourceId)
+                .applyReversePathChangeToResource(COMMIT, path)
+                .cleanupResource(CLEANUP, resourceId)
+                .compile(COMMIT, CLEANUP)
+                .commit();
+    }
+
+}
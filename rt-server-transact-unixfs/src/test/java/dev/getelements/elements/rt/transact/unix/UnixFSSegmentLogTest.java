@@ -0,0 +1,202 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import dev.getelements.elements.sdk.cluster.id.NodeId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import dev.getelements.elements.sdk.util.TemporaryFiles;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+import static dev.getelements.elements.rt.transact.unix.UnixFSChecksumAlgorithm.ADLER_32;
+import static dev.getelements.elements.rt.transact.unix.UnixFSSegmentKey.contents;
+import static dev.getelements.elements.sdk.cluster.id.NodeId.randomNodeId;
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.randomResourceIdForNode;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toSet;
+import static org.testng.Assert.*;
+
+public class UnixFSSegmentLogTest {
+
+    private static final TemporaryFiles temporaryFiles = new TemporaryFiles(UnixFSSegmentLogTest.class);
+
+    private final NodeId nodeId = randomNodeId();
+
+    private UnixFSUtils utils;
+
+    private UnixFSSegmentLog log;
+
+    @BeforeMethod
+    public void setup() {
+        utils = new UnixFSUtils(ADLER_32, temporaryFiles.createTempDirectory());
+        utils.initialize();
+        log = newLog();
+        log.open();
+    }
+
+    @AfterMethod
+    public void teardown() {
+        try {
+            log.close();
+        } catch (IllegalStateException ex) {
+            // Already closed by the test.
+        }
+    }
+
+    private UnixFSSegmentLog newLog() {
+        final var log = new UnixFSSegmentLog();
+        log.setUtils(utils);
+        log.setSegmentSize(4096);
+        log.setCompactionThreshold(0.5);
+        log.setCompactionIntervalMsec(Long.MAX_VALUE / 2);
+        return log;
+    }
+
+    private void reopen() {
+        log.close();
+        log = newLog();
+        log.open();
+    }
+
+    private static ByteBuffer value(final String value) {
+        return ByteBuffer.wrap(value.getBytes(UTF_8));
+    }
+
+    private static String string(final Optional<ByteBuffer> value) {
+        return value.map(b -> UTF_8.decode(b.duplicate()).toString()).orElse(null);
+    }
+
+    @Test
+    public void testStagedValueInvisibleUntilApplied() {
+
+        final var key = contents(randomResourceIdForNode(nodeId));
+
+        log.stage(key, "txn-a", value("hello"));
+        assertFalse(log.exists(key));
+        assertEquals(string(log.findStaged(key, "txn-a")), "hello");
+
+        log.applyChange(key, "txn-a");
+        assertEquals(string(log.find(key)), "hello");
+
+        // Applying a second time has no effect.
+        log.applyChange(key, "txn-a");
+        assertEquals(string(log.find(key)), "hello");
+
+    }
+
+    @Test
+    public void testCleanupDiscardsStagedValue() {
+
+        final var key = contents(randomResourceIdForNode(nodeId));
+
+        log.put(key, value("original"));
+        log.stage(key, "txn-b", value("discarded"));
+        log.cleanup(key, "txn-b");
+        log.applyChange(key, "txn-b");
+
+        assertEquals(string(log.find(key)), "original");
+
+    }
+
+    @Test
+    public void testRecovery() {
+
+        final var committed = contents(randomResourceIdForNode(nodeId));
+        final var uncommitted = contents(randomResourceIdForNode(nodeId));
+        final var removed = contents(randomResourceIdForNode(nodeId));
+
+        log.put(removed, value("removed"));
+        log.stage(committed, "txn-c", value("committed"));
+        log.stage(uncommitted, "txn-d", value("uncommitted"));
+        log.stage(removed, "txn-c", null);
+        log.applyChange(committed, "txn-c");
+        log.applyChange(removed, "txn-c");
+
+        reopen();
+
+        assertEquals(string(log.find(committed)), "committed");
+        assertFalse(log.exists(removed));
+        assertFalse(log.exists(uncommitted));
+        assertEquals(string(log.findStaged(uncommitted, "txn-d")), "uncommitted");
+
+        log.applyChange(uncommitted, "txn-d");
+        assertEquals(string(log.find(uncommitted)), "uncommitted");
+
+        log.discardStaged();
+        reopen();
+        assertEquals(string(log.find(uncommitted)), "uncommitted");
+
+    }
+
+    @Test
+    public void testListChildren() {
+
+        final var parent = Path.fromPathString("test/parent").toPathWithContext(nodeId.asString());
+        final var a = parent.appendComponents("a");
+        final var b = parent.appendComponents("b");
+        final var resourceId = ByteBuffer.wrap(randomResourceIdForNode(nodeId).asBytes());
+
+        log.put(UnixFSSegmentKey.path(a), resourceId);
+        log.put(UnixFSSegmentKey.path(b), resourceId);
+        log.put(UnixFSSegmentKey.path(b), null);
+
+        assertEquals(log.listChildren(parent).collect(toSet()), java.util.Set.of(a));
+
+        reopen();
+        assertEquals(log.listChildren(parent).collect(toSet()), java.util.Set.of(a));
+
+    }
+
+    @Test
+    public void testCompaction() {
+
+        final var live = contents(randomResourceIdForNode(nodeId));
+        final var churn = contents(randomResourceIdForNode(nodeId));
+        final var removed = contents(randomResourceIdForNode(nodeId));
+
+        log.put(live, value("live"));
+        log.put(removed, value("removed"));
+        log.put(removed, null);
+
+        for (int i = 0; i < 1000; ++i) {
+            log.stage(churn, "txn-" + i, value("churn-" + i));
+            log.applyChange(churn, "txn-" + i);
+        }
+
+        final var before = log.getSegmentCount();
+        assertTrue(before > 2, "Expected multiple segments.");
+
+        assertTrue(log.compact() > 0);
+        assertTrue(log.getSegmentCount() < before);
+
+        assertEquals(string(log.find(live)), "live");
+        assertEquals(string(log.find(churn)), "churn-999");
+        assertFalse(log.exists(removed));
+
+        reopen();
+
+        assertEquals(string(log.find(live)), "live");
+        assertEquals(string(log.find(churn)), "churn-999");
+        assertFalse(log.exists(removed));
+
+    }
+
+    @Test
+    public void testRemoveAll() {
+
+        final var other = randomNodeId();
+        final var mine = contents(randomResourceIdForNode(nodeId));
+        final var theirs = contents(randomResourceIdForNode(other));
+
+        log.put(mine, value("mine"));
+        log.put(theirs, value("theirs"));
+        log.removeAll(nodeId);
+
+        assertFalse(log.exists(mine));
+        assertEquals(string(log.find(theirs)), "theirs");
+
+    }
+
+}
@@ -0,0 +1,98 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the throughput of transaction ID allocation using the original path, which flushes the journal header for
+ * every ID, against {@link UnixFSTransactionIdAllocator}. Both are backed by a memory mapped journal header.
+ *
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnixFSTransactionIdAllocatorBenchmark {
+
+    @Param({"64", "1024"})
+    private int blockSize;
+
+    private Path journalPath;
+
+    private MappedByteBuffer journalBuffer;
+
+    private UnixFSAtomicLong legacyCounter;
+
+    private UnixFSTransactionIdAllocator allocator;
+
+    @Setup
+    public void setup() throws IOException {
+
+        final var header = new UnixFSJournalHeader();
+        journalPath = Files.createTempFile(getClass().getSimpleName(), ".bin");
+
+        try (final var channel = FileChannel.open(journalPath, READ, WRITE)) {
+            channel.write(ByteBuffer.allocate(header.size() * 2));
+            journalBuffer = channel.map(READ_WRITE, 0, header.size() * 2L);
+        }
+
+        header.setByteBuffer(journalBuffer, 0);
+        header.counter.initialize(0);
+
+        legacyCounter = header.counter.createAtomicLong();
+        allocator = new UnixFSTransactionIdAllocator(blockSize, header.counter.createAtomicLong(), journalBuffer::force);
+
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(journalPath);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacy() {
+
+        long value;
+
+        do {
+            value = legacyCounter.get();
+        } while (!legacyCounter.compareAndSet(value, value + 1));
+
+        journalBuffer.force();
+        return format("%016X", value + 1);
+
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String blockReserved() {
+        return allocator.next();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UnixFSTransactionIdAllocatorBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
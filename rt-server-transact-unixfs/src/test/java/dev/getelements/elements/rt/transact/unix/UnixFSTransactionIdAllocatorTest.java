@@ -0,0 +1,66 @@
+package dev.getelements.elements.rt.transact.unix;
+
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class UnixFSTransactionIdAllocatorTest {
+
+    @Test
+    public void testFlushesOncePerBlock() {
+
+        final var flushes = new AtomicInteger();
+        final var counter = UnixFSAtomicLong.basic();
+        final var allocator = new UnixFSTransactionIdAllocator(16, counter, flushes::incrementAndGet);
+
+        for (long l = 1; l <= 64; ++l) {
+            assertEquals(allocator.nextValue(), l);
+        }
+
+        assertEquals(flushes.get(), 4);
+        assertEquals(counter.get(), 64);
+
+    }
+
+    @Test
+    public void testRecoverySkipsUnusedTail() {
+
+        final var counter = UnixFSAtomicLong.basic();
+        final var crashed = new UnixFSTransactionIdAllocator(16, counter, () -> {});
+
+        for (int i = 0; i < 5; ++i) crashed.nextValue();
+
+        final var recovered = new UnixFSTransactionIdAllocator(16, counter, () -> {});
+        assertEquals(recovered.nextValue(), 17);
+
+    }
+
+    @Test
+    public void testConcurrentAllocationIsUnique() {
+
+        final var counter = UnixFSAtomicLong.basic();
+        final var allocator = new UnixFSTransactionIdAllocator(7, counter, () -> {});
+        final Set<Long> values = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 100000).parallel().forEach(i -> assertTrue(values.add(allocator.nextValue())));
+
+        assertEquals(values.size(), 100000);
+        assertTrue(counter.get() >= 100000);
+
+    }
+
+    @Test
+    public void testFormatMatchesLegacyFormat() {
+        for (long value : new long[]{0, 1, 0xABCDEFL, Long.MAX_VALUE, -1}) {
+            assertEquals(UnixFSTransactionIdAllocator.format(value), format("%016X", value));
+        }
+    }
+
+}
@@ -2,7 +2,6 @@ package dev.getelements.elements.rt.transact;
 
 import dev.getelements.elements.rt.*;
 import dev.getelements.elements.rt.exception.DuplicateException;
-import dev.getelements.elements.rt.exception.InternalException;
 import dev.getelements.elements.rt.exception.NoSuchTaskException;
 import dev.getelements.elements.rt.exception.ResourceNotFoundException;
 import dev.getelements.elements.sdk.cluster.path.Path;
@@ -18,11 +17,11 @@ import java.io.IOException;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.List;
-import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import static dev.getelements.elements.rt.transact.TransactionAdmissionControl.Kind.*;
 import static java.lang.String.format;
 import static java.util.function.Predicate.not;
 import static java.util.stream.Collectors.toList;
@@ -34,9 +33,7 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
 
     private static final Logger logger = getLogger(JournalTransactionalResourceServicePersistenceEnvironment.class);
 
-    private final int maxReads;
-
-    private final Semaphore semaphore;
+    private final TransactionAdmissionControl admissionControl;
 
     private final Provider<Snapshot.Builder> snapshotBuilderProvider;
 
@@ -51,16 +48,14 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
             final Provider<Snapshot.Builder> snapshotBuilderProvider,
             final DataStore dataStore,
             final TransactionJournal transactionJournal,
-            final JournalTransactionalPersistenceDriver journalTransactionalPersistenceDriver) {
+            final JournalTransactionalPersistenceDriver journalTransactionalPersistenceDriver,
+            final TransactionAdmissionControl admissionControl) {
 
         this.snapshotBuilderProvider = snapshotBuilderProvider;
         this.dataStore = dataStore;
         this.transactionJournal = transactionJournal;
         this.journalTransactionalPersistenceDriver = journalTransactionalPersistenceDriver;
-
-        // TODO: The read value should come from configuration
-        this.maxReads = Integer.MAX_VALUE;
-        this.semaphore = new Semaphore(maxReads, true);
+        this.admissionControl = admissionControl;
 
     }
 
@@ -83,12 +78,13 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
         return new AbstractTransactionBuilder<>() {
             @Override
             public ReadOnlyTransaction begin() {
+                final var permit = getAdmissionControl().acquire(READ);
                 try {
-                    semaphore.acquire();
                     final var snapshot = snapshotBuilder.buildRO();
-                    return new SimpleReadOnlyTransaction(nodeId, snapshot);
-                } catch (InterruptedException e) {
-                    throw new InternalException(e);
+                    return new SimpleReadOnlyTransaction(nodeId, snapshot, permit);
+                } catch (RuntimeException ex) {
+                    permit.release();
+                    throw ex;
                 }
             }
         };
@@ -99,13 +95,14 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
         return new AbstractTransactionBuilder<>() {
             @Override
             public ReadWriteTransaction begin() {
+                final var permit = getAdmissionControl().acquire(WRITE);
                 try {
-                    semaphore.acquire();
                     final var journalEntry = getTransactionJournal().newMutableEntry(nodeId);
                     final var snapshot = snapshotBuilder.buildRW();
-                    return new SimpleReadWriteTransaction(nodeId, snapshot, journalEntry);
-                } catch (InterruptedException e) {
-                    throw new InternalException(e);
+                    return new SimpleReadWriteTransaction(nodeId, snapshot, journalEntry, permit);
+                } catch (RuntimeException ex) {
+                    permit.release();
+                    throw ex;
                 }
             }
         };
@@ -113,12 +110,8 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
 
     @Override
     public ExclusiveReadWriteTransaction openExclusiveRW() {
-        try {
-            semaphore.acquire(maxReads);
-            return new SimpleExclusiveReadWriteTransaction();
-        } catch (InterruptedException ex) {
-            throw new InternalException(ex);
-        }
+        final var permit = getAdmissionControl().acquire(EXCLUSIVE);
+        return new SimpleExclusiveReadWriteTransaction(permit);
     }
 
     public Provider<Snapshot.Builder> getSnapshotBuilderProvider() {
@@ -137,6 +130,10 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
         return journalTransactionalPersistenceDriver;
     }
 
+    public TransactionAdmissionControl getAdmissionControl() {
+        return admissionControl;
+    }
+
     private abstract class AbstractTransactionBuilder<TransactionT extends ReadOnlyTransaction>
             implements ReadOnlyTransaction.Builder<TransactionT> {
 
@@ -164,12 +161,14 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
 
         private final Snapshot snapshot;
 
-        public SimpleReadOnlyTransaction(final NodeId nodeId, final Snapshot snapshot) {
+        public SimpleReadOnlyTransaction(final NodeId nodeId,
+                                         final Snapshot snapshot,
+                                         final TransactionAdmissionControl.Permit permit) {
             this.nodeId = nodeId;
             this.snapshot = snapshot;
             this.onClose = onClose
                     .then(snapshot::close)
-                    .then(semaphore::release);
+                    .then(permit::release);
         }
 
         @Override
@@ -227,14 +226,15 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
 
         public SimpleReadWriteTransaction(final NodeId nodeId,
                                           final Snapshot snapshot,
-                                          final TransactionJournal.MutableEntry journalEntry) {
+                                          final TransactionJournal.MutableEntry journalEntry,
+                                          final TransactionAdmissionControl.Permit permit) {
             this.nodeId = nodeId;
             this.snapshot = snapshot;
             this.journalEntry = journalEntry;
             this.onClose = onClose
                     .then(journalEntry::close)
                     .then(snapshot::close)
-                    .then(semaphore::release);
+                    .then(permit::release);
         }
 
         @Override
@@ -515,6 +515,12 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
 
     private class SimpleExclusiveReadWriteTransaction implements ExclusiveReadWriteTransaction {
 
+        private final TransactionAdmissionControl.Permit permit;
+
+        public SimpleExclusiveReadWriteTransaction(final TransactionAdmissionControl.Permit permit) {
+            this.permit = permit;
+        }
+
         @Override
         public void performOperation(final Consumer<DataStore> operation) {
             operation.accept(dataStore);
@@ -527,7 +533,7 @@ public class JournalTransactionalResourceServicePersistenceEnvironment implement
 
         @Override
         public void close() {
-            semaphore.release(maxReads);
+            permit.release();
         }
 
     }
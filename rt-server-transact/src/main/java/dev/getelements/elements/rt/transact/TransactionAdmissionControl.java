@@ -0,0 +1,391 @@
+package dev.getelements.elements.rt.transact;
+
+import dev.getelements.elements.rt.exception.ContentionException;
+import dev.getelements.elements.rt.exception.InternalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.inject.Named;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Limits the number of transactions which may be open concurrently against the persistence layer.
+ *
+ * Read-only and read-write transactions each hold one of a fixed number of permits. Exclusive transactions hold all
+ * permits and therefore wait for all other transactions to drain. When no permit is available, callers wait in one of
+ * two FIFO queues, one for readers and one for writers, and the queues are served alternately so that neither may
+ * starve the other. Once an exclusive transaction reaches the head of the write queue, no further permits are granted
+ * until it has been admitted.
+ *
+ * Callers which are not admitted before the admission timeout elapses are rejected with a {@link ContentionException}
+ * so that load is shed under overload rather than accumulating blocked threads.
+ */
+public class TransactionAdmissionControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionAdmissionControl.class);
+
+    /**
+     * The maximum number of read-only and read-write transactions which may be open concurrently. If unspecified,
+     * {@link #DEFAULT_MAX_CONCURRENCY} is used.
+     */
+    public static final String TRANSACTION_MAX_CONCURRENCY = "dev.getelements.elements.rt.transact.max.concurrency";
+
+    /**
+     * The maximum time, in milliseconds, a transaction may wait to be admitted before it is rejected. If unspecified,
+     * {@link #DEFAULT_ADMISSION_TIMEOUT_MSEC} is used.
+     */
+    public static final String TRANSACTION_ADMISSION_TIMEOUT_MSEC = "dev.getelements.elements.rt.transact.admission.timeout.msec";
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 1024;
+
+    public static final long DEFAULT_ADMISSION_TIMEOUT_MSEC = 5000;
+
+    /**
+     * The kind of transaction requesting admission.
+     */
+    public enum Kind {
+
+        /**
+         * A read-only transaction.
+         */
+        READ,
+
+        /**
+         * A read-write transaction.
+         */
+        WRITE,
+
+        /**
+         * An exclusive transaction, which requires that no other transactions be open.
+         */
+        EXCLUSIVE
+
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Deque<Waiter> readQueue = new ArrayDeque<>();
+
+    private final Deque<Waiter> writeQueue = new ArrayDeque<>();
+
+    private final Map<Kind, Counters> counters = new EnumMap<>(Kind.class);
+
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    private long admissionTimeoutMsec = DEFAULT_ADMISSION_TIMEOUT_MSEC;
+
+    // Guarded by lock
+
+    private int active;
+
+    private boolean exclusive;
+
+    private boolean preferWrites;
+
+    public TransactionAdmissionControl() {
+        for (var kind : Kind.values()) counters.put(kind, new Counters());
+    }
+
+    /**
+     * Acquires admission for a transaction of the supplied {@link Kind}, waiting up to the admission timeout.
+     *
+     * @param kind the kind of transaction
+     * @return the {@link Permit}, which must be released when the transaction closes
+     * @throws ContentionException if the transaction could not be admitted before the timeout elapsed
+     */
+    public Permit acquire(final Kind kind) {
+
+        final var start = System.nanoTime();
+        final var deadline = start + MILLISECONDS.toNanos(getAdmissionTimeoutMsec());
+        final var counters = this.counters.get(kind);
+
+        lock.lock();
+
+        try {
+
+            if (readQueue.isEmpty() && writeQueue.isEmpty() && tryGrant(kind)) {
+                counters.admitted(0);
+                return new Permit(kind);
+            }
+
+            final var waiter = new Waiter(kind, lock.newCondition());
+            (Kind.READ.equals(kind) ? readQueue : writeQueue).addLast(waiter);
+
+            try {
+
+                while (!waiter.granted) {
+
+                    final var remaining = deadline - System.nanoTime();
+
+                    if (remaining <= 0) {
+                        (Kind.READ.equals(kind) ? readQueue : writeQueue).remove(waiter);
+                        counters.rejected.incrementAndGet();
+                        dispatch();
+                        throw new ContentionException(format(
+                                "Timed out waiting %dms for %s transaction admission (active=%d, read queue=%d, write queue=%d).",
+                                getAdmissionTimeoutMsec(),
+                                kind,
+                                active,
+                                readQueue.size(),
+                                writeQueue.size()
+                        ));
+                    }
+
+                    waiter.condition.awaitNanos(remaining);
+
+                }
+
+            } catch (InterruptedException ex) {
+
+                if (waiter.granted) {
+                    release(kind);
+                } else {
+                    (Kind.READ.equals(kind) ? readQueue : writeQueue).remove(waiter);
+                    dispatch();
+                }
+
+                Thread.currentThread().interrupt();
+                throw new InternalException(ex);
+
+            }
+
+            counters.admitted(System.nanoTime() - start);
+            return new Permit(kind);
+
+        } finally {
+            lock.unlock();
+        }
+
+    }
+
+    private boolean tryGrant(final Kind kind) {
+        if (exclusive) {
+            return false;
+        } else if (Kind.EXCLUSIVE.equals(kind)) {
+            if (active > 0) return false;
+            exclusive = true;
+            return true;
+        } else if (active < getMaxConcurrency()) {
+            ++active;
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private void dispatch() {
+        while (true) {
+
+            final Deque<Waiter> queue;
+
+            final var writeHead = writeQueue.peekFirst();
+            final var blocked = writeHead != null && Kind.EXCLUSIVE.equals(writeHead.kind);
+
+            if (blocked || readQueue.isEmpty()) {
+                queue = writeQueue;
+            } else if (writeQueue.isEmpty()) {
+                queue = readQueue;
+            } else {
+                queue = preferWrites ? writeQueue : readQueue;
+            }
+
+            final var waiter = queue.peekFirst();
+
+            if (waiter == null || !tryGrant(waiter.kind)) {
+                return;
+            }
+
+            queue.removeFirst();
+            preferWrites = queue == readQueue;
+            waiter.granted = true;
+            waiter.condition.signal();
+
+        }
+    }
+
+    private void release(final Kind kind) {
+        lock.lock();
+        try {
+
+            if (Kind.EXCLUSIVE.equals(kind)) {
+                exclusive = false;
+            } else {
+                --active;
+            }
+
+            dispatch();
+
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the current admission metrics.
+     *
+     * @return the {@link Metrics}
+     */
+    public Metrics getMetrics() {
+
+        final int active;
+        final int readQueueDepth;
+        final int writeQueueDepth;
+
+        lock.lock();
+
+        try {
+            active = exclusive ? getMaxConcurrency() : this.active;
+            readQueueDepth = readQueue.size();
+            writeQueueDepth = writeQueue.size();
+        } finally {
+            lock.unlock();
+        }
+
+        final var admitted = new EnumMap<Kind, Long>(Kind.class);
+        final var rejected = new EnumMap<Kind, Long>(Kind.class);
+        final var totalWaitNanos = new EnumMap<Kind, Long>(Kind.class);
+        final var maxWaitNanos = new EnumMap<Kind, Long>(Kind.class);
+
+        counters.forEach((kind, c) -> {
+            admitted.put(kind, c.admitted.get());
+            rejected.put(kind, c.rejected.get());
+            totalWaitNanos.put(kind, c.totalWaitNanos.get());
+            maxWaitNanos.put(kind, c.maxWaitNanos.get());
+        });
+
+        return new Metrics(active, readQueueDepth, writeQueueDepth, admitted, rejected, totalWaitNanos, maxWaitNanos);
+
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @com.google.inject.Inject(optional = true)
+    public void setMaxConcurrency(@Named(TRANSACTION_MAX_CONCURRENCY) int maxConcurrency) {
+
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+
+        this.maxConcurrency = maxConcurrency;
+
+    }
+
+    public long getAdmissionTimeoutMsec() {
+        return admissionTimeoutMsec;
+    }
+
+    @com.google.inject.Inject(optional = true)
+    public void setAdmissionTimeoutMsec(@Named(TRANSACTION_ADMISSION_TIMEOUT_MSEC) long admissionTimeoutMsec) {
+        this.admissionTimeoutMsec = max(0, admissionTimeoutMsec);
+    }
+
+    /**
+     * Represents admission of a single transaction. Releasing the permit more than once has no effect.
+     */
+    public class Permit {
+
+        private final Kind kind;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(final Kind kind) {
+            this.kind = kind;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Releases the permit, admitting the next waiting transaction, if any.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                TransactionAdmissionControl.this.release(kind);
+            } else {
+                logger.warn("Permit for {} transaction already released.", kind);
+            }
+        }
+
+    }
+
+    /**
+     * A point-in-time snapshot of the admission metrics.
+     *
+     * @param active the number of open transactions, or the max concurrency while an exclusive transaction is open
+     * @param readQueueDepth the number of read-only transactions waiting for admission
+     * @param writeQueueDepth the number of read-write and exclusive transactions waiting for admission
+     * @param admitted the total number of transactions admitted, by {@link Kind}
+     * @param rejected the total number of transactions rejected, by {@link Kind}
+     * @param totalWaitNanos the total time admitted transactions spent waiting, by {@link Kind}
+     * @param maxWaitNanos the longest time any admitted transaction spent waiting, by {@link Kind}
+     */
+    public record Metrics(int active,
+                          int readQueueDepth,
+                          int writeQueueDepth,
+                          Map<Kind, Long> admitted,
+                          Map<Kind, Long> rejected,
+                          Map<Kind, Long> totalWaitNanos,
+                          Map<Kind, Long> maxWaitNanos) {
+
+        /**
+         * Gets the mean time admitted transactions of the supplied {@link Kind} spent waiting.
+         *
+         * @param kind the kind
+         * @return the mean wait, in milliseconds
+         */
+        public double getMeanWaitMsec(final Kind kind) {
+            final var count = admitted.get(kind);
+            return count == 0 ? 0 : (double) totalWaitNanos.get(kind) / count / NANOSECONDS.convert(1, MILLISECONDS);
+        }
+
+    }
+
+    private static class Waiter {
+
+        private final Kind kind;
+
+        private final Condition condition;
+
+        private boolean granted;
+
+        public Waiter(final Kind kind, final Condition condition) {
+            this.kind = kind;
+            this.condition = condition;
+        }
+
+    }
+
+    private static class Counters {
+
+        private final AtomicLong admitted = new AtomicLong();
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private void admitted(final long waitNanos) {
+            admitted.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+
+    }
+
+}
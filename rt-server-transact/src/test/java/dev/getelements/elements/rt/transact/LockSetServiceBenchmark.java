@@ -0,0 +1,121 @@
+package dev.getelements.elements.rt.transact;
+
+import dev.getelements.elements.rt.LockSetService;
+import dev.getelements.elements.rt.StripedLockSetService;
+import dev.getelements.elements.rt.WeakReferenceLockSetService;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.randomResourceId;
+import static dev.getelements.elements.sdk.cluster.path.Paths.WILDCARD_LAST;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toUnmodifiableList;
+
+/**
+ * Compares the throughput of the {@link WeakReferenceLockSetService} and the {@link StripedLockSetService} acquiring
+ * locks in the same order as the {@link StandardSnapshotBuilder}. The hot distribution draws keys from a small set,
+ * which contends heavily on the same locks. The uniform distribution draws keys from a large set, which rarely
+ * contends but exercises lock lookup and allocation.
+ *
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LockSetServiceBenchmark {
+
+    private static final int HOT_KEYS = 16;
+
+    private static final int UNIFORM_KEYS = 100000;
+
+    private static final int KEYS_PER_OPERATION = 4;
+
+    private static final int WRITE_PERCENT = 20;
+
+    @Param({"weak", "striped"})
+    private String implementation;
+
+    @Param({"hot", "uniform"})
+    private String distribution;
+
+    private LockSetService lockSetService;
+
+    private List<ResourceId> resourceIds;
+
+    private List<Path> paths;
+
+    @Setup
+    public void setup() {
+
+        lockSetService = switch (implementation) {
+            case "weak" -> new WeakReferenceLockSetService();
+            case "striped" -> new StripedLockSetService(4096);
+            default -> throw new IllegalArgumentException(implementation);
+        };
+
+        final var keys = switch (distribution) {
+            case "hot" -> HOT_KEYS;
+            case "uniform" -> UNIFORM_KEYS;
+            default -> throw new IllegalArgumentException(distribution);
+        };
+
+        resourceIds = IntStream.range(0, keys)
+                .mapToObj(i -> randomResourceId())
+                .collect(toUnmodifiableList());
+
+        paths = IntStream.range(0, keys)
+                .mapToObj(i -> Path.fromPathString("benchmark/" + (i % 64) + "/" + i).toPathWithContext("context"))
+                .collect(toUnmodifiableList());
+
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void snapshot(final Blackhole blackhole) {
+
+        final var random = ThreadLocalRandom.current();
+        final var write = random.nextInt(100) < WRITE_PERCENT;
+
+        final var resourceIds = random.ints(KEYS_PER_OPERATION, 0, this.resourceIds.size())
+                .mapToObj(this.resourceIds::get)
+                .collect(toCollection(TreeSet::new));
+
+        final var paths = random.ints(KEYS_PER_OPERATION, 0, this.paths.size())
+                .mapToObj(this.paths::get)
+                .map(Path::toWildcardRecursive)
+                .collect(toCollection(() -> new TreeSet<>(WILDCARD_LAST)));
+
+        final var resourceIdMonitor = write
+                ? lockSetService.getResourceIdWriteMonitor(resourceIds)
+                : lockSetService.getResourceIdReadMonitor(resourceIds);
+
+        try (resourceIdMonitor; var pathMonitor = write
+                ? lockSetService.getPathWriteMonitor(paths)
+                : lockSetService.getPathReadMonitor(paths)) {
+            blackhole.consume(pathMonitor);
+        }
+
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LockSetServiceBenchmark.class.getSimpleName())
+                .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,137 @@
+package dev.getelements.elements.rt.transact;
+
+import dev.getelements.elements.rt.StripedLockSetService;
+import dev.getelements.elements.sdk.cluster.id.ResourceId;
+import dev.getelements.elements.sdk.cluster.path.Path;
+import dev.getelements.elements.sdk.util.Monitor;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static dev.getelements.elements.sdk.cluster.id.ResourceId.randomResourceId;
+import static dev.getelements.elements.sdk.cluster.path.Paths.WILDCARD_LAST;
+import static dev.getelements.elements.sdk.cluster.path.Paths.randomPath;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toUnmodifiableList;
+import static org.testng.Assert.*;
+
+public class StripedLockSetServiceTest {
+
+    private static final List<Path> testPaths = IntStream
+            .range(0, 1000)
+            .mapToObj(i -> randomPath())
+            .collect(toUnmodifiableList());
+
+    private static final List<ResourceId> testResourceIds = IntStream
+            .range(0, 1000)
+            .mapToObj(i -> randomResourceId())
+            .collect(toUnmodifiableList());
+
+    @DataProvider
+    public static Object[][] stripes() {
+        return new Object[][] {{1}, {7}, {4096}};
+    }
+
+    @Test(dataProvider = "stripes")
+    public void testWriteExcludesRead(final int stripes) throws Exception {
+
+        final var lockSetService = new StripedLockSetService(stripes);
+        final var resourceId = testResourceIds.get(0);
+        final var executor = Executors.newSingleThreadExecutor();
+
+        try {
+
+            final var monitor = lockSetService.getResourceIdWriteMonitor(resourceId);
+
+            final var reader = CompletableFuture.runAsync(
+                    () -> lockSetService.getResourceIdReadMonitor(resourceId).close(),
+                    executor
+            );
+
+            assertThrows(TimeoutException.class, () -> reader.get(100, MILLISECONDS));
+            monitor.close();
+            reader.get(10, SECONDS);
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test(dataProvider = "stripes")
+    public void testMixedModesOnSharedStripe(final int stripes) {
+
+        // With a single stripe every key aliases, so this would self-deadlock if the read and write locks for the
+        // same stripe were both acquired.
+        final var lockSetService = new StripedLockSetService(stripes);
+
+        final var paths = testPaths.stream()
+                .limit(25)
+                .map(Path::toWildcardRecursive)
+                .collect(toCollection(() -> new TreeSet<>(WILDCARD_LAST)));
+
+        lockSetService.getPathWriteMonitor(paths).close();
+        lockSetService.getPathReadMonitor(paths).close();
+
+    }
+
+    @Test(dataProvider = "stripes")
+    public void testStress(final int stripes) throws Exception {
+
+        final var lockSetService = new StripedLockSetService(stripes);
+        final var executor = Executors.newFixedThreadPool(32);
+        final var completed = new AtomicInteger();
+
+        try {
+
+            final var futures = IntStream.range(0, 2000)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> {
+
+                        final var random = new Random();
+                        final var write = random.nextBoolean();
+
+                        final Function<TreeSet<ResourceId>, Monitor> resourceIdMonitor = write
+                                ? lockSetService::getResourceIdWriteMonitor
+                                : lockSetService::getResourceIdReadMonitor;
+
+                        final Function<TreeSet<Path>, Monitor> pathMonitor = write
+                                ? lockSetService::getPathWriteMonitor
+                                : lockSetService::getPathReadMonitor;
+
+                        final var resourceIds = random.ints(10, 0, testResourceIds.size())
+                                .mapToObj(testResourceIds::get)
+                                .collect(toCollection(TreeSet::new));
+
+                        final var paths = random.ints(10, 0, testPaths.size())
+                                .mapToObj(testPaths::get)
+                                .map(Path::toWildcardRecursive)
+                                .collect(toCollection(() -> new TreeSet<>(WILDCARD_LAST)));
+
+                        try (var r = resourceIdMonitor.apply(resourceIds); var p = pathMonitor.apply(paths)) {
+                            completed.incrementAndGet();
+                        }
+
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(futures).get(60, SECONDS);
+            assertEquals(completed.get(), futures.length);
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+}
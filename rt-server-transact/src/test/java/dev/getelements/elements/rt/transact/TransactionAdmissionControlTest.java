@@ -0,0 +1,177 @@
+package dev.getelements.elements.rt.transact;
+
+import dev.getelements.elements.rt.exception.ContentionException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import static dev.getelements.elements.rt.transact.TransactionAdmissionControl.Kind.*;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.*;
+
+public class TransactionAdmissionControlTest {
+
+    private static TransactionAdmissionControl newAdmissionControl(final int maxConcurrency, final long timeoutMsec) {
+        final var admissionControl = new TransactionAdmissionControl();
+        admissionControl.setMaxConcurrency(maxConcurrency);
+        admissionControl.setAdmissionTimeoutMsec(timeoutMsec);
+        return admissionControl;
+    }
+
+    @Test
+    public void testConcurrencyLimit() {
+
+        final var admissionControl = newAdmissionControl(2, 0);
+        final var first = admissionControl.acquire(READ);
+        final var second = admissionControl.acquire(WRITE);
+
+        assertThrows(ContentionException.class, () -> admissionControl.acquire(READ));
+        assertEquals(admissionControl.getMetrics().active(), 2);
+        assertEquals(admissionControl.getMetrics().rejected().get(READ), 1L);
+
+        first.release();
+        first.release();
+
+        final var third = admissionControl.acquire(READ);
+        assertEquals(admissionControl.getMetrics().active(), 2);
+
+        second.release();
+        third.release();
+        assertEquals(admissionControl.getMetrics().active(), 0);
+        assertEquals(admissionControl.getMetrics().admitted().get(READ), 2L);
+        assertEquals(admissionControl.getMetrics().admitted().get(WRITE), 1L);
+
+    }
+
+    @Test
+    public void testExclusiveWaitsForDrain() throws Exception {
+
+        final var admissionControl = newAdmissionControl(4, 10000);
+        final var read = admissionControl.acquire(READ);
+        final var executor = Executors.newCachedThreadPool();
+
+        try {
+
+            final var exclusive = CompletableFuture.supplyAsync(() -> admissionControl.acquire(EXCLUSIVE), executor);
+            awaitQueueDepth(admissionControl, 0, 1);
+
+            // Once the exclusive transaction is waiting, new transactions queue behind it.
+            final var blocked = CompletableFuture.supplyAsync(() -> admissionControl.acquire(READ), executor);
+            awaitQueueDepth(admissionControl, 1, 1);
+            assertFalse(exclusive.isDone());
+            assertFalse(blocked.isDone());
+
+            read.release();
+            final var exclusivePermit = exclusive.get(10, SECONDS);
+            assertFalse(blocked.isDone());
+
+            exclusivePermit.release();
+            blocked.get(10, SECONDS).release();
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testQueuesAlternate() throws Exception {
+
+        final var admissionControl = newAdmissionControl(1, 10000);
+        final var held = admissionControl.acquire(WRITE);
+        final var executor = Executors.newCachedThreadPool();
+        final var order = new ArrayList<TransactionAdmissionControl.Kind>();
+        final var futures = new ArrayList<CompletableFuture<Void>>();
+        final var done = new CountDownLatch(4);
+
+        try {
+
+            for (int i = 0; i < 2; ++i) {
+                futures.add(submit(admissionControl, WRITE, order, done, executor));
+                awaitQueueDepth(admissionControl, 0, i + 1);
+            }
+
+            for (int i = 0; i < 2; ++i) {
+                futures.add(submit(admissionControl, READ, order, done, executor));
+                awaitQueueDepth(admissionControl, i + 1, 2);
+            }
+
+            held.release();
+            assertTrue(done.await(10, SECONDS));
+
+            for (var future : futures) future.get(10, SECONDS);
+
+            synchronized (order) {
+                assertEquals(order, List.of(READ, WRITE, READ, WRITE));
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testTimeout() {
+
+        final var admissionControl = newAdmissionControl(1, 50);
+        final var held = admissionControl.acquire(EXCLUSIVE);
+
+        assertThrows(ContentionException.class, () -> admissionControl.acquire(WRITE));
+
+        final var metrics = admissionControl.getMetrics();
+        assertEquals(metrics.rejected().get(WRITE), 1L);
+        assertEquals(metrics.writeQueueDepth(), 0);
+
+        held.release();
+        admissionControl.acquire(WRITE).release();
+
+    }
+
+    private static CompletableFuture<Void> submit(final TransactionAdmissionControl admissionControl,
+                                                  final TransactionAdmissionControl.Kind kind,
+                                                  final List<TransactionAdmissionControl.Kind> order,
+                                                  final CountDownLatch done,
+                                                  final Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+
+            final var permit = admissionControl.acquire(kind);
+
+            synchronized (order) {
+                order.add(kind);
+            }
+
+            permit.release();
+            done.countDown();
+
+        }, executor);
+    }
+
+    private static void awaitQueueDepth(final TransactionAdmissionControl admissionControl,
+                                        final int read,
+                                        final int write) throws InterruptedException {
+
+        final var deadline = System.currentTimeMillis() + 10000;
+
+        while (System.currentTimeMillis() < deadline) {
+
+            final var metrics = admissionControl.getMetrics();
+
+            if (metrics.readQueueDepth() == read && metrics.writeQueueDepth() == write) {
+                return;
+            }
+
+            Thread.sleep(5);
+
+        }
+
+        fail("Timed out waiting for queue depth.");
+
+    }
+
+}
@@ -0,0 +1,23 @@
+package dev.getelements.elements.rt;
+
+/**
+ * Reports the number of invocations a component, such as a node, is currently processing. Instances are registered
+ * with the {@link LoadMonitorService}, which reports the totals across all registered components.
+ */
+public interface InvocationLoad {
+
+    /**
+     * Gets the number of invocations currently executing.
+     *
+     * @return the in-flight count
+     */
+    int getInFlightInvocations();
+
+    /**
+     * Gets the number of invocations accepted but waiting to execute.
+     *
+     * @return the queued count
+     */
+    int getQueuedInvocations();
+
+}
@@ -23,4 +23,36 @@ public interface LoadMonitorService {
      */
     double getInstanceQuality();
 
+    /**
+     * Registers an {@link InvocationLoad} so that its counts are included in the totals reported by this service.
+     *
+     * @param invocationLoad the {@link InvocationLoad}
+     */
+    default void addInvocationLoad(final InvocationLoad invocationLoad) {}
+
+    /**
+     * Removes an {@link InvocationLoad} previously registered with {@link #addInvocationLoad(InvocationLoad)}.
+     *
+     * @param invocationLoad the {@link InvocationLoad}
+     */
+    default void removeInvocationLoad(final InvocationLoad invocationLoad) {}
+
+    /**
+     * Gets the total number of invocations currently executing across all registered {@link InvocationLoad}s.
+     *
+     * @return the in-flight count
+     */
+    default int getInFlightInvocations() {
+        return 0;
+    }
+
+    /**
+     * Gets the total number of invocations waiting to execute across all registered {@link InvocationLoad}s.
+     *
+     * @return the queued count
+     */
+    default int getQueuedInvocations() {
+        return 0;
+    }
+
 }
@@ -35,6 +35,20 @@ public interface FriendDao {
      */
     Pagination<Friend> getFriendsForUser(User user, int offset, int count);
 
+    /**
+     * Fetches {@link Friend} instances for the supplied {@link User} starting after the supplied cursor. Unlike fetching
+     * by offset, the cost of each page does not grow with its depth. The default implementation falls back to
+     * {@link #getFriendsForUser(User, int, int)}, as described in {@link Pagination#fromOffsetCursor}.
+     *
+     * @param user   the {@link User}
+     * @param cursor the {@link Pagination#getNextCursor()} of the previous page, or null for the first
+     * @param count  the number of results to return
+     * @return a {@link Pagination<Friend>}
+     */
+    default Pagination<Friend> getFriendsForUser(final User user, final String cursor, final int count) {
+        return Pagination.fromOffsetCursor(cursor, count, (o, c) -> getFriendsForUser(user, o, c));
+    }
+
     /**
      * Fetches all {@link Friend} instances for the supplied {@link User}, specifying search query.
      *
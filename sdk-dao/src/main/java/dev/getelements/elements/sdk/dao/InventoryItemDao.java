@@ -95,6 +95,20 @@ public interface InventoryItemDao {
      */
     Pagination<InventoryItem> getInventoryItems(int offset, int count, User user, String search);
 
+    /**
+     * Gets inventory items for the specified user starting after the supplied cursor. Unlike fetching by offset, the
+     * cost of each page does not grow with its depth. The default implementation falls back to
+     * {@link #getInventoryItems(int, int, User, String)}, as described in {@link Pagination#fromOffsetCursor}.
+     *
+     * @param cursor the {@link Pagination#getNextCursor()} of the previous page, or null for the first
+     * @param count  the count
+     * @param user   the {@link User} that owns the items
+     * @return a {@link Pagination} of {@link InventoryItem} objects.
+     */
+    default Pagination<InventoryItem> getInventoryItems(final String cursor, final int count, final User user) {
+        return Pagination.fromOffsetCursor(cursor, count, (o, c) -> getInventoryItems(o, c, user, null));
+    }
+
     /**
      * Gets the primary (single) inventory item for with the item name or id, or throws a {@link NotFoundException}
      * if the item or inventory item can't be found.
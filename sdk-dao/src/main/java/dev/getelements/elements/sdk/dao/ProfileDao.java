@@ -91,6 +91,32 @@ public interface ProfileDao {
                                           String applicationNameOrId, String userId,
                                           Long lowerBoundTimestamp, Long upperBoundTimestamp);
 
+    /**
+     * Gets actives profiles starting after the supplied cursor. Unlike fetching by offset, the cost of each page does
+     * not grow with its depth. The default implementation falls back to
+     * {@link #getActiveProfiles(int, int, String, String, Long, Long)}, as described in
+     * {@link Pagination#fromOffsetCursor}.
+     *
+     * @param cursor              the {@link Pagination#getNextCursor()} of the previous page, or null for the first
+     * @param count               the count
+     * @param applicationNameOrId the application name or ID (may be null)
+     * @param userId              the user ID (may be null)
+     * @param lowerBoundTimestamp optional last login lower bound cutoff in ms (inclusive). If negative valued, defaults
+     *                            to unix epoch.
+     * @param upperBoundTimestamp optional last login upper bound cutoff in ms (inclusive). If negative valued, defaults
+     *                            to current server time.
+     * @return a {@link Pagination} of {@link Profile} objects.
+     */
+    default Pagination<Profile> getActiveProfiles(final String cursor, final int count,
+                                                  final String applicationNameOrId, final String userId,
+                                                  final Long lowerBoundTimestamp, final Long upperBoundTimestamp) {
+        return Pagination.fromOffsetCursor(cursor, count, (o, c) -> getActiveProfiles(
+                o, c,
+                applicationNameOrId, userId,
+                lowerBoundTimestamp, upperBoundTimestamp
+        ));
+    }
+
     /**
      * Gets actives profiles specifying the offset and the count, specifying a search filter.
      *
@@ -26,6 +26,28 @@ public interface RankDao {
      */
     Pagination<Rank> getRanksForGlobal(String leaderboardNameOrId, int offset, int count, long leaderboardEpoch);
 
+    /**
+     * Given the {@link Leaderboard} name or ID, this will return {@link Rank} instances sorted in order starting after
+     * the supplied cursor. Unlike fetching by offset, the cost of each page does not grow with its depth. The default
+     * implementation falls back to {@link #getRanksForGlobal(String, int, int, long)}, as described in
+     * {@link Pagination#fromOffsetCursor}.
+     *
+     * @param leaderboardNameOrId the value of {@link Leaderboard#getId()} or {@link Leaderboard#getName()}
+     * @param cursor              the {@link Pagination#getNextCursor()} of the previous page, or null for the first
+     * @param count               the number of results to return
+     * @param leaderboardEpoch    the epoch timestamp
+     * @return a {@link Pagination<Rank>} containing the ranks
+     */
+    default Pagination<Rank> getRanksForGlobal(final String leaderboardNameOrId,
+                                               final String cursor, final int count,
+                                               final long leaderboardEpoch) {
+        return Pagination.fromOffsetCursor(cursor, count, (o, c) -> getRanksForGlobal(
+                leaderboardNameOrId,
+                o, c,
+                leaderboardEpoch
+        ));
+    }
+
     /**
      * Given the {@link Leaderboard} name or ID, this will return all {@link Rank} instances sorted in order.  This
      * allows the result set to be skipped forward to make the supplied {@link Profile} appear in the result
@@ -54,6 +54,20 @@ public interface ReceiptDao {
      */
     Pagination<Receipt> getReceipts(User user, int offset, int count);
 
+    /**
+     * Gets receipts for a given user starting after the supplied cursor. Unlike fetching by offset, the cost of each
+     * page does not grow with its depth. The default implementation falls back to
+     * {@link #getReceipts(User, int, int)}, as described in {@link Pagination#fromOffsetCursor}.
+     *
+     * @param user   the user
+     * @param cursor the {@link Pagination#getNextCursor()} of the previous page, or null for the first
+     * @param count  the count
+     * @return a {@link Pagination} of {@link Receipt} objects.
+     */
+    default Pagination<Receipt> getReceipts(final User user, final String cursor, final int count) {
+        return Pagination.fromOffsetCursor(cursor, count, (o, c) -> getReceipts(user, o, c));
+    }
+
     /**
      * Gets the receipt with the matching database id, or throws a {@link NotFoundException} if the
      * receipt can't be found.
@@ -31,7 +31,8 @@ public interface ScoreDao {
      *
      * @param leaderboardNameOrId the value of {@link Leaderboard#getId()} or {@link Leaderboard#getName()}
      * @param score               the {@link Score} to specify
-     * @return the {@link Score} as it was written to the database.
+     * @return the {@link Score} as it was written to the database, or as it was buffered if the implementation writes
+     *         scores in batches, in which case {@link #SCORE_CREATED_OR_UPDATED} is published once it is written
      */
     Score createOrUpdateScore(String leaderboardNameOrId, Score score);
 
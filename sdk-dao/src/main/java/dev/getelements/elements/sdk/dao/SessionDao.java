@@ -1,11 +1,14 @@
 package dev.getelements.elements.sdk.dao;
 
+import dev.getelements.elements.sdk.model.exception.BaseException;
 import dev.getelements.elements.sdk.model.session.Session;
 import dev.getelements.elements.sdk.model.session.SessionCreation;
 import dev.getelements.elements.sdk.model.user.User;
 import dev.getelements.elements.sdk.annotation.ElementEventProducer;
 import dev.getelements.elements.sdk.annotation.ElementServiceExport;
 
+import java.util.Collection;
+
 /**
  * Manages instances of {@link Session}.
  */
@@ -66,6 +69,34 @@ public interface SessionDao {
      */
     Session refresh(String sessionSecret, long expiry);
 
+    /**
+     * Refreshes many {@link Session}s at once, giving each the same expiry. Any {@link Session} which no longer exists,
+     * or which has already expired, is skipped rather than failing the others. The default implementation refreshes
+     * each in turn, and implementations should override it to write them together.
+     *
+     * @param sessionSecrets the session secret keys
+     * @param expiry the expiry timestamp, as expression milliseconds since the Unix epoch
+     */
+    default void refresh(final Collection<String> sessionSecrets, final long expiry) {
+        for (final var sessionSecret : sessionSecrets) {
+            try {
+                refresh(sessionSecret, expiry);
+            } catch (BaseException ex) {
+                // Skipped, as documented.
+            }
+        }
+    }
+
+    /**
+     * Records the last login of many profiles at once, such as when sessions are validated without being read from the
+     * database. Profiles which no longer exist are skipped. The default implementation does nothing, which suits
+     * implementations which do not track the last login.
+     *
+     * @param profileIds the ids of the profiles
+     * @param timestamp the time of the login, as milliseconds since the Unix epoch
+     */
+    default void updateLastLogin(final Collection<String> profileIds, final long timestamp) {}
+
     /**
      * Creates a {@link Session} with the provided {@link Session} object.  This will return an instance of
      * {@link SessionCreation} providing a secret key which can be used to access the {@link Session} in the future.
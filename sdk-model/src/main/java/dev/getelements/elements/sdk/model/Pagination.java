@@ -1,17 +1,21 @@
 package dev.getelements.elements.sdk.model;
 
+import dev.getelements.elements.sdk.model.exception.InvalidParameterException;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * Represents a paginated result set with offset and total count.
+ * Represents a paginated result set with offset and total count. Pages fetched by cursor also carry the cursor of the
+ * following page, and report the total counted for the first page as an approximation.
  *
  * @param <T> the element type
  */
@@ -36,6 +40,8 @@ public class Pagination<T> implements Iterable<T>, Serializable {
 
     private boolean approximation;
 
+    private String nextCursor;
+
     private List<T> objects = new ArrayList<T>();
 
     /**
@@ -102,6 +108,23 @@ public class Pagination<T> implements Iterable<T>, Serializable {
         this.approximation = approximation;
     }
 
+    /**
+     * Returns the opaque cursor from which to fetch the following page, or null if this is the last page or the page
+     * was not fetched by cursor.
+     * @return the cursor of the following page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets the opaque cursor from which to fetch the following page.
+     * @param nextCursor the cursor of the following page
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     /**
      * Creates a Pagination from a stream, collecting all elements.
      * @param <U> the element type
@@ -116,6 +139,50 @@ public class Pagination<T> implements Iterable<T>, Serializable {
         return uPagination;
     }
 
+    /**
+     * Fetches a page by cursor from a source which only supports fetching by offset, for use where there is no cheaper
+     * way to seek. The cursor is simply the offset of the page, so the cost of each page still grows with its depth.
+     *
+     * @param <U> the element type
+     * @param cursor the {@link #getNextCursor()} of the previous page, or null for the first
+     * @param count the number of results to return
+     * @param byOffset fetches the page at the supplied offset and count
+     * @return the page, with the cursor of the following page if there is one
+     * @throws InvalidParameterException if the cursor is not an offset
+     */
+    public static <U> Pagination<U> fromOffsetCursor(final String cursor, final int count,
+                                                     final BiFunction<Integer, Integer, Pagination<U>> byOffset) {
+
+        final int offset;
+
+        if (cursor == null || cursor.isBlank()) {
+            offset = 0;
+        } else {
+
+            try {
+                offset = Integer.parseInt(cursor);
+            } catch (NumberFormatException ex) {
+                throw new InvalidParameterException("Invalid cursor: " + cursor, ex);
+            }
+
+            if (offset < 0) {
+                throw new InvalidParameterException("Invalid cursor: " + cursor);
+            }
+
+        }
+
+        final var pagination = byOffset.apply(offset, count);
+        final var size = pagination.getObjects() == null ? 0 : pagination.getObjects().size();
+        final var next = pagination.getOffset() + size;
+
+        if (size > 0 && next < pagination.getTotal()) {
+            pagination.setNextCursor(Integer.toString(next));
+        }
+
+        return pagination;
+
+    }
+
     /**
      * Transforms this pagination by applying a function to each element.
      * @param <U> the target element type
@@ -128,6 +195,7 @@ public class Pagination<T> implements Iterable<T>, Serializable {
         tPagination.setTotal(getTotal());
         tPagination.setOffset(getOffset());
         tPagination.setApproximation(isApproximation());
+        tPagination.setNextCursor(getNextCursor());
 
         if (getObjects() != null) {
             tPagination.setObjects(getObjects()
@@ -165,6 +233,7 @@ public class Pagination<T> implements Iterable<T>, Serializable {
         if (getOffset() != that.getOffset()) return false;
         if (getTotal() != that.getTotal()) return false;
         if (isApproximation() != that.isApproximation()) return false;
+        if (!Objects.equals(getNextCursor(), that.getNextCursor())) return false;
         return getObjects() != null ? getObjects().equals(that.getObjects()) : that.getObjects() == null;
     }
 
@@ -173,6 +242,7 @@ public class Pagination<T> implements Iterable<T>, Serializable {
         int result = getOffset();
         result = 31 * result + getTotal();
         result = 31 * result + (isApproximation() ? 1 : 0);
+        result = 31 * result + Objects.hashCode(getNextCursor());
         result = 31 * result + (getObjects() != null ? getObjects().hashCode() : 0);
         return result;
     }
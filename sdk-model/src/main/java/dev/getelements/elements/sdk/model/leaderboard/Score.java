@@ -42,6 +42,10 @@ public class Score {
             "leaderboard is all-time, this value will be set to zero.")
     private Long leaderboardEpoch;
 
+    @Schema(description = "True if the score was accepted but has yet to be written. The point value is then the value " +
+                          "submitted, rather than the stored score, which reflects the submission once written.")
+    private boolean pending;
+
     /**
      * Returns the ID of the score.
      *
@@ -146,6 +150,25 @@ public class Score {
         this.leaderboardEpoch = leaderboardEpoch;
     }
 
+    /**
+     * Returns true if the score was accepted but has yet to be written, in which case the point value is the value
+     * submitted rather than the stored score.
+     *
+     * @return true if pending
+     */
+    public boolean isPending() {
+        return pending;
+    }
+
+    /**
+     * Sets whether the score was accepted but has yet to be written.
+     *
+     * @param pending true if pending
+     */
+    public void setPending(boolean pending) {
+        this.pending = pending;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -154,6 +177,7 @@ public class Score {
         Score score = (Score) o;
 
         if (Double.compare(score.getPointValue(), getPointValue()) != 0) return false;
+        if (isPending() != score.isPending()) return false;
         if (getId() != null ? !getId().equals(score.getId()) : score.getId() != null) return false;
         if (getProfile() != null ? !getProfile().equals(score.getProfile()) : score.getProfile() != null) return false;
         if (getCreationTimestamp() != null ? !getCreationTimestamp().equals(score.getCreationTimestamp()) : score.getCreationTimestamp() != null) return false;
@@ -172,6 +196,7 @@ public class Score {
         result = 31 * result + (getScoreUnits() != null ? getScoreUnits().hashCode() : 0);
         result = 31 * result + (getCreationTimestamp() != null ? getCreationTimestamp().hashCode() : 0);
         result = 31 * result + (getLeaderboardEpoch() != null ? getLeaderboardEpoch().hashCode() : 0);
+        result = 31 * result + (isPending() ? 1 : 0);
         return result;
     }
 
@@ -184,6 +209,7 @@ public class Score {
                 ", scoreUnits='" + scoreUnits + '\'' +
                 ", creationTimestamp='" + creationTimestamp + '\'' +
                 ", leaderboardEpoch='" + leaderboardEpoch + '\'' +
+                ", pending=" + pending +
                 '}';
     }
 
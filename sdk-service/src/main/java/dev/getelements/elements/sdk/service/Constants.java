@@ -52,6 +52,35 @@ public interface Constants {
     )
     String SESSION_TIMEOUT_SECONDS = "dev.getelements.elements.session.timeout.seconds";
 
+    /**
+     * Used to specify how little time must remain on a session before its expiry is extended, in seconds.
+     */
+    @ElementDefaultAttribute(
+            value = "86400",
+            description = "The remaining session lifetime, in seconds, below which the session's expiry is extended."
+    )
+    String SESSION_REFRESH_THRESHOLD_SECONDS = "dev.getelements.elements.session.refresh.threshold.seconds";
+
+    /**
+     * Used to specify how long a validated session may be served from memory before it is checked again, in seconds. A
+     * session deleted on another instance keeps working for up to this long, so caching is disabled (zero) by default.
+     */
+    @ElementDefaultAttribute(
+            value = "0",
+            description = "How long a validated session is trusted from memory before it is read again, in seconds. " +
+                          "Zero disables the cache."
+    )
+    String SESSION_CACHE_MAX_AGE_SECONDS = "dev.getelements.elements.session.cache.max.age.seconds";
+
+    /**
+     * Used to specify the maximum number of validated sessions held in memory.
+     */
+    @ElementDefaultAttribute(
+            value = "100000",
+            description = "The maximum number of validated sessions held in memory."
+    )
+    String SESSION_CACHE_MAX_ENTRIES = "dev.getelements.elements.session.cache.max.entries";
+
     /**
      * Used to specify the mock session timeout.
      */
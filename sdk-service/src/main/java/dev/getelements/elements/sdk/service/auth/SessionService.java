@@ -16,7 +16,8 @@ public interface SessionService {
     /**
      * Finds an instance of {@link Session} based on the id, as determined by
      * {@link SessionCreation#getSessionSecret()}.  In addition to performing a check for a valid {@link Session}, this
-     * will reset the expiry of the {@link Session}.
+     * will reset the expiry of the {@link Session}. Implementations may serve recently validated {@link Session}s from
+     * memory and defer resetting the expiry until it is close to passing.
      *
      * @param sessionSecret the {@link Session} identifier
      *
@@ -392,6 +392,7 @@ public class UnscopedServicesModule extends AbstractModule {
                 .to(SuperUserUsernamePasswordLinkService.class);
 
         bind(ProductSkuSchemaSeeder.class).asEagerSingleton();
+        bind(SessionValidationCache.class);
 
         bind(DefaultUserConfiguration.class).asEagerSingleton();
         bind(DefaultOAuth2SchemeConfiguration.class).asEagerSingleton();
@@ -0,0 +1,258 @@
+package dev.getelements.elements.service;
+
+import dev.getelements.elements.sdk.dao.SessionDao;
+import dev.getelements.elements.sdk.model.exception.security.NoSessionException;
+import dev.getelements.elements.sdk.model.profile.Profile;
+import dev.getelements.elements.sdk.model.session.Session;
+import dev.getelements.elements.sdk.model.user.User;
+import dev.getelements.elements.service.auth.SessionValidationCache;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+public class SessionValidationCacheTest {
+
+    private static final String SECRET = "secret";
+
+    private static final String OTHER_SECRET = "other-secret";
+
+    private static final String USER_ID = "user";
+
+    private static final String OTHER_USER_ID = "other-user";
+
+    private static final String PROFILE_ID = "profile";
+
+    private SessionDao sessionDao;
+
+    private SessionValidationCache cache;
+
+    @BeforeMethod
+    public void setup() {
+
+        sessionDao = mock(SessionDao.class);
+
+        cache = new SessionValidationCache();
+        cache.setSessionDao(sessionDao);
+        cache.setSessionTimeoutSeconds(HOURS.toSeconds(48));
+        cache.setRefreshThresholdSeconds(HOURS.toSeconds(24));
+        cache.setMaxAgeSeconds(3600);
+        cache.setMaxEntries(100);
+
+    }
+
+    @AfterMethod
+    public void stop() {
+        cache.stop();
+    }
+
+    @Test
+    public void testServesFromCacheWithoutWriting() {
+
+        givenSession(SECRET, HOURS.toMillis(47));
+
+        final var first = cache.validate(SECRET);
+        final var second = cache.validate(SECRET);
+        cache.flush();
+
+        assertNotSame(first, second, "Each call should receive its own copy of the session");
+        assertEquals(first.getExpiry(), second.getExpiry());
+        verify(sessionDao, times(1)).getBySessionSecret(SECRET);
+        verify(sessionDao, never()).refresh(anyString(), anyLong());
+        verify(sessionDao, never()).refresh(anyCollection(), anyLong());
+
+    }
+
+    @Test
+    public void testRefreshesAreCoalesced() {
+
+        givenSession(SECRET, HOURS.toMillis(1));
+        givenSession(OTHER_SECRET, HOURS.toMillis(1));
+
+        for (int i = 0; i < 10; ++i) {
+            cache.validate(SECRET);
+            cache.validate(OTHER_SECRET);
+        }
+
+        verify(sessionDao, never()).refresh(anyCollection(), anyLong());
+
+        final var before = currentTimeMillis();
+        cache.flush();
+
+        verify(sessionDao, times(1)).refresh(
+            argThat((Collection<String> secrets) -> secrets.size() == 2 && secrets.containsAll(List.of(SECRET, OTHER_SECRET))),
+            longThat(expiry -> expiry >= before + HOURS.toMillis(48)));
+
+        // Nothing left to write, and the cached expiry was extended so the sessions are not queued again.
+        cache.validate(SECRET);
+        cache.flush();
+        verify(sessionDao, times(1)).refresh(anyCollection(), anyLong());
+
+    }
+
+    @Test
+    public void testRereadsOnceStale() {
+
+        // A negative max age makes every entry immediately stale, forcing a read on every call without needing to
+        // sleep past a real window.
+        cache.setMaxAgeSeconds(-1);
+        givenSession(SECRET, HOURS.toMillis(47));
+
+        cache.validate(SECRET);
+        cache.validate(SECRET);
+
+        verify(sessionDao, times(2)).getBySessionSecret(SECRET);
+
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+
+        cache.setMaxAgeSeconds(0);
+        givenSession(SECRET, HOURS.toMillis(1));
+
+        cache.validate(SECRET);
+        cache.validate(SECRET);
+        cache.flush();
+
+        verify(sessionDao, times(2)).getBySessionSecret(SECRET);
+        verify(sessionDao, times(1)).refresh(anyCollection(), anyLong());
+
+    }
+
+    @Test
+    public void testLastLoginIsCoalesced() {
+
+        givenSession(SECRET, HOURS.toMillis(47));
+        givenSession(OTHER_SECRET, HOURS.toMillis(47));
+
+        for (int i = 0; i < 10; ++i) {
+            cache.validate(SECRET);
+            cache.validate(OTHER_SECRET);
+        }
+
+        final var before = currentTimeMillis();
+        cache.flush();
+
+        verify(sessionDao, never()).refresh(anyCollection(), anyLong());
+        verify(sessionDao, times(1)).updateLastLogin(eq(List.of(PROFILE_ID)), longThat(t -> t >= before));
+
+        cache.flush();
+        verify(sessionDao, times(1)).updateLastLogin(anyCollection(), anyLong());
+
+    }
+
+    @Test
+    public void testEvictsOnSessionDeleted() {
+
+        givenSession(SECRET, HOURS.toMillis(47));
+        givenSession(OTHER_SECRET, HOURS.toMillis(47), OTHER_USER_ID);
+
+        cache.validate(SECRET);
+        cache.validate(OTHER_SECRET);
+
+        final var deleted = new Session();
+        deleted.setUser(user(USER_ID));
+        cache.onSessionDeleted(deleted);
+
+        cache.validate(SECRET);
+        cache.validate(OTHER_SECRET);
+
+        verify(sessionDao, times(2)).getBySessionSecret(SECRET);
+        verify(sessionDao, times(1)).getBySessionSecret(OTHER_SECRET);
+
+    }
+
+    @Test
+    public void testEvictsOnUserUpdated() {
+
+        givenSession(SECRET, HOURS.toMillis(1));
+        cache.validate(SECRET);
+
+        cache.onUserUpdated(user(USER_ID));
+        cache.flush();
+        verify(sessionDao, never()).refresh(anyCollection(), anyLong());
+
+        cache.validate(SECRET);
+        verify(sessionDao, times(2)).getBySessionSecret(SECRET);
+
+    }
+
+    @Test
+    public void testStopFlushes() {
+
+        givenSession(SECRET, HOURS.toMillis(1));
+        cache.validate(SECRET);
+
+        cache.stop();
+        verify(sessionDao, times(1)).refresh(anyCollection(), anyLong());
+
+        // Once stopped, nothing is left waiting for a flush which will never come.
+        cache.invalidate(SECRET);
+        cache.validate(SECRET);
+        verify(sessionDao, times(2)).refresh(anyCollection(), anyLong());
+
+    }
+
+    @Test
+    public void testInvalidate() {
+
+        givenSession(SECRET, HOURS.toMillis(1));
+        cache.validate(SECRET);
+
+        cache.invalidate(SECRET);
+        cache.flush();
+        verify(sessionDao, never()).refresh(anyCollection(), anyLong());
+
+        when(sessionDao.getBySessionSecret(SECRET)).thenThrow(new NoSessionException("Session not valid."));
+        expectThrows(NoSessionException.class, () -> cache.validate(SECRET));
+
+    }
+
+    @Test
+    public void testBounded() {
+
+        cache.setMaxEntries(1);
+        givenSession(SECRET, HOURS.toMillis(47));
+        givenSession(OTHER_SECRET, HOURS.toMillis(47));
+
+        cache.validate(SECRET);
+        cache.validate(OTHER_SECRET);
+        cache.validate(SECRET);
+
+        verify(sessionDao, times(2)).getBySessionSecret(SECRET);
+
+    }
+
+    private void givenSession(final String sessionSecret, final long remainingMillis) {
+        givenSession(sessionSecret, remainingMillis, USER_ID);
+    }
+
+    private void givenSession(final String sessionSecret, final long remainingMillis, final String userId) {
+
+        final var profile = new Profile();
+        profile.setId(PROFILE_ID);
+
+        final var session = new Session();
+        session.setUser(user(userId));
+        session.setProfile(profile);
+        session.setExpiry(currentTimeMillis() + remainingMillis);
+        when(sessionDao.getBySessionSecret(sessionSecret)).thenReturn(session);
+
+    }
+
+    private static User user(final String userId) {
+        final var user = new User();
+        user.setId(userId);
+        return user;
+    }
+
+}
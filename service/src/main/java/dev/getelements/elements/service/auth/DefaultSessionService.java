@@ -7,34 +7,25 @@ import dev.getelements.elements.sdk.model.session.Session;
 
 import dev.getelements.elements.sdk.service.auth.SessionService;
 import jakarta.inject.Inject;
-import jakarta.inject.Named;
-
-import static dev.getelements.elements.sdk.service.Constants.SESSION_TIMEOUT_SECONDS;
-import static java.lang.System.currentTimeMillis;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class DefaultSessionService implements SessionService {
 
     private SessionDao sessionDao;
 
-    private long sessionTimeoutSeconds;
+    private SessionValidationCache sessionValidationCache;
 
     @Override
     public Session checkAndRefreshSessionIfNecessary(final String sessionSecret) {
-
-        final long expiry = MILLISECONDS.convert(getSessionTimeoutSeconds(), SECONDS) + currentTimeMillis();
-
         try {
-            return getSessionDao().refresh(sessionSecret, expiry);
+            return getSessionValidationCache().validate(sessionSecret);
         } catch (NotFoundException ex) {
             throw new ForbiddenException(ex);
         }
-
     }
 
     @Override
     public void blacklistSession(final String sessionSecret) {
+        getSessionValidationCache().invalidate(sessionSecret);
         getSessionDao().blacklist(sessionSecret);
     }
 
@@ -47,13 +38,13 @@ public class DefaultSessionService implements SessionService {
         this.sessionDao = sessionDao;
     }
 
-    public long getSessionTimeoutSeconds() {
-        return sessionTimeoutSeconds;
+    public SessionValidationCache getSessionValidationCache() {
+        return sessionValidationCache;
     }
 
     @Inject
-    public void setSessionTimeoutSeconds(@Named(SESSION_TIMEOUT_SECONDS) long sessionTimeoutSeconds) {
-        this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+    public void setSessionValidationCache(SessionValidationCache sessionValidationCache) {
+        this.sessionValidationCache = sessionValidationCache;
     }
 
 }
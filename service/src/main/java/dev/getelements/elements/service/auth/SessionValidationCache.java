@@ -0,0 +1,385 @@
+package dev.getelements.elements.service.auth;
+
+import dev.getelements.elements.sdk.annotation.ElementEventConsumer;
+import dev.getelements.elements.sdk.annotation.ElementServiceExport;
+import dev.getelements.elements.sdk.dao.SessionDao;
+import dev.getelements.elements.sdk.dao.UserDao;
+import dev.getelements.elements.sdk.model.session.Session;
+import dev.getelements.elements.sdk.model.user.User;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static dev.getelements.elements.sdk.service.Constants.SESSION_CACHE_MAX_AGE_SECONDS;
+import static dev.getelements.elements.sdk.service.Constants.SESSION_CACHE_MAX_ENTRIES;
+import static dev.getelements.elements.sdk.service.Constants.SESSION_REFRESH_THRESHOLD_SECONDS;
+import static dev.getelements.elements.sdk.service.Constants.SESSION_TIMEOUT_SECONDS;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Validates sessions while keeping writes off of the path of every authenticated request, optionally caching validated
+ * sessions in memory keyed by session secret.
+ *
+ * Extending a session's expiry is a write, so it is deferred until the remaining lifetime falls below
+ * {@link #getRefreshThresholdSeconds()}. Sessions due to be extended, and the profiles of all sessions used, are
+ * collected and written together by a background thread every {@link #FLUSH_INTERVAL_MILLIS} milliseconds, so however
+ * many requests arrive for a session it is written at most once per flush. The cached expiry is extended as soon as
+ * the refresh is queued. Should the write fail, the session is read again once the cached entry expires, and the
+ * refresh is queued once more.
+ *
+ * When {@link #getMaxAgeSeconds()} is positive a validated session is served from memory for up to that many seconds.
+ * Sessions are evicted when deleted, or when their user is updated or deleted, through this instance, but a session
+ * deleted by another instance keeps working until its entry expires. The cache is therefore disabled by default.
+ *
+ * The background thread is started on first use and must be stopped with {@link #stop()}, which also writes anything
+ * still pending. Must remain a singleton, as the cache and the pending writes are instance state.
+ */
+@Singleton
+@ElementServiceExport(SessionValidationCache.class)
+public class SessionValidationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionValidationCache.class);
+
+    /**
+     * How often the pending refreshes are written, in milliseconds.
+     */
+    public static final long FLUSH_INTERVAL_MILLIS = 5000;
+
+    private record Entry(Session session, long expiry, long validatedAt) {}
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Set<String> pendingRefresh = ConcurrentHashMap.newKeySet();
+
+    private final Set<String> pendingLastLogin = ConcurrentHashMap.newKeySet();
+
+    private final Object lock = new Object();
+
+    // Written only while holding lock
+
+    private volatile ScheduledExecutorService flusher;
+
+    private volatile boolean stopped;
+
+    private SessionDao sessionDao;
+
+    private long sessionTimeoutSeconds;
+
+    private long refreshThresholdSeconds;
+
+    private long maxAgeSeconds;
+
+    private int maxEntries;
+
+    /**
+     * Validates the supplied session secret, serving from memory if caching is enabled and it was validated within the
+     * last {@link #getMaxAgeSeconds()} seconds, and reading it from the {@link SessionDao} otherwise. If the session is
+     * close to expiry, the refresh is queued to be written in the background.
+     *
+     * @param sessionSecret the session secret
+     * @return a copy of the {@link Session}. The {@link User}, profile and application it references are shared with
+     *         other callers and must not be modified.
+     */
+    public Session validate(final String sessionSecret) {
+
+        final var now = currentTimeMillis();
+        final var cached = entries.get(sessionSecret);
+
+        final var entry = cached != null && isFresh(cached, now)
+            ? cached
+            : load(sessionSecret, now);
+
+        final var session = entry.session();
+
+        if (session.getProfile() != null) {
+            pendingLastLogin.add(session.getProfile().getId());
+        }
+
+        if (entry.expiry() - now < SECONDS.toMillis(getRefreshThresholdSeconds())) {
+            queueRefresh(sessionSecret, now);
+        }
+
+        if (stopped) {
+            flush();
+        } else {
+            start();
+        }
+
+        return copy(session, entry.expiry());
+
+    }
+
+    /**
+     * Removes the session from the cache, along with any pending refresh, such as when the session is deleted.
+     *
+     * @param sessionSecret the session secret
+     */
+    public void invalidate(final String sessionSecret) {
+        entries.remove(sessionSecret);
+        pendingRefresh.remove(sessionSecret);
+    }
+
+    /**
+     * Removes all cached sessions belonging to the supplied user.
+     *
+     * @param userId the user's id
+     */
+    public void invalidateUser(final String userId) {
+        entries.entrySet().removeIf(e -> {
+
+            final var user = e.getValue().session().getUser();
+            final var matches = user != null && userId.equals(user.getId());
+
+            if (matches) {
+                pendingRefresh.remove(e.getKey());
+            }
+
+            return matches;
+
+        });
+    }
+
+    @ElementEventConsumer(SessionDao.SESSION_DELETED)
+    public void onSessionDeleted(final Session session) {
+
+        // The event carries the session without its secret, so every session of the user is evicted. They are simply
+        // read again on their next use.
+
+        if (session.getUser() != null) {
+            invalidateUser(session.getUser().getId());
+        }
+
+    }
+
+    @ElementEventConsumer(UserDao.USER_UPDATED)
+    public void onUserUpdated(final User user) {
+        invalidateUser(user.getId());
+    }
+
+    @ElementEventConsumer(UserDao.USER_DELETED)
+    public void onUserDeleted(final User user) {
+        invalidateUser(user.getId());
+    }
+
+    /**
+     * Writes all pending refreshes immediately, giving each session a full lifetime from now, and records the last
+     * login of every profile used since the previous flush.
+     */
+    public void flush() {
+
+        final var sessionSecrets = drain(pendingRefresh);
+        final var profileIds = drain(pendingLastLogin);
+        final var now = currentTimeMillis();
+
+        if (!sessionSecrets.isEmpty()) {
+            final var expiry = now + SECONDS.toMillis(getSessionTimeoutSeconds());
+            getSessionDao().refresh(sessionSecrets, expiry);
+            logger.debug("Refreshed {} sessions.", sessionSecrets.size());
+        }
+
+        if (!profileIds.isEmpty()) {
+            getSessionDao().updateLastLogin(profileIds, now);
+        }
+
+    }
+
+    /**
+     * Starts the background thread which writes pending refreshes. This is called on first use, and has no effect if
+     * the thread is already running or this instance was stopped.
+     */
+    public void start() {
+
+        if (flusher != null || stopped) {
+            return;
+        }
+
+        synchronized (lock) {
+            if (flusher == null && !stopped) {
+
+                final var executor = newSingleThreadScheduledExecutor(r -> {
+                    final var thread = new Thread(r);
+                    thread.setDaemon(true);
+                    thread.setName(SessionValidationCache.class.getSimpleName() + " flusher");
+                    return thread;
+                });
+
+                executor.scheduleWithFixedDelay(
+                    this::flushSafely,
+                    FLUSH_INTERVAL_MILLIS,
+                    FLUSH_INTERVAL_MILLIS,
+                    MILLISECONDS
+                );
+
+                flusher = executor;
+
+            }
+        }
+
+    }
+
+    /**
+     * Stops the background thread and writes anything still pending. Sessions validated afterward are written
+     * immediately.
+     */
+    public void stop() {
+
+        final ScheduledExecutorService flusher;
+
+        synchronized (lock) {
+            flusher = this.flusher;
+            this.flusher = null;
+            stopped = true;
+        }
+
+        if (flusher != null) {
+
+            flusher.shutdown();
+
+            try {
+                if (!flusher.awaitTermination(FLUSH_INTERVAL_MILLIS, MILLISECONDS)) {
+                    flusher.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                flusher.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+
+        }
+
+        flushSafely();
+
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            logger.error("Failed to refresh sessions.", ex);
+        }
+    }
+
+    private boolean isFresh(final Entry entry, final long now) {
+        return entry.expiry() > now && now - entry.validatedAt() <= SECONDS.toMillis(getMaxAgeSeconds());
+    }
+
+    private Entry load(final String sessionSecret, final long now) {
+
+        final var session = getSessionDao().getBySessionSecret(sessionSecret);
+        final var entry = new Entry(session, session.getExpiry(), now);
+
+        if (getMaxAgeSeconds() <= 0) {
+            return entry;
+        }
+
+        if (entries.size() >= getMaxEntries()) {
+            evict();
+        }
+
+        entries.put(sessionSecret, entry);
+        return entry;
+
+    }
+
+    private void evict() {
+
+        // Any entry will do, as an evicted session is only read again on its next use. This keeps the cache bounded
+        // without the bookkeeping, and contention, of tracking the order of use.
+
+        final var iterator = entries.keySet().iterator();
+
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+
+    }
+
+    private void queueRefresh(final String sessionSecret, final long now) {
+
+        final var expiry = now + SECONDS.toMillis(getSessionTimeoutSeconds());
+
+        entries.computeIfPresent(sessionSecret, (k, entry) -> new Entry(entry.session(), expiry, entry.validatedAt()));
+        pendingRefresh.add(sessionSecret);
+
+    }
+
+    private static List<String> drain(final Set<String> pending) {
+
+        final var drained = new ArrayList<String>();
+
+        for (final var iterator = pending.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+
+        return drained;
+
+    }
+
+    private static Session copy(final Session session, final long expiry) {
+        final var copy = new Session();
+        copy.setUser(session.getUser());
+        copy.setProfile(session.getProfile());
+        copy.setApplication(session.getApplication());
+        copy.setExpiry(expiry);
+        return copy;
+    }
+
+    public SessionDao getSessionDao() {
+        return sessionDao;
+    }
+
+    @Inject
+    public void setSessionDao(SessionDao sessionDao) {
+        this.sessionDao = sessionDao;
+    }
+
+    public long getSessionTimeoutSeconds() {
+        return sessionTimeoutSeconds;
+    }
+
+    @Inject
+    public void setSessionTimeoutSeconds(@Named(SESSION_TIMEOUT_SECONDS) long sessionTimeoutSeconds) {
+        this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+    }
+
+    public long getRefreshThresholdSeconds() {
+        return refreshThresholdSeconds;
+    }
+
+    @Inject
+    public void setRefreshThresholdSeconds(@Named(SESSION_REFRESH_THRESHOLD_SECONDS) long refreshThresholdSeconds) {
+        this.refreshThresholdSeconds = refreshThresholdSeconds;
+    }
+
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    @Inject
+    public void setMaxAgeSeconds(@Named(SESSION_CACHE_MAX_AGE_SECONDS) long maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Inject
+    public void setMaxEntries(@Named(SESSION_CACHE_MAX_ENTRIES) int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+}